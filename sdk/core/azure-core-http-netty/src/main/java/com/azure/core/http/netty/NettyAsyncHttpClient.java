@@ -10,6 +10,7 @@ import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
 import com.azure.core.http.ProxyOptions;
 import com.azure.core.http.netty.implementation.HttpProxyExceptionHandler;
+import com.azure.core.http.netty.implementation.NettyToAzureCoreHttpHeadersWrapper;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -165,6 +166,7 @@ class NettyAsyncHttpClient implements HttpClient {
         private final HttpClientResponse reactorNettyResponse;
         private final Connection reactorNettyConnection;
         private final boolean disableBufferCopy;
+        private volatile HttpHeaders headers;
 
         ReactorNettyHttpResponse(HttpClientResponse reactorNettyResponse, Connection reactorNettyConnection,
             HttpRequest httpRequest, boolean disableBufferCopy) {
@@ -181,13 +183,15 @@ class NettyAsyncHttpClient implements HttpClient {
 
         @Override
         public String getHeaderValue(String name) {
-            return reactorNettyResponse.responseHeaders().get(name);
+            return getHeaders().getValue(name);
         }
 
         @Override
         public HttpHeaders getHeaders() {
-            HttpHeaders headers = new HttpHeaders();
-            reactorNettyResponse.responseHeaders().forEach(e -> headers.put(e.getKey(), e.getValue()));
+            if (headers == null) {
+                // Wrap rather than copy the Netty headers, they are only copied if the response headers are mutated.
+                headers = new NettyToAzureCoreHttpHeadersWrapper(reactorNettyResponse.responseHeaders());
+            }
             return headers;
         }
 
@@ -0,0 +1,140 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty.implementation;
+
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * An {@link HttpHeaders} view over the headers of a reactor-netty response.
+ * <p>
+ * Reads are served directly from the Netty headers so a response never copies its headers unless they are mutated,
+ * at which point the Netty headers are copied once and all further operations use the copy. Multiple values for the
+ * same header name are joined with a comma, matching {@link HttpHeader#addValue(String)}.
+ */
+public final class NettyToAzureCoreHttpHeadersWrapper extends HttpHeaders {
+    private final io.netty.handler.codec.http.HttpHeaders nettyHeaders;
+    private volatile boolean copied;
+
+    // The headers of a received response don't change, so the distinct names are only counted once.
+    private volatile int nettyHeadersSize = -1;
+
+    /**
+     * Creates a view over the provided Netty headers.
+     *
+     * @param nettyHeaders The Netty headers to wrap.
+     */
+    public NettyToAzureCoreHttpHeadersWrapper(io.netty.handler.codec.http.HttpHeaders nettyHeaders) {
+        this.nettyHeaders = nettyHeaders;
+    }
+
+    @Override
+    public int getSize() {
+        if (copied) {
+            return super.getSize();
+        }
+
+        int size = nettyHeadersSize;
+        if (size < 0) {
+            size = nettyHeaders.names().size();
+            nettyHeadersSize = size;
+        }
+        return size;
+    }
+
+    @Override
+    public HttpHeaders put(String name, String value) {
+        copy();
+        return super.put(name, value);
+    }
+
+    @Override
+    public HttpHeader get(String name) {
+        if (copied) {
+            return super.get(name);
+        }
+
+        final String value = getValue(name);
+        return value == null ? null : new HttpHeader(name, value);
+    }
+
+    @Override
+    public HttpHeader remove(String name) {
+        copy();
+        return super.remove(name);
+    }
+
+    @Override
+    public String getValue(String name) {
+        if (copied) {
+            return super.getValue(name);
+        }
+
+        final List<String> values = nettyHeaders.getAll(name);
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        return values.size() == 1 ? values.get(0) : String.join(",", values);
+    }
+
+    @Override
+    public String[] getValues(String name) {
+        final String value = getValue(name);
+        return value == null ? null : value.split(",");
+    }
+
+    @Override
+    public Map<String, String> toMap() {
+        if (copied) {
+            return super.toMap();
+        }
+
+        final Map<String, String> result = new HashMap<>();
+        for (String name : nettyHeaders.names()) {
+            result.put(name, getValue(name));
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<HttpHeader> iterator() {
+        return copied ? super.iterator() : snapshot().iterator();
+    }
+
+    @Override
+    public Stream<HttpHeader> stream() {
+        return copied ? super.stream() : snapshot().stream();
+    }
+
+    private List<HttpHeader> snapshot() {
+        final List<HttpHeader> result = new ArrayList<>(nettyHeaders.size());
+        for (String name : nettyHeaders.names()) {
+            result.add(new HttpHeader(name, getValue(name)));
+        }
+        return result;
+    }
+
+    private void copy() {
+        if (copied) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!copied) {
+                for (String name : nettyHeaders.names()) {
+                    super.put(name, getValue(name));
+                }
+                copied = true;
+            }
+        }
+    }
+}
@@ -63,6 +63,8 @@ public class ReactorNettyClientTests {
             .willReturn(WireMock.aResponse().withBody("error").withStatus(500)));
         server.stubFor(
             WireMock.post("/shortPost").willReturn(WireMock.aResponse().withBody(SHORT_BODY)));
+        server.stubFor(WireMock.get("/multipleHeaders")
+            .willReturn(WireMock.aResponse().withHeader("Cache-Control", "no-cache", "no-store").withBody(SHORT_BODY)));
         server.start();
         // ResourceLeakDetector.setLevel(Level.PARANOID);
     }
@@ -84,6 +86,17 @@ public class ReactorNettyClientTests {
         checkBodyReceived(LONG_BODY, LONG_BODY_PATH);
     }
 
+    @Test
+    public void testMultipleValuesOfAHeaderAreJoined() {
+        ReactorNettyHttpResponse response = getResponse("/multipleHeaders");
+
+        // Every value is kept, joined with a comma, rather than only the last one.
+        assertEquals("no-cache,no-store", response.getHeaderValue("Cache-Control"));
+        Assertions.assertArrayEquals(new String[] {"no-cache", "no-store"},
+            response.getHeaders().getValues("cache-control"));
+        response.close();
+    }
+
     @Test
     public void testMultipleSubscriptionsEmitsError() {
         HttpResponse response = getResponse(SHORT_BODY_PATH);
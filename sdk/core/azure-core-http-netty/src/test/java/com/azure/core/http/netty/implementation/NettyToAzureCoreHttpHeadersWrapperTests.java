@@ -0,0 +1,60 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty.implementation;
+
+import com.azure.core.http.HttpHeader;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NettyToAzureCoreHttpHeadersWrapperTests {
+    @Test
+    public void readsFromNettyHeaders() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders()
+            .add("x-ms-request-id", "abc")
+            .add("Cache-Control", "no-cache")
+            .add("Cache-Control", "no-store");
+        NettyToAzureCoreHttpHeadersWrapper headers = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders);
+
+        assertEquals(2, headers.getSize());
+        assertEquals("abc", headers.getValue("X-MS-REQUEST-ID"));
+        assertEquals("no-cache,no-store", headers.getValue("cache-control"));
+        assertArrayEquals(new String[] {"no-cache", "no-store"}, headers.getValues("Cache-Control"));
+        assertNull(headers.get("ETag"));
+        assertEquals(2, headers.toMap().size());
+    }
+
+    @Test
+    public void sizeCountsNamesOnce() {
+        HttpHeaders nettyHeaders = Mockito.spy(new DefaultHttpHeaders()
+            .add("ETag", "1")
+            .add("Cache-Control", "no-cache")
+            .add("Cache-Control", "no-store"));
+        NettyToAzureCoreHttpHeadersWrapper headers = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders);
+
+        assertEquals(2, headers.getSize());
+        assertEquals(2, headers.getSize());
+        Mockito.verify(nettyHeaders, Mockito.times(1)).names();
+    }
+
+    @Test
+    public void mutationDoesNotChangeNettyHeaders() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders().add("ETag", "1");
+        NettyToAzureCoreHttpHeadersWrapper headers = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders);
+
+        headers.put("etag", "2");
+        headers.put("Content-Length", "10");
+        HttpHeader removed = headers.remove("content-length");
+
+        assertEquals("10", removed.getValue());
+        assertEquals("2", headers.getValue("ETag"));
+        assertEquals(1, headers.getSize());
+        assertEquals("1", nettyHeaders.get("ETag"));
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.metrics.micrometer;
+
+import com.azure.core.util.metrics.Meter;
+import com.azure.core.util.metrics.MeterHistogram;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Basic metrics implementation class that records the metrics of Service Clients to a Micrometer
+ * {@link MeterRegistry}.
+ * <p>
+ * Histograms are recorded to Micrometer {@link DistributionSummary distribution summaries}, tagged with the attributes
+ * of the recorded values. A summary is registered once for every combination of attribute values and reused by the
+ * following recordings.
+ */
+public class MicrometerMeter implements Meter {
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Creates a {@link MicrometerMeter} recording to the Micrometer global registry.
+     */
+    public MicrometerMeter() {
+        this(Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates a {@link MicrometerMeter}.
+     *
+     * @param registry The Micrometer registry to record to.
+     * @throws NullPointerException If {@code registry} is {@code null}.
+     */
+    public MicrometerMeter(MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "'registry' cannot be null.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MeterHistogram createHistogram(String name, String description, String unit, List<String> attributeKeys) {
+        final List<String> keys = attributeKeys == null
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(new ArrayList<>(attributeKeys));
+        final Map<List<String>, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        return (value, attributeValues) -> {
+            final List<String> values = attributeValues == null ? Collections.emptyList() : attributeValues;
+            DistributionSummary summary = summaries.get(values);
+            if (summary == null) {
+                summary = summaries.computeIfAbsent(new ArrayList<>(values), ignored -> DistributionSummary
+                    .builder(name)
+                    .description(description)
+                    .baseUnit(unit)
+                    .tags(toTags(keys, values))
+                    .register(registry));
+            }
+
+            summary.record(value);
+        };
+    }
+
+    private static List<Tag> toTags(List<String> keys, List<String> values) {
+        final List<Tag> tags = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final String value = i < values.size() ? values.get(i) : null;
+            tags.add(Tag.of(keys.get(i), value == null ? UNKNOWN : value));
+        }
+
+        return tags;
+    }
+}
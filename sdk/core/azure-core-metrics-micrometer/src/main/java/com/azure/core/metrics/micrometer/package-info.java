@@ -0,0 +1,7 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+/**
+ * A Micrometer implementation of the metrics APIs required by azure-core to enable users to measure their calls and
+ * have these measurements published by a Micrometer registry.
+ */
+package com.azure.core.metrics.micrometer;
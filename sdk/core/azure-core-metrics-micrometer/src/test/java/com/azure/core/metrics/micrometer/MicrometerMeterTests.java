@@ -0,0 +1,151 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.metrics.micrometer;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpMetricsPolicy;
+import com.azure.core.util.metrics.MeterHistogram;
+import com.azure.core.util.metrics.MeterProxy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests Azure-Micrometer metrics package.
+ */
+public class MicrometerMeterTests {
+    private static final List<String> KEYS = Arrays.asList("az.method", "http.method");
+
+    @Test
+    public void recordsToMicrometerRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterHistogram histogram = new MicrometerMeter(registry)
+            .createHistogram("az.sdk.test.duration", "Test duration.", "ms", KEYS);
+
+        histogram.record(1.5, Arrays.asList("Client.get", "GET"));
+        histogram.record(2.5, Arrays.asList("Client.get", "GET"));
+        histogram.record(4, Arrays.asList("Client.put", "PUT"));
+
+        DistributionSummary gets = registry.find("az.sdk.test.duration")
+            .tags("az.method", "Client.get", "http.method", "GET")
+            .summary();
+        assertNotNull(gets);
+        assertEquals(2, gets.count());
+        assertEquals(4.0, gets.totalAmount());
+        assertEquals("ms", gets.getId().getBaseUnit());
+        assertEquals("Test duration.", gets.getId().getDescription());
+
+        DistributionSummary puts = registry.find("az.sdk.test.duration").tag("http.method", "PUT").summary();
+        assertNotNull(puts);
+        assertEquals(1, puts.count());
+        assertEquals(4.0, puts.totalAmount());
+    }
+
+    @Test
+    public void missingAttributeValuesAreTaggedUnknown() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterHistogram histogram = new MicrometerMeter(registry)
+            .createHistogram("az.sdk.test.size", "Test size.", "bytes", KEYS);
+
+        histogram.record(10, Arrays.asList("Client.get", null));
+        histogram.record(20, Arrays.asList("Client.get"));
+
+        DistributionSummary summary = registry.find("az.sdk.test.size").tag("http.method", "unknown").summary();
+        assertNotNull(summary);
+        assertEquals(2, summary.count());
+    }
+
+    @Test
+    public void meterIsPluggedIntoTheSdk() {
+        // The service registration of this package plugs MicrometerMeter into MeterProxy.
+        assertTrue(MeterProxy.isEnabled());
+    }
+
+    @Test
+    public void recordsHttpMetricsPolicyMeasurements() throws MalformedURLException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HttpClient httpClient = request -> Mono.just(new MockHttpResponse(request, 200, 42));
+        HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(httpClient)
+            .policies(new HttpMetricsPolicy(new MicrometerMeter(registry)))
+            .build();
+
+        pipeline.send(new HttpRequest(HttpMethod.GET, new URL("https://localhost/"))).block();
+
+        DistributionSummary duration = registry.find(HttpMetricsPolicy.REQUEST_DURATION_METRIC)
+            .tags("http.method", "GET", "http.status_code", "200", "az.attempt", "1")
+            .summary();
+        assertNotNull(duration);
+        assertEquals(1, duration.count());
+
+        DistributionSummary responseSize = registry.find(HttpMetricsPolicy.RESPONSE_BODY_SIZE_METRIC).summary();
+        assertNotNull(responseSize);
+        assertEquals(42.0, responseSize.totalAmount());
+    }
+
+    private static final class MockHttpResponse extends HttpResponse {
+        private final int statusCode;
+        private final HttpHeaders headers;
+
+        MockHttpResponse(HttpRequest request, int statusCode, long contentLength) {
+            super(request);
+            this.statusCode = statusCode;
+            this.headers = new HttpHeaders().put("Content-Length", Long.toString(contentLength));
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.empty();
+        }
+    }
+}
@@ -3,25 +3,64 @@
 
 package com.azure.core.credential;
 
-import reactor.core.publisher.FluxSink;
-import reactor.core.publisher.FluxSink.OverflowStrategy;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.core.util.metrics.Meter;
+import com.azure.core.util.metrics.MeterHistogram;
+import com.azure.core.util.metrics.MeterProxy;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.ReplayProcessor;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * A token cache that supports caching a token and refreshing it.
+ * <p>
+ * Concurrent refreshes are de-duplicated so only one token request is made at a time. Once a cached token gets close
+ * to its expiry a refresh is started in the background while the cached token keeps being served, so requests don't
+ * wait on a token request when the cached token expires. If the background refresh fails the cached token keeps being
+ * used until it expires and the refresh is retried later.
+ * <p>
+ * The duration of token requests and whether lookups were served from the cache are recorded to every {@link Meter}
+ * plugged into the SDK.
  */
 public class SimpleTokenCache {
+    /**
+     * Name of the histogram recording the duration of token requests, in milliseconds.
+     */
+    public static final String TOKEN_REFRESH_DURATION_METRIC = "az.sdk.token.refresh.duration";
+
+    /**
+     * Name of the histogram recording 1 for lookups served from the cache and 0 for lookups waiting on a token
+     * request, so its mean is the hit rate of the cache.
+     */
+    public static final String TOKEN_CACHE_HIT_METRIC = "az.sdk.token.cache.hit";
+
     private static final int REFRESH_TIMEOUT_SECONDS = 30;
+    private static final long REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final Duration MAX_LIFETIME = Duration.ofDays(365);
 
-    private final AtomicBoolean wip;
-    private AccessToken cache;
-    private final ReplayProcessor<AccessToken> emitterProcessor = ReplayProcessor.create(1);
-    private final FluxSink<AccessToken> sink = emitterProcessor.sink(OverflowStrategy.BUFFER);
+    private static final List<String> REFRESH_KEYS = Arrays.asList("az.token.refresh.ahead", "az.token.refresh.status");
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final ClientLogger logger = new ClientLogger(SimpleTokenCache.class);
+    private final AtomicReference<Mono<AccessToken>> inFlightRefresh = new AtomicReference<>();
+    private final AtomicBoolean refreshingAhead = new AtomicBoolean(false);
     private final Supplier<Mono<AccessToken>> tokenSupplier;
+    private final Supplier<OffsetDateTime> clock;
+    private final MeterHistogram refreshDuration;
+    private final MeterHistogram cacheHit;
+    private volatile AccessToken cache;
+    private volatile OffsetDateTime refreshAheadAt;
 
     /**
      * Creates an instance of RefreshableTokenCredential with default scheme "Bearer".
@@ -29,8 +68,20 @@ public class SimpleTokenCache {
      * @param tokenSupplier a method to get a new token
      */
     public SimpleTokenCache(Supplier<Mono<AccessToken>> tokenSupplier) {
-        this.wip = new AtomicBoolean(false);
+        this(tokenSupplier, MeterProxy.getInstance(), OffsetDateTime::now);
+    }
+
+    /*
+     * Creates a cache recording to the given meter and reading the time from the given clock.
+     */
+    SimpleTokenCache(Supplier<Mono<AccessToken>> tokenSupplier, Meter meter, Supplier<OffsetDateTime> clock) {
         this.tokenSupplier = tokenSupplier;
+        this.clock = Objects.requireNonNull(clock, "'clock' cannot be null.");
+        Objects.requireNonNull(meter, "'meter' cannot be null.");
+        this.refreshDuration = meter.createHistogram(TOKEN_REFRESH_DURATION_METRIC, "Duration of token requests.",
+            "ms", REFRESH_KEYS);
+        this.cacheHit = meter.createHistogram(TOKEN_CACHE_HIT_METRIC, "Token lookups served from the cache.", "1",
+            Collections.emptyList());
     }
 
     /**
@@ -38,18 +89,84 @@ public class SimpleTokenCache {
      * @return a Publisher that emits an AccessToken
      */
     public Mono<AccessToken> getToken() {
-        if (cache != null && !cache.isExpired()) {
-            return Mono.just(cache);
+        final AccessToken cached = cache;
+        final OffsetDateTime now = clock.get();
+        if (cached != null && !now.isAfter(cached.getExpiresAt())) {
+            cacheHit.record(1, Collections.emptyList());
+            if (now.isAfter(refreshAheadAt)) {
+                refreshAhead();
+            }
+            return Mono.just(cached);
+        }
+
+        cacheHit.record(0, Collections.emptyList());
+        return Mono.defer(() -> refresh(false));
+    }
+
+    /*
+     * Refreshes the token in the background while the still valid cached token keeps being served.
+     */
+    private void refreshAhead() {
+        if (!refreshingAhead.compareAndSet(false, true)) {
+            return;
         }
-        return Mono.defer(() -> {
-            if (!wip.getAndSet(true)) {
-                return tokenSupplier.get().doOnNext(ac -> cache = ac)
-                    .doOnNext(sink::next)
-                    .doOnError(sink::error)
-                    .doOnTerminate(() -> wip.set(false));
-            } else {
-                return emitterProcessor.next();
+
+        refresh(true)
+            .doFinally(signal -> refreshingAhead.set(false))
+            .subscribe(token -> { }, error -> {
+                refreshAheadAt = clock.get().plusSeconds(REFRESH_TIMEOUT_SECONDS);
+                logger.warning("Failed to refresh the token ahead of its expiry, the cached token is used until it "
+                    + "expires. Retrying in {} seconds.", REFRESH_TIMEOUT_SECONDS, error);
+            });
+    }
+
+    /*
+     * Returns the token request in flight, or starts a new one, so concurrent callers share a single request.
+     */
+    private Mono<AccessToken> refresh(boolean ahead) {
+        while (true) {
+            final Mono<AccessToken> current = inFlightRefresh.get();
+            if (current != null) {
+                return current;
+            }
+
+            final Mono<AccessToken> refresh = Mono.defer(() -> {
+                final long start = System.nanoTime();
+                final String aheadValue = Boolean.toString(ahead);
+                return tokenSupplier.get()
+                    .doOnNext(token -> onRefreshed(token, start))
+                    .doOnSuccess(token -> refreshDuration.record(elapsedMillis(start),
+                        Arrays.asList(aheadValue, SUCCESS)))
+                    .doOnError(error -> refreshDuration.record(elapsedMillis(start),
+                        Arrays.asList(aheadValue, ERROR)));
+            }).doFinally(signal -> inFlightRefresh.set(null)).cache();
+
+            if (inFlightRefresh.compareAndSet(null, refresh)) {
+                return refresh;
             }
-        });
+        }
+    }
+
+    private void onRefreshed(AccessToken token, long startNanos) {
+        final OffsetDateTime now = clock.get();
+        // Lifetimes are capped so tokens that never expire don't overflow the computation.
+        final Duration remaining = Duration.between(now, token.getExpiresAt());
+        final long remainingMillis = (remaining.compareTo(MAX_LIFETIME) > 0)
+            ? MAX_LIFETIME.toMillis()
+            : remaining.toMillis();
+
+        // Refresh ahead of expiry by up to five minutes, or half the lifetime of short lived tokens, and spread the
+        // refreshes of caches sharing a credential with a random jitter.
+        final long aheadMillis = Math.min(REFRESH_AHEAD_MILLIS, Math.max(0, remainingMillis / 2));
+        final long jitterMillis = ThreadLocalRandom.current().nextLong(aheadMillis / 4 + 1);
+        refreshAheadAt = now.plus(Duration.ofMillis(Math.max(0, remainingMillis) - aheadMillis - jitterMillis));
+        cache = token;
+
+        logger.verbose("Token refreshed in {} ms, next refresh at {}.",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), refreshAheadAt);
+    }
+
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
     }
 }
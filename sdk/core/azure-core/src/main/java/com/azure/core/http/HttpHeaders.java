@@ -15,6 +15,19 @@ import java.util.stream.Stream;
  * A collection of headers on an HTTP request or response.
  */
 public class HttpHeaders implements Iterable<HttpHeader> {
+    /*
+     * Lower-cased keys of the headers seen on nearly every request and response, keyed by the casings they are
+     * commonly written in. Looking these up avoids allocating a lower-cased copy of the name on each access.
+     */
+    private static final Map<String, String> WELL_KNOWN_KEYS = createWellKnownKeys(
+        "Accept", "Authorization", "Cache-Control", "Connection", "Content-Encoding", "Content-Length",
+        "Content-MD5", "Content-Range", "Content-Type", "Date", "ETag", "Host", "If-Match", "If-Modified-Since",
+        "If-None-Match", "If-Unmodified-Since", "Last-Modified", "Location", "Range", "Retry-After", "Server",
+        "Transfer-Encoding", "User-Agent", "WWW-Authenticate", "x-ms-client-request-id", "x-ms-date",
+        "x-ms-request-id", "x-ms-return-client-request-id", "x-ms-version", "x-ms-blob-type", "x-ms-range",
+        "x-ms-lease-id", "x-ms-error-code", "x-ms-request-server-encrypted", "x-ms-retry-after-ms",
+        "retry-after-ms", "traceparent");
+
     private final Map<String, HttpHeader> headers = new ConcurrentHashMap<>();
 
     /**
@@ -117,7 +130,19 @@ public class HttpHeaders implements Iterable<HttpHeader> {
     }
 
     private String formatKey(final String key) {
-        return key.toLowerCase(Locale.ROOT);
+        final String wellKnownKey = WELL_KNOWN_KEYS.get(key);
+        return (wellKnownKey != null) ? wellKnownKey : key.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> createWellKnownKeys(String... names) {
+        final Map<String, String> keys = new HashMap<>(names.length * 4);
+        for (String name : names) {
+            final String key = name.toLowerCase(Locale.ROOT).intern();
+            keys.put(name, key);
+            keys.put(key, key);
+            keys.put(name.toUpperCase(Locale.ROOT), key);
+        }
+        return keys;
     }
 
     /**
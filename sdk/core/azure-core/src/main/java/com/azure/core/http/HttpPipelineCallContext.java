@@ -66,6 +66,15 @@ public final class HttpPipelineCallContext {
         return this.data.getData(key);
     }
 
+    /**
+     * Gets the data stored in the context.
+     *
+     * @return The data stored in the context.
+     */
+    Context getContext() {
+        return this.data;
+    }
+
     /**
      * Gets the HTTP request.
      *
@@ -58,4 +58,19 @@ public class HttpPipelineNextPolicy {
         cloned.currentPolicyIndex = this.currentPolicyIndex;
         return cloned;
     }
+
+    /**
+     * Creates a new instance of this next pipeline policy that sends the provided request through the remaining
+     * policies using its own call context. Unlike {@link #clone()} the new instance doesn't share the request with
+     * this instance, so both can be processed concurrently.
+     *
+     * @param request The request sent by the new instance.
+     * @return A new instance of this next pipeline policy sending the provided request.
+     */
+    public HttpPipelineNextPolicy fork(HttpRequest request) {
+        HttpPipelineNextPolicy forked = new HttpPipelineNextPolicy(this.pipeline,
+            new HttpPipelineCallContext(request, this.context.getContext()));
+        forked.currentPolicyIndex = this.currentPolicyIndex;
+        return forked;
+    }
 }
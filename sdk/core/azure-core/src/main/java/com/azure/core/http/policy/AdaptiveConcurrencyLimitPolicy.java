@@ -0,0 +1,332 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.exception.HttpRequestException;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.CoreUtils;
+import com.azure.core.util.logging.ClientLogger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A pipeline policy that limits the number of requests in flight to each host, adapting the limit to how the service
+ * responds.
+ * <p>
+ * The limit of each host follows an additive-increase/multiplicative-decrease scheme: every successful response
+ * grows the limit by roughly one request per round trip, while throttled responses (429 and 503) and responses whose
+ * latency is well above the lowest latency observed cut it down. When a throttled response carries a
+ * {@code Retry-After}, {@code retry-after-ms} or {@code x-ms-retry-after-ms} header no new requests are sent to that
+ * host until the delay has passed. Requests that cannot be sent immediately wait in a per-host queue; when the queue
+ * is full the request fails with an {@link HttpRequestException}.
+ * <p>
+ * Place this policy after {@link RetryPolicy} so that every attempt, including retries, is limited.
+ */
+public class AdaptiveConcurrencyLimitPolicy implements HttpPipelinePolicy {
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+    private static final int DEFAULT_INITIAL_CONCURRENT_REQUESTS = 16;
+    private static final int DEFAULT_MAX_QUEUED_REQUESTS = 1024;
+
+    private static final double THROTTLED_DECREASE_RATIO = 0.5;
+    private static final double HIGH_LATENCY_DECREASE_RATIO = 0.9;
+    private static final double HIGH_LATENCY_TOLERANCE = 2.0;
+
+    private final ClientLogger logger = new ClientLogger(AdaptiveConcurrencyLimitPolicy.class);
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+    private final int maxConcurrentRequests;
+    private final int initialConcurrentRequests;
+    private final int maxQueuedRequests;
+
+    /**
+     * Creates an {@link AdaptiveConcurrencyLimitPolicy} that allows at most 64 requests in flight and 1024 queued
+     * requests per host.
+     */
+    public AdaptiveConcurrencyLimitPolicy() {
+        this(DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_QUEUED_REQUESTS);
+    }
+
+    /**
+     * Creates an {@link AdaptiveConcurrencyLimitPolicy}.
+     *
+     * @param maxConcurrentRequests The maximum number of requests in flight to a single host.
+     * @param maxQueuedRequests The maximum number of requests waiting to be sent to a single host.
+     * @throws IllegalArgumentException If {@code maxConcurrentRequests} is less than 1 or {@code maxQueuedRequests}
+     * is negative.
+     */
+    public AdaptiveConcurrencyLimitPolicy(int maxConcurrentRequests, int maxQueuedRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'maxConcurrentRequests' cannot be less than 1."));
+        }
+        if (maxQueuedRequests < 0) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'maxQueuedRequests' cannot be less than 0."));
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.initialConcurrentRequests = Math.min(DEFAULT_INITIAL_CONCURRENT_REQUESTS, maxConcurrentRequests);
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        final HttpRequest request = context.getHttpRequest();
+        final HostLimiter limiter = limiters.computeIfAbsent(request.getUrl().getHost(),
+            host -> new HostLimiter(host, initialConcurrentRequests, maxConcurrentRequests, maxQueuedRequests));
+        final Permit permit = new Permit();
+
+        // Only requests that got a permit adjust the limit, a request rejected because the queue is full must not
+        // lower it any further.
+        return Mono.<Void>create(sink -> limiter.acquire(permit, sink, request))
+            .then(Mono.defer(() -> next.process()
+                .doOnNext(response -> limiter.onResponse(permit, response))
+                .doOnError(error -> limiter.onError())))
+            .doFinally(signal -> limiter.release(permit));
+    }
+
+    /**
+     * Gets the current number of requests allowed in flight to the host.
+     *
+     * @param host The host name.
+     * @return The current concurrency limit of the host.
+     */
+    public int getConcurrencyLimit(String host) {
+        final HostLimiter limiter = limiters.get(host);
+        return limiter == null ? initialConcurrentRequests : limiter.getLimit();
+    }
+
+    /**
+     * Gets the number of requests in flight to the host.
+     *
+     * @param host The host name.
+     * @return The number of requests in flight to the host.
+     */
+    public int getInFlightRequests(String host) {
+        final HostLimiter limiter = limiters.get(host);
+        return limiter == null ? 0 : limiter.getInFlight();
+    }
+
+    /**
+     * Gets the number of requests waiting to be sent to the host.
+     *
+     * @param host The host name.
+     * @return The number of requests waiting to be sent to the host.
+     */
+    public int getQueueDepth(String host) {
+        final HostLimiter limiter = limiters.get(host);
+        return limiter == null ? 0 : limiter.getQueueDepth();
+    }
+
+    /*
+     * Tracks a single request through the limiter, a permit is released at most once.
+     */
+    private static final class Permit {
+        private final AtomicBoolean acquired = new AtomicBoolean();
+        private MonoSink<Void> sink;
+        private long startNanos;
+        private boolean cancelled;
+    }
+
+    private static final class HostLimiter {
+        private final ClientLogger logger = new ClientLogger(HostLimiter.class);
+        private final String host;
+        private final int maxLimit;
+        private final int maxQueued;
+        private final Queue<Permit> waiters = new ArrayDeque<>();
+
+        private double limit;
+        private int inFlight;
+        private long minLatencyNanos = Long.MAX_VALUE;
+        private long resumeAtNanos;
+        private boolean resumeScheduled;
+
+        HostLimiter(String host, int initialLimit, int maxLimit, int maxQueued) {
+            this.host = host;
+            this.limit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.maxQueued = maxQueued;
+        }
+
+        void acquire(Permit permit, MonoSink<Void> sink, HttpRequest request) {
+            // The cancel hook is registered before the permit can be queued, otherwise drain() could grant the permit
+            // of a cancelled request after its release already ran and the slot would never be given back.
+            sink.onCancel(() -> cancel(permit));
+
+            boolean granted = false;
+            boolean rejected = false;
+            synchronized (this) {
+                if (permit.cancelled) {
+                    return;
+                } else if (!isPaused() && waiters.isEmpty() && inFlight < (int) limit) {
+                    grant(permit);
+                    granted = true;
+                } else if (waiters.size() < maxQueued) {
+                    permit.sink = sink;
+                    waiters.add(permit);
+                    if (isPaused()) {
+                        scheduleResume();
+                    }
+                } else {
+                    rejected = true;
+                }
+            }
+
+            if (granted) {
+                sink.success();
+            } else if (rejected) {
+                sink.error(logger.logExceptionAsWarning(new HttpRequestException(String.format(
+                    "Request to '%s' rejected, %d requests are already queued.", host, maxQueued), request)));
+            }
+        }
+
+        private void cancel(Permit permit) {
+            final boolean released;
+            synchronized (this) {
+                permit.cancelled = true;
+                // A permit no longer queued may have been granted by drain() after the request was cancelled.
+                released = !waiters.remove(permit) && permit.acquired.compareAndSet(true, false);
+                if (released) {
+                    inFlight--;
+                }
+            }
+
+            if (released) {
+                drain();
+            }
+        }
+
+        void onResponse(Permit permit, HttpResponse response) {
+            final long latencyNanos = System.nanoTime() - permit.startNanos;
+            final int statusCode = response.getStatusCode();
+            synchronized (this) {
+                if (statusCode == 429 || statusCode == 503) {
+                    limit = Math.max(1, limit * THROTTLED_DECREASE_RATIO);
+                    final Duration retryAfter = getRetryAfter(response);
+                    if (retryAfter != null) {
+                        resumeAtNanos = Math.max(resumeAtNanos, System.nanoTime() + retryAfter.toNanos());
+                    }
+                    logger.verbose("Host '{}' throttled with status {}, concurrency limit lowered to {}.", host,
+                        statusCode, (int) limit);
+                } else if (statusCode < 500) {
+                    // Let the baseline drift upwards slowly so that it can follow a lasting change in latency.
+                    minLatencyNanos = (minLatencyNanos == Long.MAX_VALUE)
+                        ? latencyNanos
+                        : Math.min(minLatencyNanos + (minLatencyNanos >> 10), latencyNanos);
+                    if (latencyNanos > minLatencyNanos * HIGH_LATENCY_TOLERANCE) {
+                        limit = Math.max(1, limit * HIGH_LATENCY_DECREASE_RATIO);
+                    } else {
+                        limit = Math.min(maxLimit, limit + 1 / limit);
+                    }
+                }
+            }
+        }
+
+        synchronized void onError() {
+            limit = Math.max(1, limit * HIGH_LATENCY_DECREASE_RATIO);
+        }
+
+        void release(Permit permit) {
+            if (!permit.acquired.compareAndSet(true, false)) {
+                return;
+            }
+
+            synchronized (this) {
+                inFlight--;
+            }
+            drain();
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        synchronized int getQueueDepth() {
+            return waiters.size();
+        }
+
+        private void drain() {
+            Permit permit;
+            while ((permit = nextGranted()) != null) {
+                permit.sink.success();
+            }
+        }
+
+        private synchronized Permit nextGranted() {
+            if (isPaused()) {
+                scheduleResume();
+                return null;
+            }
+
+            if (inFlight >= (int) limit || waiters.isEmpty()) {
+                return null;
+            }
+
+            final Permit permit = waiters.poll();
+            grant(permit);
+            return permit;
+        }
+
+        private void grant(Permit permit) {
+            inFlight++;
+            permit.startNanos = System.nanoTime();
+            permit.acquired.set(true);
+        }
+
+        private boolean isPaused() {
+            return resumeAtNanos != 0 && resumeAtNanos - System.nanoTime() > 0;
+        }
+
+        private void scheduleResume() {
+            if (resumeScheduled) {
+                return;
+            }
+
+            resumeScheduled = true;
+            Mono.delay(Duration.ofNanos(resumeAtNanos - System.nanoTime()))
+                .subscribe(ignored -> {
+                    synchronized (this) {
+                        resumeScheduled = false;
+                    }
+                    drain();
+                });
+        }
+
+        private static Duration getRetryAfter(HttpResponse response) {
+            String value = response.getHeaderValue("x-ms-retry-after-ms");
+            if (CoreUtils.isNullOrEmpty(value)) {
+                value = response.getHeaderValue("retry-after-ms");
+            }
+            if (!CoreUtils.isNullOrEmpty(value)) {
+                return parseDuration(value, TimeUnit.MILLISECONDS);
+            }
+
+            value = response.getHeaderValue("Retry-After");
+            return CoreUtils.isNullOrEmpty(value) ? null : parseDuration(value, TimeUnit.SECONDS);
+        }
+
+        private static Duration parseDuration(String value, TimeUnit unit) {
+            try {
+                return Duration.ofNanos(unit.toNanos(Long.parseLong(value.trim())));
+            } catch (NumberFormatException ex) {
+                // Retry-After may also be an HTTP date, it is ignored here and only the limit is lowered.
+                return null;
+            }
+        }
+    }
+}
@@ -11,7 +11,11 @@ import com.azure.core.http.HttpPipelineNextPolicy;
 import com.azure.core.http.HttpResponse;
 import reactor.core.publisher.Mono;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The pipeline policy that applies a token credential to an HTTP request
@@ -21,6 +25,12 @@ public class BearerTokenAuthenticationPolicy implements HttpPipelinePolicy {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER = "Bearer";
 
+    /*
+     * Token caches shared by all policies using the same credential and scopes, so that clients sharing a credential
+     * share a single token and a single refresh. The credential is weakly referenced so the caches don't keep it alive.
+     */
+    private static final Map<TokenCredential, Map<String, SimpleTokenCache>> SHARED_CACHES = new WeakHashMap<>();
+
     private final TokenCredential credential;
     private final String[] scopes;
     private final SimpleTokenCache cache;
@@ -37,7 +47,22 @@ public class BearerTokenAuthenticationPolicy implements HttpPipelinePolicy {
         assert scopes.length > 0;
         this.credential = credential;
         this.scopes = scopes;
-        this.cache = new SimpleTokenCache(() -> credential.getToken(new TokenRequestContext().addScopes(scopes)));
+        this.cache = getSharedCache(credential, scopes);
+    }
+
+    private static SimpleTokenCache getSharedCache(TokenCredential credential, String[] scopes) {
+        final Map<String, SimpleTokenCache> caches;
+        synchronized (SHARED_CACHES) {
+            caches = SHARED_CACHES.computeIfAbsent(credential, key -> new ConcurrentHashMap<>());
+        }
+
+        final WeakReference<TokenCredential> credentialReference = new WeakReference<>(credential);
+        return caches.computeIfAbsent(String.join(" ", scopes), key -> new SimpleTokenCache(() -> {
+            final TokenCredential tokenCredential = credentialReference.get();
+            return tokenCredential == null
+                ? Mono.error(new IllegalStateException("The token credential is no longer available."))
+                : tokenCredential.getToken(new TokenRequestContext().addScopes(scopes));
+        }));
     }
 
     @Override
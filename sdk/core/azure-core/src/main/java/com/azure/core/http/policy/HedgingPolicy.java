@@ -0,0 +1,344 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.logging.ClientLogger;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pipeline policy that hedges idempotent requests: when a request takes longer than most recent requests to the same
+ * host a second attempt of the request is sent, the first successful response is used and the other attempt is
+ * cancelled.
+ * <p>
+ * The delay before the second attempt is the configured percentile of the latencies recently observed for the host,
+ * tracked with a decaying histogram. No request is hedged until enough latencies have been observed for the host.
+ * {@code GET} and {@code HEAD} requests are hedged by default, other requests can be opted in, and any request opted
+ * out, by setting {@link #HEDGE_REQUEST_CONTEXT_KEY} in the {@link com.azure.core.util.Context} of the request. A
+ * request that is opted in must have a body that can be sent more than once.
+ * <p>
+ * Place this policy after {@link RetryPolicy} so that each retry attempt is hedged on its own.
+ */
+public class HedgingPolicy implements HttpPipelinePolicy {
+    /**
+     * Key for {@link com.azure.core.util.Context} to add a {@link Boolean} value which overrides whether the request
+     * is hedged.
+     */
+    public static final String HEDGE_REQUEST_CONTEXT_KEY = "Hedge-Request";
+
+    private static final double DEFAULT_PERCENTILE = 0.95;
+    private static final Duration DEFAULT_MINIMUM_DELAY = Duration.ofMillis(10);
+
+    private final ClientLogger logger = new ClientLogger(HedgingPolicy.class);
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final double percentile;
+    private final long minimumDelayNanos;
+
+    /**
+     * Creates a {@link HedgingPolicy} that hedges requests taking longer than 95% of the recent requests to the same
+     * host, waiting at least 10 milliseconds.
+     */
+    public HedgingPolicy() {
+        this(DEFAULT_PERCENTILE, DEFAULT_MINIMUM_DELAY);
+    }
+
+    /**
+     * Creates a {@link HedgingPolicy}.
+     *
+     * @param percentile The percentile of the recent latencies of a host after which a request is hedged, between 0
+     * and 1.
+     * @param minimumDelay The minimum time to wait before a request is hedged.
+     * @throws NullPointerException If {@code minimumDelay} is {@code null}.
+     * @throws IllegalArgumentException If {@code percentile} isn't greater than 0 and less than 1, or if
+     * {@code minimumDelay} is negative.
+     */
+    public HedgingPolicy(double percentile, Duration minimumDelay) {
+        Objects.requireNonNull(minimumDelay, "'minimumDelay' cannot be null.");
+        if (!(percentile > 0 && percentile < 1)) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'percentile' must be greater than 0 and less than 1."));
+        }
+        if (minimumDelay.isNegative()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'minimumDelay' cannot be negative."));
+        }
+
+        this.percentile = percentile;
+        this.minimumDelayNanos = minimumDelay.toNanos();
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        final HttpRequest request = context.getHttpRequest();
+        final LatencyHistogram histogram = histograms.computeIfAbsent(request.getUrl().getHost(),
+            host -> new LatencyHistogram());
+
+        final long delayNanos = shouldHedge(context) ? histogram.getPercentileNanos(percentile) : -1;
+        if (delayNanos < 0) {
+            return Mono.defer(() -> {
+                final long start = System.nanoTime();
+                return next.process().doOnNext(response -> histogram.record(System.nanoTime() - start));
+            });
+        }
+
+        return Mono.create(sink -> {
+            // The hedged request is copied before the first attempt goes through the remaining policies, which may
+            // change it.
+            final HttpPipelineNextPolicy hedgeNext = next.fork(request.copy());
+            new HedgedCall(sink, histogram).start(next, hedgeNext, Math.max(delayNanos, minimumDelayNanos));
+        });
+    }
+
+    /**
+     * Gets the delay after which a request to the host is currently hedged.
+     *
+     * @param host The host name.
+     * @return The delay after which a request to the host is hedged, or {@code null} if not enough latencies have been
+     * observed for the host to hedge requests.
+     */
+    public Duration getHedgeDelay(String host) {
+        final LatencyHistogram histogram = histograms.get(host);
+        final long delayNanos = histogram == null ? -1 : histogram.getPercentileNanos(percentile);
+        return delayNanos < 0 ? null : Duration.ofNanos(Math.max(delayNanos, minimumDelayNanos));
+    }
+
+    private static boolean shouldHedge(HttpPipelineCallContext context) {
+        final Optional<Object> hedge = context.getData(HEDGE_REQUEST_CONTEXT_KEY);
+        if (hedge.isPresent() && hedge.get() instanceof Boolean) {
+            return (Boolean) hedge.get();
+        }
+
+        final HttpMethod method = context.getHttpRequest().getHttpMethod();
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+
+    private static boolean isSuccess(HttpResponse response) {
+        final int statusCode = response.getStatusCode();
+        return statusCode != 429 && statusCode < 500;
+    }
+
+    /*
+     * Races the attempts of a single hedged request. The first successful response completes the call and cancels the
+     * other attempt, when neither attempt succeeds the call completes with the failure of the first attempt to fail,
+     * preferring failed responses over errors.
+     */
+    private final class HedgedCall {
+        private final MonoSink<HttpResponse> sink;
+        private final LatencyHistogram histogram;
+        private final Disposable.Swap primary = Disposables.swap();
+        private final Disposable.Swap hedge = Disposables.swap();
+        private final Disposable.Swap hedgeTimer = Disposables.swap();
+
+        private int inFlight;
+        private boolean hedgePending;
+        private boolean done;
+        private HttpResponse failedResponse;
+        private Throwable error;
+
+        HedgedCall(MonoSink<HttpResponse> sink, LatencyHistogram histogram) {
+            this.sink = sink;
+            this.histogram = histogram;
+        }
+
+        void start(HttpPipelineNextPolicy primaryNext, HttpPipelineNextPolicy hedgeNext, long delayNanos) {
+            synchronized (this) {
+                inFlight = 1;
+                hedgePending = true;
+            }
+
+            sink.onCancel(this::cancel);
+            send(primaryNext, primary, hedge);
+            hedgeTimer.update(Mono.delay(Duration.ofNanos(delayNanos)).subscribe(ignored -> {
+                synchronized (this) {
+                    if (done || !hedgePending) {
+                        return;
+                    }
+                    hedgePending = false;
+                    inFlight++;
+                }
+
+                logger.verbose("Hedging request after {} ms.", TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                send(hedgeNext, hedge, primary);
+            }));
+        }
+
+        private void send(HttpPipelineNextPolicy next, Disposable.Swap attempt, Disposable.Swap other) {
+            final long start = System.nanoTime();
+            attempt.update(next.process().subscribe(response -> {
+                histogram.record(System.nanoTime() - start);
+                onResponse(response, other);
+            }, throwable -> onError(throwable, other)));
+        }
+
+        private void onResponse(HttpResponse response, Disposable.Swap other) {
+            final HttpResponse discarded;
+            final boolean complete;
+            synchronized (this) {
+                inFlight--;
+                if (done) {
+                    discarded = response;
+                    complete = false;
+                } else if (isSuccess(response)) {
+                    discarded = failedResponse;
+                    failedResponse = response;
+                    complete = true;
+                } else if (failedResponse == null) {
+                    discarded = null;
+                    failedResponse = response;
+                    complete = isLastAttempt();
+                } else {
+                    discarded = response;
+                    complete = isLastAttempt();
+                }
+                done |= complete;
+            }
+
+            if (discarded != null) {
+                discarded.close();
+            }
+
+            if (complete) {
+                hedgeTimer.dispose();
+                other.dispose();
+                sink.success(failedResponse);
+            }
+        }
+
+        private void onError(Throwable throwable, Disposable.Swap other) {
+            final boolean complete;
+            synchronized (this) {
+                inFlight--;
+                if (error == null) {
+                    error = throwable;
+                }
+                complete = !done && isLastAttempt();
+                done |= complete;
+            }
+
+            if (complete) {
+                hedgeTimer.dispose();
+                other.dispose();
+                if (failedResponse != null) {
+                    sink.success(failedResponse);
+                } else {
+                    sink.error(error);
+                }
+            }
+        }
+
+        /*
+         * When the first attempt fails before the hedge was sent the failure is returned right away instead of
+         * hedging, failed requests are retried by the retry policy.
+         */
+        private boolean isLastAttempt() {
+            hedgePending = false;
+            return inFlight == 0;
+        }
+
+        private void cancel() {
+            final HttpResponse discarded;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                discarded = failedResponse;
+            }
+
+            hedgeTimer.dispose();
+            primary.dispose();
+            hedge.dispose();
+            if (discarded != null) {
+                discarded.close();
+            }
+        }
+    }
+
+    /*
+     * A histogram of the latencies of a host using logarithmic buckets, four per power of two microseconds. The counts
+     * are halved periodically so the percentiles follow the recent latencies of the host.
+     */
+    private static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = 64 * SUB_BUCKETS;
+        private static final int MINIMUM_SAMPLES = 20;
+        private static final int DECAY_INTERVAL = 1024;
+
+        private final long[] counts = new long[BUCKETS];
+        private long total;
+        private int samplesSinceDecay;
+
+        synchronized void record(long latencyNanos) {
+            counts[bucketOf(TimeUnit.NANOSECONDS.toMicros(latencyNanos))]++;
+            total++;
+
+            if (++samplesSinceDecay >= DECAY_INTERVAL) {
+                samplesSinceDecay = 0;
+                total = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] >>= 1;
+                    total += counts[i];
+                }
+            }
+        }
+
+        /*
+         * Gets the upper bound of the bucket containing the percentile, or -1 if there are too few samples.
+         */
+        synchronized long getPercentileNanos(double percentile) {
+            if (total < MINIMUM_SAMPLES) {
+                return -1;
+            }
+
+            final long threshold = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts[i];
+                if (cumulative >= threshold) {
+                    return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(i));
+                }
+            }
+
+            return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(BUCKETS - 1));
+        }
+
+        private static int bucketOf(long micros) {
+            if (micros <= 0) {
+                return 0;
+            }
+
+            final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            if (exponent < SUB_BUCKET_BITS) {
+                return exponent * SUB_BUCKETS;
+            }
+
+            final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return Math.min(BUCKETS - 1, exponent * SUB_BUCKETS + subBucket);
+        }
+
+        private static long upperBoundOf(int bucket) {
+            final int exponent = bucket / SUB_BUCKETS;
+            if (exponent < SUB_BUCKET_BITS) {
+                return 1L << (exponent + 1);
+            }
+
+            final int subBucket = bucket % SUB_BUCKETS;
+            return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+        }
+    }
+}
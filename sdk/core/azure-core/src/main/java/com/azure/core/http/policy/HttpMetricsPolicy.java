@@ -0,0 +1,135 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.metrics.Meter;
+import com.azure.core.util.metrics.MeterHistogram;
+import com.azure.core.util.metrics.MeterProxy;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The pipeline policy that records metrics of each request sent by the pipeline to a {@link Meter}.
+ * <p>
+ * The duration of every attempt is recorded along with the service method that sent the request, the HTTP method, the
+ * response status code and the attempt number, so retries are recorded as attempts greater than 1. The sizes of the
+ * request and response bodies are recorded when they have a {@code Content-Length}.
+ * <p>
+ * Place this policy after {@link RetryPolicy} so that every attempt is recorded. Pipelines built by client builders
+ * include this policy when a {@link Meter} is plugged into the SDK.
+ */
+public class HttpMetricsPolicy implements HttpPipelinePolicy {
+    /**
+     * Name of the histogram recording the duration of requests, in milliseconds.
+     */
+    public static final String REQUEST_DURATION_METRIC = "az.sdk.http.request.duration";
+
+    /**
+     * Name of the histogram recording the size of request bodies, in bytes.
+     */
+    public static final String REQUEST_BODY_SIZE_METRIC = "az.sdk.http.request.body.size";
+
+    /**
+     * Name of the histogram recording the size of response bodies, in bytes.
+     */
+    public static final String RESPONSE_BODY_SIZE_METRIC = "az.sdk.http.response.body.size";
+
+    private static final String CALLER_METHOD_KEY = "caller-method";
+    private static final String ATTEMPT_KEY = "az-metrics-attempt";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String UNKNOWN = "unknown";
+    private static final String ERROR = "error";
+
+    private static final List<String> REQUEST_KEYS = Arrays.asList("az.method", "http.method");
+    private static final List<String> RESPONSE_KEYS =
+        Arrays.asList("az.method", "http.method", "http.status_code", "az.attempt");
+
+    private final MeterHistogram requestDuration;
+    private final MeterHistogram requestBodySize;
+    private final MeterHistogram responseBodySize;
+
+    /**
+     * Creates an {@link HttpMetricsPolicy} recording to every {@link Meter} plugged into the SDK.
+     */
+    public HttpMetricsPolicy() {
+        this(MeterProxy.getInstance());
+    }
+
+    /**
+     * Creates an {@link HttpMetricsPolicy}.
+     *
+     * @param meter The meter to record the metrics to.
+     * @throws NullPointerException If {@code meter} is {@code null}.
+     */
+    public HttpMetricsPolicy(Meter meter) {
+        Objects.requireNonNull(meter, "'meter' cannot be null.");
+        this.requestDuration = meter.createHistogram(REQUEST_DURATION_METRIC, "Duration of HTTP requests.", "ms",
+            RESPONSE_KEYS);
+        this.requestBodySize = meter.createHistogram(REQUEST_BODY_SIZE_METRIC, "Size of HTTP request bodies.",
+            "bytes", REQUEST_KEYS);
+        this.responseBodySize = meter.createHistogram(RESPONSE_BODY_SIZE_METRIC, "Size of HTTP response bodies.",
+            "bytes", RESPONSE_KEYS);
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        final String callerMethod = context.getData(CALLER_METHOD_KEY).map(Object::toString).orElse(UNKNOWN);
+        final String httpMethod = context.getHttpRequest().getHttpMethod().toString();
+
+        // The same context is used for every attempt of a request, so it counts the attempts.
+        final int attempt = (Integer) context.getData(ATTEMPT_KEY).orElse(0) + 1;
+        context.setData(ATTEMPT_KEY, attempt);
+
+        final long requestSize = getContentLength(context.getHttpRequest().getHeaders().getValue(CONTENT_LENGTH));
+        if (requestSize >= 0) {
+            requestBodySize.record(requestSize, Arrays.asList(callerMethod, httpMethod));
+        }
+
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return next.process()
+                .doOnNext(response -> {
+                    final List<String> attributes = Arrays.asList(callerMethod, httpMethod,
+                        Integer.toString(response.getStatusCode()), Integer.toString(attempt));
+                    requestDuration.record(elapsedMillis(start), attributes);
+
+                    final long responseSize = getContentLength(response.getHeaderValue(CONTENT_LENGTH));
+                    if (responseSize >= 0) {
+                        responseBodySize.record(responseSize, attributes);
+                    }
+                })
+                .doOnError(error -> {
+                    final String status = (error instanceof HttpResponseException
+                        && ((HttpResponseException) error).getResponse() != null)
+                        ? Integer.toString(((HttpResponseException) error).getResponse().getStatusCode())
+                        : ERROR;
+                    requestDuration.record(elapsedMillis(start),
+                        Arrays.asList(callerMethod, httpMethod, status, Integer.toString(attempt)));
+                });
+        });
+    }
+
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static long getContentLength(String contentLength) {
+        if (contentLength == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(contentLength);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
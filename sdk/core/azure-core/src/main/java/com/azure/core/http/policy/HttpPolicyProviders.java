@@ -3,6 +3,8 @@
 
 package com.azure.core.http.policy;
 
+import com.azure.core.util.metrics.MeterProxy;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
@@ -16,6 +18,9 @@ public final class HttpPolicyProviders {
     private static final List<BeforeRetryPolicyProvider> BEFORE_PROVIDER = new ArrayList<>();
     private static final List<AfterRetryPolicyProvider> AFTER_PROVIDER = new ArrayList<>();
 
+    // Shared by all pipelines so the metric instruments are only created once.
+    private static final HttpMetricsPolicy METRICS_POLICY = MeterProxy.isEnabled() ? new HttpMetricsPolicy() : null;
+
     static {
         ServiceLoader.load(BeforeRetryPolicyProvider.class).forEach(BEFORE_PROVIDER::add);
         ServiceLoader.load(AfterRetryPolicyProvider.class).forEach(AFTER_PROVIDER::add);
@@ -35,12 +40,16 @@ public final class HttpPolicyProviders {
     }
 
     /**
-     * Adds SPI policies that implement {@link AfterRetryPolicyProvider}.
+     * Adds SPI policies that implement {@link AfterRetryPolicyProvider}, and a {@link HttpMetricsPolicy} when a
+     * {@link com.azure.core.util.metrics.Meter} is plugged into the SDK.
      *
      * @param policies Policy list to append the policies.
      */
     public static void addAfterRetryPolicies(List<HttpPipelinePolicy> policies) {
         addPolices(policies, AFTER_PROVIDER);
+        if (METRICS_POLICY != null) {
+            policies.add(METRICS_POLICY);
+        }
     }
 
     private static void addPolices(List<HttpPipelinePolicy> policies, List<? extends HttpPolicyProvider> providers) {
@@ -7,7 +7,6 @@ import com.azure.core.implementation.http.UnexpectedExceptionInformation;
 import com.azure.core.util.Base64Url;
 import com.azure.core.annotation.ResumeOperation;
 import com.azure.core.exception.HttpResponseException;
-import com.azure.core.http.HttpHeader;
 import com.azure.core.http.HttpMethod;
 import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.HttpRequest;
@@ -216,8 +215,9 @@ public final class RestProxy implements InvocationHandler {
         // This definitely happens in paging scenarios. In that case, just use the full URL and
         // ignore the Host annotation.
         final String path = methodParser.setPath(args);
-        final UrlBuilder pathUrlBuilder = UrlBuilder.parse(path);
-        if (pathUrlBuilder.getScheme() != null) {
+        // Only a path containing a scheme separator can be a full URL, skip parsing it otherwise.
+        final UrlBuilder pathUrlBuilder = (path != null && path.contains("://")) ? UrlBuilder.parse(path) : null;
+        if (pathUrlBuilder != null && pathUrlBuilder.getScheme() != null) {
             urlBuilder = pathUrlBuilder;
         } else {
             urlBuilder = new UrlBuilder();
@@ -249,9 +249,7 @@ public final class RestProxy implements InvocationHandler {
             methodParser, args);
 
         // Headers from Swagger method arguments always take precedence over inferred headers from body types
-        for (final HttpHeader header : methodParser.setHeaders(args)) {
-            request.setHeader(header.getName(), header.getValue());
-        }
+        methodParser.setHeaders(args, request.getHeaders());
 
         return request;
     }
@@ -12,6 +12,7 @@ class Substitution {
     private final String urlParameterName;
     private final int methodParameterIndex;
     private final boolean shouldEncode;
+    private volatile EncodedValue lastEncodedValue;
 
     /**
      * Create a new Substitution.
@@ -53,4 +54,35 @@ class Substitution {
     public boolean shouldEncode() {
         return shouldEncode;
     }
+
+    /**
+     * Get the parameter for the provided serialized argument, escaped with the provided escaper if this substitution
+     * should be encoded. Generated clients mostly pass the same constant values (such as "comp" or "restype") on every
+     * call, so the last encoding is kept and reused when the same value comes again.
+     *
+     * @param value The serialized value of the method argument.
+     * @param escaper The escaper used when this substitution should be encoded.
+     * @return The parameter with its name and encoded value.
+     */
+    EncodedParameter encode(String value, PercentEscaper escaper) {
+        final EncodedValue last = lastEncodedValue;
+        if (last != null && last.rawValue.equals(value)) {
+            return last.parameter;
+        }
+
+        final String encodedValue = (shouldEncode && escaper != null) ? escaper.escape(value) : value;
+        final EncodedParameter parameter = new EncodedParameter(urlParameterName, encodedValue);
+        lastEncodedValue = new EncodedValue(value, parameter);
+        return parameter;
+    }
+
+    private static final class EncodedValue {
+        private final String rawValue;
+        private final EncodedParameter parameter;
+
+        EncodedValue(String rawValue, EncodedParameter parameter) {
+            this.rawValue = rawValue;
+            this.parameter = parameter;
+        }
+    }
 }
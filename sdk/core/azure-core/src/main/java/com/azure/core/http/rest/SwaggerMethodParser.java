@@ -63,7 +63,7 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
     private final List<Substitution> querySubstitutions = new ArrayList<>();
     private final List<Substitution> formSubstitutions = new ArrayList<>();
     private final List<Substitution> headerSubstitutions = new ArrayList<>();
-    private final HttpHeaders headers = new HttpHeaders();
+    private final HttpHeader[] constantHeaders;
     private final Integer bodyContentMethodParameterIndex;
     private final String bodyContentType;
     private final Type bodyJavaType;
@@ -71,6 +71,11 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
     private final Type returnType;
     private final Type returnValueWireType;
     private final UnexpectedResponseExceptionType[] unexpectedResponseExceptionTypes;
+    private final UrlTemplate hostTemplate;
+    private final UrlTemplate pathTemplate;
+    private final String[] constantSchemeAndHost;
+    private volatile Type headersType;
+    private volatile boolean headersTypeResolved;
     private Map<Integer, UnexpectedExceptionInformation> exceptionMapping;
     private UnexpectedExceptionInformation defaultException;
 
@@ -142,22 +147,25 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
             this.returnValueWireType = null;
         }
 
+        final HttpHeaders headers = new HttpHeaders();
         if (swaggerMethod.isAnnotationPresent(Headers.class)) {
             final Headers headersAnnotation = swaggerMethod.getAnnotation(Headers.class);
-            final String[] headers = headersAnnotation.value();
-            for (final String header : headers) {
+            for (final String header : headersAnnotation.value()) {
                 final int colonIndex = header.indexOf(":");
                 if (colonIndex >= 0) {
                     final String headerName = header.substring(0, colonIndex).trim();
                     if (!headerName.isEmpty()) {
                         final String headerValue = header.substring(colonIndex + 1).trim();
                         if (!headerValue.isEmpty()) {
-                            this.headers.put(headerName, headerValue);
+                            headers.put(headerName, headerValue);
                         }
                     }
                 }
             }
         }
+        final List<HttpHeader> constantHeaders = new ArrayList<>(headers.getSize());
+        headers.forEach(constantHeaders::add);
+        this.constantHeaders = constantHeaders.toArray(new HttpHeader[0]);
 
         final ExpectedResponses expectedResponses = swaggerMethod.getAnnotation(ExpectedResponses.class);
         expectedStatusCodes = expectedResponses == null ? null : expectedResponses.value();
@@ -206,6 +214,12 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
         this.bodyContentMethodParameterIndex = bodyContentMethodParameterIndex;
         this.bodyContentType = bodyContentType;
         this.bodyJavaType = bodyJavaType;
+
+        // Pre-compile the request template so that creating a request only fills in the method arguments.
+        this.hostTemplate = new UrlTemplate(rawHost, hostSubstitutions);
+        this.pathTemplate = new UrlTemplate(relativePath, pathSubstitutions);
+        this.constantSchemeAndHost =
+            (rawHost == null || hostTemplate.hasSubstitutions()) ? null : splitSchemeAndHost(rawHost);
     }
 
     /**
@@ -245,10 +259,7 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the final host to use for HTTP requests for this Swagger method.
      */
     public String setScheme(Object[] swaggerMethodArguments) {
-        final String substitutedHost =
-            applySubstitutions(rawHost, hostSubstitutions, swaggerMethodArguments, UrlEscapers.PATH_ESCAPER);
-        final String[] substitutedHostParts = substitutedHost.split("://");
-        return substitutedHostParts.length < 1 ? null : substitutedHostParts[0];
+        return getSchemeAndHost(swaggerMethodArguments)[0];
     }
 
     /**
@@ -258,10 +269,24 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the final host to use for HTTP requests for this Swagger method
      */
     public String setHost(Object[] swaggerMethodArguments) {
-        final String substitutedHost =
-            applySubstitutions(rawHost, hostSubstitutions, swaggerMethodArguments, UrlEscapers.PATH_ESCAPER);
+        return getSchemeAndHost(swaggerMethodArguments)[1];
+    }
+
+    private String[] getSchemeAndHost(Object[] swaggerMethodArguments) {
+        if (constantSchemeAndHost != null) {
+            return constantSchemeAndHost;
+        }
+
+        return splitSchemeAndHost(
+            hostTemplate.apply(swaggerMethodArguments, UrlEscapers.PATH_ESCAPER, this::serialize));
+    }
+
+    private static String[] splitSchemeAndHost(String substitutedHost) {
         final String[] substitutedHostParts = substitutedHost.split("://");
-        return substitutedHostParts.length < 2 ? substitutedHost : substitutedHost.split("://")[1];
+        return new String[] {
+            substitutedHostParts.length < 1 ? null : substitutedHostParts[0],
+            substitutedHostParts.length < 2 ? substitutedHost : substitutedHostParts[1]
+        };
     }
 
     /**
@@ -271,7 +296,7 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the path value with its placeholders replaced by the matching substitutions
      */
     public String setPath(Object[] methodArguments) {
-        return applySubstitutions(relativePath, pathSubstitutions, methodArguments, UrlEscapers.PATH_ESCAPER);
+        return pathTemplate.apply(methodArguments, UrlEscapers.PATH_ESCAPER, this::serialize);
     }
 
     /**
@@ -302,18 +327,15 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
             return Collections.emptyList();
         }
 
-        final List<EncodedParameter> result = new ArrayList<>();
+        final List<EncodedParameter> result = new ArrayList<>(substitutions.size());
         final PercentEscaper escaper = UrlEscapers.QUERY_ESCAPER;
         for (Substitution substitution : substitutions) {
             final int parameterIndex = substitution.getMethodParameterIndex();
             if (0 <= parameterIndex && parameterIndex < swaggerMethodArguments.length) {
                 final Object methodArgument = swaggerMethodArguments[substitution.getMethodParameterIndex()];
-                String parameterValue = serialize(methodArgument);
+                final String parameterValue = serialize(methodArgument);
                 if (parameterValue != null) {
-                    if (substitution.shouldEncode() && escaper != null) {
-                        parameterValue = escaper.escape(parameterValue);
-                    }
-                    result.add(new EncodedParameter(substitution.getUrlParameterName(), parameterValue));
+                    result.add(substitution.encode(parameterValue, escaper));
                 }
             }
         }
@@ -326,7 +348,22 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return An Iterable with the headers.
      */
     public Iterable<HttpHeader> setHeaders(Object[] swaggerMethodArguments) {
-        final HttpHeaders result = new HttpHeaders(headers);
+        final HttpHeaders result = new HttpHeaders();
+        setHeaders(swaggerMethodArguments, result);
+        return result;
+    }
+
+    /**
+     * Put the constant headers of this method and the headers based on the provided method arguments directly into
+     * the provided headers, so no intermediate collection is built for every request.
+     *
+     * @param swaggerMethodArguments The arguments that will be used to create the headers' values.
+     * @param result The headers to put the values into.
+     */
+    void setHeaders(Object[] swaggerMethodArguments, HttpHeaders result) {
+        for (final HttpHeader header : constantHeaders) {
+            result.put(header.getName(), header.getValue());
+        }
 
         if (headerSubstitutions != null) {
             for (Substitution headerSubstitution : headerSubstitutions) {
@@ -354,7 +391,6 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
                 }
             }
         }
-        return result;
     }
 
     /**
@@ -523,6 +559,22 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
         return result;
     }
 
+    /**
+     * Get the type of the entity used to deserialize 'Matching' headers. The type is resolved from the return type
+     * on first use and cached for subsequent responses of this Swagger method.
+     *
+     * @return headers entity type
+     */
+    @Override
+    public Type getHeadersType() {
+        if (!headersTypeResolved) {
+            headersType = HttpResponseDecodeData.super.getHeadersType();
+            headersTypeResolved = true;
+        }
+
+        return headersType;
+    }
+
     private String serialize(Object value) {
         String result = null;
         if (value != null) {
@@ -549,35 +601,6 @@ class SwaggerMethodParser implements HttpResponseDecodeData {
         return result;
     }
 
-    private String applySubstitutions(String originalValue, Iterable<Substitution> substitutions,
-                                      Object[] methodArguments, PercentEscaper escaper) {
-        String result = originalValue;
-
-        if (methodArguments != null) {
-            for (Substitution substitution : substitutions) {
-                final int substitutionParameterIndex = substitution.getMethodParameterIndex();
-                if (0 <= substitutionParameterIndex && substitutionParameterIndex < methodArguments.length) {
-                    final Object methodArgument = methodArguments[substitutionParameterIndex];
-
-                    String substitutionValue = serialize(methodArgument);
-                    if (substitutionValue != null
-                        && !substitutionValue.isEmpty()
-                        && substitution.shouldEncode() && escaper != null) {
-                        substitutionValue = escaper.escape(substitutionValue);
-                    }
-                    // if a parameter is null, we treat it as empty string. This is
-                    // assuming no {...} will be allowed otherwise in a path template
-                    if (substitutionValue == null) {
-                        substitutionValue = "";
-                    }
-                    result = result.replace("{" + substitution.getUrlParameterName() + "}", substitutionValue);
-                }
-            }
-        }
-
-        return result;
-    }
-
     private Map<Integer, UnexpectedExceptionInformation> processUnexpectedResponseExceptionTypes() {
         HashMap<Integer, UnexpectedExceptionInformation> exceptionHashMap = new HashMap<>();
 
@@ -0,0 +1,123 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A pre-compiled form of a host or path template such as "{url}/containers/{containerName}". The template is split
+ * once into its literal segments and the {@link Substitution substitutions} that fill the placeholders between them,
+ * so building a URL for a request only needs to append the segments and the escaped argument values instead of
+ * searching and replacing every placeholder in the template string.
+ */
+final class UrlTemplate {
+    private final String template;
+    private final String[] literals;
+    private final Substitution[] substitutions;
+    private final int literalsLength;
+
+    /**
+     * Creates a UrlTemplate.
+     *
+     * @param template The raw template containing "{name}" placeholders.
+     * @param substitutions The substitutions that may fill the placeholders of the template.
+     */
+    UrlTemplate(String template, List<Substitution> substitutions) {
+        this.template = template;
+
+        final List<String> literals = new ArrayList<>();
+        final List<Substitution> slots = new ArrayList<>();
+
+        if (template != null && !substitutions.isEmpty()) {
+            int literalStart = 0;
+            int openIndex = template.indexOf('{');
+            while (openIndex >= 0) {
+                final int closeIndex = template.indexOf('}', openIndex + 1);
+                if (closeIndex < 0) {
+                    break;
+                }
+
+                final Substitution substitution =
+                    findSubstitution(substitutions, template.substring(openIndex + 1, closeIndex));
+                if (substitution == null) {
+                    // Placeholders without a matching substitution are kept as literal text.
+                    openIndex = template.indexOf('{', openIndex + 1);
+                } else {
+                    literals.add(template.substring(literalStart, openIndex));
+                    slots.add(substitution);
+                    literalStart = closeIndex + 1;
+                    openIndex = template.indexOf('{', literalStart);
+                }
+            }
+
+            literals.add(template.substring(literalStart));
+        }
+
+        this.literals = literals.toArray(new String[0]);
+        this.substitutions = slots.toArray(new Substitution[0]);
+
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Gets whether the template contains placeholders that are filled from method arguments.
+     *
+     * @return Whether the template contains placeholders that are filled from method arguments.
+     */
+    boolean hasSubstitutions() {
+        return substitutions.length > 0;
+    }
+
+    /**
+     * Fills the template using the provided method arguments.
+     *
+     * @param methodArguments The arguments of the Swagger method invocation.
+     * @param escaper The escaper used for substitutions that need to be encoded.
+     * @param serializer The function used to convert method arguments into strings.
+     * @return The template with its placeholders replaced by the matching method arguments.
+     */
+    String apply(Object[] methodArguments, PercentEscaper escaper, Function<Object, String> serializer) {
+        if (methodArguments == null || substitutions.length == 0) {
+            return template;
+        }
+
+        final StringBuilder builder = new StringBuilder(literalsLength + 16 * substitutions.length);
+        for (int i = 0; i < substitutions.length; i++) {
+            builder.append(literals[i]);
+
+            final Substitution substitution = substitutions[i];
+            final int parameterIndex = substitution.getMethodParameterIndex();
+            if (0 <= parameterIndex && parameterIndex < methodArguments.length) {
+                final String value = serializer.apply(methodArguments[parameterIndex]);
+                if (value != null && !value.isEmpty() && substitution.shouldEncode() && escaper != null) {
+                    builder.append(escaper.escape(value));
+                } else if (value != null) {
+                    // if a parameter is null, we treat it as empty string. This is
+                    // assuming no {...} will be allowed otherwise in a path template
+                    builder.append(value);
+                }
+            } else {
+                builder.append('{').append(substitution.getUrlParameterName()).append('}');
+            }
+        }
+
+        return builder.append(literals[substitutions.length]).toString();
+    }
+
+    private static Substitution findSubstitution(List<Substitution> substitutions, String name) {
+        for (Substitution substitution : substitutions) {
+            if (substitution.getUrlParameterName().equals(name)) {
+                return substitution;
+            }
+        }
+
+        return null;
+    }
+}
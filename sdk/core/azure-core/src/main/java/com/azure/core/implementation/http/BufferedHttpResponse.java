@@ -12,13 +12,20 @@ import reactor.core.publisher.Mono;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * HTTP response which will buffer the response's body when/if it is read.
+ * <p>
+ * The body is retained as copies of the chunks emitted by the inner response rather than being aggregated into a single
+ * array, so buffering a large response doesn't require one contiguous allocation and replaying the body doesn't copy
+ * it. A contiguous byte array is only created if {@link #getBodyAsByteArray()} or one of the {@code getBodyAsString}
+ * methods is called.
  */
 public final class BufferedHttpResponse extends HttpResponse {
     private final HttpResponse innerHttpResponse;
-    private final Flux<ByteBuffer> cachedBody;
+    private final Mono<List<ByteBuffer>> cachedChunks;
+    private final Mono<byte[]> cachedBodyArray;
 
     /**
      * Creates a buffered HTTP response.
@@ -28,10 +35,11 @@ public final class BufferedHttpResponse extends HttpResponse {
     public BufferedHttpResponse(HttpResponse innerHttpResponse) {
         super(innerHttpResponse.getRequest());
         this.innerHttpResponse = innerHttpResponse;
-        this.cachedBody = FluxUtil.collectBytesInByteBufferStream(innerHttpResponse.getBody())
-            .map(ByteBuffer::wrap)
-            .flux()
+        this.cachedChunks = innerHttpResponse.getBody()
+            .map(BufferedHttpResponse::copyChunk)
+            .collectList()
             .cache();
+        this.cachedBodyArray = cachedChunks.map(BufferedHttpResponse::toByteArray).cache();
     }
 
     @Override
@@ -51,12 +59,13 @@ public final class BufferedHttpResponse extends HttpResponse {
 
     @Override
     public Flux<ByteBuffer> getBody() {
-        return cachedBody;
+        // Duplicates are emitted so that each subscriber reads the chunks from their original positions.
+        return cachedChunks.flatMapMany(Flux::fromIterable).map(ByteBuffer::duplicate);
     }
 
     @Override
     public Mono<byte[]> getBodyAsByteArray() {
-        return cachedBody.next().map(ByteBuffer::array);
+        return cachedBodyArray;
     }
 
     @Override
@@ -75,4 +84,36 @@ public final class BufferedHttpResponse extends HttpResponse {
     public BufferedHttpResponse buffer() {
         return this;
     }
+
+    /*
+     * Chunks emitted by HTTP clients may be views over pooled memory, heap or direct, that is reused once the chunk has
+     * been emitted, for instance with Netty when buffer copies are disabled. The chunks are copied onto the heap before
+     * they are retained.
+     */
+    private static ByteBuffer copyChunk(ByteBuffer chunk) {
+        return ByteBuffer.wrap(FluxUtil.byteBufferToArray(chunk));
+    }
+
+    private static byte[] toByteArray(List<ByteBuffer> chunks) {
+        if (chunks.size() == 1) {
+            final ByteBuffer chunk = chunks.get(0);
+            if (chunk.arrayOffset() == 0 && chunk.position() == 0 && chunk.remaining() == chunk.array().length) {
+                return chunk.array();
+            }
+        }
+
+        int length = 0;
+        for (ByteBuffer chunk : chunks) {
+            length += chunk.remaining();
+        }
+
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        for (ByteBuffer chunk : chunks) {
+            final int remaining = chunk.remaining();
+            chunk.duplicate().get(bytes, offset, remaining);
+            offset += remaining;
+        }
+        return bytes;
+    }
 }
@@ -0,0 +1,27 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.util.metrics;
+
+import java.util.List;
+
+/**
+ * Contract that all meters must implement to be pluggable into the SDK.
+ * <p>
+ * Instruments are created once, with the keys of the attributes they are recorded with, and then recorded to with the
+ * values of those attributes in the same order.
+ *
+ * @see MeterProxy
+ */
+public interface Meter {
+    /**
+     * Creates a histogram recording the distribution of values, such as request durations or payload sizes.
+     *
+     * @param name Name of the histogram.
+     * @param description Description of the histogram.
+     * @param unit Unit of the recorded values.
+     * @param attributeKeys Keys of the attributes the values are recorded with.
+     * @return A histogram recording values to this meter.
+     */
+    MeterHistogram createHistogram(String name, String description, String unit, List<String> attributeKeys);
+}
@@ -0,0 +1,20 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.util.metrics;
+
+import java.util.List;
+
+/**
+ * A histogram created by a {@link Meter}.
+ */
+@FunctionalInterface
+public interface MeterHistogram {
+    /**
+     * Records a value.
+     *
+     * @param value The value to record.
+     * @param attributeValues Values of the attributes, in the order of the keys the histogram was created with.
+     */
+    void record(double value, List<String> attributeValues);
+}
@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.util.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * This class provides a means for all client libraries to record metrics to every {@link Meter meter} plugged into
+ * the SDK. When no meter is plugged in the instruments created by this class do nothing.
+ *
+ * @see Meter
+ */
+public final class MeterProxy implements Meter {
+    private static final MeterProxy INSTANCE = new MeterProxy();
+    private static final List<Meter> METERS;
+
+    private static final MeterHistogram NOOP_HISTOGRAM = (value, attributeValues) -> { };
+
+    static {
+        List<Meter> meters = new ArrayList<>();
+        ServiceLoader.load(Meter.class).forEach(meters::add);
+        METERS = Collections.unmodifiableList(meters);
+    }
+
+    private MeterProxy() {
+        // no-op
+    }
+
+    /**
+     * Gets the meter which records to every {@link Meter meter} plugged into the SDK.
+     *
+     * @return The meter which records to every meter plugged into the SDK.
+     */
+    public static MeterProxy getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets whether any {@link Meter meter} is plugged into the SDK.
+     *
+     * @return Whether any meter is plugged into the SDK.
+     */
+    public static boolean isEnabled() {
+        return !METERS.isEmpty();
+    }
+
+    /**
+     * A histogram is created by each {@link Meter meter} plugged into the SDK.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public MeterHistogram createHistogram(String name, String description, String unit, List<String> attributeKeys) {
+        if (METERS.isEmpty()) {
+            return NOOP_HISTOGRAM;
+        } else if (METERS.size() == 1) {
+            return METERS.get(0).createHistogram(name, description, unit, attributeKeys);
+        }
+
+        final List<MeterHistogram> histograms = new ArrayList<>(METERS.size());
+        for (Meter meter : METERS) {
+            histograms.add(meter.createHistogram(name, description, unit, attributeKeys));
+        }
+
+        return (value, attributeValues) -> {
+            for (MeterHistogram histogram : histograms) {
+                histogram.record(value, attributeValues);
+            }
+        };
+    }
+}
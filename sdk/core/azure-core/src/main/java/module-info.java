@@ -23,6 +23,7 @@ module com.azure.core {
     exports com.azure.core.http.rest;
     exports com.azure.core.util;
     exports com.azure.core.util.logging;
+    exports com.azure.core.util.metrics;
     exports com.azure.core.util.paging;
     exports com.azure.core.util.polling;
     exports com.azure.core.util.serializer;
@@ -40,6 +41,7 @@ module com.azure.core {
 
     // service provider interfaces
     uses com.azure.core.util.tracing.Tracer;
+    uses com.azure.core.util.metrics.Meter;
     uses com.azure.core.http.HttpClientProvider;
     uses com.azure.core.http.policy.BeforeRetryPolicyProvider;
     uses com.azure.core.http.policy.AfterRetryPolicyProvider;
@@ -3,6 +3,8 @@
 
 package com.azure.core.credential;
 
+import com.azure.core.util.metrics.Meter;
+import com.azure.core.util.metrics.MeterHistogram;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -11,10 +13,16 @@ import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TokenCacheTests {
     private static final Random RANDOM = new Random();
@@ -79,6 +87,69 @@ public class TokenCacheTests {
         Assertions.assertTrue(refreshes.get() <= 11);
     }
 
+    @Test
+    public void testTokenRefreshedAheadOfExpiry() {
+        AtomicReference<OffsetDateTime> now = new AtomicReference<>(OffsetDateTime.now());
+        AtomicInteger refreshes = new AtomicInteger(0);
+        SimpleTokenCache cache = new SimpleTokenCache(() -> Mono.fromCallable(() ->
+            new Token(Integer.toString(refreshes.incrementAndGet()), now.get().plusSeconds(4))),
+            new RecordingMeter(), now::get);
+
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        now.set(now.get().plusSeconds(1));
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        Assertions.assertEquals(1, refreshes.get());
+
+        // The cached token is still valid and is served while it is refreshed in the background.
+        now.set(now.get().plus(Duration.ofMillis(1500)));
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        Assertions.assertEquals("2", cache.getToken().block().getToken());
+        Assertions.assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    public void testCachedTokenServedWhenRefreshAheadFails() {
+        AtomicReference<OffsetDateTime> now = new AtomicReference<>(OffsetDateTime.now());
+        AtomicInteger refreshes = new AtomicInteger(0);
+        SimpleTokenCache cache = new SimpleTokenCache(() -> refreshes.incrementAndGet() == 1
+            ? Mono.just(new Token("1", now.get().plusSeconds(4)))
+            : Mono.error(new RuntimeException("refresh failed")), new RecordingMeter(), now::get);
+
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        now.set(now.get().plus(Duration.ofMillis(2500)));
+
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        Assertions.assertEquals("1", cache.getToken().block().getToken());
+        Assertions.assertEquals(2, refreshes.get());
+
+        // Once the cached token expires the next lookup waits on a token request.
+        now.set(now.get().plusSeconds(2));
+        Assertions.assertThrows(RuntimeException.class, () -> cache.getToken().block());
+        Assertions.assertEquals(3, refreshes.get());
+    }
+
+    @Test
+    public void testRefreshDurationAndCacheHitsRecorded() {
+        AtomicReference<OffsetDateTime> now = new AtomicReference<>(OffsetDateTime.now());
+        AtomicInteger refreshes = new AtomicInteger(0);
+        RecordingMeter meter = new RecordingMeter();
+        SimpleTokenCache cache = new SimpleTokenCache(() -> refreshes.incrementAndGet() == 2
+            ? Mono.error(new RuntimeException("refresh failed"))
+            : Mono.just(new Token("1", now.get().plusSeconds(4))), meter, now::get);
+
+        cache.getToken().block();
+        cache.getToken().block();
+        cache.getToken().block();
+        now.set(now.get().plus(Duration.ofMillis(2500)));
+        cache.getToken().block();
+
+        Assertions.assertEquals(Arrays.asList(0D, 1D, 1D, 1D), meter.values(SimpleTokenCache.TOKEN_CACHE_HIT_METRIC));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("false", "success"), Arrays.asList("true", "error")),
+            meter.attributes(SimpleTokenCache.TOKEN_REFRESH_DURATION_METRIC));
+        Assertions.assertTrue(meter.values(SimpleTokenCache.TOKEN_REFRESH_DURATION_METRIC).stream()
+            .allMatch(duration -> duration >= 0));
+    }
+
     private Mono<AccessToken> remoteGetTokenAsync(long delayInMillis) {
         return Mono.delay(Duration.ofMillis(delayInMillis))
             .map(l -> new Token(Integer.toString(RANDOM.nextInt(100))));
@@ -109,9 +180,13 @@ public class TokenCacheTests {
         }
 
         Token(String token, long validityInMillis) {
-            super(token, OffsetDateTime.now().plus(Duration.ofMillis(validityInMillis)));
+            this(token, OffsetDateTime.now().plus(Duration.ofMillis(validityInMillis)));
+        }
+
+        Token(String token, OffsetDateTime expiry) {
+            super(token, expiry);
             this.token = token;
-            this.expiry = OffsetDateTime.now().plus(Duration.ofMillis(validityInMillis));
+            this.expiry = expiry;
         }
 
         @Override
@@ -124,4 +199,29 @@ public class TokenCacheTests {
             return OffsetDateTime.now().isAfter(expiry);
         }
     }
+
+    // Records the values and attributes of every histogram it created.
+    private static class RecordingMeter implements Meter {
+        private final Map<String, List<Double>> values = new ConcurrentHashMap<>();
+        private final Map<String, List<List<String>>> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        public MeterHistogram createHistogram(String name, String description, String unit,
+            List<String> attributeKeys) {
+            values.put(name, new CopyOnWriteArrayList<>());
+            attributes.put(name, new CopyOnWriteArrayList<>());
+            return (value, attributeValues) -> {
+                values.get(name).add(value);
+                attributes.get(name).add(attributeValues);
+            };
+        }
+
+        List<Double> values(String name) {
+            return values.get(name);
+        }
+
+        List<List<String>> attributes(String name) {
+            return attributes.get(name);
+        }
+    }
 }
@@ -41,4 +41,17 @@ public class HttpHeadersTests {
 
         assertEquals("key1=value1, key2=value2, key3=value3", headers.toString());
     }
+
+    @Test
+    public void wellKnownHeadersAreCaseInsensitive() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.put("Content-Length", "10");
+        headers.put("x-ms-request-id", "id");
+
+        assertEquals("10", headers.getValue("content-length"));
+        assertEquals("10", headers.getValue("CONTENT-LENGTH"));
+        assertEquals("10", headers.getValue("Content-length"));
+        assertEquals("id", headers.getValue("X-Ms-Request-Id"));
+        assertEquals(2, headers.getSize());
+    }
 }
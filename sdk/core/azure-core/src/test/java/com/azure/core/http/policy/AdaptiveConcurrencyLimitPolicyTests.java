@@ -0,0 +1,155 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.exception.HttpRequestException;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.MockHttpResponse;
+import com.azure.core.http.clients.NoOpHttpClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AdaptiveConcurrencyLimitPolicyTests {
+    @Test
+    public void queuesRequestsAboveLimit() throws MalformedURLException {
+        final List<MonoProcessor<HttpResponse>> pending = new ArrayList<>();
+        final AdaptiveConcurrencyLimitPolicy policy = new AdaptiveConcurrencyLimitPolicy(1, 1);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    MonoProcessor<HttpResponse> response = MonoProcessor.create();
+                    pending.add(response);
+                    return response;
+                }
+            })
+            .policies(policy)
+            .build();
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        final MonoProcessor<HttpResponse> first = pipeline.send(request).toProcessor();
+        final MonoProcessor<HttpResponse> second = pipeline.send(request).toProcessor();
+
+        Assertions.assertEquals(1, pending.size());
+        Assertions.assertEquals(1, policy.getInFlightRequests("localhost"));
+        Assertions.assertEquals(1, policy.getQueueDepth("localhost"));
+
+        // The queue is full, further requests are rejected.
+        StepVerifier.create(pipeline.send(request))
+            .verifyError(HttpRequestException.class);
+
+        pending.get(0).onNext(new MockHttpResponse(request, 200));
+        Assertions.assertEquals(200, first.block().getStatusCode());
+        Assertions.assertEquals(2, pending.size());
+        Assertions.assertEquals(0, policy.getQueueDepth("localhost"));
+
+        pending.get(1).onNext(new MockHttpResponse(request, 200));
+        Assertions.assertEquals(200, second.block().getStatusCode());
+        Assertions.assertEquals(0, policy.getInFlightRequests("localhost"));
+    }
+
+    @Test
+    public void throttledResponsesLowerLimitAndPause() throws MalformedURLException {
+        final long[] sentAt = new long[2];
+        final int[] count = new int[1];
+        final AdaptiveConcurrencyLimitPolicy policy = new AdaptiveConcurrencyLimitPolicy(8, 8);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    sentAt[count[0]] = System.nanoTime();
+                    return Mono.just(count[0]++ == 0
+                        ? new MockHttpResponse(request, 429, new HttpHeaders().put("retry-after-ms", "200"))
+                        : new MockHttpResponse(request, 200));
+                }
+            })
+            .policies(policy)
+            .build();
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        Assertions.assertEquals(429, pipeline.send(request).block().getStatusCode());
+        Assertions.assertEquals(4, policy.getConcurrencyLimit("localhost"));
+
+        Assertions.assertEquals(200, pipeline.send(request).block(Duration.ofSeconds(5)).getStatusCode());
+        Assertions.assertTrue(sentAt[1] - sentAt[0] >= Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    public void rejectedRequestsDoNotLowerLimit() throws MalformedURLException {
+        final AdaptiveConcurrencyLimitPolicy policy = new AdaptiveConcurrencyLimitPolicy(4, 0);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.never();
+                }
+            })
+            .policies(policy)
+            .build();
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        final List<Disposable> inFlight = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            inFlight.add(pipeline.send(request).subscribe());
+        }
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(pipeline.send(request))
+                .verifyError(HttpRequestException.class);
+        }
+        Assertions.assertEquals(4, policy.getConcurrencyLimit("localhost"));
+
+        inFlight.forEach(Disposable::dispose);
+        Assertions.assertEquals(0, policy.getInFlightRequests("localhost"));
+    }
+
+    @Test
+    public void cancelledRequestsGiveBackTheirPermits() throws MalformedURLException {
+        final AdaptiveConcurrencyLimitPolicy policy = new AdaptiveConcurrencyLimitPolicy(2, 1024);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.<HttpResponse>just(new MockHttpResponse(request, 200))
+                        .delayElement(Duration.ofMillis(1));
+                }
+            })
+            .policies(policy)
+            .build();
+
+        // Cancel requests while they are queued, being granted and in flight from several threads at once.
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        Flux.range(0, 2000)
+            .parallel()
+            .runOn(Schedulers.parallel())
+            .flatMap(i -> pipeline.send(request)
+                .take(Duration.ofNanos((i % 20) * 100_000L))
+                .onErrorResume(error -> Mono.empty()))
+            .sequential()
+            .blockLast(Duration.ofSeconds(30));
+
+        Assertions.assertEquals(0, policy.getQueueDepth("localhost"));
+        Assertions.assertEquals(0, policy.getInFlightRequests("localhost"));
+        StepVerifier.create(pipeline.send(request))
+            .assertNext(response -> Assertions.assertEquals(200, response.getStatusCode()))
+            .verifyComplete();
+    }
+}
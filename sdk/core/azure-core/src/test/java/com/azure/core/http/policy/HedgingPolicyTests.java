@@ -0,0 +1,178 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.MockHttpResponse;
+import com.azure.core.http.clients.NoOpHttpClient;
+import com.azure.core.util.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class HedgingPolicyTests {
+    private static final Duration MINIMUM_DELAY = Duration.ofMillis(50);
+
+    @Test
+    public void slowRequestIsHedgedAndLoserCancelled() throws MalformedURLException {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicBoolean slow = new AtomicBoolean();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final HedgingPolicy policy = new HedgingPolicy(0.9, MINIMUM_DELAY);
+        final HttpPipeline pipeline = createPipeline(policy, request -> {
+            sent.incrementAndGet();
+            if (slow.getAndSet(false)) {
+                return Mono.<HttpResponse>never().doOnCancel(() -> cancelled.set(true));
+            }
+            return Mono.just(new MockHttpResponse(request, 200));
+        });
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        warmUp(pipeline, request);
+        Assertions.assertEquals(MINIMUM_DELAY, policy.getHedgeDelay("localhost"));
+
+        sent.set(0);
+        slow.set(true);
+        StepVerifier.create(pipeline.send(request))
+            .assertNext(response -> Assertions.assertEquals(200, response.getStatusCode()))
+            .verifyComplete();
+
+        Assertions.assertEquals(2, sent.get());
+        Assertions.assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void fastResponseIsNotHedged() throws MalformedURLException {
+        final AtomicInteger sent = new AtomicInteger();
+        final HttpPipeline pipeline = createPipeline(new HedgingPolicy(0.9, MINIMUM_DELAY), request -> {
+            sent.incrementAndGet();
+            return Mono.just(new MockHttpResponse(request, 200));
+        });
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        warmUp(pipeline, request);
+
+        sent.set(0);
+        StepVerifier.create(pipeline.send(request))
+            .assertNext(response -> Assertions.assertEquals(200, response.getStatusCode()))
+            .verifyComplete();
+        Assertions.assertEquals(1, sent.get());
+    }
+
+    @Test
+    public void failedResponseWaitsForHedge() throws MalformedURLException {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicBoolean slow = new AtomicBoolean();
+        final HttpPipeline pipeline = createPipeline(new HedgingPolicy(0.9, MINIMUM_DELAY), request -> {
+            sent.incrementAndGet();
+            if (slow.getAndSet(false)) {
+                return Mono.<HttpResponse>just(new MockHttpResponse(request, 503))
+                    .delaySubscription(MINIMUM_DELAY.multipliedBy(2));
+            }
+            return Mono.just(new MockHttpResponse(request, 200));
+        });
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        warmUp(pipeline, request);
+
+        sent.set(0);
+        slow.set(true);
+        StepVerifier.create(pipeline.send(request))
+            .assertNext(response -> Assertions.assertEquals(200, response.getStatusCode()))
+            .verifyComplete();
+        Assertions.assertEquals(2, sent.get());
+    }
+
+    @Test
+    public void errorBeforeHedgeDelayIsReturned() throws MalformedURLException {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicBoolean fail = new AtomicBoolean();
+        final HttpPipeline pipeline = createPipeline(new HedgingPolicy(0.9, MINIMUM_DELAY), request -> {
+            sent.incrementAndGet();
+            return fail.get()
+                ? Mono.error(new IOException())
+                : Mono.just(new MockHttpResponse(request, 200));
+        });
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        warmUp(pipeline, request);
+
+        sent.set(0);
+        fail.set(true);
+        StepVerifier.create(pipeline.send(request))
+            .verifyError(IOException.class);
+        Assertions.assertEquals(1, sent.get());
+    }
+
+    @Test
+    public void nonIdempotentRequestsAreHedgedOnlyWhenOptedIn() throws MalformedURLException {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicBoolean slow = new AtomicBoolean();
+        final HttpPipeline pipeline = createPipeline(new HedgingPolicy(0.9, MINIMUM_DELAY), request -> {
+            sent.incrementAndGet();
+            if (slow.getAndSet(false)) {
+                return Mono.<HttpResponse>just(new MockHttpResponse(request, 201))
+                    .delaySubscription(MINIMUM_DELAY.multipliedBy(2));
+            }
+            return Mono.just(new MockHttpResponse(request, 201));
+        });
+
+        final HttpRequest request = new HttpRequest(HttpMethod.POST, new URL("http://localhost/"));
+        warmUp(pipeline, request);
+
+        sent.set(0);
+        slow.set(true);
+        StepVerifier.create(pipeline.send(request))
+            .assertNext(response -> Assertions.assertEquals(201, response.getStatusCode()))
+            .verifyComplete();
+        Assertions.assertEquals(1, sent.get());
+
+        sent.set(0);
+        slow.set(true);
+        StepVerifier.create(pipeline.send(request, new Context(HedgingPolicy.HEDGE_REQUEST_CONTEXT_KEY, true)))
+            .assertNext(response -> Assertions.assertEquals(201, response.getStatusCode()))
+            .verifyComplete();
+        Assertions.assertEquals(2, sent.get());
+    }
+
+    @Test
+    public void invalidPercentileThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HedgingPolicy(1, MINIMUM_DELAY));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HedgingPolicy(0, MINIMUM_DELAY));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new HedgingPolicy(0.5, Duration.ofMillis(-1)));
+    }
+
+    private static void warmUp(HttpPipeline pipeline, HttpRequest request) {
+        for (int i = 0; i < 20; i++) {
+            pipeline.send(request).block();
+        }
+    }
+
+    private static HttpPipeline createPipeline(HedgingPolicy policy,
+        Function<HttpRequest, Mono<HttpResponse>> send) {
+        return new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return send.apply(request);
+                }
+            })
+            .policies(policy)
+            .build();
+    }
+}
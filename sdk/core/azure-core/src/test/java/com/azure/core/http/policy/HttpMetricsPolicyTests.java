@@ -0,0 +1,118 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.MockHttpResponse;
+import com.azure.core.http.clients.NoOpHttpClient;
+import com.azure.core.util.Context;
+import com.azure.core.util.metrics.Meter;
+import com.azure.core.util.metrics.MeterHistogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HttpMetricsPolicyTests {
+    @Test
+    public void recordsEveryAttempt() throws MalformedURLException {
+        final RecordingMeter meter = new RecordingMeter();
+        final AtomicInteger count = new AtomicInteger();
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.just(count.getAndIncrement() == 0
+                        ? new MockHttpResponse(request, 503)
+                        : new MockHttpResponse(request, 200, new HttpHeaders().put("Content-Length", "42")));
+                }
+            })
+            .policies(new RetryPolicy(new FixedDelay(1, Duration.ofMillis(1))), new HttpMetricsPolicy(meter))
+            .build();
+
+        final HttpRequest request = new HttpRequest(HttpMethod.PUT, new URL("http://localhost/"));
+        request.setHeader("Content-Length", "10");
+
+        StepVerifier.create(pipeline.send(request, new Context("caller-method", "Client.upload")))
+            .assertNext(response -> Assertions.assertEquals(200, response.getStatusCode()))
+            .verifyComplete();
+
+        final List<Recorded> durations = meter.get(HttpMetricsPolicy.REQUEST_DURATION_METRIC);
+        Assertions.assertEquals(2, durations.size());
+        Assertions.assertEquals(Arrays.asList("Client.upload", "PUT", "503", "1"), durations.get(0).attributes);
+        Assertions.assertEquals(Arrays.asList("Client.upload", "PUT", "200", "2"), durations.get(1).attributes);
+
+        final List<Recorded> requestSizes = meter.get(HttpMetricsPolicy.REQUEST_BODY_SIZE_METRIC);
+        Assertions.assertEquals(2, requestSizes.size());
+        Assertions.assertEquals(10, requestSizes.get(0).value);
+
+        final List<Recorded> responseSizes = meter.get(HttpMetricsPolicy.RESPONSE_BODY_SIZE_METRIC);
+        Assertions.assertEquals(1, responseSizes.size());
+        Assertions.assertEquals(42, responseSizes.get(0).value);
+    }
+
+    @Test
+    public void recordsErrors() throws MalformedURLException {
+        final RecordingMeter meter = new RecordingMeter();
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.error(new IOException());
+                }
+            })
+            .policies(new HttpMetricsPolicy(meter))
+            .build();
+
+        StepVerifier.create(pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/"))))
+            .verifyError(IOException.class);
+
+        final List<Recorded> durations = meter.get(HttpMetricsPolicy.REQUEST_DURATION_METRIC);
+        Assertions.assertEquals(1, durations.size());
+        Assertions.assertEquals(Arrays.asList("unknown", "GET", "error", "1"), durations.get(0).attributes);
+    }
+
+    private static final class Recorded {
+        private final double value;
+        private final List<String> attributes;
+
+        Recorded(double value, List<String> attributes) {
+            this.value = value;
+            this.attributes = attributes;
+        }
+    }
+
+    private static final class RecordingMeter implements Meter {
+        private final Map<String, List<Recorded>> recorded = new ConcurrentHashMap<>();
+
+        List<Recorded> get(String name) {
+            return recorded.getOrDefault(name, new ArrayList<>());
+        }
+
+        @Override
+        public MeterHistogram createHistogram(String name, String description, String unit,
+            List<String> attributeKeys) {
+            return (value, attributeValues) -> {
+                Assertions.assertEquals(attributeKeys.size(), attributeValues.size());
+                recorded.computeIfAbsent(name, key -> new ArrayList<>()).add(new Recorded(value, attributeValues));
+            };
+        }
+    }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.rest;
+
+import com.azure.core.annotation.Get;
+import com.azure.core.annotation.HeaderParam;
+import com.azure.core.annotation.Host;
+import com.azure.core.annotation.HostParam;
+import com.azure.core.annotation.PathParam;
+import com.azure.core.annotation.QueryParam;
+import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.util.UrlBuilder;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the URL of a request by string replacement of every placeholder, as RestProxy used to do, with
+ * filling in the pre-compiled request template of {@link SwaggerMethodParser}.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RequestTemplateBenchMark {
+    @Host("{url}")
+    @ServiceInterface(name = "BenchmarkService")
+    interface BenchmarkService {
+        @Get("{containerName}/{blob}")
+        Mono<Void> getBlob(@HostParam("url") String url, @PathParam("containerName") String containerName,
+            @PathParam("blob") String blob, @QueryParam("snapshot") String snapshot,
+            @QueryParam("timeout") Integer timeout, @HeaderParam("x-ms-version") String version,
+            @HeaderParam("x-ms-range") String range);
+    }
+
+    private static final String RAW_HOST = "{url}";
+    private static final String RAW_PATH = "{containerName}/{blob}";
+
+    private SwaggerMethodParser methodParser;
+    private List<Substitution> hostSubstitutions;
+    private List<Substitution> pathSubstitutions;
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Method method = BenchmarkService.class.getDeclaredMethod("getBlob", String.class, String.class, String.class,
+            String.class, Integer.class, String.class, String.class);
+        methodParser = new SwaggerMethodParser(method, RAW_HOST);
+        hostSubstitutions = Arrays.asList(new Substitution("url", 0, false));
+        pathSubstitutions = Arrays.asList(new Substitution("containerName", 1, true),
+            new Substitution("blob", 2, true));
+        args = new Object[] {"https://account.blob.core.windows.net", "container", "directory/blob name.txt",
+            "2020-01-01T00:00:00.0000000Z", 30, "2019-07-07", "bytes=0-1023"};
+    }
+
+    @Benchmark
+    public void stringReplace(Blackhole blackhole) throws IOException {
+        final String path = legacyApplySubstitutions(RAW_PATH, pathSubstitutions, args);
+        final UrlBuilder urlBuilder = UrlBuilder.parse(path);
+        final String host = legacyApplySubstitutions(RAW_HOST, hostSubstitutions, args);
+        urlBuilder.setScheme(host.split("://")[0]);
+        urlBuilder.setHost(host.split("://")[1]);
+        urlBuilder.setPath(path);
+        for (EncodedParameter queryParameter : methodParser.setEncodedQueryParameters(args)) {
+            urlBuilder.setQueryParameter(queryParameter.getName(), queryParameter.getEncodedValue());
+        }
+        URL url = urlBuilder.toUrl();
+        blackhole.consume(url);
+        blackhole.consume(methodParser.setHeaders(args));
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole blackhole) throws IOException {
+        final String path = methodParser.setPath(args);
+        final UrlBuilder urlBuilder = new UrlBuilder()
+            .setScheme(methodParser.setScheme(args))
+            .setHost(methodParser.setHost(args))
+            .setPath(path);
+        for (EncodedParameter queryParameter : methodParser.setEncodedQueryParameters(args)) {
+            urlBuilder.setQueryParameter(queryParameter.getName(), queryParameter.getEncodedValue());
+        }
+        URL url = urlBuilder.toUrl();
+        blackhole.consume(url);
+        blackhole.consume(methodParser.setHeaders(args));
+    }
+
+    private static String legacyApplySubstitutions(String originalValue, List<Substitution> substitutions,
+        Object[] methodArguments) {
+        String result = originalValue;
+        for (Substitution substitution : substitutions) {
+            String substitutionValue = String.valueOf(methodArguments[substitution.getMethodParameterIndex()]);
+            if (!substitutionValue.isEmpty() && substitution.shouldEncode()) {
+                substitutionValue = UrlEscapers.PATH_ESCAPER.escape(substitutionValue);
+            }
+            result = result.replace("{" + substitution.getUrlParameterName() + "}", substitutionValue);
+        }
+        return result;
+    }
+
+    public static void main(String... args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
@@ -6,18 +6,26 @@ package com.azure.core.http.rest;
 import com.azure.core.MyOtherRestException;
 import com.azure.core.MyRestException;
 import com.azure.core.annotation.ExpectedResponses;
+import com.azure.core.annotation.Get;
+import com.azure.core.annotation.HeaderParam;
+import com.azure.core.annotation.Headers;
 import com.azure.core.annotation.Patch;
+import com.azure.core.annotation.QueryParam;
 import com.azure.core.annotation.UnexpectedResponseExceptionType;
 import com.azure.core.implementation.entities.HttpBinJSON;
 import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpMethod;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.Iterator;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SwaggerMethodParserTests {
@@ -207,4 +215,46 @@ public class SwaggerMethodParserTests {
         assertEquals("https", methodParser.setScheme(null));
         assertEquals("raw.host.com", methodParser.setHost(null));
     }
+
+    interface TestInterface9 {
+        @Get("my/rest/api/path")
+        @ExpectedResponses({200})
+        @Headers({"x-ms-constant: constant value"})
+        void testMethod9(@QueryParam("comp") String comp, @HeaderParam("x-ms-argument") String argument);
+    }
+
+    @Test
+    public void encodedQueryParametersAreReusedForTheSameValue() {
+        final Method testMethod9 = TestInterface9.class.getDeclaredMethods()[0];
+        final SwaggerMethodParser methodParser = new SwaggerMethodParser(testMethod9, "https://raw.host.com");
+
+        final EncodedParameter first = methodParser.setEncodedQueryParameters(new Object[] {"a b", "1"})
+            .iterator().next();
+        final EncodedParameter second = methodParser.setEncodedQueryParameters(new Object[] {"a b", "2"})
+            .iterator().next();
+        assertEquals("comp", first.getName());
+        assertEquals("a%20b", first.getEncodedValue());
+        assertSame(first, second);
+
+        final EncodedParameter other = methodParser.setEncodedQueryParameters(new Object[] {"c&d", "3"})
+            .iterator().next();
+        assertEquals("c%26d", other.getEncodedValue());
+    }
+
+    @Test
+    public void headersArePutIntoTheRequestHeaders() {
+        final Method testMethod9 = TestInterface9.class.getDeclaredMethods()[0];
+        final SwaggerMethodParser methodParser = new SwaggerMethodParser(testMethod9, "https://raw.host.com");
+
+        final HttpHeaders requestHeaders = new HttpHeaders().put("x-ms-constant", "inferred").put("Accept", "*/*");
+        methodParser.setHeaders(new Object[] {"list", "argument value"}, requestHeaders);
+        assertEquals(3, requestHeaders.getSize());
+        assertEquals("constant value", requestHeaders.getValue("x-ms-constant"));
+        assertEquals("argument value", requestHeaders.getValue("x-ms-argument"));
+        assertEquals("*/*", requestHeaders.getValue("Accept"));
+
+        final Iterator<HttpHeader> headers = methodParser.setHeaders(new Object[] {"list", null}).iterator();
+        assertEquals("constant value", headers.next().getValue());
+        assertEquals(false, headers.hasNext());
+    }
 }
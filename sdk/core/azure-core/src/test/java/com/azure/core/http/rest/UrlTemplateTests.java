@@ -0,0 +1,47 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.rest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UrlTemplateTests {
+    @Test
+    public void noSubstitutions() {
+        final UrlTemplate template = new UrlTemplate("my/{path}", Collections.emptyList());
+        assertFalse(template.hasSubstitutions());
+        assertEquals("my/{path}", template.apply(new Object[] {"value"}, UrlEscapers.PATH_ESCAPER, String::valueOf));
+    }
+
+    @Test
+    public void substitutesAndEncodes() {
+        final UrlTemplate template = new UrlTemplate("{a}/b/{c}/{a}",
+            Arrays.asList(new Substitution("a", 0, true), new Substitution("c", 1, false)));
+        assertTrue(template.hasSubstitutions());
+        assertEquals("x%20y/b/p q/x%20y",
+            template.apply(new Object[] {"x y", "p q"}, UrlEscapers.PATH_ESCAPER, String::valueOf));
+    }
+
+    @Test
+    public void nullValueBecomesEmpty() {
+        final UrlTemplate template = new UrlTemplate("a/{b}/c",
+            Collections.singletonList(new Substitution("b", 0, true)));
+        assertEquals("a//c", template.apply(new Object[] {null}, UrlEscapers.PATH_ESCAPER, v -> null));
+    }
+
+    @Test
+    public void unmatchedPlaceholdersAreKept() {
+        final UrlTemplate template = new UrlTemplate("{a}/{unknown}/{b}",
+            Arrays.asList(new Substitution("a", 0, true), new Substitution("b", 5, true)));
+        assertEquals("1/{unknown}/{b}", template.apply(new Object[] {"1"}, UrlEscapers.PATH_ESCAPER,
+            String::valueOf));
+        assertEquals("{a}/{unknown}/{b}", template.apply(null, UrlEscapers.PATH_ESCAPER, String::valueOf));
+    }
+}
@@ -15,6 +15,8 @@ import reactor.util.function.Tuple2;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -37,6 +39,63 @@ public class HttpResponseTests {
             .verifyComplete();
     }
 
+    @Test
+    public void testBufferedResponseReplaysChunksAndMaterializesOnDemand() {
+        HttpResponse bufferedResponse = new ChunkedHttpResponse("long_", "long_", "content").buffer();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(bufferedResponse.getBody().map(bb -> {
+                byte[] bytes = new byte[bb.remaining()];
+                bb.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }))
+                .expectNext("long_", "long_", "content")
+                .verifyComplete();
+        }
+
+        StepVerifier.create(bufferedResponse.getBodyAsString())
+            .expectNext("long_long_content")
+            .verifyComplete();
+    }
+
+    @Test
+    public void testBufferedResponseCopiesReusedChunks() {
+        // Every chunk is emitted in the same heap buffer, overwritten once the chunk has been consumed, like a view
+        // over pooled memory.
+        ByteBuffer reused = ByteBuffer.allocate(16);
+        HttpResponse bufferedResponse = new SelfDisposedHttpResponse() {
+            @Override
+            public Flux<ByteBuffer> getBody() {
+                return Flux.just("long_", "long_", "content").map(chunk -> {
+                    reused.clear();
+                    reused.put(chunk.getBytes(StandardCharsets.UTF_8)).flip();
+                    return reused;
+                });
+            }
+        }.buffer();
+
+        StepVerifier.create(bufferedResponse.getBodyAsString())
+            .expectNext("long_long_content")
+            .verifyComplete();
+    }
+
+    // A Type to mimic Response with its body emitted in several chunks, only allowing it to be read once.
+    private static class ChunkedHttpResponse extends SelfDisposedHttpResponse {
+        private final String[] chunks;
+        private final AtomicBoolean consumed = new AtomicBoolean();
+
+        ChunkedHttpResponse(String... chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.fromArray(chunks)
+                .doOnSubscribe(ignored -> assertFalse(consumed.getAndSet(true), "content is already consumed"))
+                .map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
     // A Type to mimic Response with body content released/disposed as it consumed
     private static class SelfDisposedHttpResponse extends HttpResponse {
         private final Mono<ByteBuffer> contentMono;
@@ -77,7 +77,8 @@ abstract class AsyncBenchmark<T> {
 
         if (configuration.getOperationType() != Configuration.Operation.WriteLatency
                 && configuration.getOperationType() != Configuration.Operation.WriteThroughput
-                && configuration.getOperationType() != Configuration.Operation.ReadMyWrites) {
+                && configuration.getOperationType() != Configuration.Operation.ReadMyWrites
+                && configuration.getOperationType() != Configuration.Operation.BulkIngestion) {
             String dataFieldValue = RandomStringUtils.randomAlphabetic(cfg.getDocumentDataFieldSize());
             for (int i = 0; i < cfg.getNumberOfPreCreatedDocuments(); i++) {
                 String uuid = UUID.randomUUID().toString();
@@ -0,0 +1,77 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.benchmark;
+
+import com.azure.cosmos.CosmosBulkOperationResponse;
+import com.azure.cosmos.CosmosItemOperation;
+import com.azure.cosmos.PartitionKey;
+import org.apache.commons.lang3.RandomStringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ingests documents through a single bulk execution, every workload iteration adds a create operation to it.
+ */
+class AsyncBulkBenchmark extends AsyncBenchmark<CosmosBulkOperationResponse> {
+
+    private final String uuid;
+    private final String dataFieldValue;
+    private final Map<CosmosItemOperation, BaseSubscriber<CosmosBulkOperationResponse>> pendingOperations;
+    private final FluxSink<CosmosItemOperation> operationSink;
+    private final Disposable bulkExecution;
+
+    AsyncBulkBenchmark(Configuration cfg) {
+        super(cfg);
+
+        uuid = UUID.randomUUID().toString();
+        dataFieldValue = RandomStringUtils.randomAlphabetic(configuration.getDocumentDataFieldSize());
+        pendingOperations = new ConcurrentHashMap<>();
+
+        UnicastProcessor<CosmosItemOperation> operations = UnicastProcessor.create();
+        operationSink = operations.sink();
+        bulkExecution = cosmosAsyncContainer.processBulkOperations(operations)
+            .subscribe(this::onResponse, error -> logger.error("Bulk execution failed", error));
+    }
+
+    @Override
+    protected void performWorkload(BaseSubscriber<CosmosBulkOperationResponse> baseSubscriber, long i)
+        throws InterruptedException {
+        String partitionKey = uuid + i;
+        CosmosItemOperation operation = CosmosItemOperation.createItemOperation(
+            generateDocument(partitionKey, dataFieldValue), new PartitionKey(partitionKey));
+
+        concurrencyControlSemaphore.acquire();
+
+        pendingOperations.put(operation, baseSubscriber);
+        operationSink.next(operation);
+    }
+
+    @Override
+    void shutdown() {
+        operationSink.complete();
+        bulkExecution.dispose();
+        super.shutdown();
+    }
+
+    private void onResponse(CosmosBulkOperationResponse response) {
+        BaseSubscriber<CosmosBulkOperationResponse> baseSubscriber =
+            pendingOperations.remove(response.getOperation());
+        if (baseSubscriber == null) {
+            return;
+        }
+
+        if (response.isSuccessStatusCode()) {
+            Mono.just(response).subscribe(baseSubscriber);
+        } else {
+            Mono.<CosmosBulkOperationResponse>error(response.getException()).subscribe(baseSubscriber);
+        }
+    }
+}
@@ -92,6 +92,7 @@ class Configuration {
             + "\tQueryTopOrderby - run a 'Select top 1000 * from c order by c._ts' workload that prints throughput\n"
             + "\tMixed - runa workload of 90 reads, 9 writes and 1 QueryTopOrderby per 100 operations *\n"
             + "\tReadMyWrites - run a workflow of writes followed by reads and queries attempting to read the write.*\n"
+            + "\tBulkIngestion - run a workload of creates executed through a single bulk execution.*\n"
             + "\n\t* writes 10k documents initially, which are used in the reads", converter = OperationTypeConverter.class)
     private Operation operation = Operation.WriteThroughput;
 
@@ -143,7 +144,8 @@ class Configuration {
         QueryAggregateTopOrderby,
         QueryTopOrderby,
         Mixed,
-        ReadMyWrites;
+        ReadMyWrites,
+        BulkIngestion;
 
         static Operation fromString(String code) {
 
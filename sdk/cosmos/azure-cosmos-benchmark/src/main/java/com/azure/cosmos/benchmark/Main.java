@@ -99,6 +99,10 @@ public class Main {
                     benchmark = new ReadMyWriteWorkflow(cfg);
                     break;
 
+                case BulkIngestion:
+                    benchmark = new AsyncBulkBenchmark(cfg);
+                    break;
+
                 default:
                     throw new RuntimeException(cfg.getOperationType() + " is not supported");
             }
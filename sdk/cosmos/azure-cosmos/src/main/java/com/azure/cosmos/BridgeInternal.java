@@ -341,6 +341,10 @@ public class BridgeInternal {
         return jsonSerializable.getObject(propertyName);
     }
 
+    public static ObjectNode getPropertyBag(JsonSerializable jsonSerializable) {
+        return jsonSerializable.propertyBag;
+    }
+
     public static void remove(JsonSerializable jsonSerializable, String propertyName) {
         jsonSerializable.remove(propertyName);
     }
@@ -533,6 +537,16 @@ public class BridgeInternal {
         return cosmosAsyncContainer.getLink();
     }
 
+    public static CosmosBulkOperationResponse createCosmosBulkOperationResponse(CosmosItemOperation operation,
+                                                                              CosmosAsyncItemResponse<?> response,
+                                                                              CosmosClientException exception) {
+        return new CosmosBulkOperationResponse(operation, response, exception);
+    }
+
+    public static CosmosItemRequestOptions copyCosmosItemRequestOptions(CosmosItemRequestOptions options) {
+        return options == null ? new CosmosItemRequestOptions() : new CosmosItemRequestOptions(options);
+    }
+
     public static JsonSerializable instantiateJsonSerializable(ObjectNode objectNode, Class klassType) {
         try {
             // the hot path should come through here to avoid serialization/deserialization
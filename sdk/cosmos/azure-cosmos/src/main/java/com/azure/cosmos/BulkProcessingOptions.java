@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos;
+
+import java.time.Duration;
+
+/**
+ * Specifies the options associated with {@link CosmosAsyncContainer#processBulkOperations}.
+ * <p>
+ * Operations are grouped by the partition key range they target and each group is flushed in micro-batches, either
+ * when a micro-batch is full or when the flush interval has passed since its first operation.
+ */
+public class BulkProcessingOptions {
+    private static final int DEFAULT_MAX_MICRO_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_MAX_MICRO_BATCH_INTERVAL = Duration.ofMillis(100);
+    private static final int DEFAULT_MAX_MICRO_BATCH_CONCURRENCY = 1;
+    private static final int DEFAULT_MAX_THROTTLING_RETRIES = 10;
+
+    private int maxMicroBatchSize;
+    private Duration maxMicroBatchInterval;
+    private int maxMicroBatchConcurrency;
+    private int maxThrottlingRetries;
+
+    /**
+     * Constructor
+     */
+    public BulkProcessingOptions() {
+        this.maxMicroBatchSize = DEFAULT_MAX_MICRO_BATCH_SIZE;
+        this.maxMicroBatchInterval = DEFAULT_MAX_MICRO_BATCH_INTERVAL;
+        this.maxMicroBatchConcurrency = DEFAULT_MAX_MICRO_BATCH_CONCURRENCY;
+        this.maxThrottlingRetries = DEFAULT_MAX_THROTTLING_RETRIES;
+    }
+
+    /**
+     * Gets the maximum number of operations in a micro-batch.
+     *
+     * @return the maximum number of operations in a micro-batch.
+     */
+    public int getMaxMicroBatchSize() {
+        return this.maxMicroBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of operations in a micro-batch. The operations of a micro-batch are sent concurrently.
+     *
+     * @param maxMicroBatchSize the maximum number of operations in a micro-batch.
+     * @return the current BulkProcessingOptions instance.
+     */
+    public BulkProcessingOptions setMaxMicroBatchSize(int maxMicroBatchSize) {
+        if (maxMicroBatchSize < 1) {
+            throw new IllegalArgumentException("maxMicroBatchSize must be greater than 0");
+        }
+        this.maxMicroBatchSize = maxMicroBatchSize;
+        return this;
+    }
+
+    /**
+     * Gets the maximum time a micro-batch waits for more operations before it is flushed.
+     *
+     * @return the maximum time a micro-batch waits for more operations.
+     */
+    public Duration getMaxMicroBatchInterval() {
+        return this.maxMicroBatchInterval;
+    }
+
+    /**
+     * Sets the maximum time a micro-batch waits for more operations before it is flushed.
+     *
+     * @param maxMicroBatchInterval the maximum time a micro-batch waits for more operations.
+     * @return the current BulkProcessingOptions instance.
+     */
+    public BulkProcessingOptions setMaxMicroBatchInterval(Duration maxMicroBatchInterval) {
+        if (maxMicroBatchInterval == null || maxMicroBatchInterval.isNegative() || maxMicroBatchInterval.isZero()) {
+            throw new IllegalArgumentException("maxMicroBatchInterval must be a positive duration");
+        }
+        this.maxMicroBatchInterval = maxMicroBatchInterval;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of micro-batches executed concurrently for a single partition key range.
+     *
+     * @return the maximum number of micro-batches executed concurrently for a single partition key range.
+     */
+    public int getMaxMicroBatchConcurrency() {
+        return this.maxMicroBatchConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of micro-batches executed concurrently for a single partition key range.
+     *
+     * @param maxMicroBatchConcurrency the maximum number of micro-batches executed concurrently for a single
+     * partition key range.
+     * @return the current BulkProcessingOptions instance.
+     */
+    public BulkProcessingOptions setMaxMicroBatchConcurrency(int maxMicroBatchConcurrency) {
+        if (maxMicroBatchConcurrency < 1) {
+            throw new IllegalArgumentException("maxMicroBatchConcurrency must be greater than 0");
+        }
+        this.maxMicroBatchConcurrency = maxMicroBatchConcurrency;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of times an operation that is still throttled after the retries of the client is
+     * retried by the bulk execution.
+     *
+     * @return the maximum number of times a throttled operation is retried.
+     */
+    public int getMaxThrottlingRetries() {
+        return this.maxThrottlingRetries;
+    }
+
+    /**
+     * Sets the maximum number of times an operation that is still throttled after the retries of the client is
+     * retried by the bulk execution. The micro-batches of the throttled partition key range are paused for the
+     * retry-after interval returned by the service before the operation is retried.
+     *
+     * @param maxThrottlingRetries the maximum number of times a throttled operation is retried.
+     * @return the current BulkProcessingOptions instance.
+     */
+    public BulkProcessingOptions setMaxThrottlingRetries(int maxThrottlingRetries) {
+        if (maxThrottlingRetries < 0) {
+            throw new IllegalArgumentException("maxThrottlingRetries cannot be negative");
+        }
+        this.maxThrottlingRetries = maxThrottlingRetries;
+        return this;
+    }
+}
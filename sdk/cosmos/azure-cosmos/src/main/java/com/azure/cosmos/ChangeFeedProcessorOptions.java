@@ -27,6 +27,7 @@ public class ChangeFeedProcessorOptions {
     private int minScaleCount;
     private int maxScaleCount;
     private boolean discardExistingLeases;
+    private boolean loadBasedLeaseBalancing;
 
     public ChangeFeedProcessorOptions() {
         this.maxItemCount = 100;
@@ -331,4 +332,29 @@ public class ChangeFeedProcessorOptions {
         this.discardExistingLeases = discardExistingLeases;
         return this;
     }
+
+    /**
+     * Gets a value indicating whether leases are balanced between hosts by their load instead of by their count.
+     *
+     * @return a value indicating whether leases are balanced between hosts by their load.
+     */
+    public boolean isLoadBasedLeaseBalancing() {
+        return this.loadBasedLeaseBalancing;
+    }
+
+    /**
+     * Sets a value indicating whether leases are balanced between hosts by their load instead of by their count.
+     * <p>
+     * Every host records the changes it reads per second and the changes left to read for the leases it owns, and
+     * publishes them when it renews the leases. Hosts then take leases until they carry their share of the total
+     * load, so partitions with a lot of changes are spread across hosts. DEFAULT is false, which distributes the
+     * leases equally between the hosts.
+     *
+     * @param loadBasedLeaseBalancing true to balance leases by their load.
+     * @return the current ChangeFeedProcessorOptions instance.
+     */
+    public ChangeFeedProcessorOptions setLoadBasedLeaseBalancing(boolean loadBasedLeaseBalancing) {
+        this.loadBasedLeaseBalancing = loadBasedLeaseBalancing;
+        return this;
+    }
 }
@@ -39,6 +39,8 @@ public class CosmosAsyncClient implements Closeable {
     private final CosmosKeyCredential cosmosKeyCredential;
     private final boolean sessionCapturingOverride;
     private final boolean enableTransportClientSharing;
+    private final CosmosItemCacheOptions itemCacheOptions;
+    private final CosmosClientMetricsOptions clientMetricsOptions;
 
     CosmosAsyncClient(CosmosClientBuilder builder) {
         this.configs = builder.configs();
@@ -51,6 +53,8 @@ public class CosmosAsyncClient implements Closeable {
         this.cosmosKeyCredential = builder.getCosmosKeyCredential();
         this.sessionCapturingOverride = builder.isSessionCapturingOverrideEnabled();
         this.enableTransportClientSharing = builder.isConnectionReuseAcrossClientsEnabled();
+        this.itemCacheOptions = builder.getItemCacheOptions();
+        this.clientMetricsOptions = builder.getClientMetricsOptions();
         this.asyncDocumentClient = new AsyncDocumentClient.Builder()
                                        .withServiceEndpoint(this.serviceEndpoint)
                                        .withMasterKeyOrResourceToken(this.keyOrResourceToken)
@@ -61,6 +65,8 @@ public class CosmosAsyncClient implements Closeable {
                                        .withTokenResolver(this.cosmosAuthorizationTokenResolver)
                                        .withCosmosKeyCredential(this.cosmosKeyCredential)
                                        .withTransportClientSharing(this.enableTransportClientSharing)
+                                       .withItemCacheOptions(this.itemCacheOptions)
+                                       .withClientMetricsOptions(this.clientMetricsOptions)
                                        .build();
     }
 
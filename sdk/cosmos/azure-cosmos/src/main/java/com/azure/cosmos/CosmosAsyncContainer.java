@@ -8,6 +8,7 @@ import com.azure.cosmos.implementation.HttpConstants;
 import com.azure.cosmos.implementation.Offer;
 import com.azure.cosmos.implementation.Paths;
 import com.azure.cosmos.implementation.RequestOptions;
+import com.azure.cosmos.implementation.bulk.BulkExecutor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -75,6 +76,24 @@ public class CosmosAsyncContainer {
                    .map(response -> new CosmosAsyncContainerResponse(response, database)).single();
     }
 
+    /**
+     * Warms up the container: resolves the replica addresses of all the partitions of the container and, in
+     * {@link ConnectionMode#DIRECT} mode, opens a connection to each replica, so that the first requests to the
+     * container are not slowed down by address resolution and connection establishment.
+     * <p>
+     * In {@link ConnectionMode#DIRECT} mode the addresses of the container are also refreshed in the background from
+     * then on, including the addresses of the partitions created by splits. Opening connections is best effort: a
+     * replica that cannot be reached is connected to by the first request sent to it.
+     * <p>
+     * After subscription the operation will be performed. The {@link Mono} completes when the addresses are resolved
+     * and the connections opened. In case of failure the {@link Mono} will error.
+     *
+     * @return an empty {@link Mono}.
+     */
+    public Mono<Void> openConnectionsAndInitCaches() {
+        return database.getDocClientWrapper().openConnectionsAndInitCaches(getLink());
+    }
+
     /**
      * Deletes the item container
      * <p>
@@ -219,6 +238,29 @@ public class CosmosAsyncContainer {
         return upsertItem(item, new CosmosItemRequestOptions());
     }
 
+    /**
+     * Upserts a cosmos item.
+     * <p>
+     * After subscription the operation will be performed. The {@link Mono} upon
+     * successful completion will contain a single resource response with the
+     * upserted item. In case of failure the {@link Mono} will error.
+     *
+     * @param <T> the type parameter
+     * @param item the item represented as a POJO or Item object to upsert.
+     * @param partitionKey the partition key
+     * @param options the request options.
+     * @return an {@link Mono} containing the single resource response with the upserted document or an error.
+     */
+    public <T> Mono<CosmosAsyncItemResponse<T>> upsertItem(T item,
+                                                           PartitionKey partitionKey,
+                                                           CosmosItemRequestOptions options) {
+        if (options == null) {
+            options = new CosmosItemRequestOptions();
+        }
+        options.setPartitionKey(partitionKey);
+        return upsertItem(item, options);
+    }
+
     /**
      * Upserts a cosmos item.
      * <p>
@@ -244,6 +286,41 @@ public class CosmosAsyncContainer {
                    .single();
     }
 
+    /**
+     * Executes the item operations in bulk.
+     * <p>
+     * After subscription the operations will be performed. The operations are grouped by the partition key range they
+     * target and sent in micro-batches, and the {@link Flux} will contain the result of every operation as soon as it
+     * completes. The failure of an operation is reported in its {@link CosmosBulkOperationResponse} and doesn't fail
+     * the other operations.
+     *
+     * @param operations the item operations to execute.
+     * @return a {@link Flux} containing the result of every operation.
+     */
+    public Flux<CosmosBulkOperationResponse> processBulkOperations(Flux<CosmosItemOperation> operations) {
+        return processBulkOperations(operations, new BulkProcessingOptions());
+    }
+
+    /**
+     * Executes the item operations in bulk.
+     * <p>
+     * After subscription the operations will be performed. The operations are grouped by the partition key range they
+     * target and sent in micro-batches, and the {@link Flux} will contain the result of every operation as soon as it
+     * completes. The failure of an operation is reported in its {@link CosmosBulkOperationResponse} and doesn't fail
+     * the other operations.
+     *
+     * @param operations the item operations to execute.
+     * @param options the bulk processing options.
+     * @return a {@link Flux} containing the result of every operation.
+     */
+    public Flux<CosmosBulkOperationResponse> processBulkOperations(Flux<CosmosItemOperation> operations,
+                                                                   BulkProcessingOptions options) {
+        if (options == null) {
+            options = new BulkProcessingOptions();
+        }
+        return new BulkExecutor(this, options).execute(operations);
+    }
+
     /**
      * Reads all cosmos items in the container.
      * <p>
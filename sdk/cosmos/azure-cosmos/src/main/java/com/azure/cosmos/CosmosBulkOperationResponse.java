@@ -0,0 +1,87 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos;
+
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.Strings;
+
+import java.util.Map;
+
+/**
+ * Represents the result of a single operation executed in bulk by {@link CosmosAsyncContainer#processBulkOperations}.
+ * <p>
+ * A failed operation doesn't fail the bulk execution, its result carries the exception instead of a response.
+ */
+public final class CosmosBulkOperationResponse {
+    private final CosmosItemOperation operation;
+    private final CosmosAsyncItemResponse<?> response;
+    private final CosmosClientException exception;
+
+    CosmosBulkOperationResponse(CosmosItemOperation operation, CosmosAsyncItemResponse<?> response,
+                                CosmosClientException exception) {
+        this.operation = operation;
+        this.response = response;
+        this.exception = exception;
+    }
+
+    /**
+     * Gets the operation.
+     *
+     * @return the operation.
+     */
+    public CosmosItemOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the response of the operation.
+     *
+     * @return the response, or {@code null} if the operation failed.
+     */
+    public CosmosAsyncItemResponse<?> getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the exception the operation failed with.
+     *
+     * @return the exception, or {@code null} if the operation succeeded.
+     */
+    public CosmosClientException getException() {
+        return exception;
+    }
+
+    /**
+     * Gets whether the operation succeeded.
+     *
+     * @return whether the operation succeeded.
+     */
+    public boolean isSuccessStatusCode() {
+        return exception == null;
+    }
+
+    /**
+     * Gets the status code of the operation.
+     *
+     * @return the status code of the operation.
+     */
+    public int getStatusCode() {
+        return exception == null ? response.getStatusCode() : exception.getStatusCode();
+    }
+
+    /**
+     * Gets the request charge of the operation.
+     *
+     * @return the request charge of the operation.
+     */
+    public double getRequestCharge() {
+        if (exception == null) {
+            return response.getRequestCharge();
+        }
+
+        Map<String, String> headers = exception.getResponseHeaders();
+        String requestCharge = headers == null ? null : headers.get(HttpConstants.HttpHeaders.REQUEST_CHARGE);
+        return Strings.isNullOrEmpty(requestCharge) ? 0 : Double.parseDouble(requestCharge);
+    }
+}
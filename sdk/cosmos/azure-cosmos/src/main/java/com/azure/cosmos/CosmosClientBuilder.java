@@ -37,6 +37,8 @@ public class CosmosClientBuilder {
     private CosmosKeyCredential cosmosKeyCredential;
     private boolean sessionCapturingOverrideEnabled;
     private boolean connectionReuseAcrossClientsEnabled;
+    private CosmosItemCacheOptions itemCacheOptions;
+    private CosmosClientMetricsOptions clientMetricsOptions;
 
     public CosmosClientBuilder() {
     }
@@ -119,6 +121,54 @@ public class CosmosClientBuilder {
         return this.connectionReuseAcrossClientsEnabled;
     }
 
+    /**
+     * Sets the options of the in-process item cache of point reads. The item cache is disabled by default.
+     *
+     * When enabled, items returned by point reads are cached and returned by later point reads of the same item
+     * without contacting the service when the consistency level of the read allows it. See
+     * {@link CosmosItemCacheOptions} for the consistency guarantees of cached items.
+     *
+     * @param itemCacheOptions the item cache options, or null to disable the item cache.
+     * @return current cosmosClientBuilder
+     */
+    public CosmosClientBuilder setItemCacheOptions(CosmosItemCacheOptions itemCacheOptions) {
+        this.itemCacheOptions = itemCacheOptions;
+        return this;
+    }
+
+    /**
+     * Gets the options of the in-process item cache of point reads.
+     *
+     * @return the item cache options, or null if the item cache is disabled.
+     */
+    public CosmosItemCacheOptions getItemCacheOptions() {
+        return this.itemCacheOptions;
+    }
+
+    /**
+     * Sets the options of the client side metrics. Client side metrics are not published by default.
+     *
+     * When set, the client publishes the latency of direct mode requests per endpoint, operation type and resource
+     * type, the time spent waiting for channels, the number of requests waiting for a channel and the number of bytes
+     * sent and received to the given meter registry. See {@link CosmosClientMetricsOptions} for the published meters.
+     *
+     * @param clientMetricsOptions the client metrics options, or null to not publish client side metrics.
+     * @return current cosmosClientBuilder
+     */
+    public CosmosClientBuilder setClientMetricsOptions(CosmosClientMetricsOptions clientMetricsOptions) {
+        this.clientMetricsOptions = clientMetricsOptions;
+        return this;
+    }
+
+    /**
+     * Gets the options of the client side metrics.
+     *
+     * @return the client metrics options, or null if client side metrics are not published.
+     */
+    public CosmosClientMetricsOptions getClientMetricsOptions() {
+        return this.clientMetricsOptions;
+    }
+
     /**
      * Gets the token resolver
      *
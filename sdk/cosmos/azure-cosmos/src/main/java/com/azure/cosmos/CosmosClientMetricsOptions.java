@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Specifies where a {@link CosmosAsyncClient} publishes its client side metrics, see
+ * {@link CosmosClientBuilder#setClientMetricsOptions(CosmosClientMetricsOptions)}.
+ * <p>
+ * In {@link ConnectionMode#DIRECT} mode the following meters are published for every replica endpoint, tagged with
+ * the client and the endpoint:
+ * <ul>
+ * <li>{@code azure.cosmos.directTcp.requestLatency}: request latency, additionally tagged with the operation type and
+ * the resource type of the request.</li>
+ * <li>{@code azure.cosmos.directTcp.channelAcquisitionLatency}: time spent waiting for a channel to the endpoint.</li>
+ * <li>{@code azure.cosmos.directTcp.requestQueueLength}: requests waiting for a channel because all the channels of
+ * the endpoint are in use.</li>
+ * <li>{@code azure.cosmos.directTcp.channelsUtilization}: channels in use divided by the maximum number of channels per
+ * endpoint.</li>
+ * <li>{@code azure.cosmos.directTcp.requestSize} and {@code azure.cosmos.directTcp.responseSize}: bytes sent and
+ * received.</li>
+ * </ul>
+ * The meters of all the clients of the process are published to every registry, and are told apart by their client
+ * tag.
+ */
+public class CosmosClientMetricsOptions {
+    private MeterRegistry meterRegistry;
+    private boolean percentileHistogramEnabled;
+
+    /**
+     * Constructor
+     *
+     * @param meterRegistry the registry the client metrics are published to.
+     */
+    public CosmosClientMetricsOptions(MeterRegistry meterRegistry) {
+        this.setMeterRegistry(meterRegistry);
+    }
+
+    /**
+     * Gets the registry the client metrics are published to.
+     *
+     * @return the registry the client metrics are published to.
+     */
+    public MeterRegistry getMeterRegistry() {
+        return this.meterRegistry;
+    }
+
+    /**
+     * Sets the registry the client metrics are published to.
+     *
+     * @param meterRegistry the registry the client metrics are published to.
+     * @return the current CosmosClientMetricsOptions instance.
+     */
+    public CosmosClientMetricsOptions setMeterRegistry(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    /**
+     * Gets whether latency meters publish percentile histograms.
+     *
+     * @return true if latency meters publish percentile histograms.
+     */
+    public boolean isPercentileHistogramEnabled() {
+        return this.percentileHistogramEnabled;
+    }
+
+    /**
+     * Sets whether latency meters publish percentile histograms, so percentiles can be aggregated across endpoints
+     * and clients by monitoring systems that support it. The {@code azure.cosmos} timers registered in the meter
+     * registry while a client enabling them is open publish percentile histograms. The default is false.
+     *
+     * @param percentileHistogramEnabled true to publish percentile histograms.
+     * @return the current CosmosClientMetricsOptions instance.
+     */
+    public CosmosClientMetricsOptions setPercentileHistogramEnabled(boolean percentileHistogramEnabled) {
+        this.percentileHistogramEnabled = percentileHistogramEnabled;
+        return this;
+    }
+}
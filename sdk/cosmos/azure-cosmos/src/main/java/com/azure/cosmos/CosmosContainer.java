@@ -60,6 +60,24 @@ public class CosmosContainer {
         return database.mapContainerResponseAndBlock(this.asyncContainer.read(options));
     }
 
+    /**
+     * Warms up the container, see {@link CosmosAsyncContainer#openConnectionsAndInitCaches()}.
+     *
+     * @throws CosmosClientException the cosmos client exception
+     */
+    public void openConnectionsAndInitCaches() throws CosmosClientException {
+        try {
+            this.asyncContainer.openConnectionsAndInitCaches().block();
+        } catch (Exception ex) {
+            final Throwable throwable = Exceptions.unwrap(ex);
+            if (throwable instanceof CosmosClientException) {
+                throw (CosmosClientException) throwable;
+            } else {
+                throw ex;
+            }
+        }
+    }
+
     /**
      * Delete cosmos sync container response.
      *
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos;
+
+import java.time.Duration;
+
+/**
+ * Specifies the options of the in-process item cache of a {@link CosmosAsyncClient}, see
+ * {@link CosmosClientBuilder#setItemCacheOptions(CosmosItemCacheOptions)}.
+ * <p>
+ * The item cache keeps the serialized items returned by point reads, keyed by the item link and partition key, and
+ * is bounded by the total size of the cached items. Items are only admitted when the cache is full if they are read
+ * more frequently than the least recently used items they would evict. Whether a cached item can be returned
+ * without contacting the service depends on the consistency level of the read:
+ * <ul>
+ * <li>{@link ConsistencyLevel#EVENTUAL} and {@link ConsistencyLevel#CONSISTENT_PREFIX} reads return cached items
+ * younger than the maximum item age.</li>
+ * <li>{@link ConsistencyLevel#SESSION} reads return cached items younger than the maximum item age whose session
+ * token is at least as recent as the session token of the client for the partition.</li>
+ * <li>{@link ConsistencyLevel#BOUNDED_STALENESS} and {@link ConsistencyLevel#STRONG} reads always revalidate the
+ * cached item.</li>
+ * </ul>
+ * Cached items that can't be returned are revalidated with an If-None-Match read, and the cached item is returned if
+ * it has not been modified. Writes of the client invalidate the cached item they modify.
+ */
+public class CosmosItemCacheOptions {
+    private static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+    private static final Duration DEFAULT_MAX_ITEM_AGE = Duration.ofSeconds(5);
+
+    private long maxSizeInBytes;
+    private Duration maxItemAge;
+
+    /**
+     * Constructor
+     */
+    public CosmosItemCacheOptions() {
+        this.maxSizeInBytes = DEFAULT_MAX_SIZE_IN_BYTES;
+        this.maxItemAge = DEFAULT_MAX_ITEM_AGE;
+    }
+
+    /**
+     * Gets the maximum total size of the cached items in bytes.
+     *
+     * @return the maximum total size of the cached items in bytes.
+     */
+    public long getMaxSizeInBytes() {
+        return this.maxSizeInBytes;
+    }
+
+    /**
+     * Sets the maximum total size of the cached items in bytes. The default is 64 MB.
+     *
+     * @param maxSizeInBytes the maximum total size of the cached items in bytes.
+     * @return the current CosmosItemCacheOptions instance.
+     */
+    public CosmosItemCacheOptions setMaxSizeInBytes(long maxSizeInBytes) {
+        if (maxSizeInBytes < 1) {
+            throw new IllegalArgumentException("maxSizeInBytes must be greater than 0");
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+        return this;
+    }
+
+    /**
+     * Gets the maximum age of a cached item returned without contacting the service.
+     *
+     * @return the maximum age of a cached item returned without contacting the service.
+     */
+    public Duration getMaxItemAge() {
+        return this.maxItemAge;
+    }
+
+    /**
+     * Sets the maximum age of a cached item returned without contacting the service. Older cached items are
+     * revalidated, and their age is reset when the service reports they have not been modified. The default is 5
+     * seconds. A zero duration revalidates every read.
+     *
+     * @param maxItemAge the maximum age of a cached item returned without contacting the service.
+     * @return the current CosmosItemCacheOptions instance.
+     */
+    public CosmosItemCacheOptions setMaxItemAge(Duration maxItemAge) {
+        if (maxItemAge == null || maxItemAge.isNegative()) {
+            throw new IllegalArgumentException("maxItemAge cannot be null or negative");
+        }
+        this.maxItemAge = maxItemAge;
+        return this;
+    }
+}
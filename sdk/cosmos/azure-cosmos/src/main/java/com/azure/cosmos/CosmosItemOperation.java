@@ -0,0 +1,219 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos;
+
+import java.util.Objects;
+
+/**
+ * Represents a single item operation executed in bulk by {@link CosmosAsyncContainer#processBulkOperations}.
+ * <p>
+ * Every operation carries the partition key of its item so that operations can be grouped by the partition they
+ * target before they are sent.
+ */
+public final class CosmosItemOperation {
+    private final CosmosItemOperationType operationType;
+    private final String id;
+    private final PartitionKey partitionKey;
+    private final Object item;
+    private final Class<?> itemType;
+    private final CosmosItemRequestOptions options;
+
+    private CosmosItemOperation(CosmosItemOperationType operationType, String id, PartitionKey partitionKey,
+                                Object item, Class<?> itemType, CosmosItemRequestOptions options) {
+        this.operationType = operationType;
+        this.id = id;
+        this.partitionKey = Objects.requireNonNull(partitionKey, "partitionKey");
+        this.item = item;
+        this.itemType = itemType;
+        this.options = options;
+    }
+
+    /**
+     * Creates an operation that creates an item.
+     *
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @return the operation.
+     */
+    public static CosmosItemOperation createItemOperation(Object item, PartitionKey partitionKey) {
+        return createItemOperation(item, partitionKey, null);
+    }
+
+    /**
+     * Creates an operation that creates an item.
+     *
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @param options the request options.
+     * @return the operation.
+     */
+    public static CosmosItemOperation createItemOperation(Object item, PartitionKey partitionKey,
+                                                          CosmosItemRequestOptions options) {
+        Objects.requireNonNull(item, "item");
+        return new CosmosItemOperation(CosmosItemOperationType.CREATE, null, partitionKey, item, item.getClass(),
+            options);
+    }
+
+    /**
+     * Creates an operation that upserts an item.
+     *
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @return the operation.
+     */
+    public static CosmosItemOperation upsertItemOperation(Object item, PartitionKey partitionKey) {
+        return upsertItemOperation(item, partitionKey, null);
+    }
+
+    /**
+     * Creates an operation that upserts an item.
+     *
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @param options the request options.
+     * @return the operation.
+     */
+    public static CosmosItemOperation upsertItemOperation(Object item, PartitionKey partitionKey,
+                                                          CosmosItemRequestOptions options) {
+        Objects.requireNonNull(item, "item");
+        return new CosmosItemOperation(CosmosItemOperationType.UPSERT, null, partitionKey, item, item.getClass(),
+            options);
+    }
+
+    /**
+     * Creates an operation that replaces an item.
+     *
+     * @param id the id of the item.
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @return the operation.
+     */
+    public static CosmosItemOperation replaceItemOperation(String id, Object item, PartitionKey partitionKey) {
+        return replaceItemOperation(id, item, partitionKey, null);
+    }
+
+    /**
+     * Creates an operation that replaces an item.
+     *
+     * @param id the id of the item.
+     * @param item the item represented as a POJO or cosmos item object.
+     * @param partitionKey the partition key of the item.
+     * @param options the request options.
+     * @return the operation.
+     */
+    public static CosmosItemOperation replaceItemOperation(String id, Object item, PartitionKey partitionKey,
+                                                           CosmosItemRequestOptions options) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(item, "item");
+        return new CosmosItemOperation(CosmosItemOperationType.REPLACE, id, partitionKey, item, item.getClass(),
+            options);
+    }
+
+    /**
+     * Creates an operation that deletes an item.
+     *
+     * @param id the id of the item.
+     * @param partitionKey the partition key of the item.
+     * @return the operation.
+     */
+    public static CosmosItemOperation deleteItemOperation(String id, PartitionKey partitionKey) {
+        return deleteItemOperation(id, partitionKey, null);
+    }
+
+    /**
+     * Creates an operation that deletes an item.
+     *
+     * @param id the id of the item.
+     * @param partitionKey the partition key of the item.
+     * @param options the request options.
+     * @return the operation.
+     */
+    public static CosmosItemOperation deleteItemOperation(String id, PartitionKey partitionKey,
+                                                          CosmosItemRequestOptions options) {
+        Objects.requireNonNull(id, "id");
+        return new CosmosItemOperation(CosmosItemOperationType.DELETE, id, partitionKey, null, Object.class, options);
+    }
+
+    /**
+     * Creates an operation that reads an item.
+     *
+     * @param id the id of the item.
+     * @param partitionKey the partition key of the item.
+     * @param itemType the type the item is read as.
+     * @return the operation.
+     */
+    public static CosmosItemOperation readItemOperation(String id, PartitionKey partitionKey, Class<?> itemType) {
+        return readItemOperation(id, partitionKey, itemType, null);
+    }
+
+    /**
+     * Creates an operation that reads an item.
+     *
+     * @param id the id of the item.
+     * @param partitionKey the partition key of the item.
+     * @param itemType the type the item is read as.
+     * @param options the request options.
+     * @return the operation.
+     */
+    public static CosmosItemOperation readItemOperation(String id, PartitionKey partitionKey, Class<?> itemType,
+                                                        CosmosItemRequestOptions options) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(itemType, "itemType");
+        return new CosmosItemOperation(CosmosItemOperationType.READ, id, partitionKey, null, itemType, options);
+    }
+
+    /**
+     * Gets the type of the operation.
+     *
+     * @return the type of the operation.
+     */
+    public CosmosItemOperationType getOperationType() {
+        return operationType;
+    }
+
+    /**
+     * Gets the id of the item, {@code null} for create and upsert operations.
+     *
+     * @return the id of the item.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the partition key of the item.
+     *
+     * @return the partition key of the item.
+     */
+    public PartitionKey getPartitionKey() {
+        return partitionKey;
+    }
+
+    /**
+     * Gets the item, {@code null} for read and delete operations.
+     *
+     * @return the item.
+     */
+    public Object getItem() {
+        return item;
+    }
+
+    /**
+     * Gets the type of the item.
+     *
+     * @return the type of the item.
+     */
+    public Class<?> getItemType() {
+        return itemType;
+    }
+
+    /**
+     * Gets the request options of the operation.
+     *
+     * @return the request options, or {@code null} if the operation uses the default options.
+     */
+    public CosmosItemRequestOptions getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos;
+
+/**
+ * Represents the type of an item operation executed in bulk by {@link CosmosAsyncContainer#processBulkOperations}.
+ */
+public enum CosmosItemOperationType {
+
+    /**
+     * Creates the item.
+     */
+    CREATE,
+
+    /**
+     * Creates the item, or replaces it if it already exists.
+     */
+    UPSERT,
+
+    /**
+     * Replaces an existing item.
+     */
+    REPLACE,
+
+    /**
+     * Deletes an existing item.
+     */
+    DELETE,
+
+    /**
+     * Reads an existing item.
+     */
+    READ
+}
@@ -35,6 +35,22 @@ public class CosmosItemRequestOptions {
         setPartitionKey(partitionKey);
     }
 
+    /**
+     * Copy constructor
+     *
+     * @param options the options to copy
+     */
+    CosmosItemRequestOptions(CosmosItemRequestOptions options) {
+        super();
+        this.consistencyLevel = options.consistencyLevel;
+        this.indexingDirective = options.indexingDirective;
+        this.preTriggerInclude = options.preTriggerInclude;
+        this.postTriggerInclude = options.postTriggerInclude;
+        this.sessionToken = options.sessionToken;
+        this.partitionKey = options.partitionKey;
+        this.accessCondition = options.accessCondition;
+    }
+
     /**
      * Gets the conditions associated with the request.
      *
@@ -163,6 +163,10 @@ public final class FeedOptions {
     /**
      * Sets the maximum number of items that can be buffered client side during
      * parallel query execution.
+     * <p>
+     * ORDER BY queries across partitions split it evenly between the partitions
+     * they merge, so the items buffered by the merge stay under it however many
+     * partitions the query fans out to.
      *
      * @param maxBufferedItemCount maximum number of items.
      * @return the FeedOptions.
@@ -88,7 +88,7 @@ public class PartitionKey {
 
     @Override
     public int hashCode() {
-        return super.hashCode();
+        return this.internalPartitionKey.hashCode();
     }
 
 }
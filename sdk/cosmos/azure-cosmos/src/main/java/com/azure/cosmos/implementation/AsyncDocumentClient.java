@@ -5,6 +5,8 @@ package com.azure.cosmos.implementation;
 import com.azure.cosmos.ChangeFeedOptions;
 import com.azure.cosmos.ConnectionPolicy;
 import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosClientMetricsOptions;
+import com.azure.cosmos.CosmosItemCacheOptions;
 import com.azure.cosmos.CosmosKeyCredential;
 import com.azure.cosmos.DatabaseAccount;
 import com.azure.cosmos.FeedOptions;
@@ -13,6 +15,8 @@ import com.azure.cosmos.PartitionKey;
 import com.azure.cosmos.Permission;
 import com.azure.cosmos.SqlQuerySpec;
 import com.azure.cosmos.CosmosAuthorizationTokenResolver;
+import com.azure.cosmos.implementation.caches.RxCollectionCache;
+import com.azure.cosmos.implementation.caches.RxPartitionKeyRangeCache;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import reactor.core.publisher.Flux;
@@ -81,6 +85,8 @@ public interface AsyncDocumentClient {
         CosmosKeyCredential cosmosKeyCredential;
         boolean sessionCapturingOverride;
         boolean transportClientSharing;
+        CosmosItemCacheOptions itemCacheOptions;
+        CosmosClientMetricsOptions clientMetricsOptions;
 
         public Builder withServiceEndpoint(String serviceEndpoint) {
             try {
@@ -154,6 +160,16 @@ public interface AsyncDocumentClient {
             return this;
         }
 
+        public Builder withItemCacheOptions(CosmosItemCacheOptions itemCacheOptions) {
+            this.itemCacheOptions = itemCacheOptions;
+            return this;
+        }
+
+        public Builder withClientMetricsOptions(CosmosClientMetricsOptions clientMetricsOptions) {
+            this.clientMetricsOptions = clientMetricsOptions;
+            return this;
+        }
+
         public Builder withCosmosKeyCredential(CosmosKeyCredential cosmosKeyCredential) {
             if (cosmosKeyCredential != null && StringUtils.isEmpty(cosmosKeyCredential.getKey())) {
                 throw new IllegalArgumentException("Cannot buildAsyncClient client with empty key credential");
@@ -200,6 +216,8 @@ public interface AsyncDocumentClient {
                                                                    cosmosKeyCredential,
                                                                    sessionCapturingOverride,
                                                                    transportClientSharing);
+            client.setClientMetricsOptions(clientMetricsOptions);
+            client.setItemCacheOptions(itemCacheOptions);
             client.init();
             return client;
         }
@@ -1321,6 +1339,18 @@ public interface AsyncDocumentClient {
      */
     Flux<FeedResponse<Offer>> queryOffers(SqlQuerySpec querySpec, FeedOptions options);
 
+    /**
+     * Resolves the replica addresses of all the partitions of a collection and opens connections to them, so that the
+     * first requests to the collection do not pay for address resolution and connection establishment.
+     * <p>
+     * In direct mode the addresses of the collection are refreshed in the background from then on. In gateway mode
+     * this is a no-op.
+     *
+     * @param collectionLink the link to the collection.
+     * @return a {@link Mono} that completes when the caches are initialized and the connections opened.
+     */
+    Mono<Void> openConnectionsAndInitCaches(String collectionLink);
+
     /**
      * Gets database account information.
      * <p>
@@ -1346,6 +1376,20 @@ public interface AsyncDocumentClient {
         FeedOptions options,
         Class<T> klass);
 
+    /**
+     * Gets the cache resolving the collections of this client.
+     *
+     * @return the collection cache.
+     */
+    RxCollectionCache getCollectionCache();
+
+    /**
+     * Gets the cache resolving the partition key ranges of the collections of this client.
+     *
+     * @return the partition key range cache.
+     */
+    RxPartitionKeyRangeCache getPartitionKeyRangeCache();
+
     /**
      * Close this {@link AsyncDocumentClient} instance and cleans up the resources.
      */
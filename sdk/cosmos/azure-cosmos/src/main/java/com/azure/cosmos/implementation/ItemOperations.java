@@ -52,7 +52,30 @@ final public class ItemOperations {
 
         FeedOptions options = new FeedOptions();
         options.setMaxDegreeOfParallelism(-1);
-        return readManyInternal(container, itemKeyList, new FeedOptions(), classType);
+        return readManyInternal(container, itemKeyList, options, classType);
+    }
+
+    /**
+     * Note: although this method is public, this API may change in future.
+     * <p>
+     * Reads many documents.
+     * <p>
+     * The items are grouped by the partition key range they belong to and every partition key range is read by a
+     * single query, or by a point read when a single item belongs to it. The partition key ranges are read in parallel,
+     * up to the max degree of parallelism of the feed options.
+     *
+     * @param <T> the type parameter
+     * @param container   the cosmos async container
+     * @param itemKeyList document id and partition key pair that needs to be read
+     * @param options     the feed options
+     * @param classType   class type
+     * @return a Mono with feed response of cosmos items
+     */
+    public static <T> Mono<FeedResponse<T>> readManyAsync(CosmosAsyncContainer container,
+                                                          List<Pair<String, PartitionKey>> itemKeyList,
+                                                          FeedOptions options,
+                                                          Class<T> classType) {
+        return readManyInternal(container, itemKeyList, options != null ? options : new FeedOptions(), classType);
     }
 
     static <T> Mono<FeedResponse<T>> readManyInternal(CosmosAsyncContainer container,
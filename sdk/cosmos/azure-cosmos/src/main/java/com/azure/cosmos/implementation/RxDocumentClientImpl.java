@@ -8,6 +8,9 @@ import com.azure.cosmos.ChangeFeedOptions;
 import com.azure.cosmos.ConnectionMode;
 import com.azure.cosmos.ConnectionPolicy;
 import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.CosmosClientMetricsOptions;
+import com.azure.cosmos.CosmosItemCacheOptions;
 import com.azure.cosmos.CosmosKeyCredential;
 import com.azure.cosmos.CosmosResourceType;
 import com.azure.cosmos.DatabaseAccount;
@@ -23,6 +26,7 @@ import com.azure.cosmos.SqlQuerySpec;
 import com.azure.cosmos.SqlParameter;
 import com.azure.cosmos.SqlParameterList;
 import com.azure.cosmos.CosmosAuthorizationTokenResolver;
+import com.azure.cosmos.implementation.caches.ItemCache;
 import com.azure.cosmos.implementation.caches.RxClientCollectionCache;
 import com.azure.cosmos.implementation.caches.RxCollectionCache;
 import com.azure.cosmos.implementation.caches.RxPartitionKeyRangeCache;
@@ -31,6 +35,7 @@ import com.azure.cosmos.implementation.directconnectivity.GlobalAddressResolver;
 import com.azure.cosmos.implementation.directconnectivity.ServerStoreModel;
 import com.azure.cosmos.implementation.directconnectivity.StoreClient;
 import com.azure.cosmos.implementation.directconnectivity.StoreClientFactory;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdMetrics;
 import com.azure.cosmos.implementation.http.HttpClient;
 import com.azure.cosmos.implementation.http.HttpClientConfig;
 import com.azure.cosmos.implementation.http.SharedGatewayHttpClient;
@@ -42,6 +47,7 @@ import com.azure.cosmos.implementation.routing.CollectionRoutingMap;
 import com.azure.cosmos.implementation.routing.PartitionKeyAndResourceTokenPair;
 import com.azure.cosmos.implementation.routing.PartitionKeyInternal;
 import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.lang3.StringUtils;
@@ -59,6 +65,8 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,6 +74,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.azure.cosmos.BridgeInternal.documentFromObject;
@@ -82,6 +91,7 @@ import static com.azure.cosmos.BridgeInternal.serializeJsonToByteBuffer;
  */
 public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorizationTokenProvider {
     private final static ObjectMapper mapper = Utils.getSimpleObjectMapper();
+    private final static int MAX_ITEMS_PER_READ_MANY_QUERY = 1000;
     private final Logger logger = LoggerFactory.getLogger(RxDocumentClientImpl.class);
     private final String masterKeyOrResourceToken;
     private final URI serviceEndpoint;
@@ -126,6 +136,12 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
 
     private GatewayServiceConfigurationReader gatewayConfigurationReader;
 
+    // Caches the items returned by point reads, null when the item cache is disabled.
+    private ItemCache itemCache;
+    // Stops publishing client metrics to the registry of the client metrics options, null when they are disabled.
+    private AutoCloseable clientMetricsRegistration;
+    private AutoCloseable itemCacheMetersRegistration;
+
     public RxDocumentClientImpl(URI serviceEndpoint,
                                 String masterKeyOrResourceToken,
                                 List<Permission> permissionFeed,
@@ -264,6 +280,20 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         // https://msdata.visualstudio.com/CosmosDB/_workitems/edit/332589
     }
 
+    void setClientMetricsOptions(CosmosClientMetricsOptions clientMetricsOptions) {
+        if (clientMetricsOptions != null) {
+            this.clientMetricsRegistration = RntbdMetrics.add(clientMetricsOptions.getMeterRegistry(),
+                clientMetricsOptions.isPercentileHistogramEnabled());
+        }
+    }
+
+    void setItemCacheOptions(CosmosItemCacheOptions itemCacheOptions) {
+        if (itemCacheOptions != null) {
+            this.itemCache = new ItemCache(itemCacheOptions.getMaxSizeInBytes(), itemCacheOptions.getMaxItemAge());
+            this.itemCacheMetersRegistration = this.itemCache.registerMeters(RntbdMetrics.registry());
+        }
+    }
+
     public void init() {
 
         // TODO: add support for openAsync
@@ -313,6 +343,7 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
             //     this.gatewayConfigurationReader,
             null,
             this.connectionPolicy);
+        this.addressResolver.setOpenConnectionsHandler(this.storeClientFactory.getOpenConnectionsHandler());
 
         this.createStoreModel(true);
     }
@@ -1118,7 +1149,8 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                     requestRetryPolicy.onBeforeSendRequest(request);
                 }
 
-                return create(request, requestRetryPolicy);
+                return this.invalidateCachedItem(request, () -> getCreatedDocumentLink(collectionLink, request),
+                    create(request, requestRetryPolicy));
             });
 
             return responseObservable
@@ -1154,7 +1186,8 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                     retryPolicyInstance.onBeforeSendRequest(request);
                 }
 
-                return upsert(request, retryPolicyInstance);
+                return this.invalidateCachedItem(request, () -> getCreatedDocumentLink(collectionLink, request),
+                    upsert(request, retryPolicyInstance));
             });
 
             return responseObservable
@@ -1250,7 +1283,7 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
             if (retryPolicyInstance != null) {
                 retryPolicyInstance.onBeforeSendRequest(request);
             }
-            return replace(request, retryPolicyInstance)
+            return this.invalidateCachedItem(request, () -> documentLink, replace(request, retryPolicyInstance))
                 .map(resp -> toResourceResponse(resp, Document.class));} );
     }
 
@@ -1281,7 +1314,7 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                 if (retryPolicyInstance != null) {
                     retryPolicyInstance.onBeforeSendRequest(req);
                 }
-                return this.delete(req, retryPolicyInstance)
+                return this.invalidateCachedItem(req, () -> documentLink, this.delete(req, retryPolicyInstance))
                     .map(serviceResponse -> toResourceResponse(serviceResponse, Document.class));});
 
         } catch (Exception e) {
@@ -1317,6 +1350,9 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                 if (retryPolicyInstance != null) {
                     retryPolicyInstance.onBeforeSendRequest(request);
                 }
+                if (this.itemCache != null) {
+                    return this.readDocumentThroughItemCache(request, documentLink, options, retryPolicyInstance);
+                }
                 return this.read(request, retryPolicyInstance).map(serviceResponse -> toResourceResponse(serviceResponse, Document.class));
             });
 
@@ -1326,6 +1362,111 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         }
     }
 
+    private Mono<ResourceResponse<Document>> readDocumentThroughItemCache(RxDocumentServiceRequest request,
+                                                                          String documentLink,
+                                                                          RequestOptions options,
+                                                                          DocumentClientRetryPolicy retryPolicyInstance) {
+        // Conditional reads and reads with an explicit session token are not served from the item cache.
+        if (request.getHeaders().containsKey(HttpConstants.HttpHeaders.IF_NONE_MATCH)
+            || request.getHeaders().containsKey(HttpConstants.HttpHeaders.IF_MATCH)
+            || (options != null && options.getSessionToken() != null)) {
+            return this.read(request, retryPolicyInstance).map(serviceResponse -> toResourceResponse(serviceResponse, Document.class));
+        }
+
+        String key = ItemCache.getKey(documentLink, request.getHeaders().get(HttpConstants.HttpHeaders.PARTITION_KEY));
+        ItemCache.Entry entry = this.itemCache.get(key);
+        if (entry != null && this.canReturnCachedItem(request, options, entry)) {
+            this.itemCache.recordHit();
+            return Mono.just(toResourceResponse(entry.toServiceResponse(null), Document.class));
+        }
+
+        long invalidationStamp = this.itemCache.getInvalidationStamp(key);
+        if (entry != null) {
+            request.getHeaders().put(HttpConstants.HttpHeaders.IF_NONE_MATCH, entry.getETag());
+        }
+
+        return this.read(request, retryPolicyInstance).map(serviceResponse -> {
+            if (entry != null && serviceResponse.getStatusCode() == HttpConstants.StatusCodes.NOT_MODIFIED) {
+                ItemCache.Entry revalidatedEntry = entry.revalidate(serviceResponse);
+                this.itemCache.put(key, revalidatedEntry, invalidationStamp);
+                this.itemCache.recordRevalidation();
+                return toResourceResponse(
+                    revalidatedEntry.toServiceResponse(serviceResponse.getCosmosResponseRequestDiagnosticStatistics()),
+                    Document.class);
+            }
+
+            this.itemCache.recordMiss();
+            ResourceResponse<Document> resourceResponse = toResourceResponse(serviceResponse, Document.class);
+            Document document = resourceResponse.getResource();
+            ItemCache.Entry newEntry = ItemCache.Entry.create(serviceResponse, document != null ? document.getETag() : null);
+            if (newEntry != null) {
+                this.itemCache.put(key, newEntry, invalidationStamp);
+            }
+            return resourceResponse;
+        });
+    }
+
+    private boolean canReturnCachedItem(RxDocumentServiceRequest request, RequestOptions options, ItemCache.Entry entry) {
+        if (!this.itemCache.isFresh(entry)) {
+            return false;
+        }
+
+        ConsistencyLevel consistencyLevel = options != null && options.getConsistencyLevel() != null
+            ? options.getConsistencyLevel()
+            : this.consistencyLevel != null ? this.consistencyLevel : this.gatewayConfigurationReader.getDefaultConsistencyLevel();
+
+        switch (consistencyLevel) {
+            case EVENTUAL:
+            case CONSISTENT_PREFIX:
+                return true;
+            case SESSION:
+                // The cached item can only be returned if it is at least as recent as the writes the session has seen.
+                if (entry.getSessionToken() == null || entry.getPartitionKeyRangeId() == null) {
+                    return false;
+                }
+                return entry.isAtLeastAsRecentAs(this.sessionContainer.getPartitionLocalSessionToken(request,
+                    entry.getPartitionKeyRangeId()));
+            default:
+                return false;
+        }
+    }
+
+    private Mono<RxDocumentServiceResponse> invalidateCachedItem(RxDocumentServiceRequest request,
+                                                                 Supplier<String> documentLink,
+                                                                 Mono<RxDocumentServiceResponse> responseObs) {
+        if (this.itemCache == null) {
+            return responseObs;
+        }
+
+        // A failed write may have been applied, so the cached item is invalidated whether the write succeeds or not.
+        Runnable invalidate = () -> {
+            String link = documentLink.get();
+            if (link != null) {
+                this.itemCache.invalidate(
+                    ItemCache.getKey(link, request.getHeaders().get(HttpConstants.HttpHeaders.PARTITION_KEY)));
+            }
+        };
+        return responseObs
+            .doOnSuccess(response -> invalidate.run())
+            .doOnError(error -> invalidate.run());
+    }
+
+    private static String getCreatedDocumentLink(String collectionLink, RxDocumentServiceRequest request) {
+        byte[] content = request.getContentAsByteArray();
+        if (content == null) {
+            return null;
+        }
+
+        try {
+            JsonNode id = mapper.readTree(content).get(Constants.Properties.ID);
+            return id != null && id.isTextual()
+                ? Utils.joinPath(Utils.joinPath(collectionLink, Paths.DOCUMENTS_PATH_SEGMENT), id.asText())
+                : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     @Override
     public Flux<FeedResponse<Document>> readDocuments(String collectionLink, FeedOptions options) {
 
@@ -1363,62 +1504,51 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                                                                                                                     null,
                                                                                                                     null);
                                 return valueHolderMono.flatMap(collectionRoutingMapValueHolder -> {
-                                    Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> partitionRangeItemKeyMap =
-                                        new HashMap<>();
                                     CollectionRoutingMap routingMap = collectionRoutingMapValueHolder.v;
                                     if (routingMap == null) {
                                         throw new IllegalStateException("Failed to get routing map.");
                                     }
-                                    itemKeyList
-                                        .forEach(stringPartitionKeyPair -> {
-
-                                            String effectivePartitionKeyString =  PartitionKeyInternalHelper
-                                                                                     .getEffectivePartitionKeyString(BridgeInternal
-                                                                                                                         .getPartitionKeyInternal(stringPartitionKeyPair
-                                                                                                                                                      .getRight()),
-                                                                                                                     collection
-                                                                                                                         .getPartitionKey());
-
-                                            //use routing map to find the partitionKeyRangeId of each
-                                            // effectivePartitionKey
-                                            PartitionKeyRange range =
-                                                routingMap.getRangeByEffectivePartitionKey(effectivePartitionKeyString);
-
-                                            //group the itemKeyList based on partitionKeyRangeId
-                                            if (partitionRangeItemKeyMap.get(range) == null) {
-                                                List<Pair<String, PartitionKey>> list = new ArrayList<>();
-                                                list.add(stringPartitionKeyPair);
-                                                partitionRangeItemKeyMap.put(range, list);
-                                            } else {
-                                                List<Pair<String, PartitionKey>> pairs =
-                                                    partitionRangeItemKeyMap.get(range);
-                                                pairs.add(stringPartitionKeyPair);
-                                                partitionRangeItemKeyMap.put(range, pairs);
-                                            }
-
-                                        });
-
-                                    Set<PartitionKeyRange> partitionKeyRanges = partitionRangeItemKeyMap.keySet();
-                                    List<PartitionKeyRange> ranges = new ArrayList<>();
-                                    ranges.addAll(partitionKeyRanges);
-
-                                    //Create the range query map that contains the query to be run for that
-                                    // partitionkeyrange
-                                    Map<PartitionKeyRange, SqlQuerySpec> rangeQueryMap;
-                                    rangeQueryMap = getRangeQueryMap(partitionRangeItemKeyMap,
-                                                                     collection.getPartitionKey());
+
+                                    Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> partitionRangeItemKeyMap =
+                                        groupItemKeysByRange(itemKeyList, routingMap, collection.getPartitionKey());
+
+                                    // A point read costs less than a query, so partitions with a single item are
+                                    // read directly and only the other partitions are queried.
+                                    List<Pair<String, PartitionKey>> pointReadItemKeys = new ArrayList<>();
+                                    Iterator<Map.Entry<PartitionKeyRange, List<Pair<String, PartitionKey>>>> iterator =
+                                        partitionRangeItemKeyMap.entrySet().iterator();
+                                    while (iterator.hasNext()) {
+                                        List<Pair<String, PartitionKey>> itemKeys = iterator.next().getValue();
+                                        if (itemKeys.size() == 1) {
+                                            pointReadItemKeys.add(itemKeys.get(0));
+                                            iterator.remove();
+                                        }
+                                    }
+
+                                    //Create the range query maps that contain the queries to be run for the
+                                    // partitionkeyranges, every map has at most one query per partitionkeyrange
+                                    List<Map<PartitionKeyRange, SqlQuerySpec>> rangeQueryMaps =
+                                        getRangeQueryMaps(partitionRangeItemKeyMap, collection.getPartitionKey());
 
                                     String sqlQuery = "this is dummy and only used in creating " +
                                                           "ParallelDocumentQueryExecutioncontext, but not used";
 
-                                    // create the executable query
-                                    return createReadManyQuery(collectionLink,
-                                                               new SqlQuerySpec(sqlQuery),
-                                                               options,
-                                                               Document.class,
-                                                               ResourceType.Document,
-                                                               collection,
-                                                               Collections.unmodifiableMap(rangeQueryMap))
+                                    // The partitions of a range query map are queried in parallel, bounded by the
+                                    // max degree of parallelism of the feed options.
+                                    Flux<FeedResponse<Document>> queryPages = Flux
+                                        .fromIterable(rangeQueryMaps)
+                                        .concatMap(rangeQueryMap -> createReadManyQuery(collectionLink,
+                                                                                        new SqlQuerySpec(sqlQuery),
+                                                                                        options,
+                                                                                        Document.class,
+                                                                                        ResourceType.Document,
+                                                                                        collection,
+                                                                                        Collections.unmodifiableMap(rangeQueryMap)));
+
+                                    Flux<FeedResponse<Document>> pointReadPages =
+                                        readManyPointReads(collectionLink, pointReadItemKeys, options);
+
+                                    return Flux.merge(queryPages, pointReadPages)
                                                .collectList() // aggregating the result construct a FeedResponse and
                                                // aggregate RUs.
                                                .map(feedList -> {
@@ -1442,28 +1572,105 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
 
     }
 
-    private Map<PartitionKeyRange, SqlQuerySpec> getRangeQueryMap(
+    private Flux<FeedResponse<Document>> readManyPointReads(String collectionLink,
+                                                            List<Pair<String, PartitionKey>> itemKeys,
+                                                            FeedOptions options) {
+        int parallelism = options.getMaxDegreeOfParallelism();
+        if (parallelism < 0) {
+            parallelism = Configs.getCPUCnt();
+        } else if (parallelism == 0) {
+            parallelism = 1;
+        }
+
+        return Flux.fromIterable(itemKeys)
+                   .flatMap(itemKey -> {
+                       RequestOptions requestOptions = new RequestOptions();
+                       requestOptions.setPartitionKey(itemKey.getRight());
+                       String documentLink = PathsHelper.generatePathForNameBased(ResourceType.Document,
+                                                                                  collectionLink, itemKey.getLeft());
+                       return this.readDocument(documentLink, requestOptions)
+                                  .map(response -> {
+                                      HashMap<String, String> headers = new HashMap<>();
+                                      headers.put(HttpConstants.HttpHeaders.REQUEST_CHARGE,
+                                                  Double.toString(response.getRequestCharge()));
+                                      return BridgeInternal.createFeedResponse(
+                                          Collections.singletonList(response.getResource()), headers);
+                                  })
+                                  .onErrorResume(CosmosClientException.class, exception -> {
+                                      // Items that don't exist are left out of the result, as they are by a query.
+                                      if (!Exceptions.isStatusCode(exception, HttpConstants.StatusCodes.NOTFOUND)) {
+                                          return Mono.error(exception);
+                                      }
+
+                                      HashMap<String, String> headers = new HashMap<>();
+                                      String requestCharge = exception.getResponseHeaders() != null
+                                          ? exception.getResponseHeaders().get(HttpConstants.HttpHeaders.REQUEST_CHARGE)
+                                          : null;
+                                      if (requestCharge != null) {
+                                          headers.put(HttpConstants.HttpHeaders.REQUEST_CHARGE, requestCharge);
+                                      }
+                                      return Mono.just(BridgeInternal.createFeedResponse(
+                                          Collections.<Document>emptyList(), headers));
+                                  });
+                   }, parallelism);
+    }
+
+    /**
+     * Groups the item keys by the partition key range they belong to, dropping duplicate keys since they would only
+     * make the queries longer.
+     */
+    static Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> groupItemKeysByRange(
+        List<Pair<String, PartitionKey>> itemKeyList,
+        CollectionRoutingMap routingMap,
+        PartitionKeyDefinition partitionKeyDefinition) {
+
+        Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> partitionRangeItemKeyMap = new HashMap<>();
+        for (Pair<String, PartitionKey> itemKey : new LinkedHashSet<>(itemKeyList)) {
+            String effectivePartitionKeyString = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+                BridgeInternal.getPartitionKeyInternal(itemKey.getRight()), partitionKeyDefinition);
+
+            //use routing map to find the partitionKeyRangeId of each effectivePartitionKey
+            PartitionKeyRange range = routingMap.getRangeByEffectivePartitionKey(effectivePartitionKeyString);
+
+            //group the itemKeyList based on partitionKeyRangeId
+            partitionRangeItemKeyMap.computeIfAbsent(range, r -> new ArrayList<>()).add(itemKey);
+        }
+
+        return partitionRangeItemKeyMap;
+    }
+
+    private List<Map<PartitionKeyRange, SqlQuerySpec>> getRangeQueryMaps(
         Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> partitionRangeItemKeyMap,
         PartitionKeyDefinition partitionKeyDefinition) {
         //TODO: Optimise this to include all types of partitionkeydefinitions. ex: c["prop1./ab"]["key1"]
 
-        Map<PartitionKeyRange, SqlQuerySpec> rangeQueryMap = new HashMap<>();
+        List<Map<PartitionKeyRange, SqlQuerySpec>> rangeQueryMaps = new ArrayList<>();
         String partitionKeySelector = createPkSelector(partitionKeyDefinition);
 
         for(Map.Entry<PartitionKeyRange, List<Pair<String, PartitionKey>>> entry: partitionRangeItemKeyMap.entrySet()) {
 
-            SqlQuerySpec sqlQuerySpec;
-            if (partitionKeySelector.equals("[\"id\"]")) {
-                sqlQuerySpec = createReadManyQuerySpecPartitionKeyIdSame(entry.getValue(), partitionKeySelector);
-            } else {
-                sqlQuerySpec = createReadManyQuerySpec(entry.getValue(), partitionKeySelector);
-            }
-            // Add query for this partition to rangeQueryMap
-            rangeQueryMap.put(entry.getKey(), sqlQuerySpec);
+            // Queries are limited in size, so partitions with many items are read by several queries.
+            List<Pair<String, PartitionKey>> itemKeys = entry.getValue();
+            for (int start = 0, round = 0; start < itemKeys.size(); start += MAX_ITEMS_PER_READ_MANY_QUERY, round++) {
+                List<Pair<String, PartitionKey>> chunk =
+                    itemKeys.subList(start, Math.min(start + MAX_ITEMS_PER_READ_MANY_QUERY, itemKeys.size()));
 
+                SqlQuerySpec sqlQuerySpec;
+                if (partitionKeySelector.equals("[\"id\"]")) {
+                    sqlQuerySpec = createReadManyQuerySpecPartitionKeyIdSame(chunk, partitionKeySelector);
+                } else {
+                    sqlQuerySpec = createReadManyQuerySpec(chunk, partitionKeySelector);
+                }
+
+                // Add query for this partition to the range query map of this round
+                if (rangeQueryMaps.size() <= round) {
+                    rangeQueryMaps.add(new HashMap<>());
+                }
+                rangeQueryMaps.get(round).put(entry.getKey(), sqlQuerySpec);
+            }
         }
 
-        return rangeQueryMap;
+        return rangeQueryMaps;
     }
 
     private SqlQuerySpec createReadManyQuerySpecPartitionKeyIdSame(List<Pair<String, PartitionKey>> idPartitionKeyPairList, String partitionKeySelector) {
@@ -1485,12 +1692,11 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
                 continue;
             }
 
-            parameters.add(new SqlParameter(idParamName, idValue));
-            queryStringBuilder.append(idParamName);
-
-            if (i < idPartitionKeyPairList.size() - 1) {
+            if (!parameters.isEmpty()) {
                 queryStringBuilder.append(", ");
             }
+            parameters.add(new SqlParameter(idParamName, idValue));
+            queryStringBuilder.append(idParamName);
         }
         queryStringBuilder.append(" )");
 
@@ -2900,6 +3106,27 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         return createQuery(null, querySpec, options, Offer.class, ResourceType.Offer);
     }
 
+    @Override
+    public Mono<Void> openConnectionsAndInitCaches(String collectionLink) {
+        if (this.addressResolver == null) {
+            // Gateway mode: there are no replica addresses to resolve and no connections to open
+            return Mono.empty();
+        }
+
+        RxDocumentServiceRequest request = RxDocumentServiceRequest.create(
+            OperationType.Read,
+            ResourceType.DocumentCollection,
+            collectionLink, null
+        ); // This should not got to backend
+
+        return this.collectionCache.resolveCollectionAsync(request).flatMap(collectionValueHolder -> {
+            if (collectionValueHolder.v == null) {
+                return Mono.error(new IllegalStateException("Collection cannot be null"));
+            }
+            return this.addressResolver.openAsync(collectionValueHolder.v);
+        });
+    }
+
     @Override
     public Mono<DatabaseAccount> getDatabaseAccount() {
         DocumentClientRetryPolicy documentClientRetryPolicy = this.resetSessionTokenRetryPolicy.getRequestPolicy();
@@ -2929,6 +3156,12 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         this.sessionContainer = (SessionContainer) sessionContainer;
     }
 
+    @Override
+    public RxCollectionCache getCollectionCache() {
+        return collectionCache;
+    }
+
+    @Override
     public RxPartitionKeyRangeCache getPartitionKeyRangeCache() {
         return partitionKeyRangeCache;
     }
@@ -3023,6 +3256,10 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         logger.info("Shutting down ...");
         logger.info("Closing Global Endpoint Manager ...");
         LifeCycleUtils.closeQuietly(this.globalEndpointManager);
+        if (this.addressResolver != null) {
+            logger.info("Disposing GlobalAddressResolver ...");
+            this.addressResolver.dispose();
+        }
         logger.info("Closing StoreClientFactory ...");
         LifeCycleUtils.closeQuietly(this.storeClientFactory);
         logger.info("Shutting down reactorHttpClient ...");
@@ -3031,6 +3268,8 @@ public class RxDocumentClientImpl implements AsyncDocumentClient, IAuthorization
         } catch (Exception e) {
             logger.warn("shutting down reactorHttpClient failed", e);
         }
+        LifeCycleUtils.closeQuietly(this.itemCacheMetersRegistration);
+        LifeCycleUtils.closeQuietly(this.clientMetricsRegistration);
         logger.info("Shutting down completed.");
     }
 }
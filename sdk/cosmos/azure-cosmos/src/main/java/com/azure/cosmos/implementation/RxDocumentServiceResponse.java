@@ -10,16 +10,17 @@ import com.azure.cosmos.implementation.directconnectivity.StoreResponse;
 import com.azure.cosmos.BridgeInternal;
 import com.azure.cosmos.CosmosResponseDiagnostics;
 import com.azure.cosmos.Resource;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,9 @@ import java.util.Map;
  * This is core Transport/Connection agnostic response for the Azure Cosmos DB database service.
  */
 public class RxDocumentServiceResponse {
+    // Bodies put in error messages are cut at this many characters, since a query page can be megabytes long
+    private static final int MAX_JSON_LENGTH_IN_ERROR = 1024;
+
     private final int statusCode;
     private final Map<String, String> headersMap;
     private final StoreResponse storeResponse;
@@ -96,16 +100,21 @@ public class RxDocumentServiceResponse {
     }
 
     public <T extends Resource> T getResource(Class<T> c) {
-        String responseBody = this.getResponseBodyAsString();
-        if (StringUtils.isEmpty(responseBody))
+        byte[] responseBody = this.getResponseBodyAsByteArray();
+        if (Utils.isEmpty(responseBody))
             return null;
 
         T resource = null;
-        try {
-            resource =  c.getConstructor(String.class).newInstance(responseBody);
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
-            throw new IllegalStateException("Failed to instantiate class object.", e);
+        if (c.equals(Document.class)) {
+            // the hot path binds the document tree straight from the response bytes without an intermediate string
+            resource = c.cast(new Document((ObjectNode) fromJson(responseBody)));
+        } else {
+            try {
+                resource =  c.getConstructor(String.class).newInstance(Utils.utf8StringFromOrNull(responseBody));
+            } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
+                    | NoSuchMethodException | SecurityException e) {
+                throw new IllegalStateException("Failed to instantiate class object.", e);
+            }
         }
         if(PathsHelper.isPublicResource(resource)) {
             BridgeInternal.setAltLink(resource, PathsHelper.generatePathForNameBased(resource, this.getOwnerFullName(),resource.getId()));
@@ -120,36 +129,88 @@ public class RxDocumentServiceResponse {
             return new ArrayList<T>();
         }
 
-        JsonNode jobject = fromJson(responseBody);
         String resourceKey = RxDocumentServiceResponse.getResourceKey(c);
-        ArrayNode jTokenArray = (ArrayNode) jobject.get(resourceKey);
-
-        // Aggregate queries may return a nested array
-        ArrayNode innerArray;
-        while (jTokenArray != null && jTokenArray.size() == 1 && (innerArray = toArrayNode(jTokenArray.get(0))) != null) {
-            jTokenArray = innerArray;
-        }
-
         List<T> queryResults = new ArrayList<T>();
 
-        if (jTokenArray != null) {
-            for (int i = 0; i < jTokenArray.size(); ++i) {
-                JsonNode jToken = jTokenArray.get(i);
-                // Aggregate on single partition collection may return the aggregated value only
-                // In that case it needs to encapsulated in a special document
+        // The resources are streamed out of the page one at a time, so the tree of the whole page is never built
+        try (JsonParser parser = Utils.getSimpleObjectMapper().getFactory().createParser(responseBody)) {
+            if (!moveToArrayField(parser, resourceKey)) {
+                return queryResults;
+            }
 
-                JsonNode resourceJson = jToken.isValueNode() || jToken.isArray()// to add nulls, arrays, objects
-                        ? fromJson(String.format("{\"%s\": %s}", Constants.Properties.VALUE, jToken.toString()))
-                                : jToken;
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                JsonNode jToken = readTree(parser);
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    // Aggregate queries may return a nested array
+                    ArrayNode jTokenArray = (ArrayNode) jToken;
+                    ArrayNode innerArray;
+                    while (jTokenArray.size() == 1 && (innerArray = toArrayNode(jTokenArray.get(0))) != null) {
+                        jTokenArray = innerArray;
+                    }
+
+                    for (int i = 0; i < jTokenArray.size(); ++i) {
+                        queryResults.add(toResource(jTokenArray.get(i), c));
+                    }
+                    return queryResults;
+                }
+
+                queryResults.add(toResource(jToken, c));
+                token = parser.currentToken();
+            }
 
-               T resource = (T) BridgeInternal.instantiateJsonSerializable((ObjectNode) resourceJson, c);
-               queryResults.add(resource);
+            while (token != JsonToken.END_ARRAY) {
+                queryResults.add(toResource(readTree(parser), c));
+                token = parser.nextToken();
             }
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                String.format("Unable to parse JSON %s", toTruncatedString(responseBody)), e);
         }
 
         return queryResults;
     }
 
+    private static boolean moveToArrayField(JsonParser parser, String fieldName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String currentName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(currentName)) {
+                if (value == JsonToken.VALUE_NULL) {
+                    return false;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw new IllegalStateException(
+                        String.format("Expected an array of %s but found %s", fieldName, value));
+                }
+                return true;
+            }
+            parser.skipChildren();
+        }
+
+        return false;
+    }
+
+    private static JsonNode readTree(JsonParser parser) throws IOException {
+        JsonNode jToken = Utils.getSimpleObjectMapper().readTree(parser);
+        return jToken != null ? jToken : NullNode.getInstance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Resource> T toResource(JsonNode jToken, Class<T> c) {
+        // Aggregate on single partition collection may return the aggregated value only
+        // In that case it needs to encapsulated in a special document
+        JsonNode resourceJson = jToken.isValueNode() || jToken.isArray()// to add nulls, arrays, objects
+                ? Utils.getSimpleObjectMapper().createObjectNode().set(Constants.Properties.VALUE, jToken)
+                : jToken;
+
+        return (T) BridgeInternal.instantiateJsonSerializable((ObjectNode) resourceJson, c);
+    }
+
     private ArrayNode toArrayNode(JsonNode n) {
         if (n.isArray()) {
             return (ArrayNode) n;
@@ -158,20 +219,21 @@ public class RxDocumentServiceResponse {
         }
     }
 
-    private static JsonNode fromJson(String json){
+    private static JsonNode fromJson(byte[] json){
         try {
             return Utils.getSimpleObjectMapper().readTree(json);
         } catch (IOException e) {
-            throw new IllegalStateException(String.format("Unable to parse JSON %s", json), e);
+            throw new IllegalStateException(String.format("Unable to parse JSON %s", toTruncatedString(json)), e);
         }
     }
 
-    private static JsonNode fromJson(byte[] json){
-        try {
-            return Utils.getSimpleObjectMapper().readTree(json);
-        } catch (IOException e) {
-            throw new IllegalStateException(String.format("Unable to parse JSON %s", Arrays.toString(json)), e);
+    private static String toTruncatedString(byte[] json) {
+        String text = Utils.utf8StringFromOrNull(json);
+        if (text == null || text.length() <= MAX_JSON_LENGTH_IN_ERROR) {
+            return text;
         }
+
+        return text.substring(0, MAX_JSON_LENGTH_IN_ERROR) + "...";
     }
 
     private static String toJson(Object object){
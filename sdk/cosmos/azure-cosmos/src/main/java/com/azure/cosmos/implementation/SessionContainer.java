@@ -4,20 +4,27 @@
 package com.azure.cosmos.implementation;
 
 import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.implementation.routing.PartitionKeyRangeIdentity;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.azure.cosmos.implementation.Utils.ValueHolder;
 
 /**
  * Used internally to cache the collections' session tokens in the Azure Cosmos DB database service.
+ * <p>
+ * Reads are lock free. The session tokens of a collection are kept per partition key range together with their
+ * serialized form, and the combined session token of the collection is only rebuilt after a session token of the
+ * collection has progressed. Registering a collection and clearing it are serialized, the session tokens of known
+ * collections are updated without locking the container.
  */
 public final class SessionContainer implements ISessionContainer {
     private final Logger logger = LoggerFactory.getLogger(SessionContainer.class);
@@ -25,18 +32,15 @@ public final class SessionContainer implements ISessionContainer {
     /**
      * SESSION token cache that maps collection ResourceID to session tokens
      */
-    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>> collectionResourceIdToSessionTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CollectionSessionTokens> collectionResourceIdToSessionTokens = new ConcurrentHashMap<>();
     /**
      * Collection ResourceID cache that maps collection name to collection ResourceID
      * When collection name is provided instead of self-link, this is used in combination with
      * collectionResourceIdToSessionTokens to retrieve the session token for the collection by name
      */
-    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock readLock = readWriteLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock writeLock = readWriteLock.writeLock();
-
     private final ConcurrentHashMap<String, Long> collectionNameToCollectionResourceId = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Long, String> collectionResourceIdToCollectionName = new ConcurrentHashMap<>();
+    private final Object collectionRegistrationLock = new Object();
     private final String hostName;
     private final boolean disableSessionCapturing;
 
@@ -56,7 +60,7 @@ public final class SessionContainer implements ISessionContainer {
     String getSessionToken(String collectionLink) {
 
         PathInfo pathInfo = new PathInfo(false, null, null, false);
-        ConcurrentHashMap<String, ISessionToken> partitionKeyRangeIdToTokenMap = null;
+        CollectionSessionTokens sessionTokens = null;
         if (PathsHelper.tryParsePathSegments(collectionLink, pathInfo, null)) {
             Long UniqueDocumentCollectionId = null;
             if (pathInfo.isNameBased) {
@@ -70,72 +74,108 @@ public final class SessionContainer implements ISessionContainer {
             }
 
             if (UniqueDocumentCollectionId != null) {
-                partitionKeyRangeIdToTokenMap = this.collectionResourceIdToSessionTokens.get(UniqueDocumentCollectionId);
+                sessionTokens = this.collectionResourceIdToSessionTokens.get(UniqueDocumentCollectionId);
             }
         }
 
-        if (partitionKeyRangeIdToTokenMap == null) {
+        if (sessionTokens == null) {
             return StringUtils.EMPTY;
         }
 
-        return SessionContainer.getCombinedSessionToken(partitionKeyRangeIdToTokenMap);
+        return sessionTokens.getCombinedSessionToken();
     }
 
-    private ConcurrentHashMap<String, ISessionToken> getPartitionKeyRangeIdToTokenMap(RxDocumentServiceRequest request) {
-        return getPartitionKeyRangeIdToTokenMap(request.getIsNameBased(), request.getResourceId(), request.getResourceAddress());
+    private CollectionSessionTokens getCollectionSessionTokens(RxDocumentServiceRequest request) {
+        return getCollectionSessionTokens(request.getIsNameBased(), request.getResourceId(), request.getResourceAddress());
     }
 
-    private ConcurrentHashMap<String, ISessionToken> getPartitionKeyRangeIdToTokenMap(boolean isNameBased, String rId, String resourceAddress) {
-        ConcurrentHashMap<String, ISessionToken> rangeIdToTokenMap = null;
+    private CollectionSessionTokens getCollectionSessionTokens(boolean isNameBased, String rId, String resourceAddress) {
+        CollectionSessionTokens sessionTokens = null;
         if (!isNameBased) {
             if (!StringUtils.isEmpty(rId)) {
                 ResourceId resourceId = ResourceId.parse(rId);
                 if (resourceId.getDocumentCollection() != 0) {
-                    rangeIdToTokenMap =
+                    sessionTokens =
                             this.collectionResourceIdToSessionTokens.get(resourceId.getUniqueDocumentCollectionId());
                 }
             }
         } else {
             String collectionName = Utils.getCollectionName(resourceAddress);
-            if (!StringUtils.isEmpty(collectionName) && this.collectionNameToCollectionResourceId.containsKey(collectionName)) {
-                rangeIdToTokenMap = this.collectionResourceIdToSessionTokens.get(
-                        this.collectionNameToCollectionResourceId.get(collectionName));
+            if (!StringUtils.isEmpty(collectionName)) {
+                Long collectionResourceId = this.collectionNameToCollectionResourceId.get(collectionName);
+                if (collectionResourceId != null) {
+                    sessionTokens = this.collectionResourceIdToSessionTokens.get(collectionResourceId);
+                }
             }
         }
-        return rangeIdToTokenMap;
+        return sessionTokens;
     }
 
-
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the request targets a single partition key range and the client has a session token for it, only the
+     * session token of that partition key range is returned.
+     */
+    @Override
     public String resolveGlobalSessionToken(RxDocumentServiceRequest request) {
-        ConcurrentHashMap<String, ISessionToken> partitionKeyRangeIdToTokenMap = this.getPartitionKeyRangeIdToTokenMap(request);
-        if (partitionKeyRangeIdToTokenMap != null) {
-            return SessionContainer.getCombinedSessionToken(partitionKeyRangeIdToTokenMap);
+        CollectionSessionTokens sessionTokens = this.getCollectionSessionTokens(request);
+        if (sessionTokens == null) {
+            return StringUtils.EMPTY;
+        }
+
+        String partitionKeyRangeId = null;
+        if (request.requestContext != null && request.requestContext.resolvedPartitionKeyRange != null) {
+            partitionKeyRangeId = request.requestContext.resolvedPartitionKeyRange.getId();
+        } else {
+            PartitionKeyRangeIdentity partitionKeyRangeIdentity = request.getPartitionKeyRangeIdentity();
+            if (partitionKeyRangeIdentity != null) {
+                partitionKeyRangeId = partitionKeyRangeIdentity.getPartitionKeyRangeId();
+            }
         }
 
-        return StringUtils.EMPTY;
+        if (partitionKeyRangeId != null) {
+            String partitionSessionToken = sessionTokens.getSerializedSessionToken(partitionKeyRangeId);
+            if (partitionSessionToken != null) {
+                return partitionSessionToken;
+            }
+        }
+
+        return sessionTokens.getCombinedSessionToken();
+    }
+
+    /**
+     * Gets the session token of a partition key range of the collection of a request, without falling back to the
+     * session tokens of the parents of the partition key range.
+     *
+     * @param request the request.
+     * @param partitionKeyRangeId the partition key range id.
+     * @return the session token of the partition key range, or null if the client has no session token for it.
+     */
+    public ISessionToken getPartitionLocalSessionToken(RxDocumentServiceRequest request, String partitionKeyRangeId) {
+        CollectionSessionTokens sessionTokens = this.getCollectionSessionTokens(request);
+        return sessionTokens != null ? sessionTokens.getSessionToken(partitionKeyRangeId) : null;
     }
 
     @Override
     public ISessionToken resolvePartitionLocalSessionToken(RxDocumentServiceRequest request, String partitionKeyRangeId) {
+        CollectionSessionTokens sessionTokens = this.getCollectionSessionTokens(request);
         return SessionTokenHelper.resolvePartitionLocalSessionToken(request,
                 partitionKeyRangeId,
-                this.getPartitionKeyRangeIdToTokenMap(request));
+                sessionTokens != null ? sessionTokens::getSessionToken : null);
     }
 
     @Override
     public void clearTokenByCollectionFullName(String collectionFullName) {
         if (!Strings.isNullOrEmpty(collectionFullName)) {
             String collectionName = PathsHelper.getCollectionPath(collectionFullName);
-            this.writeLock.lock();
-            try {
-                if (this.collectionNameToCollectionResourceId.containsKey(collectionName)) {
-                    Long rid = this.collectionNameToCollectionResourceId.get(collectionName);
+            synchronized (this.collectionRegistrationLock) {
+                Long rid = this.collectionNameToCollectionResourceId.get(collectionName);
+                if (rid != null) {
                     this.collectionResourceIdToSessionTokens.remove(rid);
                     this.collectionResourceIdToCollectionName.remove(rid);
                     this.collectionNameToCollectionResourceId.remove(collectionName);
                 }
-            } finally {
-                this.writeLock.unlock();
             }
         }
     }
@@ -146,16 +186,13 @@ public final class SessionContainer implements ISessionContainer {
             ResourceId resource = ResourceId.parse(resourceId);
             if (resource.getDocumentCollection() != 0) {
                 Long rid = resource.getUniqueDocumentCollectionId();
-                this.writeLock.lock();
-                try {
-                    if (this.collectionResourceIdToCollectionName.containsKey(rid)) {
-                        String collectionName = this.collectionResourceIdToCollectionName.get(rid);
+                synchronized (this.collectionRegistrationLock) {
+                    String collectionName = this.collectionResourceIdToCollectionName.get(rid);
+                    if (collectionName != null) {
                         this.collectionResourceIdToSessionTokens.remove(rid);
                         this.collectionResourceIdToCollectionName.remove(rid);
                         this.collectionNameToCollectionResourceId.remove(collectionName);
                     }
-                } finally {
-                    this.writeLock.unlock();
                 }
             }
         }
@@ -205,87 +242,32 @@ public final class SessionContainer implements ISessionContainer {
             logger.trace("UPDATE SESSION token {} {} {}", resourceId.getUniqueDocumentCollectionId(), collectionName, parsedSessionToken);
         }
 
-        boolean isKnownCollection;
-
-        this.readLock.lock();
-        try {
-            isKnownCollection = this.collectionNameToCollectionResourceId.containsKey(collectionName) &&
-                    this.collectionResourceIdToCollectionName.containsKey(resourceId.getUniqueDocumentCollectionId()) &&
-                    this.collectionNameToCollectionResourceId.get(collectionName) == resourceId.getUniqueDocumentCollectionId() &&
-                    this.collectionResourceIdToCollectionName.get(resourceId.getUniqueDocumentCollectionId()).equals(collectionName);
-            if (isKnownCollection) {
-                this.addSessionToken(resourceId, partitionKeyRangeId, parsedSessionToken);
+        long collectionResourceId = resourceId.getUniqueDocumentCollectionId();
+
+        // Fast path: the collection is known, its session tokens are updated without taking the registration lock.
+        Long knownCollectionResourceId = collectionName != null
+            ? this.collectionNameToCollectionResourceId.get(collectionName)
+            : null;
+        if (knownCollectionResourceId != null
+            && knownCollectionResourceId == collectionResourceId
+            && collectionName.equals(this.collectionResourceIdToCollectionName.get(collectionResourceId))) {
+            CollectionSessionTokens sessionTokens = this.collectionResourceIdToSessionTokens.get(collectionResourceId);
+            if (sessionTokens != null) {
+                sessionTokens.merge(partitionKeyRangeId, parsedSessionToken);
+                return;
             }
-        } finally {
-            this.readLock.unlock();
         }
 
-        if (!isKnownCollection) {
-            this.writeLock.lock();
-            try {
-                if (collectionName != null && resourceId.getUniqueDocumentCollectionId() != 0) {
-                    this.collectionNameToCollectionResourceId.compute(collectionName, (k, v) -> resourceId.getUniqueDocumentCollectionId());
-                    this.collectionResourceIdToCollectionName.compute(resourceId.getUniqueDocumentCollectionId(), (k, v) -> collectionName);
-                }
-                addSessionToken(resourceId, partitionKeyRangeId, parsedSessionToken);
-            } finally {
-                this.writeLock.unlock();
-            }
-        }
-    }
-
-    private void updateExistingTokensInternal(ConcurrentHashMap<String, ISessionToken>  existingTokens, String partitionKeyRangeId, ISessionToken parsedSessionToken) {
-        existingTokens.merge(partitionKeyRangeId, parsedSessionToken, (existingSessionTokens, newSessionToken) -> {
-            try {
-                if (existingSessionTokens == null) {
-                    return newSessionToken;
-                }
-
-                return existingSessionTokens.merge(newSessionToken);
-            } catch (CosmosClientException e) {
-                throw new IllegalStateException(e);
-            }
-        });
-    }
-
-    private void addSessionToken(ResourceId resourceId, String partitionKeyRangeId, ISessionToken parsedSessionToken) {
-        ConcurrentHashMap<String, ISessionToken> existingTokensIfAny = this.collectionResourceIdToSessionTokens.get(resourceId.getUniqueDocumentCollectionId());
-
-        if (existingTokensIfAny != null) {
-            // if an entry for this collection exists, no need to lock the outer ConcurrentHashMap.
-
-            updateExistingTokensInternal(existingTokensIfAny, partitionKeyRangeId, parsedSessionToken);
-            return;
-        }
-
-        this.collectionResourceIdToSessionTokens.compute(
-            resourceId.getUniqueDocumentCollectionId(), (k, existingTokens) -> {
-                if (existingTokens == null) {
-                    logger.info("Registering a new collection resourceId [{}] in SessionTokens", resourceId);
-                    ConcurrentHashMap<String, ISessionToken> tokens =
-                        new ConcurrentHashMap(200, 0.75f, 2000);
-                    tokens.put(partitionKeyRangeId, parsedSessionToken);
-                    return tokens;
-                }
-
-                updateExistingTokensInternal(existingTokens, partitionKeyRangeId, parsedSessionToken);
-                return existingTokens;
-            });
-    }
-
-    private static String getCombinedSessionToken(ConcurrentHashMap<String, ISessionToken> tokens) {
-        StringBuilder result = new StringBuilder();
-        if (tokens != null) {
-            for (Iterator<Entry<String, ISessionToken>> iterator = tokens.entrySet().iterator(); iterator.hasNext(); ) {
-                Entry<String, ISessionToken> entry = iterator.next();
-                result = result.append(entry.getKey()).append(":").append(entry.getValue().convertToString());
-                if (iterator.hasNext()) {
-                    result = result.append(",");
-                }
+        synchronized (this.collectionRegistrationLock) {
+            if (collectionName != null && collectionResourceId != 0) {
+                this.collectionNameToCollectionResourceId.put(collectionName, collectionResourceId);
+                this.collectionResourceIdToCollectionName.put(collectionResourceId, collectionName);
             }
+            this.collectionResourceIdToSessionTokens.computeIfAbsent(collectionResourceId, k -> {
+                logger.info("Registering a new collection resourceId [{}] in SessionTokens", resourceId);
+                return new CollectionSessionTokens();
+            }).merge(partitionKeyRangeId, parsedSessionToken);
         }
-
-        return result.toString();
     }
 
     private static boolean shouldUpdateSessionToken(
@@ -319,4 +301,117 @@ public final class SessionContainer implements ISessionContainer {
 
         return false;
     }
+
+    /**
+     * The session tokens of the partition key ranges of a collection.
+     * <p>
+     * The session token of every partition key range is stored with its serialized form, so requests don't serialize
+     * session tokens. Session tokens that don't progress the current session token of their partition key range are
+     * dropped without allocating, and the combined session token is cached until a session token progresses.
+     */
+    static final class CollectionSessionTokens {
+        private final ConcurrentHashMap<String, PartitionKeyRangeSessionToken> sessionTokens =
+            new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private volatile CombinedSessionToken combinedSessionToken;
+
+        ISessionToken getSessionToken(String partitionKeyRangeId) {
+            PartitionKeyRangeSessionToken sessionToken = this.sessionTokens.get(partitionKeyRangeId);
+            return sessionToken != null ? sessionToken.sessionToken : null;
+        }
+
+        String getSerializedSessionToken(String partitionKeyRangeId) {
+            PartitionKeyRangeSessionToken sessionToken = this.sessionTokens.get(partitionKeyRangeId);
+            return sessionToken != null ? sessionToken.serializedSessionToken : null;
+        }
+
+        int size() {
+            return this.sessionTokens.size();
+        }
+
+        Map<String, ISessionToken> toMap() {
+            Map<String, ISessionToken> map = new HashMap<>();
+            for (PartitionKeyRangeSessionToken sessionToken : this.sessionTokens.values()) {
+                map.put(sessionToken.partitionKeyRangeId, sessionToken.sessionToken);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+        void merge(String partitionKeyRangeId, ISessionToken sessionToken) {
+            PartitionKeyRangeSessionToken current = this.sessionTokens.get(partitionKeyRangeId);
+            if (current != null && isCoveredBy(sessionToken, current.sessionToken)) {
+                return;
+            }
+
+            PartitionKeyRangeSessionToken merged = this.sessionTokens.compute(partitionKeyRangeId, (k, existing) -> {
+                if (existing == null) {
+                    return new PartitionKeyRangeSessionToken(k, sessionToken);
+                }
+                if (isCoveredBy(sessionToken, existing.sessionToken)) {
+                    return existing;
+                }
+                try {
+                    return new PartitionKeyRangeSessionToken(k, existing.sessionToken.merge(sessionToken));
+                } catch (CosmosClientException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            if (merged != current) {
+                this.version.incrementAndGet();
+            }
+        }
+
+        String getCombinedSessionToken() {
+            long currentVersion = this.version.get();
+            CombinedSessionToken combined = this.combinedSessionToken;
+            if (combined != null && combined.version == currentVersion) {
+                return combined.sessionToken;
+            }
+
+            StringBuilder result = new StringBuilder();
+            for (Iterator<PartitionKeyRangeSessionToken> iterator = this.sessionTokens.values().iterator(); iterator.hasNext(); ) {
+                result.append(iterator.next().serializedSessionToken);
+                if (iterator.hasNext()) {
+                    result.append(",");
+                }
+            }
+
+            // A concurrent update bumps the version, so a combined session token rendered before it is not reused.
+            String sessionToken = result.toString();
+            this.combinedSessionToken = new CombinedSessionToken(currentVersion, sessionToken);
+            return sessionToken;
+        }
+
+        private static boolean isCoveredBy(ISessionToken sessionToken, ISessionToken existingSessionToken) {
+            try {
+                return sessionToken.isValid(existingSessionToken);
+            } catch (CosmosClientException e) {
+                // Session tokens of different regions are merged.
+                return false;
+            }
+        }
+    }
+
+    private static final class PartitionKeyRangeSessionToken {
+        private final String partitionKeyRangeId;
+        private final ISessionToken sessionToken;
+        private final String serializedSessionToken;
+
+        PartitionKeyRangeSessionToken(String partitionKeyRangeId, ISessionToken sessionToken) {
+            this.partitionKeyRangeId = partitionKeyRangeId;
+            this.sessionToken = sessionToken;
+            this.serializedSessionToken = SessionTokenHelper.concatPartitionKeyRangeIdWithSessionToken(
+                partitionKeyRangeId, sessionToken.convertToString());
+        }
+    }
+
+    private static final class CombinedSessionToken {
+        private final long version;
+        private final String sessionToken;
+
+        CombinedSessionToken(long version, String sessionToken) {
+            this.version = version;
+            this.sessionToken = sessionToken;
+        }
+    }
 }
@@ -13,7 +13,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static com.azure.cosmos.implementation.Utils.ValueHolder;
 
@@ -113,19 +113,20 @@ public class SessionTokenHelper {
 
     static ISessionToken resolvePartitionLocalSessionToken(RxDocumentServiceRequest request,
                                                            String partitionKeyRangeId,
-                                                           ConcurrentHashMap<String, ISessionToken> rangeIdToTokenMap) {
-        if (rangeIdToTokenMap != null) {
-            if (rangeIdToTokenMap.containsKey(partitionKeyRangeId)) {
-                return rangeIdToTokenMap.get(partitionKeyRangeId);
-            } else {
-                Collection<String> parents = request.requestContext.resolvedPartitionKeyRange.getParents();
-                if (parents != null) {
-                    List<String> parentsList = new ArrayList<>(parents);
-                    for (int i = parentsList.size() - 1; i >= 0; i--) {
-                        String parentId = parentsList.get(i);
-                        if (rangeIdToTokenMap.containsKey(parentId)) {
-                            return rangeIdToTokenMap.get(parentId);
-                        }
+                                                           Function<String, ISessionToken> rangeIdToToken) {
+        if (rangeIdToToken != null) {
+            ISessionToken sessionToken = rangeIdToToken.apply(partitionKeyRangeId);
+            if (sessionToken != null) {
+                return sessionToken;
+            }
+
+            Collection<String> parents = request.requestContext.resolvedPartitionKeyRange.getParents();
+            if (parents != null) {
+                List<String> parentsList = new ArrayList<>(parents);
+                for (int i = parentsList.size() - 1; i >= 0; i--) {
+                    ISessionToken parentSessionToken = rangeIdToToken.apply(parentsList.get(i));
+                    if (parentSessionToken != null) {
+                        return parentSessionToken;
                     }
                 }
             }
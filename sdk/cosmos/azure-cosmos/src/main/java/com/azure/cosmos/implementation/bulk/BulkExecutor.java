@@ -0,0 +1,331 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.bulk;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.BulkProcessingOptions;
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosAsyncItemResponse;
+import com.azure.cosmos.CosmosBridgeInternal;
+import com.azure.cosmos.CosmosBulkOperationResponse;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.CosmosItemOperation;
+import com.azure.cosmos.CosmosItemRequestOptions;
+import com.azure.cosmos.implementation.AsyncDocumentClient;
+import com.azure.cosmos.implementation.DocumentCollection;
+import com.azure.cosmos.implementation.Exceptions;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.OperationType;
+import com.azure.cosmos.implementation.PartitionKeyRange;
+import com.azure.cosmos.implementation.ResourceType;
+import com.azure.cosmos.implementation.RxDocumentServiceRequest;
+import com.azure.cosmos.implementation.routing.CollectionRoutingMap;
+import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Executes item operations in bulk.
+ * <p>
+ * Operations are grouped by the partition key range their partition key hashes to, using the routing map of the
+ * container, and every group is flushed in micro-batches either when a micro-batch is full or when the flush interval
+ * has passed. The operations of a micro-batch are sent concurrently, and the number of micro-batches in flight for a
+ * partition key range is bounded, so the request rate is spread over the partitions instead of being limited by the
+ * slowest one. Every operation of a micro-batch is still its own request, this client has no request carrying several
+ * operations to the service.
+ * <p>
+ * The operations routed, buffered or in flight are bounded to 16 full micro-batches per concurrent micro-batch allowed,
+ * further operations are only taken from the source once earlier ones have completed.
+ * <p>
+ * An operation that is still throttled after the retries of the client pauses its partition key range for the
+ * retry-after interval returned by the service and is retried. When a partition key range has split the routing map
+ * is refreshed, and the operation is routed again to the partition key range that now owns its partition key and
+ * resubmitted.
+ */
+public final class BulkExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BulkExecutor.class);
+    static final int MAX_SPLIT_RETRIES = 3;
+    static final int MAX_PENDING_MICRO_BATCHES = 16;
+
+    private final BulkProcessingOptions options;
+    private final String containerLink;
+    private final Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender;
+    private final Function<CollectionRoutingMap, Mono<RoutingInfo>> routingResolver;
+    private final AtomicReference<Mono<RoutingInfo>> routingInfo = new AtomicReference<>();
+    private final ConcurrentHashMap<String, PartitionKeyRangeState> partitionKeyRangeStates =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a BulkExecutor.
+     *
+     * @param container the container the operations are executed on.
+     * @param options the bulk processing options.
+     */
+    public BulkExecutor(CosmosAsyncContainer container, BulkProcessingOptions options) {
+        this(options, BridgeInternal.getLink(container), operation -> send(container, operation),
+            previousRoutingMap -> resolveRoutingInfo(
+                CosmosBridgeInternal.getAsyncDocumentClient(container.getDatabase()), BridgeInternal.getLink(container),
+                previousRoutingMap));
+    }
+
+    BulkExecutor(BulkProcessingOptions options,
+                 String containerLink,
+                 Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender,
+                 Function<CollectionRoutingMap, Mono<RoutingInfo>> routingResolver) {
+        this.options = options;
+        this.containerLink = containerLink;
+        this.sender = sender;
+        this.routingResolver = routingResolver;
+    }
+
+    /**
+     * Executes the operations, emitting the result of every operation as soon as it completes.
+     *
+     * @param operations the operations to execute.
+     * @return a {@link Flux} of the results of the operations.
+     */
+    public Flux<CosmosBulkOperationResponse> execute(Flux<CosmosItemOperation> operations) {
+        final int maxPendingOperations = getMaxPendingOperations();
+
+        return Flux.defer(() -> {
+            // Every completed operation hands out a permit for the next one, so the operations routed, buffered or in
+            // flight never exceed the pending bound whatever the micro-batches flushed by the timer do.
+            final UnicastProcessor<Integer> completions = UnicastProcessor.create();
+            final FluxSink<Integer> completionSink = completions.sink();
+            final Flux<Integer> permits = Flux.range(0, maxPendingOperations).concatWith(completions);
+
+            return operations
+                .zipWith(permits, (operation, permit) -> operation)
+                .concatMap(this::route)
+                .groupBy(RoutedOperation::getPartitionKeyRangeId)
+                .flatMap(group -> {
+                    final PartitionKeyRangeState state = getPartitionKeyRangeState(group.key());
+                    return group
+                        .bufferTimeout(options.getMaxMicroBatchSize(), options.getMaxMicroBatchInterval())
+                        // bufferTimeout cannot hold back a micro-batch flushed by its timer, the micro-batches are
+                        // queued until the partition key range can take them. The permits bound the queue.
+                        .onBackpressureBuffer(maxPendingOperations, BufferOverflowStrategy.ERROR)
+                        .flatMap(batch -> executeMicroBatch(state, batch), options.getMaxMicroBatchConcurrency());
+                }, Integer.MAX_VALUE)
+                .doOnNext(response -> completionSink.next(1))
+                .doFinally(signal -> completionSink.complete());
+        });
+    }
+
+    private int getMaxPendingOperations() {
+        final long maxPendingOperations = (long) options.getMaxMicroBatchSize()
+            * options.getMaxMicroBatchConcurrency() * MAX_PENDING_MICRO_BATCHES;
+        return (int) Math.min(maxPendingOperations, Integer.MAX_VALUE);
+    }
+
+    private Flux<CosmosBulkOperationResponse> executeMicroBatch(PartitionKeyRangeState state,
+                                                                List<RoutedOperation> batch) {
+        logger.debug("Executing micro-batch of {} operations on partition key range {}", batch.size(),
+            state.partitionKeyRangeId);
+        return Flux.fromIterable(batch)
+            .flatMap(routed -> executeOperation(state, routed, 0, 0), batch.size());
+    }
+
+    private Mono<CosmosBulkOperationResponse> executeOperation(PartitionKeyRangeState state,
+                                                               RoutedOperation routed,
+                                                               int throttlingRetries,
+                                                               int splitRetries) {
+        final CosmosItemOperation operation = routed.operation;
+        return state.awaitResume()
+            .then(Mono.defer(() -> sender.apply(operation)))
+            .map(response -> BridgeInternal.createCosmosBulkOperationResponse(operation, response, null))
+            .onErrorResume(CosmosClientException.class, exception -> {
+                if (Exceptions.isStatusCode(exception, HttpConstants.StatusCodes.TOO_MANY_REQUESTS)
+                    && throttlingRetries < options.getMaxThrottlingRetries()) {
+                    state.pause(exception.getRetryAfterInMilliseconds());
+                    return executeOperation(state, routed, throttlingRetries + 1, splitRetries);
+                }
+
+                if (isSplit(exception) && splitRetries < MAX_SPLIT_RETRIES) {
+                    return refreshRoutingInfo(routed.routingInfo)
+                        .map(refreshed -> route(operation, refreshed))
+                        .flatMap(rerouted -> executeOperation(
+                            getPartitionKeyRangeState(rerouted.partitionKeyRangeId), rerouted, throttlingRetries,
+                            splitRetries + 1))
+                        .onErrorResume(refreshException -> {
+                            logger.debug("Failed to refresh the routing map of {}", containerLink, refreshException);
+                            return Mono.just(
+                                BridgeInternal.createCosmosBulkOperationResponse(operation, null, exception));
+                        });
+                }
+
+                return Mono.just(BridgeInternal.createCosmosBulkOperationResponse(operation, null, exception));
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Mono<? extends CosmosAsyncItemResponse<?>> send(CosmosAsyncContainer container,
+                                                                    CosmosItemOperation operation) {
+        // The container sets the partition key on the options, so each attempt gets its own copy of the options.
+        final CosmosItemRequestOptions requestOptions =
+            BridgeInternal.copyCosmosItemRequestOptions(operation.getOptions());
+
+        switch (operation.getOperationType()) {
+            case CREATE:
+                return container.createItem(operation.getItem(), operation.getPartitionKey(), requestOptions);
+            case UPSERT:
+                return container.upsertItem(operation.getItem(), operation.getPartitionKey(), requestOptions);
+            case REPLACE:
+                return container.replaceItem(operation.getItem(), operation.getId(), operation.getPartitionKey(),
+                    requestOptions);
+            case DELETE:
+                return container.deleteItem(operation.getId(), operation.getPartitionKey(), requestOptions)
+                    .map(response -> (CosmosAsyncItemResponse<?>) response);
+            case READ:
+                return container.readItem(operation.getId(), operation.getPartitionKey(), requestOptions,
+                    operation.getItemType());
+            default:
+                return Mono.error(new IllegalArgumentException(
+                    "Unsupported operation type " + operation.getOperationType()));
+        }
+    }
+
+    private Mono<RoutedOperation> route(CosmosItemOperation operation) {
+        return getRoutingInfo().map(routing -> route(operation, routing));
+    }
+
+    private static RoutedOperation route(CosmosItemOperation operation, RoutingInfo routing) {
+        final String effectivePartitionKey = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+            BridgeInternal.getPartitionKeyInternal(operation.getPartitionKey()),
+            routing.collection.getPartitionKey());
+        final PartitionKeyRange range = routing.routingMap.getRangeByEffectivePartitionKey(effectivePartitionKey);
+        return new RoutedOperation(operation, range.getId(), routing);
+    }
+
+    private PartitionKeyRangeState getPartitionKeyRangeState(String partitionKeyRangeId) {
+        return partitionKeyRangeStates.computeIfAbsent(partitionKeyRangeId, PartitionKeyRangeState::new);
+    }
+
+    private Mono<RoutingInfo> getRoutingInfo() {
+        final Mono<RoutingInfo> current = routingInfo.get();
+        if (current != null) {
+            return current;
+        }
+
+        final Mono<RoutingInfo> resolved = routingResolver.apply(null).cache();
+        return routingInfo.compareAndSet(null, resolved) ? resolved : routingInfo.get();
+    }
+
+    private Mono<RoutingInfo> refreshRoutingInfo(RoutingInfo stale) {
+        final Mono<RoutingInfo> current = routingInfo.get();
+        return current.flatMap(latest -> {
+            if (latest != stale) {
+                // Another operation that hit the split has already refreshed the routing map.
+                return Mono.just(latest);
+            }
+
+            final Mono<RoutingInfo> refreshed = routingResolver.apply(stale.routingMap).cache();
+            if (routingInfo.compareAndSet(current, refreshed)) {
+                logger.debug("Refreshing the routing map of {} after a partition key range split", containerLink);
+                return refreshed;
+            }
+
+            return routingInfo.get();
+        });
+    }
+
+    private static Mono<RoutingInfo> resolveRoutingInfo(AsyncDocumentClient client,
+                                                        String containerLink,
+                                                        CollectionRoutingMap previousRoutingMap) {
+        // This request is only used to resolve the collection, it is never sent.
+        final RxDocumentServiceRequest request = RxDocumentServiceRequest.create(OperationType.Query,
+            ResourceType.Document, containerLink, null);
+
+        return client.getCollectionCache().resolveCollectionAsync(request)
+            .flatMap(collectionHolder -> {
+                final DocumentCollection collection = collectionHolder.v;
+                if (collection == null) {
+                    return Mono.error(new IllegalStateException("Collection cannot be null"));
+                }
+
+                return client.getPartitionKeyRangeCache()
+                    .tryLookupAsync(collection.getResourceId(), previousRoutingMap, null)
+                    .flatMap(routingMapHolder -> {
+                        final CollectionRoutingMap routingMap = routingMapHolder.v;
+                        if (routingMap == null) {
+                            return Mono.error(new IllegalStateException("Failed to get routing map."));
+                        }
+
+                        return Mono.just(new RoutingInfo(collection, routingMap));
+                    });
+            });
+    }
+
+    private static boolean isSplit(CosmosClientException exception) {
+        return Exceptions.isStatusCode(exception, HttpConstants.StatusCodes.GONE)
+            && (Exceptions.isSubStatusCode(exception, HttpConstants.SubStatusCodes.PARTITION_KEY_RANGE_GONE)
+            || Exceptions.isSubStatusCode(exception, HttpConstants.SubStatusCodes.COMPLETING_SPLIT));
+    }
+
+    static final class RoutingInfo {
+        private final DocumentCollection collection;
+        private final CollectionRoutingMap routingMap;
+
+        RoutingInfo(DocumentCollection collection, CollectionRoutingMap routingMap) {
+            this.collection = collection;
+            this.routingMap = routingMap;
+        }
+    }
+
+    /*
+     * An operation together with the partition key range it was routed to and the routing map used to route it.
+     */
+    private static final class RoutedOperation {
+        private final CosmosItemOperation operation;
+        private final String partitionKeyRangeId;
+        private final RoutingInfo routingInfo;
+
+        RoutedOperation(CosmosItemOperation operation, String partitionKeyRangeId, RoutingInfo routingInfo) {
+            this.operation = operation;
+            this.partitionKeyRangeId = partitionKeyRangeId;
+            this.routingInfo = routingInfo;
+        }
+
+        String getPartitionKeyRangeId() {
+            return partitionKeyRangeId;
+        }
+    }
+
+    /*
+     * Tracks the throttling of a partition key range, operations on it wait until the pause requested by the service
+     * has passed.
+     */
+    private static final class PartitionKeyRangeState {
+        private final String partitionKeyRangeId;
+        private final AtomicLong resumeAtNanos = new AtomicLong();
+
+        PartitionKeyRangeState(String partitionKeyRangeId) {
+            this.partitionKeyRangeId = partitionKeyRangeId;
+        }
+
+        Mono<Void> awaitResume() {
+            final long waitNanos = resumeAtNanos.get() - System.nanoTime();
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        }
+
+        void pause(long retryAfterMillis) {
+            final long resumeAt = System.nanoTime() + Duration.ofMillis(Math.max(retryAfterMillis, 0)).toNanos();
+            resumeAtNanos.accumulateAndGet(resumeAt, Math::max);
+            logger.debug("Partition key range {} throttled, pausing for {} ms", partitionKeyRangeId,
+                retryAfterMillis);
+        }
+    }
+}
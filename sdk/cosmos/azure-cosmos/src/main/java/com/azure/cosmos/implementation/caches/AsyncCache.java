@@ -97,6 +97,10 @@ public class AsyncCache<TKey, TValue> {
         return resultAsyncLazy.single();
     }
 
+    public boolean containsKey(TKey key) {
+        return values.containsKey(key);
+    }
+
     public void remove(TKey key) {
         values.remove(key);
     }
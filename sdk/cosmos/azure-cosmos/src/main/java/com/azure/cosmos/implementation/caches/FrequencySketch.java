@@ -0,0 +1,87 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.caches;
+
+/**
+ * Estimates the recent access frequency of keys with a count-min sketch of 4-bit counters.
+ * <p>
+ * Every key is counted in four counters selected by independent hashes and its frequency is the smallest of them.
+ * All the counters are halved once the number of increments reaches ten times the expected number of keys, so the
+ * frequencies age and keys that were popular a long time ago don't stay admitted. Not thread safe.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a sketch sized for the expected number of keys.
+     *
+     * @param expectedKeys the expected number of distinct keys, at least 1.
+     */
+    FrequencySketch(int expectedKeys) {
+        int tableSize = Integer.highestOneBit(Math.max(1, Math.min(expectedKeys, 1 << 24)) - 1) << 1;
+        tableSize = Math.max(tableSize, 64);
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * tableSize;
+    }
+
+    int frequency(int hash) {
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, this.counter(this.indexOf(hash, i), counterOffset(hash, i)));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean incremented = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            incremented |= this.incrementCounter(this.indexOf(hash, i), counterOffset(hash, i));
+        }
+
+        if (incremented && ++this.additions >= this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    private int counter(int index, int offset) {
+        return (int) ((this.table[index] >>> (offset << 2)) & 0xfL);
+    }
+
+    private boolean incrementCounter(int index, int offset) {
+        int shift = offset << 2;
+        long mask = 0xfL << shift;
+        if ((this.table[index] & mask) != mask) {
+            this.table[index] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+        this.additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & this.tableMask;
+    }
+
+    private static int counterOffset(int hash, int i) {
+        // Each long holds 16 counters, every hash function uses its own counters.
+        return ((hash >>> (i << 3)) & 3) + (i << 2);
+    }
+}
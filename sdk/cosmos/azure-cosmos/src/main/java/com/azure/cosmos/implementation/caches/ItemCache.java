@@ -0,0 +1,505 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.caches;
+
+import com.azure.cosmos.CosmosResponseDiagnostics;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.ISessionToken;
+import com.azure.cosmos.implementation.RxDocumentServiceResponse;
+import com.azure.cosmos.implementation.SessionTokenHelper;
+import com.azure.cosmos.implementation.Utils;
+import com.azure.cosmos.implementation.directconnectivity.DirectBridgeInternal;
+import com.azure.cosmos.implementation.directconnectivity.StoreResponse;
+import com.azure.cosmos.implementation.directconnectivity.WFConstants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the serialized items returned by point reads, bounded by the total size of the cached items.
+ * <p>
+ * Items are evicted in least recently used order. When the cache is full a new item is only admitted if its
+ * estimated access frequency is higher than the frequency of every item it would evict (TinyLFU admission), so a
+ * scan of items read once doesn't flush the hot items out of the cache.
+ * <p>
+ * Writes invalidate the cached item they modify. Reads capture an invalidation stamp of their key before they are
+ * sent and only populate the cache if the key has not been invalidated since, so a read that races with a write
+ * can't cache the item as it was before the write.
+ * <p>
+ * Lookups don't take a lock: the items are held in a concurrent map and the accesses are recorded in a lossy buffer,
+ * which is drained under the eviction lock to update the recency order and the frequency sketch. Under contention
+ * some accesses may be dropped, which only makes the eviction and admission decisions slightly less accurate.
+ */
+public final class ItemCache {
+    private static final int INVALIDATION_STRIPES = 64;
+    private static final int EXPECTED_ITEM_SIZE_IN_BYTES = 1024;
+    private static final int ENTRY_OVERHEAD_IN_BYTES = 128;
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+    private static final AtomicInteger instanceCount = new AtomicInteger();
+
+    private final long maxSizeInBytes;
+    private final long maxItemAgeInNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // Guarded by the eviction lock.
+    private final LinkedHashMap<String, Entry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    // Guarded by the eviction lock.
+    private final FrequencySketch frequencySketch;
+    private final AtomicReferenceArray<String> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readBufferWrites = new AtomicLong();
+    // Guarded by the eviction lock.
+    private long readBufferReads;
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    // Guarded by the eviction lock.
+    private long sizeInBytes;
+
+    public ItemCache(long maxSizeInBytes, Duration maxItemAge) {
+        if (maxSizeInBytes < 1) {
+            throw new IllegalArgumentException("maxSizeInBytes must be greater than 0");
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxItemAgeInNanos = maxItemAge.toNanos();
+        this.frequencySketch = new FrequencySketch(
+            (int) Math.min(Integer.MAX_VALUE, maxSizeInBytes / EXPECTED_ITEM_SIZE_IN_BYTES));
+    }
+
+    /**
+     * Gets the key of an item.
+     *
+     * @param documentLink the link of the item.
+     * @param partitionKey the serialized partition key of the item.
+     * @return the key of the item.
+     */
+    public static String getKey(String documentLink, String partitionKey) {
+        return Utils.trimBeginningAndEndingSlashes(documentLink) + "|" + StringUtils.defaultString(partitionKey);
+    }
+
+    /**
+     * Gets the cached item and records an access to the key.
+     *
+     * @param key the key of the item.
+     * @return the cached item, or null if the item is not cached.
+     */
+    public Entry get(String key) {
+        Entry entry = this.entries.get(key);
+        this.recordAccess(key);
+        return entry;
+    }
+
+    /**
+     * Gets the invalidation stamp of a key, which must be captured before the read that populates the cache is
+     * sent.
+     *
+     * @param key the key of the item.
+     * @return the invalidation stamp of the key.
+     */
+    public long getInvalidationStamp(String key) {
+        return this.invalidationStamps.get(stripeOf(key));
+    }
+
+    /**
+     * Caches an item, unless the key has been invalidated since the invalidation stamp was captured or the item is
+     * not admitted.
+     *
+     * @param key the key of the item.
+     * @param entry the item.
+     * @param invalidationStamp the invalidation stamp captured before the read was sent.
+     * @return true if the item is cached; false otherwise.
+     */
+    public boolean put(String key, Entry entry, long invalidationStamp) {
+        int weight = entry.content.length + 2 * key.length() + ENTRY_OVERHEAD_IN_BYTES;
+        if (weight > this.maxSizeInBytes) {
+            return false;
+        }
+
+        this.evictionLock.lock();
+        try {
+            this.drainReadBuffer();
+            if (this.invalidationStamps.get(stripeOf(key)) != invalidationStamp) {
+                return false;
+            }
+
+            this.remove(key);
+            if (!this.evictFor(spread(key.hashCode()), weight)) {
+                return false;
+            }
+
+            entry.weight = weight;
+            this.accessOrder.put(key, entry);
+            this.entries.put(key, entry);
+            this.sizeInBytes += weight;
+            return true;
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a cached item and fails the reads of the key in flight to populate the cache.
+     *
+     * @param key the key of the item.
+     */
+    public void invalidate(String key) {
+        this.evictionLock.lock();
+        try {
+            this.invalidationStamps.incrementAndGet(stripeOf(key));
+            if (this.remove(key) != null) {
+                this.invalidations.increment();
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets whether the cached item is younger than the maximum item age.
+     *
+     * @param entry the cached item.
+     * @return true if the cached item is younger than the maximum item age; false otherwise.
+     */
+    public boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.timestampInNanos <= this.maxItemAgeInNanos;
+    }
+
+    /**
+     * Records a read served from the cache without contacting the service.
+     */
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    /**
+     * Records a read served by the service.
+     */
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    /**
+     * Records a read served from the cache after the service reported the cached item has not been modified.
+     */
+    public void recordRevalidation() {
+        this.revalidations.increment();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getRevalidationCount() {
+        return this.revalidations.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return this.invalidations.sum();
+    }
+
+    public long getSizeInBytes() {
+        this.evictionLock.lock();
+        try {
+            return this.sizeInBytes;
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public int getItemCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Publishes the counters of the cache to a meter registry until the returned registration is closed.
+     *
+     * @param registry the meter registry.
+     * @return the registration, which removes the meters of the cache from the registry when closed.
+     */
+    public AutoCloseable registerMeters(MeterRegistry registry) {
+        Tags tags = Tags.of("itemCache", Integer.toString(instanceCount.incrementAndGet()));
+        List<Meter> meters = Arrays.asList(
+            FunctionCounter.builder(nameOf("hits"), this, ItemCache::getHitCount)
+                .description("reads served from the item cache")
+                .tags(tags)
+                .register(registry),
+            FunctionCounter.builder(nameOf("misses"), this, ItemCache::getMissCount)
+                .description("reads served by the service")
+                .tags(tags)
+                .register(registry),
+            FunctionCounter.builder(nameOf("revalidations"), this, ItemCache::getRevalidationCount)
+                .description("reads served from the item cache after an If-None-Match read")
+                .tags(tags)
+                .register(registry),
+            FunctionCounter.builder(nameOf("evictions"), this, ItemCache::getEvictionCount)
+                .description("items evicted from the item cache")
+                .tags(tags)
+                .register(registry),
+            FunctionCounter.builder(nameOf("invalidations"), this, ItemCache::getInvalidationCount)
+                .description("items invalidated by writes")
+                .tags(tags)
+                .register(registry),
+            Gauge.builder(nameOf("size"), this, ItemCache::getSizeInBytes)
+                .description("total size of the cached items")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry));
+
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                meters.forEach(registry::remove);
+            }
+        };
+    }
+
+    /*
+     * Records an access to a key in the read buffer, and drains the buffer once enough accesses are pending if no
+     * other thread holds the eviction lock. The slot of an access that isn't drained before the buffer wraps around
+     * is overwritten.
+     */
+    private void recordAccess(String key) {
+        long writes = this.readBufferWrites.getAndIncrement();
+        this.readBuffer.lazySet((int) (writes & (READ_BUFFER_SIZE - 1)), key);
+
+        if ((writes & (READ_BUFFER_DRAIN_THRESHOLD - 1)) == READ_BUFFER_DRAIN_THRESHOLD - 1
+            && this.evictionLock.tryLock()) {
+            try {
+                this.drainReadBuffer();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    /*
+     * Applies the pending accesses to the frequency sketch and the recency order. Called under the eviction lock.
+     */
+    private void drainReadBuffer() {
+        long writes = this.readBufferWrites.get();
+        long reads = Math.max(this.readBufferReads, writes - READ_BUFFER_SIZE);
+        for (; reads < writes; reads++) {
+            String key = this.readBuffer.getAndSet((int) (reads & (READ_BUFFER_SIZE - 1)), null);
+            if (key != null) {
+                this.frequencySketch.increment(spread(key.hashCode()));
+                this.accessOrder.get(key);
+            }
+        }
+        this.readBufferReads = writes;
+    }
+
+    /*
+     * Removes a cached item. Called under the eviction lock.
+     */
+    private Entry remove(String key) {
+        Entry entry = this.accessOrder.remove(key);
+        if (entry != null) {
+            this.entries.remove(key);
+            this.sizeInBytes -= entry.weight;
+        }
+        return entry;
+    }
+
+    /*
+     * Evicts the least recently used items to make room for an item, unless one of them is accessed at least as
+     * frequently as the item. Called under the eviction lock.
+     */
+    private boolean evictFor(int hash, int weight) {
+        long excess = this.sizeInBytes + weight - this.maxSizeInBytes;
+        if (excess <= 0) {
+            return true;
+        }
+
+        int frequency = this.frequencySketch.frequency(hash);
+        int victims = 0;
+        for (Map.Entry<String, Entry> victim : this.accessOrder.entrySet()) {
+            if (this.frequencySketch.frequency(spread(victim.getKey().hashCode())) >= frequency) {
+                return false;
+            }
+            victims++;
+            excess -= victim.getValue().weight;
+            if (excess <= 0) {
+                break;
+            }
+        }
+
+        Iterator<Map.Entry<String, Entry>> iterator = this.accessOrder.entrySet().iterator();
+        for (int i = 0; i < victims; i++) {
+            Map.Entry<String, Entry> victim = iterator.next();
+            this.entries.remove(victim.getKey());
+            this.sizeInBytes -= victim.getValue().weight;
+            iterator.remove();
+            this.evictions.increment();
+        }
+        return true;
+    }
+
+    private static int stripeOf(String key) {
+        return spread(key.hashCode()) & (INVALIDATION_STRIPES - 1);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String nameOf(String member) {
+        return "azure.cosmos.itemCache." + member;
+    }
+
+    /**
+     * A cached item: the serialized item, the response headers of the read and the session token of the partition
+     * when the item was read.
+     */
+    public static final class Entry {
+        private final byte[] content;
+        private final Map<String, String> headers;
+        private final String eTag;
+        private final String partitionKeyRangeId;
+        private final ISessionToken sessionToken;
+        private final long timestampInNanos;
+        private int weight;
+
+        private Entry(byte[] content, Map<String, String> headers, String eTag, String partitionKeyRangeId,
+                      ISessionToken sessionToken) {
+            this.content = content;
+            this.headers = headers;
+            this.eTag = eTag;
+            this.partitionKeyRangeId = partitionKeyRangeId;
+            this.sessionToken = sessionToken;
+            this.timestampInNanos = System.nanoTime();
+        }
+
+        /**
+         * Creates the cached item of a successful read.
+         *
+         * @param response the response of the read.
+         * @param eTag the ETag of the item.
+         * @return the cached item, or null if the response can't be cached.
+         */
+        public static Entry create(RxDocumentServiceResponse response, String eTag) {
+            byte[] content = response.getResponseBodyAsByteArray();
+            if (response.getStatusCode() != HttpResponseStatus.OK.code() || content == null
+                || StringUtils.isEmpty(eTag)) {
+                return null;
+            }
+
+            return create(content, new HashMap<>(response.getResponseHeaders()), eTag);
+        }
+
+        /**
+         * Creates the cached item of a revalidated item, which is as recent as the response reporting the item
+         * has not been modified.
+         *
+         * @param notModifiedResponse the response of the If-None-Match read.
+         * @return the revalidated cached item.
+         */
+        public Entry revalidate(RxDocumentServiceResponse notModifiedResponse) {
+            Map<String, String> headers = new HashMap<>(this.headers);
+            headers.putAll(notModifiedResponse.getResponseHeaders());
+            return create(this.content, headers, this.eTag);
+        }
+
+        private static Entry create(byte[] content, Map<String, String> headers, String eTag) {
+            String partitionKeyRangeId = headers.get(WFConstants.BackendHeaders.PARTITION_KEY_RANGE_ID);
+            ISessionToken sessionToken = null;
+            String sessionTokenString = headers.get(HttpConstants.HttpHeaders.SESSION_TOKEN);
+            if (StringUtils.isNotEmpty(sessionTokenString)) {
+                int separator = sessionTokenString.indexOf(ISessionToken.PARTITION_KEY_RANGE_SESSION_SEPARATOR);
+                if (separator > 0) {
+                    partitionKeyRangeId = sessionTokenString.substring(0, separator);
+                }
+                try {
+                    sessionToken = SessionTokenHelper.parse(sessionTokenString);
+                } catch (RuntimeException e) {
+                    sessionToken = null;
+                }
+            }
+
+            return new Entry(content, headers, eTag, partitionKeyRangeId, sessionToken);
+        }
+
+        public String getETag() {
+            return this.eTag;
+        }
+
+        public String getPartitionKeyRangeId() {
+            return this.partitionKeyRangeId;
+        }
+
+        public ISessionToken getSessionToken() {
+            return this.sessionToken;
+        }
+
+        /**
+         * Gets whether the cached item is at least as recent as the writes seen by a session, in which case it can
+         * be returned to a read with session consistency.
+         *
+         * @param sessionToken the session token of the partition of the item in the session.
+         * @return true if the cached item was read at or after the session token; false otherwise.
+         */
+        public boolean isAtLeastAsRecentAs(ISessionToken sessionToken) {
+            if (this.sessionToken == null || sessionToken == null) {
+                return false;
+            }
+
+            try {
+                // isValid is true when its argument has progressed at least as far as the token it is called on, and
+                // throws if the tokens have inconsistent regions.
+                return sessionToken.isValid(this.sessionToken);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Creates a response returning the cached item.
+         *
+         * @param cosmosResponseDiagnostics the diagnostics of the response, null if the item is returned without
+         * contacting the service.
+         * @return the response returning the cached item.
+         */
+        public RxDocumentServiceResponse toServiceResponse(CosmosResponseDiagnostics cosmosResponseDiagnostics) {
+            StoreResponse storeResponse = new StoreResponse(HttpResponseStatus.OK.code(),
+                new ArrayList<>(this.headers.entrySet()), this.content);
+            if (cosmosResponseDiagnostics != null) {
+                DirectBridgeInternal.setCosmosResponseDiagnostics(storeResponse, cosmosResponseDiagnostics);
+            }
+            return new RxDocumentServiceResponse(storeResponse);
+        }
+    }
+}
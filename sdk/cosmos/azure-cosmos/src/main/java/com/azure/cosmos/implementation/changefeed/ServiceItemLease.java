@@ -2,6 +2,7 @@
 // Licensed under the MIT License.
 package com.azure.cosmos.implementation.changefeed;
 
+import com.azure.cosmos.JsonSerializable;
 import com.azure.cosmos.implementation.CosmosItemProperties;
 import com.azure.cosmos.implementation.Document;
 import com.azure.cosmos.implementation.Constants;
@@ -11,8 +12,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 //import com.azure.cosmos.internal.changefeed.internal.Constants;
 
@@ -37,7 +38,7 @@ public class ServiceItemLease implements Lease {
         ZonedDateTime currentTime = ZonedDateTime.now(ZoneId.of("UTC"));
         this.timestamp = currentTime.toString();
         this._ts = String.valueOf(currentTime.getSecond());
-        this.properties = new HashMap<>();
+        this.properties = new ConcurrentHashMap<>();
     }
 
     public ServiceItemLease(ServiceItemLease other)
@@ -198,7 +199,8 @@ public class ServiceItemLease implements Lease {
             .withTs(document.getString(Constants.Properties.LAST_MODIFIED))
             .withOwner(document.getString("Owner"))
             .withLeaseToken(document.getString("LeaseToken"))
-            .withContinuationToken(document.getString("ContinuationToken"));
+            .withContinuationToken(document.getString("ContinuationToken"))
+            .withProperties(readProperties(document));
 
         String leaseTimestamp = document.getString("timestamp");
         if (leaseTimestamp != null) {
@@ -215,7 +217,8 @@ public class ServiceItemLease implements Lease {
             .withTs(document.getString(Constants.Properties.LAST_MODIFIED))
             .withOwner(document.getString("Owner"))
             .withLeaseToken(document.getString("LeaseToken"))
-            .withContinuationToken(document.getString("ContinuationToken"));
+            .withContinuationToken(document.getString("ContinuationToken"))
+            .withProperties(readProperties(document));
 
         String leaseTimestamp = document.getString("timestamp");
         if (leaseTimestamp != null) {
@@ -225,6 +228,21 @@ public class ServiceItemLease implements Lease {
         }
     }
 
+    // The properties are written by the processors owning the lease, and are read concurrently by the load balancer.
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readProperties(JsonSerializable document) {
+        Map<String, String> properties = new ConcurrentHashMap<>();
+        Map<String, Object> values = document.getObject("properties", Map.class);
+        if (values != null) {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (entry.getValue() != null) {
+                    properties.put(entry.getKey(), entry.getValue().toString());
+                }
+            }
+        }
+        return properties;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -411,6 +411,13 @@ public class ChangeFeedProcessorBuilderImpl implements ChangeFeedProcessor.Build
             this.scheduler
         );
 
+        if (this.loadBalancingStrategy == null && this.changeFeedProcessorOptions.isLoadBasedLeaseBalancing()) {
+            this.loadBalancingStrategy = new LoadBasedBalancingStrategy(
+                this.hostName,
+                this.changeFeedProcessorOptions.getMaxScaleCount(),
+                this.changeFeedProcessorOptions.getLeaseExpirationInterval());
+        }
+
         if (this.loadBalancingStrategy == null) {
             this.loadBalancingStrategy = new EqualPartitionsBalancingStrategy(
                 this.hostName,
@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.changefeed.implementation;
+
+import com.azure.cosmos.implementation.changefeed.Lease;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads and writes the load a host observes on a lease.
+ * <p>
+ * The partition processor records the load in the lease properties, they are published to the lease container when
+ * the lease is renewed, and {@link LoadBasedBalancingStrategy} reads them back when it balances the leases.
+ */
+final class LeaseLoad {
+    static final String ESTIMATED_LAG_PROPERTY = "estimatedLag";
+    static final String DOCUMENTS_PER_SECOND_PROPERTY = "documentsPerSecond";
+
+    private LeaseLoad() {
+    }
+
+    /**
+     * Records the load of a lease.
+     *
+     * @param lease the lease.
+     * @param estimatedLag the changes left to read, or a negative value if it is unknown.
+     * @param documentsPerSecond the changes read per second.
+     */
+    static void record(Lease lease, long estimatedLag, double documentsPerSecond) {
+        Map<String, String> properties = lease.getProperties();
+        if (properties == null) {
+            return;
+        }
+
+        if (estimatedLag >= 0) {
+            properties.put(ESTIMATED_LAG_PROPERTY, Long.toString(estimatedLag));
+        }
+        properties.put(DOCUMENTS_PER_SECOND_PROPERTY, String.format(Locale.ROOT, "%.2f", documentsPerSecond));
+    }
+
+    /**
+     * Gets the changes left to read of a lease.
+     *
+     * @param lease the lease.
+     * @return the changes left to read, or 0 if no host recorded them.
+     */
+    static long getEstimatedLag(Lease lease) {
+        String value = getProperty(lease, ESTIMATED_LAG_PROPERTY);
+        try {
+            return value == null ? 0 : Math.max(Long.parseLong(value), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the changes read per second of a lease.
+     *
+     * @param lease the lease.
+     * @return the changes read per second, or 0 if no host recorded them.
+     */
+    static double getDocumentsPerSecond(Lease lease) {
+        String value = getProperty(lease, DOCUMENTS_PER_SECOND_PROPERTY);
+        try {
+            return value == null ? 0 : Math.max(Double.parseDouble(value), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String getProperty(Lease lease, String name) {
+        Map<String, String> properties = lease.getProperties();
+        return properties == null ? null : properties.get(name);
+    }
+}
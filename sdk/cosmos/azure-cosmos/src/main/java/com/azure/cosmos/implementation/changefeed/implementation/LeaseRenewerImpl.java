@@ -84,6 +84,8 @@ class LeaseRenewerImpl implements LeaseRenewer {
         return this.leaseManager.renew(this.lease)
             .map(renewedLease -> {
                 if (renewedLease != null) {
+                    // Keep the properties the partition processor records the lease load in.
+                    renewedLease.setProperties(this.lease.getProperties());
                     this.lease = renewedLease;
                 }
                 logger.info("Partition {}: renewed lease with result {}", this.lease.getLeaseToken(), renewedLease != null);
@@ -329,6 +329,8 @@ public class LeaseStoreManagerImpl implements LeaseStoreManager, LeaseStoreManag
                         throw new LeaseLostException(lease);
                     }
 
+                    // Publish the load the owner observed on the lease.
+                    serverLease.setProperties(lease.getProperties());
                     return serverLease;
                 })
             );
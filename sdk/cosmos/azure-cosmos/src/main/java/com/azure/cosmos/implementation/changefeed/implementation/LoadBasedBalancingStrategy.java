@@ -0,0 +1,178 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.changefeed.implementation;
+
+import com.azure.cosmos.implementation.changefeed.Lease;
+import com.azure.cosmos.implementation.changefeed.PartitionLoadBalancingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation for {@link PartitionLoadBalancingStrategy} that balances the load of the leases between hosts.
+ * <p>
+ * The load of a lease is the rate its owner reads changes at, plus the rate needed to read the changes left on the
+ * lease within {@link #LAG_DRAIN_TIME}; see {@link LeaseLoad}. Every lease weighs at least one, so leases nobody
+ * recorded a load for are balanced by count. A host takes available leases, heaviest first, until it carries its share
+ * of the total load, and otherwise steals a single lease from the busiest host when that makes both hosts less loaded
+ * than the busiest host was.
+ */
+class LoadBasedBalancingStrategy implements PartitionLoadBalancingStrategy {
+    static final Duration LAG_DRAIN_TIME = Duration.ofMinutes(1);
+    // The busiest host must exceed the load target by this fraction before a lease is stolen from it, so hosts don't
+    // trade leases because of small variations of the load.
+    private static final double IMBALANCE_TOLERANCE = 0.1;
+
+    private final Logger logger = LoggerFactory.getLogger(LoadBasedBalancingStrategy.class);
+    private final String hostName;
+    private final int maxPartitionCount;
+    private final Duration leaseExpirationInterval;
+
+    public LoadBasedBalancingStrategy(String hostName, int maxPartitionCount, Duration leaseExpirationInterval) {
+        if (hostName == null) {
+            throw new IllegalArgumentException("hostName");
+        }
+
+        this.hostName = hostName;
+        this.maxPartitionCount = maxPartitionCount;
+        this.leaseExpirationInterval = leaseExpirationInterval;
+    }
+
+    @Override
+    public List<Lease> selectLeasesToTake(List<Lease> allLeases) {
+        Map<String, List<Lease>> workerToLeases = new HashMap<>();
+        Map<String, Double> workerToLoad = new HashMap<>();
+        List<Lease> expiredLeases = new ArrayList<>();
+
+        double totalLoad = this.categorizeLeases(allLeases, expiredLeases, workerToLeases, workerToLoad);
+        if (allLeases.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double target = totalLoad / workerToLoad.size();
+        double myLoad = workerToLoad.get(this.hostName);
+        int myCount = workerToLeases.get(this.hostName).size();
+
+        this.logger.debug("Host '{}' {} leases, {} hosts, {} available leases, load target = {}, mine = {}",
+            this.hostName, allLeases.size(), workerToLoad.size(), expiredLeases.size(), target, myLoad);
+
+        List<Lease> leasesToTake = new ArrayList<>();
+        if (myLoad >= target || this.isAtMaxPartitionCount(myCount)) {
+            return leasesToTake;
+        }
+
+        if (expiredLeases.size() > 0) {
+            expiredLeases.sort(Comparator.comparingDouble(LoadBasedBalancingStrategy::getLoad).reversed());
+            for (Lease lease : expiredLeases) {
+                if (myLoad >= target || this.isAtMaxPartitionCount(myCount + leasesToTake.size())) {
+                    break;
+                }
+
+                leasesToTake.add(lease);
+                myLoad += getLoad(lease);
+            }
+
+            return leasesToTake;
+        }
+
+        Lease stolenLease = this.getLeaseToSteal(workerToLeases, workerToLoad, target, myLoad);
+        if (stolenLease != null) {
+            leasesToTake.add(stolenLease);
+        }
+
+        return leasesToTake;
+    }
+
+    static double getLoad(Lease lease) {
+        double lagLoad = (double) LeaseLoad.getEstimatedLag(lease) / LAG_DRAIN_TIME.getSeconds();
+        return Math.max(LeaseLoad.getDocumentsPerSecond(lease) + lagLoad, 1);
+    }
+
+    private Lease getLeaseToSteal(
+        Map<String, List<Lease>> workerToLeases,
+        Map<String, Double> workerToLoad,
+        double target,
+        double myLoad) {
+
+        String busiestWorker = null;
+        double busiestLoad = 0;
+        for (Map.Entry<String, Double> entry : workerToLoad.entrySet()) {
+            if (!entry.getKey().equalsIgnoreCase(this.hostName) && entry.getValue() > busiestLoad) {
+                busiestWorker = entry.getKey();
+                busiestLoad = entry.getValue();
+            }
+        }
+
+        if (busiestWorker == null
+            || busiestLoad <= target * (1 + IMBALANCE_TOLERANCE)
+            || workerToLeases.get(busiestWorker).size() <= 1) {
+            return null;
+        }
+
+        // Take the lease that leaves the two hosts closest to each other.
+        Lease leaseToSteal = null;
+        double bestPeakLoad = busiestLoad;
+        for (Lease lease : workerToLeases.get(busiestWorker)) {
+            double load = getLoad(lease);
+            double peakLoad = Math.max(myLoad + load, busiestLoad - load);
+            if (peakLoad < bestPeakLoad) {
+                leaseToSteal = lease;
+                bestPeakLoad = peakLoad;
+            }
+        }
+
+        if (leaseToSteal != null) {
+            this.logger.info("Host '{}' stealing lease {} from host '{}' with load {}",
+                this.hostName, leaseToSteal.getLeaseToken(), busiestWorker, busiestLoad);
+        }
+
+        return leaseToSteal;
+    }
+
+    private boolean isAtMaxPartitionCount(int count) {
+        return this.maxPartitionCount > 0 && count >= this.maxPartitionCount;
+    }
+
+    private double categorizeLeases(
+        List<Lease> allLeases,
+        List<Lease> expiredLeases,
+        Map<String, List<Lease>> workerToLeases,
+        Map<String, Double> workerToLoad) {
+
+        double totalLoad = 0;
+        for (Lease lease : allLeases) {
+            double load = getLoad(lease);
+            totalLoad += load;
+
+            if (lease.getOwner() == null || lease.getOwner().isEmpty() || this.isExpired(lease)) {
+                this.logger.info("Found unused or expired lease {}", lease.getLeaseToken());
+                expiredLeases.add(lease);
+            } else {
+                String assignedTo = lease.getOwner();
+                workerToLeases.computeIfAbsent(assignedTo, owner -> new ArrayList<>()).add(lease);
+                workerToLoad.merge(assignedTo, load, Double::sum);
+            }
+        }
+
+        workerToLeases.putIfAbsent(this.hostName, new ArrayList<>());
+        workerToLoad.putIfAbsent(this.hostName, 0.0);
+        return totalLoad;
+    }
+
+    private boolean isExpired(Lease lease) {
+        if (lease.getOwner() == null || lease.getOwner().isEmpty() || lease.getTimestamp() == null) {
+            return true;
+        }
+
+        ZonedDateTime leaseExpireTime = ZonedDateTime.parse(lease.getTimestamp()).plus(this.leaseExpirationInterval);
+        return leaseExpireTime.isBefore(ZonedDateTime.now(ZoneId.of("UTC")));
+    }
+}
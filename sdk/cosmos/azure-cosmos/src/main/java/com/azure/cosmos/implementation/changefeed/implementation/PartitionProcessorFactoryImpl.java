@@ -76,6 +76,6 @@ class PartitionProcessorFactoryImpl implements PartitionProcessorFactory {
             .withStartTime(this.changeFeedProcessorOptions.getStartTime());  // .getSessionToken(this.changeFeedProcessorOptions.getSessionToken());
 
         PartitionCheckpointer checkpointer = new PartitionCheckpointerImpl(this.leaseCheckpointer, lease);
-        return new PartitionProcessorImpl(observer, this.documentClient, settings, checkpointer);
+        return new PartitionProcessorImpl(observer, this.documentClient, settings, checkpointer, lease);
     }
 }
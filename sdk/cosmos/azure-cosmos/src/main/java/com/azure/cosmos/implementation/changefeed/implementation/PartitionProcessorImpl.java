@@ -11,6 +11,7 @@ import com.azure.cosmos.implementation.changefeed.CancellationToken;
 import com.azure.cosmos.implementation.changefeed.ChangeFeedContextClient;
 import com.azure.cosmos.implementation.changefeed.ChangeFeedObserver;
 import com.azure.cosmos.implementation.changefeed.ChangeFeedObserverContext;
+import com.azure.cosmos.implementation.changefeed.Lease;
 import com.azure.cosmos.implementation.changefeed.PartitionCheckpointer;
 import com.azure.cosmos.implementation.changefeed.PartitionProcessor;
 import com.azure.cosmos.implementation.changefeed.ProcessorSettings;
@@ -22,10 +23,13 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
 
 import static com.azure.cosmos.CommonsBridgeInternal.partitionKeyRangeIdInternal;
 import static java.time.temporal.ChronoUnit.MILLIS;
@@ -37,22 +41,33 @@ class PartitionProcessorImpl implements PartitionProcessor {
     private static final Logger logger = LoggerFactory.getLogger(PartitionProcessorImpl.class);
 
     private static final int DefaultMaxItemCount = 100;
+    // Weight of the latest page in the moving average of the documents read per second.
+    private static final double ThroughputSmoothingFactor = 0.2;
     private final ProcessorSettings settings;
     private final PartitionCheckpointer checkpointer;
     private final ChangeFeedObserver observer;
     private final ChangeFeedOptions options;
     private final ChangeFeedContextClient documentClient;
+    private final Lease lease;
     private volatile RuntimeException resultException;
 
     private volatile String lastContinuation;
-    private volatile boolean isFirstQueryForChangeFeeds;
+    private volatile boolean hasMoreResults;
 
+    // The page after the one the observer is processing, fetched ahead with the continuation of that page.
+    private volatile Mono<FeedResponse<JsonNode>> prefetchedPage;
+    private volatile String prefetchedContinuation;
+    private volatile Disposable prefetchSubscription;
 
-    public PartitionProcessorImpl(ChangeFeedObserver observer, ChangeFeedContextClient documentClient, ProcessorSettings settings, PartitionCheckpointer checkpointer) {
+    private volatile long lastPageTime;
+    private volatile double documentsPerSecond;
+
+    public PartitionProcessorImpl(ChangeFeedObserver observer, ChangeFeedContextClient documentClient, ProcessorSettings settings, PartitionCheckpointer checkpointer, Lease lease) {
         this.observer = observer;
         this.documentClient = documentClient;
         this.settings = settings;
         this.checkpointer = checkpointer;
+        this.lease = lease;
 
         this.options = new ChangeFeedOptions();
         this.options.setMaxItemCount(settings.getMaxItemCount());
@@ -66,7 +81,8 @@ class PartitionProcessorImpl implements PartitionProcessor {
     @Override
     public Mono<Void> run(CancellationToken cancellationToken) {
         this.lastContinuation = this.settings.getStartContinuation();
-        this.isFirstQueryForChangeFeeds = true;
+        this.hasMoreResults = true;
+        this.lastPageTime = System.nanoTime();
 
         this.options.setRequestContinuation(this.lastContinuation);
 
@@ -76,8 +92,8 @@ class PartitionProcessorImpl implements PartitionProcessor {
                     return Flux.empty();
                 }
 
-                if(this.isFirstQueryForChangeFeeds) {
-                    this.isFirstQueryForChangeFeeds = false;
+                // Only wait for new changes once the change feed of the partition has been drained.
+                if (this.hasMoreResults) {
                     return Flux.just(value);
                 }
 
@@ -90,15 +106,15 @@ class PartitionProcessorImpl implements PartitionProcessor {
                     }).last();
 
             })
-            .flatMap(value -> this.documentClient.createDocumentChangeFeedQuery(this.settings.getCollectionSelfLink(),
-                                                                                this.options)
-                .limitRequest(1)
-            )
+            .flatMap(value -> this.nextPage())
             .flatMap(documentFeedResponse -> {
                 if (cancellationToken.isCancellationRequested()) return Flux.error(new TaskCancelledException());
 
                 this.lastContinuation = documentFeedResponse.getContinuationToken();
-                if (documentFeedResponse.getResults() != null && documentFeedResponse.getResults().size() > 0) {
+                this.recordLoad(documentFeedResponse);
+                this.hasMoreResults = documentFeedResponse.getResults() != null && documentFeedResponse.getResults().size() > 0;
+                if (this.hasMoreResults) {
+                    this.prefetch(this.lastContinuation);
                     return this.dispatchChanges(documentFeedResponse)
                         .doOnError(throwable -> {
                             logger.debug("Exception was thrown from thread {}", Thread.currentThread().getId(), throwable);
@@ -198,7 +214,9 @@ class PartitionProcessorImpl implements PartitionProcessor {
                 }
 
                 return Flux.empty();
-            }).then();
+            })
+            .then()
+            .doFinally(signalType -> this.discardPrefetchedPage());
     }
 
     @Override
@@ -206,6 +224,70 @@ class PartitionProcessorImpl implements PartitionProcessor {
         return this.resultException;
     }
 
+    private Mono<FeedResponse<JsonNode>> nextPage() {
+        Mono<FeedResponse<JsonNode>> page = this.prefetchedPage;
+        if (page != null && Objects.equals(this.prefetchedContinuation, this.options.getRequestContinuation())) {
+            this.prefetchedPage = null;
+            return page;
+        }
+
+        this.discardPrefetchedPage();
+        return this.queryPage(this.options);
+    }
+
+    private void prefetch(String continuation) {
+        this.discardPrefetchedPage();
+
+        ChangeFeedOptions prefetchOptions = new ChangeFeedOptions(this.options);
+        prefetchOptions.setRequestContinuation(continuation);
+
+        // Errors are surfaced when the page is consumed, and handled as if the page was fetched then.
+        Mono<FeedResponse<JsonNode>> page = this.queryPage(prefetchOptions).cache();
+        this.prefetchedContinuation = continuation;
+        this.prefetchedPage = page;
+        this.prefetchSubscription = page.subscribe(response -> { }, throwable -> { });
+    }
+
+    private void discardPrefetchedPage() {
+        this.prefetchedPage = null;
+        this.prefetchedContinuation = null;
+
+        Disposable subscription = this.prefetchSubscription;
+        this.prefetchSubscription = null;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<FeedResponse<JsonNode>> queryPage(ChangeFeedOptions options) {
+        return this.documentClient.createDocumentChangeFeedQuery(this.settings.getCollectionSelfLink(), options)
+            .limitRequest(1)
+            .next();
+    }
+
+    private void recordLoad(FeedResponse<JsonNode> response) {
+        List<JsonNode> results = response.getResults();
+        int count = results == null ? 0 : results.size();
+
+        long now = System.nanoTime();
+        long elapsed = now - this.lastPageTime;
+        this.lastPageTime = now;
+        if (elapsed > 0) {
+            double pageDocumentsPerSecond = count * (double) Duration.ofSeconds(1).toNanos() / elapsed;
+            this.documentsPerSecond = ThroughputSmoothingFactor * pageDocumentsPerSecond
+                + (1 - ThroughputSmoothingFactor) * this.documentsPerSecond;
+        }
+
+        long estimatedLag = 0;
+        if (count > 0) {
+            long sessionLsn = RemainingWorkEstimatorImpl.parseLsnFromSessionToken(response.getSessionToken());
+            long lastItemLsn = RemainingWorkEstimatorImpl.getItemLsn(results.get(count - 1));
+            estimatedLag = sessionLsn < 0 || lastItemLsn < 0 ? -1 : Math.max(sessionLsn - lastItemLsn, 0);
+        }
+
+        LeaseLoad.record(this.lease, estimatedLag, this.documentsPerSecond);
+    }
+
     private Mono<Void> dispatchChanges(FeedResponse<JsonNode> response) {
         ChangeFeedObserverContext context = new ChangeFeedObserverContextImpl(this.settings.getPartitionKeyRangeId(), response, this.checkpointer);
 
@@ -2,20 +2,28 @@
 // Licensed under the MIT License.
 package com.azure.cosmos.implementation.changefeed.implementation;
 
+import com.azure.cosmos.ChangeFeedOptions;
+import com.azure.cosmos.FeedResponse;
 import com.azure.cosmos.implementation.changefeed.ChangeFeedContextClient;
+import com.azure.cosmos.implementation.changefeed.Lease;
 import com.azure.cosmos.implementation.changefeed.LeaseContainer;
 import com.azure.cosmos.implementation.changefeed.RemainingPartitionWork;
 import com.azure.cosmos.implementation.changefeed.RemainingWorkEstimator;
 import reactor.core.publisher.Flux;
+import com.fasterxml.jackson.databind.JsonNode;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.azure.cosmos.CommonsBridgeInternal.partitionKeyRangeIdInternal;
+
 /**
  * Implementation for {@link RemainingWorkEstimator}.
  */
 class RemainingWorkEstimatorImpl implements RemainingWorkEstimator {
-    private final char PKRangeIdSeparator = ':';
-    private final char SegmentSeparator = '#';
-    private final String LSNPropertyName = "_lsn";
+    private static final char PKRangeIdSeparator = ':';
+    private static final char SegmentSeparator = '#';
+    private static final String LSNPropertyName = "_lsn";
     private final ChangeFeedContextClient feedDocumentClient;
     private final LeaseContainer leaseContainer;
     private final String collectionSelfLink;
@@ -71,6 +79,88 @@ class RemainingWorkEstimatorImpl implements RemainingWorkEstimator {
 
     @Override
     public Flux<RemainingPartitionWork> estimatedRemainingWorkPerPartition() {
-        return null;
+        return this.leaseContainer.getAllLeases()
+            .flatMap(lease -> this.estimatedRemainingWork(lease)
+                .map(remainingWork -> (RemainingPartitionWork) new RemainingPartitionWorkImpl(lease.getLeaseToken(), remainingWork)),
+                this.degreeOfParallelism);
+    }
+
+    private Mono<Long> estimatedRemainingWork(Lease lease) {
+        ChangeFeedOptions options = new ChangeFeedOptions();
+        options.setMaxItemCount(1);
+        partitionKeyRangeIdInternal(options, lease.getLeaseToken());
+        options.setRequestContinuation(lease.getContinuationToken());
+        options.setStartFromBeginning(true);
+
+        return this.feedDocumentClient.createDocumentChangeFeedQuery(this.feedDocumentClient.getContainerClient(), options)
+            .next()
+            .map(RemainingWorkEstimatorImpl::estimatedRemainingWork)
+            .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Estimates the changes that are left to read after the first item of a change feed page.
+     *
+     * @param response the change feed page.
+     * @return the number of changes left to read, including the first item of the page.
+     */
+    static long estimatedRemainingWork(FeedResponse<JsonNode> response) {
+        long sessionLsn = parseLsnFromSessionToken(response.getSessionToken());
+        if (sessionLsn < 0) {
+            return 1;
+        }
+
+        List<JsonNode> items = response.getResults();
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+
+        long firstItemLsn = getItemLsn(items.get(0));
+        if (firstItemLsn < 0) {
+            return 1;
+        }
+
+        return Math.max(sessionLsn - firstItemLsn + 1, 0);
+    }
+
+    /**
+     * Gets the LSN the session token of a change feed page was issued at.
+     *
+     * @param sessionToken the session token of a single partition key range.
+     * @return the LSN, or -1 if the session token can't be parsed.
+     */
+    static long parseLsnFromSessionToken(String sessionToken) {
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            return -1;
+        }
+
+        String token = sessionToken.substring(sessionToken.indexOf(PKRangeIdSeparator) + 1);
+        String[] segments = token.split(String.valueOf(SegmentSeparator));
+
+        // Session tokens of accounts with several regions carry the global LSN as their second segment.
+        return parseLsn(segments.length < 2 ? segments[0] : segments[1]);
+    }
+
+    /**
+     * Gets the LSN of a change feed item.
+     *
+     * @param item the change feed item.
+     * @return the LSN, or -1 if the item has none.
+     */
+    static long getItemLsn(JsonNode item) {
+        JsonNode lsn = item.get(LSNPropertyName);
+        if (lsn == null || lsn.isNull()) {
+            return -1;
+        }
+
+        return lsn.isNumber() ? lsn.asLong() : parseLsn(lsn.asText());
+    }
+
+    private static long parseLsn(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
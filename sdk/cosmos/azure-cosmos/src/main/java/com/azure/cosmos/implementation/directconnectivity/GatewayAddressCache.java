@@ -45,10 +45,12 @@ import java.net.URL;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -76,6 +78,7 @@ public class GatewayAddressCache implements IAddressCache {
 
     private volatile Pair<PartitionKeyRangeIdentity, AddressInformation[]> masterPartitionAddressCache;
     private volatile Instant suboptimalMasterPartitionTimestamp;
+    private volatile IOpenConnectionsHandler openConnectionsHandler;
 
     public GatewayAddressCache(
             URI serviceEndpoint,
@@ -131,6 +134,16 @@ public class GatewayAddressCache implements IAddressCache {
              DefaultSuboptimalPartitionForceRefreshIntervalInSeconds);
     }
 
+    /**
+     * Sets the handler opening connections to the replicas of the partitions resolved by {@link #openAsync} and
+     * {@link #refreshSuboptimalAddressesAsync}.
+     *
+     * @param openConnectionsHandler the handler, or null to only resolve the addresses.
+     */
+    public void setOpenConnectionsHandler(IOpenConnectionsHandler openConnectionsHandler) {
+        this.openConnectionsHandler = openConnectionsHandler;
+    }
+
     private URI getServiceEndpoint() {
         return this.serviceEndpoint;
     }
@@ -536,7 +549,7 @@ public class GatewayAddressCache implements IAddressCache {
         }
 
         return Flux.concat(tasks)
-                .doOnNext(list -> {
+                .concatMap(list -> {
                     List<Pair<PartitionKeyRangeIdentity, AddressInformation[]>> addressInfos = list.stream()
                             .filter(addressInfo -> this.protocolScheme.equals(addressInfo.getProtocolScheme()))
                             .collect(Collectors.groupingBy(Address::getParitionKeyRangeId))
@@ -548,9 +561,83 @@ public class GatewayAddressCache implements IAddressCache {
                                 new PartitionKeyRangeIdentity(collection.getResourceId(), addressInfo.getLeft().getPartitionKeyRangeId()),
                                 addressInfo.getRight());
                     }
+
+                    return this.openConnectionsAsync(addressInfos.stream().map(Pair::getRight).collect(Collectors.toList()));
                 }).then();
     }
 
+    /**
+     * Refreshes the addresses of the partitions whose replica set was found suboptimal, and which would otherwise be
+     * force refreshed by the first request to them after {@code lookAhead}, and opens connections to their replicas.
+     *
+     * @param lookAhead how long before the force refresh of a partition its addresses are refreshed.
+     * @return a {@link Mono} that completes when the addresses are refreshed.
+     */
+    public Mono<Void> refreshSuboptimalAddressesAsync(Duration lookAhead) {
+        Instant refreshBefore = Instant.now().plus(lookAhead).minusSeconds(this.suboptimalPartitionForceRefreshIntervalInSeconds);
+        List<Mono<Void>> tasks = new ArrayList<>();
+
+        for (Map.Entry<PartitionKeyRangeIdentity, Instant> entry : this.suboptimalServerPartitionTimestamps.entrySet()) {
+            PartitionKeyRangeIdentity partitionKeyRangeIdentity = entry.getKey();
+            Instant suboptimalServerPartitionTimestamp = entry.getValue();
+
+            // Instant.MAX marks a partition being force refreshed by a request
+            if (suboptimalServerPartitionTimestamp.equals(Instant.MAX)
+                    || suboptimalServerPartitionTimestamp.isAfter(refreshBefore)
+                    || !this.suboptimalServerPartitionTimestamps.remove(partitionKeyRangeIdentity, suboptimalServerPartitionTimestamp)) {
+                continue;
+            }
+
+            logger.debug("background refresh of serverPartitionAddressCache for {}", partitionKeyRangeIdentity);
+            RxDocumentServiceRequest request = RxDocumentServiceRequest.create(
+                    OperationType.Read,
+                    partitionKeyRangeIdentity.getCollectionRid(),
+                    ResourceType.DocumentCollection,
+                    Collections.emptyMap());
+            Callable<Mono<AddressInformation[]>> refresh = () -> this.getAddressesForRangeId(
+                    request,
+                    partitionKeyRangeIdentity.getCollectionRid(),
+                    partitionKeyRangeIdentity.getPartitionKeyRangeId(),
+                    true);
+
+            this.serverPartitionAddressCache.refresh(partitionKeyRangeIdentity, refresh);
+            tasks.add(this.serverPartitionAddressCache.getAsync(partitionKeyRangeIdentity, null, refresh)
+                    .flatMap(addresses -> {
+                        if (notAllReplicasAvailable(addresses)) {
+                            this.suboptimalServerPartitionTimestamps.putIfAbsent(partitionKeyRangeIdentity, Instant.now());
+                        }
+                        return this.openConnectionsAsync(Collections.singletonList(addresses));
+                    })
+                    .onErrorResume(e -> {
+                        logger.debug("background refresh of serverPartitionAddressCache for {} failed", partitionKeyRangeIdentity, e);
+                        return Mono.empty();
+                    }));
+        }
+
+        return Flux.merge(tasks).then();
+    }
+
+    boolean containsAddresses(PartitionKeyRangeIdentity partitionKeyRangeIdentity) {
+        return this.serverPartitionAddressCache.containsKey(partitionKeyRangeIdentity);
+    }
+
+    private Mono<Void> openConnectionsAsync(List<AddressInformation[]> addressInfos) {
+        IOpenConnectionsHandler openConnectionsHandler = this.openConnectionsHandler;
+        if (openConnectionsHandler == null) {
+            return Mono.empty();
+        }
+
+        // Opening connections is best effort: a replica that cannot be reached is connected to by the first request
+        return Flux.fromIterable(addressInfos)
+                .flatMapIterable(Arrays::asList)
+                .flatMap(addressInfo -> openConnectionsHandler.openConnection(addressInfo.getPhysicalUri())
+                        .onErrorResume(e -> {
+                            logger.debug("openConnection to {} failed", addressInfo.getPhysicalUri(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
     private boolean notAllReplicasAvailable(AddressInformation[] addressInformations) {
         return addressInformations.length < ServiceConfig.SystemReplicationPolicy.MaxReplicaSetSize;
     }
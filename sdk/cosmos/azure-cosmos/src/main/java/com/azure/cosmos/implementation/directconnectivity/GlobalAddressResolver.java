@@ -16,21 +16,28 @@ import com.azure.cosmos.implementation.caches.RxPartitionKeyRangeCache;
 import com.azure.cosmos.implementation.http.HttpClient;
 import com.azure.cosmos.implementation.routing.CollectionRoutingMap;
 import com.azure.cosmos.implementation.routing.PartitionKeyRangeIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.concurrent.Queues;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 public class GlobalAddressResolver implements IAddressResolver {
+    private final static Logger logger = LoggerFactory.getLogger(GlobalAddressResolver.class);
     private final static int MaxBackupReadRegions = 3;
+    private final static Duration BackgroundAddressRefreshInterval = Duration.ofSeconds(60);
     private final GlobalEndpointManager endpointManager;
     private final Protocol protocol;
     private final IAuthorizationTokenProvider tokenProvider;
@@ -40,6 +47,10 @@ public class GlobalAddressResolver implements IAddressResolver {
     private final int maxEndpoints;
     private final GatewayServiceConfigurationReader serviceConfigReader;
     final Map<URI, EndpointCache> addressCacheByEndpoint;
+    private final Map<String, DocumentCollection> openedCollections;
+
+    private volatile IOpenConnectionsHandler openConnectionsHandler;
+    private Disposable backgroundAddressRefresh;
 
     private GatewayAddressCache gatewayAddressCache;
     private AddressResolver addressResolver;
@@ -68,6 +79,7 @@ public class GlobalAddressResolver implements IAddressResolver {
         int maxBackupReadEndpoints = (connectionPolicy.isReadRequestsFallbackEnabled() == null || connectionPolicy.isReadRequestsFallbackEnabled()) ? GlobalAddressResolver.MaxBackupReadRegions : 0;
         this.maxEndpoints = maxBackupReadEndpoints + 2; // for write and alternate write getEndpoint (during failover)
         this.addressCacheByEndpoint = new ConcurrentHashMap<>();
+        this.openedCollections = new ConcurrentHashMap<>();
 
         for (URI endpoint : endpointManager.getWriteEndpoints()) {
             this.getOrAddEndpoint(endpoint);
@@ -77,8 +89,36 @@ public class GlobalAddressResolver implements IAddressResolver {
         }
     }
 
-    Mono<Void> openAsync(DocumentCollection collection) {
-        Mono<Utils.ValueHolder<CollectionRoutingMap>> routingMap = this.routingMapProvider.tryLookupAsync(collection.getId(), null, null);
+    /**
+     * Sets the handler opening connections to the replicas whose addresses are resolved ahead of requests.
+     *
+     * @param openConnectionsHandler the handler, or null to only resolve the addresses.
+     */
+    public void setOpenConnectionsHandler(IOpenConnectionsHandler openConnectionsHandler) {
+        this.openConnectionsHandler = openConnectionsHandler;
+        for (EndpointCache endpointCache : this.addressCacheByEndpoint.values()) {
+            endpointCache.addressCache.setOpenConnectionsHandler(openConnectionsHandler);
+        }
+    }
+
+    /**
+     * Resolves the addresses of all the partitions of a collection and opens connections to their replicas.
+     * <p>
+     * From then on the addresses of the collection are also refreshed in the background: suboptimal replica sets are
+     * refreshed before the next request to them would have to, and partitions created by a split are resolved and
+     * connected to once the routing map of the collection reflects the split.
+     *
+     * @param collection the collection.
+     * @return a {@link Mono} that completes when the addresses are resolved and the connections opened.
+     */
+    public Mono<Void> openAsync(DocumentCollection collection) {
+        this.openedCollections.put(collection.getResourceId(), collection);
+        this.startBackgroundAddressRefresh();
+        return this.openAsync(collection, (endpointCache, range) -> true);
+    }
+
+    private Mono<Void> openAsync(DocumentCollection collection, BiPredicate<EndpointCache, PartitionKeyRangeIdentity> filter) {
+        Mono<Utils.ValueHolder<CollectionRoutingMap>> routingMap = this.routingMapProvider.tryLookupAsync(collection.getResourceId(), null, null);
         return routingMap.flatMap(collectionRoutingMap -> {
 
             if ( collectionRoutingMap.v == null) {
@@ -88,14 +128,50 @@ public class GlobalAddressResolver implements IAddressResolver {
             List<PartitionKeyRangeIdentity> ranges = collectionRoutingMap.v.getOrderedPartitionKeyRanges().stream().map(range ->
                     new PartitionKeyRangeIdentity(collection.getResourceId(), range.getId())).collect(Collectors.toList());
             List<Mono<Void>> tasks = new ArrayList<>();
-            Mono<Void>[] array = new Mono[this.addressCacheByEndpoint.values().size()];
             for (EndpointCache endpointCache : this.addressCacheByEndpoint.values()) {
-                tasks.add(endpointCache.addressCache.openAsync(collection, ranges));
+                List<PartitionKeyRangeIdentity> filteredRanges = ranges.stream()
+                        .filter(range -> filter.test(endpointCache, range))
+                        .collect(Collectors.toList());
+                if (!filteredRanges.isEmpty()) {
+                    tasks.add(endpointCache.addressCache.openAsync(collection, filteredRanges));
+                }
             }
+            Mono<Void>[] array = new Mono[tasks.size()];
             return Flux.mergeDelayError(Queues.SMALL_BUFFER_SIZE, tasks.toArray(array)).then();
         });
     }
 
+    private void startBackgroundAddressRefresh() {
+        synchronized (this.openedCollections) {
+            if (this.backgroundAddressRefresh == null) {
+                this.backgroundAddressRefresh = Flux.interval(BackgroundAddressRefreshInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> this.refreshAddressesAsync(), 1)
+                        .subscribe();
+            }
+        }
+    }
+
+    private Mono<Void> refreshAddressesAsync() {
+        List<Mono<Void>> tasks = new ArrayList<>();
+        for (EndpointCache endpointCache : this.addressCacheByEndpoint.values()) {
+            tasks.add(endpointCache.addressCache.refreshSuboptimalAddressesAsync(BackgroundAddressRefreshInterval));
+        }
+
+        // Resolves the partitions that are not cached yet, which are the partitions created by a split once the
+        // routing map of the collection has been refreshed
+        for (DocumentCollection collection : this.openedCollections.values()) {
+            tasks.add(this.openAsync(collection, (endpointCache, range) -> !endpointCache.addressCache.containsAddresses(range)));
+        }
+
+        return Flux.mergeDelayError(Queues.SMALL_BUFFER_SIZE, tasks.toArray(new Mono[tasks.size()]))
+                .onErrorResume(e -> {
+                    logger.debug("background address refresh failed", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
     @Override
     public Mono<AddressInformation[]> resolveAsync(RxDocumentServiceRequest request, boolean forceRefresh) {
         IAddressResolver resolver = this.getAddressResolver(request);
@@ -103,6 +179,11 @@ public class GlobalAddressResolver implements IAddressResolver {
     }
 
     public void dispose() {
+        synchronized (this.openedCollections) {
+            if (this.backgroundAddressRefresh != null) {
+                this.backgroundAddressRefresh.dispose();
+            }
+        }
         for (EndpointCache endpointCache : this.addressCacheByEndpoint.values()) {
             endpointCache.addressCache.dispose();
         }
@@ -116,6 +197,7 @@ public class GlobalAddressResolver implements IAddressResolver {
     private EndpointCache getOrAddEndpoint(URI endpoint) {
         EndpointCache endpointCache = this.addressCacheByEndpoint.computeIfAbsent(endpoint , key -> {
             GatewayAddressCache gatewayAddressCache = new GatewayAddressCache(endpoint, protocol, this.tokenProvider, this.userAgentContainer, this.httpClient);
+            gatewayAddressCache.setOpenConnectionsHandler(this.openConnectionsHandler);
             AddressResolver addressResolver = new AddressResolver();
             addressResolver.initializeCaches(this.collectionCache, this.routingMapProvider, gatewayAddressCache);
             EndpointCache cache = new EndpointCache();
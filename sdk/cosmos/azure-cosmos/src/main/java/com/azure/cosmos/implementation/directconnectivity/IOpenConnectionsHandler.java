@@ -0,0 +1,17 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.directconnectivity;
+
+import reactor.core.publisher.Mono;
+
+public interface IOpenConnectionsHandler {
+
+    /**
+     * Opens a connection to a replica ahead of the first request sent to it.
+     *
+     * @param physicalAddress the physical address of the replica.
+     * @return a {@link Mono} that completes when the connection is ready to serve requests.
+     */
+    Mono<Void> openConnection(Uri physicalAddress);
+}
@@ -141,6 +141,20 @@ public final class RntbdTransportClient extends TransportClient {
         });
     }
 
+    @Override
+    public Mono<Void> openConnection(final Uri addressUri) {
+
+        logger.debug("RntbdTransportClient.openConnection({})", addressUri);
+
+        checkNotNull(addressUri, "expected non-null address");
+        this.throwIfClosed();
+
+        return Mono.defer(() -> {
+            final RntbdEndpoint endpoint = this.endpointProvider.get(addressUri.getURI());
+            return Mono.fromFuture(endpoint.openConnection());
+        });
+    }
+
     public Tag tag() {
         return this.tag;
     }
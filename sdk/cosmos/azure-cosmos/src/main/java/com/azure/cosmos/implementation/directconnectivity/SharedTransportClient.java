@@ -54,6 +54,11 @@ public class SharedTransportClient extends TransportClient {
         return transportClient.invokeStoreAsync(physicalAddress, request);
     }
 
+    @Override
+    public Mono<Void> openConnection(Uri physicalAddress) {
+        return transportClient.openConnection(physicalAddress);
+    }
+
     public int getReferenceCounter() {
         return counter.get();
     }
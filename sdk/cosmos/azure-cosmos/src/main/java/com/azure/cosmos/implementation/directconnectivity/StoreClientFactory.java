@@ -73,6 +73,10 @@ public class StoreClientFactory implements AutoCloseable {
             useMultipleWriteLocations);
     }
 
+    public IOpenConnectionsHandler getOpenConnectionsHandler() {
+        return this.transportClient::openConnection;
+    }
+
     private void throwIfClosed() {
         if (isClosed) {
             throw new IllegalStateException("storeClient already closed!");
@@ -15,6 +15,12 @@ public abstract class TransportClient implements AutoCloseable {
         return this.invokeStoreAsync(physicalAddress, request);
     }
 
+    // Opens a connection to the replica ahead of the first request sent to it; a no-op for transports that do not keep
+    // connections to replicas
+    public Mono<Void> openConnection(Uri physicalAddress) {
+        return Mono.empty();
+    }
+
     protected abstract Mono<StoreResponse> invokeStoreAsync(
         Uri physicalAddress,
         RxDocumentServiceRequest request);
@@ -67,6 +67,24 @@ public final class RntbdContextNegotiator extends CombinedChannelDuplexHandler<R
         }
     }
 
+    /**
+     * Starts the RNTBD context negotiation of a channel that has not written a request yet
+     * <p>
+     * This is how channels are warmed up: the context is negotiated ahead of the first request instead of delaying it.
+     * Requests written before the context is negotiated are held until it is, as they are when the negotiation is
+     * started by the first request. This method must be called on the event loop of the channel.
+     *
+     * @param context the {@link ChannelHandlerContext} of this handler
+     * @throws Exception thrown if an error occurs
+     */
+    void startRntbdContextRequestIfPending(final ChannelHandlerContext context) throws Exception {
+        if (this.pendingRntbdContextRequest && !this.manager.hasRntbdContext()) {
+            this.startRntbdContextRequest(context);
+            this.pendingRntbdContextRequest = false;
+            context.flush();
+        }
+    }
+
     // region Privates
 
     private void startRntbdContextRequest(final ChannelHandlerContext context) throws Exception {
@@ -13,6 +13,7 @@ import io.netty.handler.ssl.SslContext;
 
 import java.net.SocketAddress;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static com.azure.cosmos.implementation.directconnectivity.RntbdTransportClient.Options;
@@ -32,6 +33,8 @@ public interface RntbdEndpoint extends AutoCloseable {
 
     boolean isClosed();
 
+    int maxChannels();
+
     SocketAddress remoteAddress();
 
     int requestQueueLength();
@@ -49,6 +52,14 @@ public interface RntbdEndpoint extends AutoCloseable {
     @Override
     void close();
 
+    /**
+     * Opens a channel to this endpoint and negotiates its RNTBD context, so the first request to the endpoint does not
+     * pay for connection establishment.
+     *
+     * @return a future that completes when the channel is ready to serve requests.
+     */
+    CompletableFuture<Void> openConnection();
+
     RntbdRequestRecord request(RntbdRequestArgs requestArgs);
 
     // endregion
@@ -3,6 +3,9 @@
 
 package com.azure.cosmos.implementation.directconnectivity.rntbd;
 
+import com.azure.cosmos.implementation.OperationType;
+import com.azure.cosmos.implementation.ResourceType;
+import com.azure.cosmos.implementation.RxDocumentServiceRequest;
 import com.azure.cosmos.implementation.directconnectivity.RntbdTransportClient;
 import com.codahale.metrics.ConsoleReporter;
 import com.codahale.metrics.MetricRegistry;
@@ -12,12 +15,15 @@ import com.google.common.net.PercentEscaper;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.dropwizard.DropwizardConfig;
 import io.micrometer.core.instrument.dropwizard.DropwizardMeterRegistry;
@@ -27,13 +33,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @SuppressWarnings("UnstableApiUsage")
 @JsonPropertyOrder({
     "tags", "concurrentRequests", "requests", "responseErrors", "responseSuccesses", "completionRate", "responseRate",
-    "requestSize", "responseSize", "channelsAcquired", "channelsAvailable", "requestQueueLength", "usedDirectMemory",
-    "usedHeapMemory"
+    "requestSize", "responseSize", "channelsAcquired", "channelsAvailable", "channelsUtilization",
+    "channelAcquisitionLatency", "requestQueueLength", "usedDirectMemory", "usedHeapMemory"
 })
 public final class RntbdMetrics {
 
@@ -43,6 +53,7 @@ public final class RntbdMetrics {
 
     private static final Logger logger = LoggerFactory.getLogger(RntbdMetrics.class);
     private static final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private static final Map<MeterRegistry, Registration> registrations = new IdentityHashMap<>();
 
     static {
         try {
@@ -57,6 +68,8 @@ public final class RntbdMetrics {
 
     private final RntbdEndpoint endpoint;
 
+    private final Timer channelAcquisitionLatency;
+    private final AtomicReferenceArray<Timer> requestLatencies;
     private final DistributionSummary requestSize;
     private final Timer requests;
     private final Timer responseErrors;
@@ -110,6 +123,11 @@ public final class RntbdMetrics {
              .tags(this.tags)
              .register(registry);
 
+        Gauge.builder(nameOf("channelsUtilization"), endpoint, RntbdMetrics::channelsUtilization)
+             .description("acquired channel count divided by the maximum channel count")
+             .tags(this.tags)
+             .register(registry);
+
         Gauge.builder(nameOf("usedDirectMemory"), endpoint, x -> x.usedDirectMemory())
              .description("Java direct memory usage (MiB)")
              .baseUnit("bytes")
@@ -133,6 +151,13 @@ public final class RntbdMetrics {
             .baseUnit("bytes")
             .tags(this.tags)
             .register(registry);
+
+        this.channelAcquisitionLatency = Timer.builder(nameOf("channelAcquisitionLatency"))
+            .description("channel acquisition latency")
+            .tags(this.tags)
+            .register(registry);
+
+        this.requestLatencies = new AtomicReferenceArray<>(OperationType.values().length * ResourceType.values().length);
     }
 
     // endregion
@@ -140,7 +165,45 @@ public final class RntbdMetrics {
     // region Accessors
 
     public static void add(MeterRegistry registry) {
-        RntbdMetrics.registry.add(registry);
+        RntbdMetrics.add(registry, false);
+    }
+
+    /**
+     * Publishes the meters to the given registry until the returned registration is closed. A registry added by
+     * several clients is published to until all of their registrations are closed.
+     * <p>
+     * Percentile histograms are published by the timers registered while a registration that enables them is open.
+     *
+     * @param registry the registry to publish the meters to.
+     * @param percentileHistogramEnabled true to publish percentile histograms of the timers.
+     * @return the registration, which stops publishing to the registry once all the registrations of the registry
+     * are closed.
+     */
+    public static AutoCloseable add(MeterRegistry registry, boolean percentileHistogramEnabled) {
+        synchronized (registrations) {
+            Registration registration = registrations.get(registry);
+            if (registration == null) {
+                registration = new Registration();
+                // Composite registries register their meters directly in the registries they were given, so the
+                // filter must be added to the given registry, and it only configures our own timers
+                registry.config().meterFilter(registration);
+                registrations.put(registry, registration);
+                RntbdMetrics.registry.add(registry);
+            }
+            registration.acquire(percentileHistogramEnabled);
+        }
+
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                RntbdMetrics.remove(registry, percentileHistogramEnabled);
+            }
+        };
+    }
+
+    public static MeterRegistry registry() {
+        return RntbdMetrics.registry;
     }
 
     @JsonProperty
@@ -163,6 +226,26 @@ public final class RntbdMetrics {
         return this.responseSuccesses.count() / (double) this.requests.count();
     }
 
+    /***
+     * Gets the distribution of the time requests spent waiting for a channel to the endpoint.
+     *
+     * @return a snapshot of the channel acquisition latency histogram.
+     */
+    @JsonProperty
+    public HistogramSnapshot channelAcquisitionLatency() {
+        return this.channelAcquisitionLatency.takeSnapshot();
+    }
+
+    /***
+     * Computes the number of acquired channels divided by the maximum number of channels to the endpoint.
+     *
+     * @return the fraction of the channels to the endpoint in use, or zero if the endpoint has no channel limit.
+     */
+    @JsonProperty
+    public double channelsUtilization() {
+        return channelsUtilization(this.endpoint);
+    }
+
     @JsonProperty
     public long concurrentRequests() {
         return this.endpoint.concurrentRequests();
@@ -232,10 +315,15 @@ public final class RntbdMetrics {
 
     // region Methods
 
+    public void markChannelAcquisition(long nanos) {
+        this.channelAcquisitionLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
     public void markComplete(RntbdRequestRecord requestRecord) {
-        requestRecord.stop(this.requests, requestRecord.isCompletedExceptionally()
+        final long nanos = requestRecord.stop(this.requests, requestRecord.isCompletedExceptionally()
             ? this.responseErrors
             : this.responseSuccesses);
+        this.requestLatency(requestRecord.args().serviceRequest()).record(nanos, TimeUnit.NANOSECONDS);
         this.requestSize.record(requestRecord.requestLength());
         this.responseSize.record(requestRecord.responseLength());
     }
@@ -249,6 +337,42 @@ public final class RntbdMetrics {
 
     // region Private
 
+    private static void remove(final MeterRegistry registry, final boolean percentileHistogramEnabled) {
+        synchronized (registrations) {
+            final Registration registration = registrations.get(registry);
+            if (registration != null && registration.release(percentileHistogramEnabled)) {
+                registrations.remove(registry);
+                RntbdMetrics.registry.remove(registry);
+            }
+        }
+    }
+
+    private static double channelsUtilization(final RntbdEndpoint endpoint) {
+        final int maxChannels = endpoint.maxChannels();
+        return maxChannels > 0 ? endpoint.channelsAcquired() / (double) maxChannels : 0D;
+    }
+
+    private Timer requestLatency(final RxDocumentServiceRequest request) {
+
+        final OperationType operationType = request.getOperationType();
+        final ResourceType resourceType = request.getResourceType();
+        final int index = operationType.ordinal() * ResourceType.values().length + resourceType.ordinal();
+
+        Timer timer = this.requestLatencies.get(index);
+
+        if (timer == null) {
+            timer = Timer.builder(nameOf("requestLatency"))
+                .description("request latency")
+                .tags(this.tags)
+                .tag("operationType", operationType.toString())
+                .tag("resourceType", resourceType.toString())
+                .register(registry);
+            this.requestLatencies.set(index, timer);
+        }
+
+        return timer;
+    }
+
     static String escape(String value) {
         return PERCENT_ESCAPER.escape(value);
     }
@@ -297,4 +421,51 @@ public final class RntbdMetrics {
     }
 
     // endregion
+
+    // region Types
+
+    /**
+     * Counts the clients publishing to a registry, and configures the timers registered in the registry with
+     * percentile histograms while at least one of them enables them.
+     */
+    private static final class Registration implements MeterFilter {
+
+        // Guarded by registrations
+        private int clientCount;
+        private int percentileHistogramClientCount;
+
+        private volatile boolean percentileHistogramEnabled;
+
+        @Override
+        public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config) {
+            return this.percentileHistogramEnabled
+                && id.getType() == Meter.Type.TIMER
+                && id.getName().startsWith("azure.cosmos.")
+                ? DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config)
+                : config;
+        }
+
+        void acquire(final boolean percentileHistogramEnabled) {
+            this.clientCount++;
+            if (percentileHistogramEnabled) {
+                this.percentileHistogramClientCount++;
+            }
+            this.percentileHistogramEnabled = this.percentileHistogramClientCount > 0;
+        }
+
+        /**
+         * Releases a client.
+         *
+         * @return true if no client publishes to the registry anymore.
+         */
+        boolean release(final boolean percentileHistogramEnabled) {
+            if (percentileHistogramEnabled) {
+                this.percentileHistogramClientCount--;
+            }
+            this.percentileHistogramEnabled = this.percentileHistogramClientCount > 0;
+            return --this.clientCount == 0;
+        }
+    }
+
+    // endregion
 }
@@ -528,6 +528,10 @@ public final class RntbdRequestManager implements ChannelHandler, ChannelInbound
         return Optional.of(this.contextFuture.getNow(null));
     }
 
+    CompletableFuture<RntbdContext> rntbdContextFuture() {
+        return this.contextFuture;
+    }
+
     CompletableFuture<RntbdContextRequest> rntbdContextRequestFuture() {
         return this.contextRequestFuture;
     }
@@ -705,7 +709,9 @@ public final class RntbdRequestManager implements ChannelHandler, ChannelInbound
         final UUID activityId = response.getActivityId();
         final int statusCode = status.code();
 
-        if (HttpResponseStatus.OK.code() <= statusCode && statusCode < HttpResponseStatus.MULTIPLE_CHOICES.code()) {
+        // Not modified is the successful outcome of a conditional read, as in HttpTransportClient.
+        if ((HttpResponseStatus.OK.code() <= statusCode && statusCode < HttpResponseStatus.MULTIPLE_CHOICES.code())
+            || statusCode == HttpResponseStatus.NOT_MODIFIED.code()) {
 
             final StoreResponse storeResponse = response.toStoreResponse(this.contextFuture.getNow(null));
             requestRecord.complete(storeResponse);
@@ -28,7 +28,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.net.URI;
+import java.nio.channels.ClosedChannelException;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -126,6 +128,11 @@ public final class RntbdServiceEndpoint implements RntbdEndpoint {
         return this.closed.get();
     }
 
+    @Override
+    public int maxChannels() {
+        return this.channelPool.maxChannels();
+    }
+
     public long lastRequestTime() {
         return this.lastRequestTime.get();
     }
@@ -167,6 +174,76 @@ public final class RntbdServiceEndpoint implements RntbdEndpoint {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> openConnection() {
+
+        this.throwIfClosed();
+        this.lastRequestTime.set(System.nanoTime());
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        logger.debug("\n  [{}]\n  OPEN CONNECTION", this);
+
+        this.channelPool.acquire().addListener(connected -> {
+
+            if (!connected.isSuccess()) {
+                logger.debug("\n  [{}]\n  open connection failed due to {}", this, connected.cause());
+                future.completeExceptionally(connected.cause());
+                return;
+            }
+
+            final Channel channel = (Channel)connected.get();
+
+            channel.eventLoop().execute(() -> {
+
+                final RntbdRequestManager requestManager = channel.pipeline().get(RntbdRequestManager.class);
+
+                if (requestManager == null) {
+                    // The channel was closed before it could be warmed up
+                    this.releaseToPool(channel);
+                    future.completeExceptionally(new ClosedChannelException());
+                    return;
+                }
+
+                final RntbdContextNegotiator negotiator = channel.pipeline().get(RntbdContextNegotiator.class);
+
+                if (negotiator != null) {
+                    try {
+                        negotiator.startRntbdContextRequestIfPending(channel.pipeline().context(negotiator));
+                    } catch (Exception error) {
+                        this.releaseToPool(channel);
+                        future.completeExceptionally(error);
+                        return;
+                    }
+                }
+
+                // The context future of an idle channel is not completed when the channel closes, hence the close
+                // future is observed as well
+
+                final AtomicBoolean released = new AtomicBoolean();
+
+                requestManager.rntbdContextFuture().whenComplete((context, error) -> {
+                    if (released.compareAndSet(false, true)) {
+                        this.releaseToPool(channel);
+                        if (error == null) {
+                            future.complete(null);
+                        } else {
+                            future.completeExceptionally(error);
+                        }
+                    }
+                });
+
+                channel.closeFuture().addListener(closed -> {
+                    if (released.compareAndSet(false, true)) {
+                        this.releaseToPool(channel);
+                        future.completeExceptionally(new ClosedChannelException());
+                    }
+                });
+            });
+        });
+
+        return future;
+    }
+
     public RntbdRequestRecord request(final RntbdRequestArgs args) {
 
         this.throwIfClosed();
@@ -231,8 +308,12 @@ public final class RntbdServiceEndpoint implements RntbdEndpoint {
         final RntbdRequestRecord requestRecord = new RntbdRequestRecord(requestArgs, this.requestTimer);
         logger.debug("\n  [{}]\n  {}\n  WRITE", this, requestArgs);
 
+        final long acquisitionStartTime = System.nanoTime();
+
         this.channelPool.acquire().addListener(connected -> {
 
+            this.metrics.markChannelAcquisition(System.nanoTime() - acquisitionStartTime);
+
             if (connected.isSuccess()) {
 
                 requestArgs.traceOperation(logger, null, "write");
@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.JsonSerializable;
+import com.azure.cosmos.implementation.Utils;
+import com.azure.cosmos.implementation.routing.UInt128;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * While this class is public, but it is not part of our published public APIs.
+ * This is meant to be internally used only by our sdk.
+ */
+public final class DistinctContinuationToken extends JsonSerializable {
+    private static final String LAST_HASH_PROPERTY_NAME = "lastHash";
+    private static final String SOURCE_TOKEN_PROPERTY_NAME = "sourceToken";
+    private static final Logger logger = LoggerFactory.getLogger(DistinctContinuationToken.class);
+
+    public DistinctContinuationToken(UInt128 lastHash, String sourceToken) {
+        // lastHash and sourceToken are allowed to be null.
+        this.setLastHash(lastHash);
+        this.setSourceToken(sourceToken);
+    }
+
+    private DistinctContinuationToken(String serializedDistinctContinuationToken) {
+        super(serializedDistinctContinuationToken);
+    }
+
+    public static boolean tryParse(String serializedDistinctContinuationToken,
+                                   Utils.ValueHolder<DistinctContinuationToken> outDistinctContinuationToken) {
+        if (StringUtils.isEmpty(serializedDistinctContinuationToken)) {
+            return false;
+        }
+
+        boolean parsed;
+        try {
+            DistinctContinuationToken distinctContinuationToken =
+                new DistinctContinuationToken(serializedDistinctContinuationToken);
+            distinctContinuationToken.getLastHash();
+            distinctContinuationToken.getSourceToken();
+            outDistinctContinuationToken.v = distinctContinuationToken;
+            parsed = true;
+        } catch (Exception ex) {
+            logger.debug("Received exception {} when trying to parse: {}",
+                ex.getMessage(),
+                serializedDistinctContinuationToken);
+            parsed = false;
+            outDistinctContinuationToken.v = null;
+        }
+
+        return parsed;
+    }
+
+    public UInt128 getLastHash() {
+        String lastHash = super.getString(LAST_HASH_PROPERTY_NAME);
+        return lastHash == null ? null : UInt128.fromString(lastHash);
+    }
+
+    private void setLastHash(UInt128 lastHash) {
+        BridgeInternal.setProperty(this, LAST_HASH_PROPERTY_NAME, lastHash == null ? null : lastHash.toString());
+    }
+
+    public String getSourceToken() {
+        return super.getString(SOURCE_TOKEN_PROPERTY_NAME);
+    }
+
+    private void setSourceToken(String sourceToken) {
+        BridgeInternal.setProperty(this, SOURCE_TOKEN_PROPERTY_NAME, sourceToken);
+    }
+}
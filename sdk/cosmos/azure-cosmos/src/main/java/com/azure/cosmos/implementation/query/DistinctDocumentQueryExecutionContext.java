@@ -0,0 +1,106 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.FeedResponse;
+import com.azure.cosmos.Resource;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.Utils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Removes the duplicate results of a DISTINCT query across the pages of all the partitions.
+ * <p>
+ * Only the digest of the results is retained. The continuation token of an ordered DISTINCT query carries the digest
+ * of the last result, so a resumed query skips the duplicates of the last result returned. An unordered DISTINCT
+ * query would need the digests of all the results returned so far, so its pages carry no continuation token and it
+ * can't be resumed from one.
+ */
+public final class DistinctDocumentQueryExecutionContext<T extends Resource>
+    implements IDocumentQueryExecutionComponent<T> {
+
+    private final IDocumentQueryExecutionComponent<T> component;
+    private final DistinctQueryType distinctQueryType;
+    private final DistinctMap distinctMap;
+
+    DistinctDocumentQueryExecutionContext(IDocumentQueryExecutionComponent<T> component,
+                                          DistinctQueryType distinctQueryType,
+                                          DistinctContinuationToken continuationToken) {
+        if (component == null) {
+            throw new IllegalArgumentException("documentQueryExecutionComponent cannot be null");
+        }
+        this.component = component;
+        this.distinctQueryType = distinctQueryType;
+        this.distinctMap = DistinctMap.create(distinctQueryType,
+            continuationToken != null ? continuationToken.getLastHash() : null);
+    }
+
+    public static <T extends Resource> Flux<IDocumentQueryExecutionComponent<T>> createAsync(
+        Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createSourceComponentFunction,
+        DistinctQueryType distinctQueryType,
+        String continuationToken) {
+        DistinctContinuationToken distinctContinuationToken = null;
+        if (continuationToken != null) {
+            if (distinctQueryType != DistinctQueryType.Ordered) {
+                String message = "Unordered DISTINCT queries do not support continuation tokens";
+                CosmosClientException dce =
+                    BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.BADREQUEST, message);
+                return Flux.error(dce);
+            }
+
+            Utils.ValueHolder<DistinctContinuationToken> outDistinctContinuationToken = new Utils.ValueHolder<>();
+            if (!DistinctContinuationToken.tryParse(continuationToken, outDistinctContinuationToken)) {
+                String message = String.format("Invalid JSON in continuation token %s for Distinct~Context",
+                    continuationToken);
+                CosmosClientException dce =
+                    BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.BADREQUEST, message);
+                return Flux.error(dce);
+            }
+
+            distinctContinuationToken = outDistinctContinuationToken.v;
+        }
+
+        final DistinctContinuationToken sourceContinuationToken = distinctContinuationToken;
+        return createSourceComponentFunction
+                   .apply(sourceContinuationToken != null ? sourceContinuationToken.getSourceToken() : null)
+                   .map(component -> new DistinctDocumentQueryExecutionContext<>(component, distinctQueryType,
+                       sourceContinuationToken));
+    }
+
+    @Override
+    public Flux<FeedResponse<T>> drainAsync(int maxPageSize) {
+        return this.component.drainAsync(maxPageSize).map(tFeedResponse -> {
+            List<T> distinctResults = new ArrayList<>();
+            for (T result : tFeedResponse.getResults()) {
+                if (this.distinctMap.add(BridgeInternal.getPropertyBag(result))) {
+                    distinctResults.add(result);
+                }
+            }
+
+            Map<String, String> headers = new HashMap<>(tFeedResponse.getResponseHeaders());
+            headers.remove(HttpConstants.HttpHeaders.CONTINUATION);
+            String sourceContinuationToken = tFeedResponse.getContinuationToken();
+            if (sourceContinuationToken != null && this.distinctQueryType == DistinctQueryType.Ordered) {
+                DistinctContinuationToken distinctContinuationToken =
+                    new DistinctContinuationToken(this.distinctMap.getLastHash(), sourceContinuationToken);
+                headers.put(HttpConstants.HttpHeaders.CONTINUATION, distinctContinuationToken.toJson());
+            }
+
+            return BridgeInternal.createFeedResponseWithQueryMetrics(distinctResults, headers,
+                BridgeInternal.queryMetricsFromFeedResponse(tFeedResponse));
+        });
+    }
+
+    IDocumentQueryExecutionComponent<T> getComponent() {
+        return this.component;
+    }
+}
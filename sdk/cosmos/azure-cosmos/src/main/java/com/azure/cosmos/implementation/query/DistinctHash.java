@@ -0,0 +1,101 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.implementation.routing.MurmurHash3_128;
+import com.azure.cosmos.implementation.routing.UInt128;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Computes a 128 bit digest of JSON values, so DISTINCT and GROUP BY only retain the digest of the values they have
+ * seen instead of the values themselves.
+ * <p>
+ * Values are hashed in a canonical form: properties of objects are hashed in the order of their names and numbers are
+ * hashed as doubles, so JSON values that are equal in the query language have the same digest.
+ */
+final class DistinctHash {
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte NUMBER = 3;
+    private static final byte STRING = 4;
+    private static final byte ARRAY = 5;
+    private static final byte OBJECT = 6;
+    private static final byte END = 7;
+
+    private DistinctHash() {
+    }
+
+    static UInt128 getHash(JsonNode value) {
+        HashOutputStream out = new HashOutputStream();
+        write(out, value);
+        return MurmurHash3_128.hash128(out.buffer(), out.size());
+    }
+
+    private static void write(HashOutputStream out, JsonNode value) {
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            out.write(NULL);
+        } else if (value.isBoolean()) {
+            out.write(value.booleanValue() ? TRUE : FALSE);
+        } else if (value.isNumber()) {
+            out.write(NUMBER);
+            out.writeLong(Double.doubleToLongBits(value.doubleValue()));
+        } else if (value.isTextual()) {
+            out.write(STRING);
+            writeString(out, value.textValue());
+        } else if (value.isArray()) {
+            out.write(ARRAY);
+            for (JsonNode element : value) {
+                write(out, element);
+            }
+            out.write(END);
+        } else if (value.isObject()) {
+            out.write(OBJECT);
+            List<String> names = new ArrayList<>(value.size());
+            Iterator<String> fieldNames = value.fieldNames();
+            while (fieldNames.hasNext()) {
+                names.add(fieldNames.next());
+            }
+            Collections.sort(names);
+            for (String name : names) {
+                writeString(out, name);
+                write(out, value.get(name));
+            }
+            out.write(END);
+        } else {
+            // Binary and POJO nodes are never returned by queries, hash their text representation.
+            out.write(STRING);
+            writeString(out, value.asText());
+        }
+    }
+
+    private static void writeString(HashOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeLong(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static final class HashOutputStream extends ByteArrayOutputStream {
+        HashOutputStream() {
+            super(64);
+        }
+
+        byte[] buffer() {
+            return this.buf;
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+    }
+}
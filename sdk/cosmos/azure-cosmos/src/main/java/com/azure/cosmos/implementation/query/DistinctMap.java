@@ -0,0 +1,90 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.implementation.routing.UInt128;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks the results a DISTINCT query has already returned, using the digest of the results.
+ * <p>
+ * The results of an ordered DISTINCT query are sorted, so duplicates are adjacent and only the digest of the last
+ * result is retained. The results of an unordered DISTINCT query can be duplicated anywhere, so the digests of all the
+ * results are retained.
+ */
+abstract class DistinctMap {
+    static DistinctMap create(DistinctQueryType distinctQueryType, UInt128 previousHash) {
+        switch (distinctQueryType) {
+            case Ordered:
+                return new OrderedDistinctMap(previousHash);
+            case Unordered:
+                return new UnorderedDistinctMap();
+            default:
+                throw new IllegalArgumentException("Unexpected value: " + distinctQueryType);
+        }
+    }
+
+    /**
+     * Adds a result to the map.
+     *
+     * @param value the result.
+     * @return true if the result wasn't returned before, false if it is a duplicate.
+     */
+    abstract boolean add(JsonNode value);
+
+    /**
+     * Gets the digest of the last result added to the map.
+     *
+     * @return the digest of the last result, or null when no result was added.
+     */
+    abstract UInt128 getLastHash();
+
+    private static final class OrderedDistinctMap extends DistinctMap {
+        private UInt128 lastHash;
+
+        OrderedDistinctMap(UInt128 lastHash) {
+            this.lastHash = lastHash;
+        }
+
+        @Override
+        boolean add(JsonNode value) {
+            UInt128 hash = DistinctHash.getHash(value);
+            if (hash.equals(this.lastHash)) {
+                return false;
+            }
+
+            this.lastHash = hash;
+            return true;
+        }
+
+        @Override
+        UInt128 getLastHash() {
+            return this.lastHash;
+        }
+    }
+
+    private static final class UnorderedDistinctMap extends DistinctMap {
+        private final Set<UInt128> hashes = new HashSet<>();
+        private UInt128 lastHash;
+
+        @Override
+        boolean add(JsonNode value) {
+            UInt128 hash = DistinctHash.getHash(value);
+            if (!this.hashes.add(hash)) {
+                return false;
+            }
+
+            this.lastHash = hash;
+            return true;
+        }
+
+        @Override
+        UInt128 getLastHash() {
+            return this.lastHash;
+        }
+    }
+}
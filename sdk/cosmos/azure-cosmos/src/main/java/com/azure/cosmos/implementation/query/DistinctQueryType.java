@@ -0,0 +1,24 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+/**
+ * The kind of DISTINCT a query has, as returned in the query plan.
+ */
+public enum DistinctQueryType {
+    /**
+     * The query doesn't have DISTINCT.
+     */
+    None,
+
+    /**
+     * The query has DISTINCT and its results are ordered, so duplicates are adjacent.
+     */
+    Ordered,
+
+    /**
+     * The query has DISTINCT and its results are not ordered.
+     */
+    Unordered
+}
@@ -0,0 +1,110 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.FeedResponse;
+import com.azure.cosmos.Resource;
+import com.azure.cosmos.implementation.Document;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.QueryMetrics;
+import com.azure.cosmos.implementation.query.aggregation.AggregateOperator;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Merges the groups of a GROUP BY query returned by every partition.
+ * <p>
+ * Every partition runs the rewritten query, which returns the values of the GROUP BY expressions and the partial
+ * aggregates of each group of the partition. The pages of the partitions are merged into a {@link GroupingTable} as
+ * they arrive, so memory is bounded by the number of groups rather than the number of results, and the groups are
+ * returned once all the partitions are drained. The results can't be returned before all the partitions are drained,
+ * so GROUP BY queries can't be resumed from a continuation token.
+ */
+public final class GroupByDocumentQueryExecutionContext<T extends Resource>
+    implements IDocumentQueryExecutionComponent<T> {
+
+    private final IDocumentQueryExecutionComponent<T> component;
+    private final GroupingTable groupingTable;
+
+    GroupByDocumentQueryExecutionContext(IDocumentQueryExecutionComponent<T> component, GroupingTable groupingTable) {
+        if (component == null) {
+            throw new IllegalArgumentException("documentQueryExecutionComponent cannot be null");
+        }
+        this.component = component;
+        this.groupingTable = groupingTable;
+    }
+
+    public static <T extends Resource> Flux<IDocumentQueryExecutionComponent<T>> createAsync(
+        Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createSourceComponentFunction,
+        QueryInfo queryInfo,
+        String continuationToken) {
+        if (continuationToken != null) {
+            String message = "GROUP BY queries do not support continuation tokens";
+            CosmosClientException dce =
+                BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.BADREQUEST, message);
+            return Flux.error(dce);
+        }
+
+        Collection<AggregateOperator> aggregates = queryInfo.getAggregates();
+        GroupingTable groupingTable = new GroupingTable(
+            aggregates != null ? new ArrayList<>(aggregates) : new ArrayList<>(),
+            queryInfo.getGroupByAliasToAggregateType(),
+            queryInfo.getGroupByAliases(),
+            queryInfo.hasSelectValue());
+
+        return createSourceComponentFunction
+                   .apply(null)
+                   .map(component -> new GroupByDocumentQueryExecutionContext<>(component, groupingTable));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Flux<FeedResponse<T>> drainAsync(int maxPageSize) {
+        final int pageSize = maxPageSize > 0 ? maxPageSize : Integer.MAX_VALUE;
+        final ConcurrentMap<String, QueryMetrics> queryMetricsMap = new ConcurrentHashMap<>();
+        final double[] requestCharge = new double[1];
+
+        return this.component.drainAsync(maxPageSize)
+                   .doOnNext(page -> {
+                       requestCharge[0] += page.getRequestCharge();
+                       for (T result : page.getResults()) {
+                           this.groupingTable.addPayload(
+                               new RewrittenGroupByProjection(BridgeInternal.getPropertyBag(result)));
+                       }
+                       Map<String, QueryMetrics> pageQueryMetrics = BridgeInternal.queryMetricsFromFeedResponse(page);
+                       for (Map.Entry<String, QueryMetrics> entry : pageQueryMetrics.entrySet()) {
+                           queryMetricsMap.merge(entry.getKey(), entry.getValue(), QueryMetrics::add);
+                       }
+                   })
+                   .thenMany(Flux.defer(() -> {
+                       List<FeedResponse<T>> pages = new ArrayList<>();
+                       do {
+                           List<Document> results = this.groupingTable.drain(pageSize);
+                           Map<String, String> headers = new HashMap<>();
+                           // The request charge and query metrics of the partitions are reported on the first page.
+                           headers.put(HttpConstants.HttpHeaders.REQUEST_CHARGE,
+                               Double.toString(pages.isEmpty() ? requestCharge[0] : 0));
+                           FeedResponse<Document> page = pages.isEmpty()
+                               ? BridgeInternal.createFeedResponseWithQueryMetrics(results, headers, queryMetricsMap)
+                               : BridgeInternal.createFeedResponse(results, headers);
+                           pages.add((FeedResponse<T>) page);
+                       } while (this.groupingTable.size() > 0);
+                       return Flux.fromIterable(pages);
+                   }));
+    }
+
+    IDocumentQueryExecutionComponent<T> getComponent() {
+        return this.component;
+    }
+}
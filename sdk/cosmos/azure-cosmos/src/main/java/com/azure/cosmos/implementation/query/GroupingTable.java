@@ -0,0 +1,72 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.implementation.Document;
+import com.azure.cosmos.implementation.query.aggregation.AggregateOperator;
+import com.azure.cosmos.implementation.query.aggregation.SingleGroupAggregator;
+import com.azure.cosmos.implementation.routing.UInt128;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the groups returned by every partition of a GROUP BY query.
+ * <p>
+ * Groups are keyed by the digest of the values of their GROUP BY expressions, so the table retains one aggregator per
+ * group and neither the results of the partitions nor the values of the GROUP BY expressions.
+ */
+final class GroupingTable {
+    private final Map<UInt128, SingleGroupAggregator> table = new LinkedHashMap<>();
+    private final List<AggregateOperator> aggregates;
+    private final Map<String, AggregateOperator> aliasToAggregateType;
+    private final List<String> orderedAliases;
+    private final boolean hasSelectValue;
+
+    GroupingTable(List<AggregateOperator> aggregates, Map<String, AggregateOperator> aliasToAggregateType,
+                  List<String> orderedAliases, boolean hasSelectValue) {
+        if (aliasToAggregateType == null) {
+            throw new IllegalArgumentException("aliasToAggregateType cannot be null");
+        }
+
+        this.aggregates = aggregates;
+        this.aliasToAggregateType = aliasToAggregateType;
+        this.orderedAliases = orderedAliases;
+        this.hasSelectValue = hasSelectValue;
+    }
+
+    void addPayload(RewrittenGroupByProjection rewrittenGroupByProjection) {
+        UInt128 groupByItemsHash = DistinctHash.getHash(rewrittenGroupByProjection.getGroupByItems());
+        SingleGroupAggregator singleGroupAggregator = this.table.computeIfAbsent(groupByItemsHash,
+            hash -> SingleGroupAggregator.create(this.aggregates, this.aliasToAggregateType, this.orderedAliases,
+                this.hasSelectValue));
+        singleGroupAggregator.addValues(rewrittenGroupByProjection.getPayload());
+    }
+
+    int size() {
+        return this.table.size();
+    }
+
+    /**
+     * Removes up to maxItemCount groups from the table and returns their results.
+     *
+     * @param maxItemCount the maximum number of groups to remove.
+     * @return the results of the removed groups, groups with undefined results are skipped.
+     */
+    List<Document> drain(int maxItemCount) {
+        List<Document> results = new ArrayList<>(Math.min(maxItemCount, this.table.size()));
+        Iterator<SingleGroupAggregator> iterator = this.table.values().iterator();
+        for (int i = 0; i < maxItemCount && iterator.hasNext(); i++) {
+            Document result = iterator.next().getResult();
+            iterator.remove();
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+}
@@ -56,7 +56,7 @@ class OrderByDocumentProducer<T extends Resource> extends DocumentProducer<T> {
             RequestChargeTracker tracker = new RequestChargeTracker();
             Map<String, QueryMetrics> queryMetricsMap = new HashMap<>();
             return OrderByUtils.orderedMerge(resourceType, consumeComparer, tracker, documentProducers, queryMetricsMap,
-                    targetRangeToOrderByContinuationTokenMap)
+                    targetRangeToOrderByContinuationTokenMap, feedOptions.getMaxBufferedItemCount())
                     .map(orderByQueryResult -> resultPageFrom(tracker, orderByQueryResult));
         });
     }
@@ -204,7 +204,8 @@ public class OrderByDocumentQueryExecutionContext<T extends Resource>
                 tracker,
                 documentProducers,
                 queryMetricMap,
-                targetRangeToOrderByContinuationTokenMap);
+                targetRangeToOrderByContinuationTokenMap,
+                feedOptions.getMaxBufferedItemCount());
     }
 
     private void initializeRangeWithContinuationTokenAndFilter(
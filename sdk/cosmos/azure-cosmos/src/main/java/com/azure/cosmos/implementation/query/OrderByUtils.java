@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.apache.commons.lang3.tuple.Pair;
 import reactor.core.publisher.Flux;
+import reactor.util.concurrent.Queues;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,14 +29,26 @@ class OrderByUtils {
                                                                               RequestChargeTracker tracker,
                                                                               List<DocumentProducer<T>> documentProducers,
                                                                               Map<String, QueryMetrics> queryMetricsMap,
-                                                                              Map<String, OrderByContinuationToken> targetRangeToOrderByContinuationTokenMap) {
+                                                                              Map<String, OrderByContinuationToken> targetRangeToOrderByContinuationTokenMap,
+                                                                              int maxBufferedItemCount) {
         Flux<OrderByRowResult<T>>[] fluxes = documentProducers
                 .subList(0, documentProducers.size())
                 .stream()
                 .map(producer ->
                         toOrderByQueryResultObservable(klass, producer, tracker, queryMetricsMap, targetRangeToOrderByContinuationTokenMap, consumeComparer.getSortOrders()))
                 .toArray(Flux[]::new);
-        return Flux.mergeOrdered(consumeComparer, fluxes);
+        return new OrderedMergeFlux<>(fluxes, consumeComparer, prefetch(maxBufferedItemCount, fluxes.length));
+    }
+
+    /**
+     * Splits the maximum number of buffered items evenly between the partitions, so the rows buffered by the merge stay
+     * under it however many partitions the query fans out to.
+     */
+    static int prefetch(int maxBufferedItemCount, int partitionCount) {
+        if (maxBufferedItemCount <= 0) {
+            return Queues.SMALL_BUFFER_SIZE;
+        }
+        return Math.max(1, Math.min(maxBufferedItemCount / Math.max(partitionCount, 1), Queues.SMALL_BUFFER_SIZE));
     }
 
     private static <T extends Resource> Flux<OrderByRowResult<T>> toOrderByQueryResultObservable(Class<T> klass,
@@ -136,7 +149,7 @@ class OrderByUtils {
 
                 return x.map(r -> new OrderByRowResult<T>(
                         klass,
-                        r.toJson(),
+                        BridgeInternal.getPropertyBag(r),
                         documentProducerFeedResponse.sourcePartitionKeyRange,
                         documentProducerFeedResponse.pageResult.getContinuationToken()));
             }, 1);
@@ -0,0 +1,329 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.query;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Merges publishers that each emit their items in order into a single ordered flux.
+ * <p>
+ * The heads of the sources are kept in a tournament tree, so emitting an item takes a number of comparisons
+ * logarithmic in the number of sources instead of comparing the heads of all of them. At most {@code prefetch} items
+ * are buffered per source, and a source is asked for more items only once three quarters of its buffered items have
+ * been emitted. When the heads of several sources are equal the item of the source with the lowest index is emitted
+ * first.
+ *
+ * @param <T> the type of the merged items.
+ */
+final class OrderedMergeFlux<T> extends Flux<T> {
+    private final Publisher<? extends T>[] sources;
+    private final Comparator<? super T> comparator;
+    private final int prefetch;
+
+    OrderedMergeFlux(Publisher<? extends T>[] sources, Comparator<? super T> comparator, int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be greater than 0");
+        }
+        this.sources = sources;
+        this.comparator = comparator;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        if (this.sources.length == 0) {
+            Operators.complete(actual);
+            return;
+        }
+
+        MergeCoordinator<T> coordinator = new MergeCoordinator<>(actual, this.comparator, this.sources.length,
+            this.prefetch);
+        actual.onSubscribe(coordinator);
+        coordinator.subscribe(this.sources);
+    }
+
+    static final class MergeCoordinator<T> implements Subscription {
+        private static final AtomicIntegerFieldUpdater<MergeCoordinator> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(MergeCoordinator.class, "wip");
+        private static final AtomicLongFieldUpdater<MergeCoordinator> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(MergeCoordinator.class, "requested");
+        private static final AtomicReferenceFieldUpdater<MergeCoordinator, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(MergeCoordinator.class, Throwable.class, "error");
+
+        private final CoreSubscriber<? super T> actual;
+        private final Comparator<? super T> comparator;
+        private final MergeInner<T>[] inners;
+
+        // tree[1] is the source with the smallest head, tree[i] is the winner of tree[2 * i] and tree[2 * i + 1], and
+        // the leaf of source i is tree[leafOffset + i]. Leaves past the last source stand for exhausted sources.
+        private final int[] tree;
+        private final int leafOffset;
+
+        private volatile int wip;
+        private volatile long requested;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        private long emitted;
+        private boolean initialized;
+        private int replaySource = -1;
+
+        @SuppressWarnings("unchecked")
+        MergeCoordinator(CoreSubscriber<? super T> actual, Comparator<? super T> comparator, int sourceCount,
+                         int prefetch) {
+            this.actual = actual;
+            this.comparator = comparator;
+            this.inners = new MergeInner[sourceCount];
+            for (int i = 0; i < sourceCount; i++) {
+                this.inners[i] = new MergeInner<>(this, prefetch);
+            }
+
+            int leafCount = sourceCount == 1 ? 1 : Integer.highestOneBit(sourceCount - 1) << 1;
+            this.leafOffset = leafCount;
+            this.tree = new int[2 * leafCount];
+            for (int i = 0; i < leafCount; i++) {
+                this.tree[leafCount + i] = i;
+            }
+        }
+
+        void subscribe(Publisher<? extends T>[] sources) {
+            for (int i = 0; i < sources.length && !this.cancelled; i++) {
+                sources[i].subscribe(this.inners[i]);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                Operators.addCap(REQUESTED, this, n);
+                this.drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!this.cancelled) {
+                this.cancelled = true;
+                this.cancelInners();
+                if (WIP.getAndIncrement(this) == 0) {
+                    this.clearInners();
+                }
+            }
+        }
+
+        void onInnerError(Throwable throwable) {
+            if (ERROR.compareAndSet(this, null, throwable)) {
+                this.drain();
+            } else {
+                Operators.onErrorDropped(throwable, this.actual.currentContext());
+            }
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+
+            int missed = 1;
+            for (;;) {
+                long requested = this.requested;
+                long emitted = this.emitted;
+
+                for (;;) {
+                    if (this.cancelled) {
+                        this.clearInners();
+                        return;
+                    }
+
+                    Throwable throwable = this.error;
+                    if (throwable != null) {
+                        this.cancelInners();
+                        this.clearInners();
+                        this.actual.onError(throwable);
+                        return;
+                    }
+
+                    T head;
+                    try {
+                        if (!this.initialized) {
+                            if (!this.allInnersReady()) {
+                                break;
+                            }
+                            for (int i = this.leafOffset - 1; i >= 1; i--) {
+                                this.tree[i] = this.winner(this.tree[2 * i], this.tree[2 * i + 1]);
+                            }
+                            this.initialized = true;
+                        }
+
+                        if (this.replaySource >= 0) {
+                            if (!this.inners[this.replaySource].isReady()) {
+                                break;
+                            }
+                            for (int i = (this.leafOffset + this.replaySource) >> 1; i >= 1; i >>= 1) {
+                                this.tree[i] = this.winner(this.tree[2 * i], this.tree[2 * i + 1]);
+                            }
+                            this.replaySource = -1;
+                        }
+
+                        head = this.head(this.tree[1]);
+                    } catch (Throwable t) {
+                        Exceptions.throwIfFatal(t);
+                        this.cancelInners();
+                        this.clearInners();
+                        this.actual.onError(Operators.onOperatorError(t, this.actual.currentContext()));
+                        return;
+                    }
+
+                    if (head == null) {
+                        // The winner is only exhausted when every source is.
+                        this.actual.onComplete();
+                        return;
+                    }
+
+                    if (emitted == requested) {
+                        break;
+                    }
+
+                    MergeInner<T> winner = this.inners[this.tree[1]];
+                    winner.queue.poll();
+                    this.actual.onNext(head);
+                    emitted++;
+                    winner.consumed();
+                    this.replaySource = this.tree[1];
+                }
+
+                this.emitted = emitted;
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean allInnersReady() {
+            for (MergeInner<T> inner : this.inners) {
+                if (!inner.isReady()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private T head(int source) {
+            return source < this.inners.length ? this.inners[source].queue.peek() : null;
+        }
+
+        private int winner(int left, int right) {
+            T leftHead = this.head(left);
+            if (leftHead == null) {
+                return right;
+            }
+            T rightHead = this.head(right);
+            if (rightHead == null) {
+                return left;
+            }
+            return this.comparator.compare(leftHead, rightHead) <= 0 ? left : right;
+        }
+
+        private void cancelInners() {
+            for (MergeInner<T> inner : this.inners) {
+                inner.cancel();
+            }
+        }
+
+        private void clearInners() {
+            for (MergeInner<T> inner : this.inners) {
+                inner.queue.clear();
+            }
+        }
+    }
+
+    static final class MergeInner<T> implements CoreSubscriber<T> {
+        private static final AtomicReferenceFieldUpdater<MergeInner, Subscription> SUBSCRIPTION =
+            AtomicReferenceFieldUpdater.newUpdater(MergeInner.class, Subscription.class, "subscription");
+
+        private final MergeCoordinator<T> parent;
+        private final Queue<T> queue;
+        private final int prefetch;
+        private final int limit;
+        private int consumed;
+
+        private volatile Subscription subscription;
+        private volatile boolean done;
+
+        MergeInner(MergeCoordinator<T> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = Queues.<T>get(prefetch).get();
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (Operators.setOnce(SUBSCRIPTION, this, subscription)) {
+                subscription.request(this.prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!this.queue.offer(item)) {
+                this.onError(Operators.onOperatorError(this.subscription,
+                    Exceptions.failWithOverflow(Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL), item,
+                    this.currentContext()));
+                return;
+            }
+            this.parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.done = true;
+            this.parent.onInnerError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.done = true;
+            this.parent.drain();
+        }
+
+        @Override
+        public Context currentContext() {
+            return this.parent.actual.currentContext();
+        }
+
+        // A source is ready when its head is known, or when it is known to have no more items.
+        boolean isReady() {
+            boolean isDone = this.done;
+            return !this.queue.isEmpty() || isDone;
+        }
+
+        void consumed() {
+            int consumed = this.consumed + 1;
+            if (consumed == this.limit) {
+                this.consumed = 0;
+                this.subscription.request(consumed);
+            } else {
+                this.consumed = consumed;
+            }
+        }
+
+        void cancel() {
+            Operators.terminate(SUBSCRIPTION, this);
+        }
+    }
+}
@@ -74,7 +74,7 @@ public class PipelinedDocumentQueryExecutionContext<T extends Resource> implemen
         }
 
         Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createAggregateComponentFunction;
-        if (queryInfo.hasAggregates()) {
+        if (queryInfo.hasAggregates() && !queryInfo.hasGroupBy()) {
             createAggregateComponentFunction = (continuationToken) -> {
                 return AggregateDocumentQueryExecutionContext.createAsync(createBaseComponentFunction,
                         queryInfo.getAggregates(), continuationToken);
@@ -83,15 +83,36 @@ public class PipelinedDocumentQueryExecutionContext<T extends Resource> implemen
             createAggregateComponentFunction = createBaseComponentFunction;
         }
 
+        Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createGroupByComponentFunction;
+        if (queryInfo.hasGroupBy()) {
+            createGroupByComponentFunction = (continuationToken) -> {
+                return GroupByDocumentQueryExecutionContext.createAsync(createAggregateComponentFunction,
+                                                                        queryInfo, continuationToken);
+            };
+        } else {
+            createGroupByComponentFunction = createAggregateComponentFunction;
+        }
+
+        Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createDistinctComponentFunction;
+        if (queryInfo.hasDistinct()) {
+            createDistinctComponentFunction = (continuationToken) -> {
+                return DistinctDocumentQueryExecutionContext.createAsync(createGroupByComponentFunction,
+                                                                         queryInfo.getDistinctQueryType(),
+                                                                         continuationToken);
+            };
+        } else {
+            createDistinctComponentFunction = createGroupByComponentFunction;
+        }
+
         Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createSkipComponentFunction;
         if (queryInfo.hasOffset()) {
             createSkipComponentFunction = (continuationToken) -> {
-                return SkipDocumentQueryExecutionContext.createAsync(createAggregateComponentFunction,
+                return SkipDocumentQueryExecutionContext.createAsync(createDistinctComponentFunction,
                                                                      queryInfo.getOffset(),
                                                                      continuationToken);
             };
         } else {
-            createSkipComponentFunction = createAggregateComponentFunction;
+            createSkipComponentFunction = createDistinctComponentFunction;
         }
 
         Function<String, Flux<IDocumentQueryExecutionComponent<T>>> createTopComponentFunction;
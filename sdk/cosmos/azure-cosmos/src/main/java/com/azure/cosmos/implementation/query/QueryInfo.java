@@ -4,18 +4,27 @@
 package com.azure.cosmos.implementation.query;
 
 import com.azure.cosmos.implementation.query.aggregation.AggregateOperator;
+import com.azure.cosmos.BridgeInternal;
 import com.azure.cosmos.JsonSerializable;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Used internally to encapsulates a query's information in the Azure Cosmos DB database service.
  */
 public final class QueryInfo extends JsonSerializable {
     private static final String HAS_SELECT_VALUE = "hasSelectValue";
+    private static final String DISTINCT_TYPE = "distinctType";
+    private static final String GROUP_BY_EXPRESSIONS = "groupByExpressions";
+    private static final String GROUP_BY_ALIASES = "groupByAliases";
+    private static final String GROUP_BY_ALIAS_TO_AGGREGATE_TYPE = "groupByAliasToAggregateType";
     private Integer top;
     private List<SortOrder> orderBy;
     private Collection<AggregateOperator> aggregates;
@@ -23,6 +32,10 @@ public final class QueryInfo extends JsonSerializable {
     private String rewrittenQuery;
     private Integer offset;
     private Integer limit;
+    private DistinctQueryType distinctQueryType;
+    private List<String> groupByExpressions;
+    private List<String> groupByAliases;
+    private Map<String, AggregateOperator> groupByAliasToAggregateType;
 
     public QueryInfo() { }
 
@@ -102,5 +115,61 @@ public final class QueryInfo extends JsonSerializable {
     public Integer getOffset() {
         return this.offset != null ? this.offset : (this.offset = super.getInt("offset"));
     }
-}
 
+    public DistinctQueryType getDistinctQueryType() {
+        if (this.distinctQueryType == null) {
+            String distinctType = super.getString(DISTINCT_TYPE);
+            this.distinctQueryType = StringUtils.isEmpty(distinctType)
+                ? DistinctQueryType.None
+                : DistinctQueryType.valueOf(distinctType);
+        }
+
+        return this.distinctQueryType;
+    }
+
+    public boolean hasDistinct() {
+        return this.getDistinctQueryType() != DistinctQueryType.None;
+    }
+
+    public List<String> getGroupByExpressions() {
+        return this.groupByExpressions != null
+                ? this.groupByExpressions
+                : (this.groupByExpressions = super.getList(GROUP_BY_EXPRESSIONS, String.class));
+    }
+
+    public boolean hasGroupBy() {
+        List<String> groupByExpressions = this.getGroupByExpressions();
+        return groupByExpressions != null && groupByExpressions.size() > 0;
+    }
+
+    public List<String> getGroupByAliases() {
+        return this.groupByAliases != null
+                ? this.groupByAliases
+                : (this.groupByAliases = super.getList(GROUP_BY_ALIASES, String.class));
+    }
+
+    /**
+     * Gets the aggregate of every alias in the SELECT list of a GROUP BY query, aliases that are not aggregates are
+     * mapped to null.
+     *
+     * @return the aggregate of every alias of a GROUP BY query.
+     */
+    public Map<String, AggregateOperator> getGroupByAliasToAggregateType() {
+        if (this.groupByAliasToAggregateType == null) {
+            Map<String, AggregateOperator> groupByAliasToAggregateType = new HashMap<>();
+            ObjectNode aliasToAggregateType = BridgeInternal.getObject(this, GROUP_BY_ALIAS_TO_AGGREGATE_TYPE);
+            if (aliasToAggregateType != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = aliasToAggregateType.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    groupByAliasToAggregateType.put(field.getKey(), field.getValue().isNull()
+                        ? null
+                        : AggregateOperator.valueOf(field.getValue().asText()));
+                }
+            }
+            this.groupByAliasToAggregateType = groupByAliasToAggregateType;
+        }
+
+        return this.groupByAliasToAggregateType;
+    }
+}
@@ -22,6 +22,8 @@ class QueryPlanRetriever {
     private static final String TRUE = "True";
     private static final String SUPPORTED_QUERY_FEATURES = QueryFeature.Aggregate.name() + ", " +
                                                                QueryFeature.CompositeAggregate.name() + ", " +
+                                                               QueryFeature.Distinct.name() + ", " +
+                                                               QueryFeature.GroupBy.name() + ", " +
                                                                QueryFeature.MultipleOrderBy.name() + ", " +
                                                                QueryFeature.OrderBy.name() + ", " +
                                                                QueryFeature.OffsetAndLimit.name() + ", " +
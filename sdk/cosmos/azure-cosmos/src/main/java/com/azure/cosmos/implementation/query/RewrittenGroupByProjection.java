@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A result of the rewritten query of a GROUP BY query, made of the values of the GROUP BY expressions of the group
+ * and the projection of the group.
+ */
+final class RewrittenGroupByProjection {
+    private static final String GROUP_BY_ITEMS_PROPERTY_NAME = "groupByItems";
+    private static final String PAYLOAD_PROPERTY_NAME = "payload";
+
+    private final JsonNode groupByItems;
+    private final JsonNode payload;
+
+    RewrittenGroupByProjection(ObjectNode objectNode) {
+        if (objectNode == null) {
+            throw new IllegalArgumentException("objectNode cannot be null");
+        }
+
+        this.groupByItems = objectNode.get(GROUP_BY_ITEMS_PROPERTY_NAME);
+        if (this.groupByItems == null || !this.groupByItems.isArray()) {
+            throw new IllegalStateException("Underlying object does not have a 'groupByItems' array");
+        }
+
+        // The payload is missing when the projection of the group is undefined.
+        this.payload = objectNode.get(PAYLOAD_PROPERTY_NAME);
+    }
+
+    JsonNode getGroupByItems() {
+        return this.groupByItems;
+    }
+
+    JsonNode getPayload() {
+        return this.payload;
+    }
+}
@@ -65,21 +65,31 @@ public class TopDocumentQueryExecutionContext<T extends Resource> implements IDo
 
     @Override
     public Flux<FeedResponse<T>> drainAsync(int maxPageSize) {
-        ParallelDocumentQueryExecutionContextBase<T> context;
-
-        if (this.component instanceof AggregateDocumentQueryExecutionContext<?>) {
-            context =
-                (ParallelDocumentQueryExecutionContextBase<T>) ((AggregateDocumentQueryExecutionContext<T>) this.component)
-                                                                   .getComponent();
-        } else if (this.component instanceof SkipDocumentQueryExecutionContext<?>) {
-            context =
-                (ParallelDocumentQueryExecutionContextBase<T>) ((SkipDocumentQueryExecutionContext<T>) this.component)
-                                                                   .getComponent();
-        } else {
-            context = (ParallelDocumentQueryExecutionContextBase<T>) this.component;
+        // DISTINCT and GROUP BY need more results from the partitions than they return, so the partitions are
+        // only limited when there is neither of them in the pipeline.
+        IDocumentQueryExecutionComponent<T> source = this.component;
+        boolean limitSource = true;
+        while (!(source instanceof ParallelDocumentQueryExecutionContextBase<?>)) {
+            if (source instanceof AggregateDocumentQueryExecutionContext<?>) {
+                source = ((AggregateDocumentQueryExecutionContext<T>) source).getComponent();
+            } else if (source instanceof SkipDocumentQueryExecutionContext<?>) {
+                source = ((SkipDocumentQueryExecutionContext<T>) source).getComponent();
+            } else if (source instanceof DistinctDocumentQueryExecutionContext<?>) {
+                limitSource = false;
+                source = ((DistinctDocumentQueryExecutionContext<T>) source).getComponent();
+            } else if (source instanceof GroupByDocumentQueryExecutionContext<?>) {
+                limitSource = false;
+                source = ((GroupByDocumentQueryExecutionContext<T>) source).getComponent();
+            } else if (source instanceof TopDocumentQueryExecutionContext<?>) {
+                source = ((TopDocumentQueryExecutionContext<T>) source).component;
+            } else {
+                throw new IllegalStateException("Unexpected query execution component " + source);
+            }
         }
 
-        context.setTop(this.limit);
+        if (limitSource) {
+            ((ParallelDocumentQueryExecutionContextBase<T>) source).setTop(this.limit);
+        }
 
         return this.component.drainAsync(maxPageSize).takeUntil(new Predicate<FeedResponse<T>>() {
 
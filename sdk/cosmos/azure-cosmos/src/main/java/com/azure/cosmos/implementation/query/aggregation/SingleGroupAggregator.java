@@ -0,0 +1,228 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query.aggregation;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.implementation.Constants;
+import com.azure.cosmos.implementation.Document;
+import com.azure.cosmos.implementation.Undefined;
+import com.azure.cosmos.implementation.query.QueryItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the partial results of a single group of a GROUP BY query returned by every partition.
+ * <p>
+ * Every partition returns the projection of a group as a payload. Aggregates in the payload are partial aggregates
+ * wrapped as {@code {"item": <partial aggregate>}} and are merged with an {@link Aggregator}, the other values of the
+ * projection are the same in every partition so the first value is kept.
+ */
+public abstract class SingleGroupAggregator {
+    /**
+     * Creates the aggregator of a group.
+     *
+     * @param aggregates the aggregates of the query.
+     * @param aliasToAggregateType the aggregate of every alias in the SELECT list, null for aliases that are not
+     * aggregates.
+     * @param orderedAliases the aliases of the SELECT list in order.
+     * @param hasSelectValue whether the query uses SELECT VALUE.
+     * @return the aggregator of a group.
+     */
+    public static SingleGroupAggregator create(List<AggregateOperator> aggregates,
+                                               Map<String, AggregateOperator> aliasToAggregateType,
+                                               List<String> orderedAliases,
+                                               boolean hasSelectValue) {
+        if (hasSelectValue) {
+            if (aggregates != null && !aggregates.isEmpty()) {
+                return new SelectValueAggregateValues(aggregates.get(0));
+            }
+            return new SelectValueNonAggregate();
+        }
+
+        return new SelectListAggregateValues(aliasToAggregateType, orderedAliases);
+    }
+
+    /**
+     * Adds the payload of the group returned by a partition.
+     *
+     * @param payload the payload of the group.
+     */
+    public abstract void addValues(JsonNode payload);
+
+    /**
+     * Gets the result of the group.
+     *
+     * @return the result of the group, or null if the result is undefined.
+     */
+    public abstract Document getResult();
+
+    static Aggregator createAggregator(AggregateOperator aggregateOperator) {
+        switch (aggregateOperator) {
+            case Average:
+                return new AverageAggregator();
+            case Count:
+                return new CountAggregator();
+            case Max:
+                return new MaxAggregator();
+            case Min:
+                return new MinAggregator();
+            case Sum:
+                return new SumAggregator();
+            default:
+                throw new IllegalStateException("Unexpected value: " + aggregateOperator.toString());
+        }
+    }
+
+    private static Document toDocument(Object value) {
+        if (value instanceof ObjectNode) {
+            return new Document((ObjectNode) value);
+        }
+
+        Document document = new Document();
+        BridgeInternal.setProperty(document, Constants.Properties.VALUE, value);
+        return document;
+    }
+
+    /*
+     * Merges the partial aggregates of an aggregate, which are wrapped as {"item": <partial aggregate>}.
+     */
+    private static final class AggregateValue {
+        private static final String COUNT = "count";
+
+        private final AggregateOperator aggregateOperator;
+        private final Aggregator aggregator;
+
+        AggregateValue(AggregateOperator aggregateOperator) {
+            this.aggregateOperator = aggregateOperator;
+            this.aggregator = createAggregator(aggregateOperator);
+        }
+
+        void addValue(JsonNode value) {
+            if (value == null || !value.isObject()) {
+                throw new IllegalStateException("Expected partial aggregate, found " + value);
+            }
+
+            JsonNode item = value.get("item");
+            if ((this.aggregateOperator == AggregateOperator.Min || this.aggregateOperator == AggregateOperator.Max)
+                && item != null && item.isObject() && item.has(COUNT)) {
+                // MIN and MAX are returned as {"min": <value>, "count": <count>} so empty groups are undefined.
+                if (item.get(COUNT).asLong() == 0) {
+                    return;
+                }
+                ObjectNode unwrapped = JsonNodeFactory.instance.objectNode();
+                JsonNode minOrMax = item.get(this.aggregateOperator == AggregateOperator.Min ? "min" : "max");
+                if (minOrMax != null) {
+                    unwrapped.set("item", minOrMax);
+                }
+                this.aggregator.aggregate(new QueryItem(unwrapped).getItem());
+                return;
+            }
+
+            this.aggregator.aggregate(new QueryItem((ObjectNode) value).getItem());
+        }
+
+        Object getResult() {
+            return this.aggregator.getResult();
+        }
+    }
+
+    private static final class SelectValueAggregateValues extends SingleGroupAggregator {
+        private final AggregateValue aggregateValue;
+
+        SelectValueAggregateValues(AggregateOperator aggregateOperator) {
+            this.aggregateValue = new AggregateValue(aggregateOperator);
+        }
+
+        @Override
+        public void addValues(JsonNode payload) {
+            // The payload of SELECT VALUE <aggregate> is an array with the partial aggregate.
+            if (payload == null || !payload.isArray() || payload.size() != 1) {
+                throw new IllegalStateException("Expected an array of a single partial aggregate, found " + payload);
+            }
+            this.aggregateValue.addValue(payload.get(0));
+        }
+
+        @Override
+        public Document getResult() {
+            Object result = this.aggregateValue.getResult();
+            return Undefined.Value().equals(result) ? null : toDocument(result);
+        }
+    }
+
+    private static final class SelectValueNonAggregate extends SingleGroupAggregator {
+        private JsonNode value;
+
+        @Override
+        public void addValues(JsonNode payload) {
+            if (this.value == null) {
+                this.value = payload;
+            }
+        }
+
+        @Override
+        public Document getResult() {
+            return this.value == null || this.value.isMissingNode() ? null : toDocument(this.value);
+        }
+    }
+
+    private static final class SelectListAggregateValues extends SingleGroupAggregator {
+        private final Map<String, AggregateValue> aggregateValues = new LinkedHashMap<>();
+        private final Map<String, JsonNode> scalarValues = new LinkedHashMap<>();
+        private final List<String> orderedAliases;
+
+        SelectListAggregateValues(Map<String, AggregateOperator> aliasToAggregateType, List<String> orderedAliases) {
+            this.orderedAliases = orderedAliases != null
+                ? orderedAliases
+                : new ArrayList<>(aliasToAggregateType.keySet());
+            for (String alias : this.orderedAliases) {
+                AggregateOperator aggregateOperator = aliasToAggregateType.get(alias);
+                if (aggregateOperator != null) {
+                    this.aggregateValues.put(alias, new AggregateValue(aggregateOperator));
+                }
+            }
+        }
+
+        @Override
+        public void addValues(JsonNode payload) {
+            if (payload == null || !payload.isObject()) {
+                throw new IllegalStateException("Expected the projection of a group, found " + payload);
+            }
+
+            for (String alias : this.orderedAliases) {
+                JsonNode value = payload.get(alias);
+                AggregateValue aggregateValue = this.aggregateValues.get(alias);
+                if (aggregateValue != null) {
+                    if (value != null) {
+                        aggregateValue.addValue(value);
+                    }
+                } else if (value != null && !this.scalarValues.containsKey(alias)) {
+                    this.scalarValues.put(alias, value);
+                }
+            }
+        }
+
+        @Override
+        public Document getResult() {
+            Document document = new Document();
+            for (String alias : this.orderedAliases) {
+                AggregateValue aggregateValue = this.aggregateValues.get(alias);
+                if (aggregateValue != null) {
+                    Object result = aggregateValue.getResult();
+                    if (!Undefined.Value().equals(result)) {
+                        BridgeInternal.setProperty(document, alias, result);
+                    }
+                } else if (this.scalarValues.containsKey(alias)) {
+                    BridgeInternal.setProperty(document, alias, this.scalarValues.get(alias));
+                }
+            }
+            return document;
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.azure.cosmos.implementation.query.orderbyquery;
 import com.azure.cosmos.implementation.Document;
 import com.azure.cosmos.implementation.PartitionKeyRange;
 import com.azure.cosmos.implementation.query.QueryItem;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.util.List;
 
@@ -30,6 +31,17 @@ public final class OrderByRowResult<T> extends Document {
         this.backendContinuationToken = backendContinuationToken;
     }
 
+    public OrderByRowResult(
+            Class<T> klass,
+            ObjectNode objectNode,
+            PartitionKeyRange targetRange,
+            String backendContinuationToken) {
+        super(objectNode);
+        this.klass = klass;
+        this.targetRange = targetRange;
+        this.backendContinuationToken = backendContinuationToken;
+    }
+
     public List<QueryItem> getOrderByItems() {
         return this.orderByItems != null ? this.orderByItems
                 : (this.orderByItems = super.getList("orderByItems", QueryItem.class));
@@ -48,6 +48,12 @@ public class NumberPartitionKeyComponent implements IPartitionKeyComponent {
         return Double.compare(this.value, ((NumberPartitionKeyComponent) other).value);
     }
 
+    @Override
+    public int hashCode() {
+        // hashCode for hashmap dictionary, etc
+        return Double.hashCode(value);
+    }
+
     @Override
     public int GetTypeOrdinal() {
         return PartitionKeyComponentType.NUMBER.type;
@@ -170,6 +170,24 @@ public class PartitionKeyInternal implements Comparable<PartitionKeyInternal> {
         return this.compareTo(pki) == 0;
     }
 
+    @Override
+    public int hashCode() {
+        // consistent with compareTo: components of other types are told apart by their type ordinal alone
+        int hash = 1;
+        if (this.components == null) {
+            return hash;
+        }
+
+        for (IPartitionKeyComponent component : this.components) {
+            hash = 31 * hash + component.GetTypeOrdinal();
+            if (component instanceof StringPartitionKeyComponent || component instanceof NumberPartitionKeyComponent) {
+                hash = 31 * hash + component.hashCode();
+            }
+        }
+
+        return hash;
+    }
+
     public int compareTo(PartitionKeyInternal other) {
         if (other == null) {
             throw new IllegalArgumentException("other");
@@ -3,12 +3,54 @@
 
 package com.azure.cosmos.implementation.routing;
 
-class UInt128 {
+/**
+ * While this class is public, but it is not part of our published public APIs.
+ * This is meant to be internally used only by our sdk.
+ */
+public class UInt128 {
     long low;
     long high;
 
-    UInt128(long x, long y) {
+    public UInt128(long x, long y) {
         this.low = x;
         this.high = y;
     }
+
+    public long getLow() {
+        return this.low;
+    }
+
+    public long getHigh() {
+        return this.high;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UInt128)) {
+            return false;
+        }
+        UInt128 other = (UInt128) o;
+        return this.low == other.low && this.high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.low) * 31 + Long.hashCode(this.high);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
+    public static UInt128 fromString(String value) {
+        if (value == null || value.length() != 32) {
+            throw new IllegalArgumentException("value must be a 32 digit hexadecimal string");
+        }
+        return new UInt128(Long.parseUnsignedLong(value.substring(16), 16),
+            Long.parseUnsignedLong(value.substring(0, 16), 16));
+    }
 }
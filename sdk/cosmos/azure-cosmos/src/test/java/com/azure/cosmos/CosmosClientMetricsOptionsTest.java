@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosClientMetricsOptionsTest {
+
+    @Test(groups = { "unit" })
+    public void defaults() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CosmosClientMetricsOptions options = new CosmosClientMetricsOptions(registry);
+
+        assertThat(options.getMeterRegistry()).isSameAs(registry);
+        assertThat(options.isPercentileHistogramEnabled()).isFalse();
+    }
+
+    @Test(groups = { "unit" })
+    public void setters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CosmosClientMetricsOptions options = new CosmosClientMetricsOptions(new SimpleMeterRegistry());
+
+        assertThat(options.setMeterRegistry(registry).setPercentileHistogramEnabled(true)).isSameAs(options);
+        assertThat(options.getMeterRegistry()).isSameAs(registry);
+        assertThat(options.isPercentileHistogramEnabled()).isTrue();
+    }
+
+    @Test(groups = { "unit" }, expectedExceptions = IllegalArgumentException.class)
+    public void nullMeterRegistry() {
+        new CosmosClientMetricsOptions(null);
+    }
+
+    @Test(groups = { "unit" })
+    public void builder() {
+        CosmosClientMetricsOptions options = new CosmosClientMetricsOptions(new SimpleMeterRegistry());
+        CosmosClientBuilder builder = new CosmosClientBuilder();
+
+        assertThat(builder.getClientMetricsOptions()).isNull();
+        assertThat(builder.setClientMetricsOptions(options)).isSameAs(builder);
+        assertThat(builder.getClientMetricsOptions()).isSameAs(options);
+    }
+}
@@ -814,8 +814,8 @@ public class ConsistencyTestsBase extends TestSuiteBase {
         Field fieldCollectionNameToCollectionResourceId1 = SessionContainer.class.getDeclaredField("collectionNameToCollectionResourceId");
         fieldCollectionResourceIdToSessionTokens1.setAccessible(true);
         fieldCollectionNameToCollectionResourceId1.setAccessible(true);
-        ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>> collectionResourceIdToSessionTokens1 =
-                (ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>>) fieldCollectionResourceIdToSessionTokens1.get(sessionContainer1);
+        ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens> collectionResourceIdToSessionTokens1 =
+                (ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens>) fieldCollectionResourceIdToSessionTokens1.get(sessionContainer1);
         ConcurrentHashMap<String, Long> collectionNameToCollectionResourceId1 = (ConcurrentHashMap<String, Long>) fieldCollectionNameToCollectionResourceId1.get(sessionContainer1);
 
 
@@ -823,8 +823,8 @@ public class ConsistencyTestsBase extends TestSuiteBase {
         Field fieldCollectionNameToCollectionResourceId2 = SessionContainer.class.getDeclaredField("collectionNameToCollectionResourceId");
         fieldCollectionResourceIdToSessionTokens2.setAccessible(true);
         fieldCollectionNameToCollectionResourceId2.setAccessible(true);
-        ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>> collectionResourceIdToSessionTokens2 =
-                (ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>>) fieldCollectionResourceIdToSessionTokens2.get(sessionContainer2);
+        ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens> collectionResourceIdToSessionTokens2 =
+                (ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens>) fieldCollectionResourceIdToSessionTokens2.get(sessionContainer2);
         ConcurrentHashMap<String, Long> collectionNameToCollectionResourceId2 = (ConcurrentHashMap<String, Long>) fieldCollectionNameToCollectionResourceId2.get(sessionContainer2);
 
         if (collectionResourceIdToSessionTokens1.size() != collectionResourceIdToSessionTokens2.size() ||
@@ -834,7 +834,8 @@ public class ConsistencyTestsBase extends TestSuiteBase {
 
         // get keys, and compare entries
         for (Long resourceId : collectionResourceIdToSessionTokens1.keySet()) {
-            if (!collectionResourceIdToSessionTokens1.get(resourceId).equals(collectionResourceIdToSessionTokens2.get(resourceId))) {
+            SessionContainer.CollectionSessionTokens sessionTokens2 = collectionResourceIdToSessionTokens2.get(resourceId);
+            if (sessionTokens2 == null || !collectionResourceIdToSessionTokens1.get(resourceId).toMap().equals(sessionTokens2.toMap())) {
                 return false;
             }
         }
@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation;
+
+import com.azure.cosmos.PartitionKey;
+import com.azure.cosmos.PartitionKeyDefinition;
+import com.azure.cosmos.PartitionKind;
+import com.azure.cosmos.implementation.routing.CollectionRoutingMap;
+import com.azure.cosmos.implementation.routing.IServerIdentity;
+import com.azure.cosmos.implementation.routing.InMemoryCollectionRoutingMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RxDocumentClientImplTest {
+
+    @Test(groups = { "unit" })
+    public void partitionKeysWithTheSameValueHaveTheSameHashCode() {
+        assertThat(new PartitionKey("a")).isEqualTo(new PartitionKey("a"));
+        assertThat(new PartitionKey("a").hashCode()).isEqualTo(new PartitionKey("a").hashCode());
+        assertThat(new PartitionKey(1).hashCode()).isEqualTo(new PartitionKey(1.0).hashCode());
+        assertThat(new PartitionKey(true).hashCode()).isEqualTo(new PartitionKey(true).hashCode());
+        assertThat(new PartitionKey(null).hashCode()).isEqualTo(new PartitionKey(null).hashCode());
+    }
+
+    @Test(groups = { "unit" })
+    public void readManySendsEveryItemKeyOnce() {
+        List<ImmutablePair<PartitionKeyRange, IServerIdentity>> ranges = Arrays.asList(
+            new ImmutablePair<>(new PartitionKeyRange("0", "", "05C1D"), null),
+            new ImmutablePair<>(new PartitionKeyRange("1", "05C1D", "FF"), null));
+        CollectionRoutingMap routingMap = InMemoryCollectionRoutingMap.tryCreateCompleteRoutingMap(ranges,
+            StringUtils.EMPTY);
+        PartitionKeyDefinition partitionKeyDefinition = new PartitionKeyDefinition();
+        partitionKeyDefinition.setKind(PartitionKind.HASH);
+        partitionKeyDefinition.setPaths(Collections.singletonList("/pk"));
+
+        List<Pair<String, Object>> distinctItemKeys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            distinctItemKeys.add(Pair.of("id" + i, "pk" + i));
+        }
+        distinctItemKeys.add(Pair.of("id0", 0));
+
+        // every key is asked for three times, each time with new PartitionKey instances
+        List<Pair<String, PartitionKey>> itemKeys = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            for (Pair<String, Object> itemKey : distinctItemKeys) {
+                itemKeys.add(Pair.of(itemKey.getLeft(), new PartitionKey(itemKey.getRight())));
+            }
+        }
+
+        Map<PartitionKeyRange, List<Pair<String, PartitionKey>>> itemKeysByRange =
+            RxDocumentClientImpl.groupItemKeysByRange(itemKeys, routingMap, partitionKeyDefinition);
+
+        int sentItemKeys = 0;
+        for (List<Pair<String, PartitionKey>> rangeItemKeys : itemKeysByRange.values()) {
+            assertThat(new HashSet<>(rangeItemKeys)).hasSize(rangeItemKeys.size());
+            sentItemKeys += rangeItemKeys.size();
+        }
+        assertThat(itemKeysByRange).hasSize(2);
+        assertThat(sentItemKeys).isEqualTo(distinctItemKeys.size());
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class RxDocumentServiceResponseTest {
+
+    @Test(groups = { "unit" })
+    public void queryResponseStreamsDocuments() {
+        List<Document> documents = response("{\"_rid\": \"rid\", \"_metadata\": {\"Documents\": [1]}, "
+            + "\"Documents\": [{\"id\": \"1\", \"nested\": {\"a\": [1, 2]}}, {\"id\": \"2\"}], \"_count\": 2}")
+            .getQueryResponse(Document.class);
+
+        assertThat(documents).hasSize(2);
+        assertThat(documents.get(0).getId()).isEqualTo("1");
+        assertThat(documents.get(0).toJson()).contains("\"nested\"");
+        assertThat(documents.get(1).getId()).isEqualTo("2");
+    }
+
+    @Test(groups = { "unit" })
+    public void queryResponseWrapsValues() {
+        List<Document> documents = response("{\"Documents\": [3, null, [4, 5], \"x\"]}")
+            .getQueryResponse(Document.class);
+
+        assertThat(documents).hasSize(4);
+        assertThat(documents.get(0).getInt(Constants.Properties.VALUE)).isEqualTo(3);
+        assertThat(documents.get(1).has(Constants.Properties.VALUE)).isTrue();
+        assertThat(documents.get(2).toJson()).isEqualTo("{\"_value\":[4,5]}");
+        assertThat(documents.get(3).getString(Constants.Properties.VALUE)).isEqualTo("x");
+    }
+
+    @Test(groups = { "unit" })
+    public void queryResponseUnwrapsNestedAggregateArrays() {
+        List<Document> documents = response("{\"Documents\": [[[{\"count\": 7}, 8]]]}")
+            .getQueryResponse(Document.class);
+
+        assertThat(documents).hasSize(2);
+        assertThat(documents.get(0).getInt("count")).isEqualTo(7);
+        assertThat(documents.get(1).getInt(Constants.Properties.VALUE)).isEqualTo(8);
+    }
+
+    @Test(groups = { "unit" })
+    public void queryResponseWithoutResources() {
+        assertThat(response("{\"_count\": 0}").getQueryResponse(Document.class)).isEmpty();
+        assertThat(response("{\"Documents\": []}").getQueryResponse(Document.class)).isEmpty();
+    }
+
+    @Test(groups = { "unit" })
+    public void resourceIsBoundFromResponseBytes() {
+        Document document = response("{\"id\": \"1\", \"_rid\": \"rid\", \"value\": 42}").getResource(Document.class);
+
+        assertThat(document.getId()).isEqualTo("1");
+        assertThat(document.getInt("value")).isEqualTo(42);
+    }
+
+    @Test(groups = { "unit" })
+    public void queryResponseParseErrorShowsTheStartOfTheBody() {
+        StringBuilder id = new StringBuilder();
+        while (id.length() < 10_000) {
+            id.append('x');
+        }
+
+        try {
+            response("{\"Documents\": [{\"id\": \"" + id + "\"} x]}").getQueryResponse(Document.class);
+            fail("Expected the invalid page to fail");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("Unable to parse JSON {\"Documents\": [{\"id\": \"xxx");
+            assertThat(e.getMessage().length()).isLessThan(1100);
+        }
+    }
+
+    private static RxDocumentServiceResponse response(String content) {
+        return new RxDocumentServiceResponse(StoreResponseBuilder.create()
+            .withStatus(200)
+            .withContent(content)
+            .build());
+    }
+}
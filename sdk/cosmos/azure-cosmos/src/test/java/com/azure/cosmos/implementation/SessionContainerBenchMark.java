@@ -0,0 +1,114 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation;
+
+import com.azure.cosmos.implementation.routing.PartitionKeyRangeIdentity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares {@link SessionContainer} with the {@link LockingSessionContainer} it replaced, for a collection with many
+ * partition key ranges, both uncontended and with concurrent readers and writers of the session tokens.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SessionContainerBenchMark {
+    private static final String COLLECTION_NAME = "dbs/db1/colls/coll1";
+    private static final String COLLECTION_RID = "DdAkAPS2rAA=";
+
+    @Param({"locking", "lockFree"})
+    private String implementation;
+
+    @Param({"100"})
+    private int partitionKeyRangeCount;
+
+    private ISessionContainer sessionContainer;
+    private RxDocumentServiceRequest readRequest;
+    private RxDocumentServiceRequest[] targetedReadRequests;
+    private RxDocumentServiceRequest writeRequest;
+    private final AtomicLong lsn = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        sessionContainer = "locking".equals(implementation)
+            ? new LockingSessionContainer("127.0.0.1")
+            : new SessionContainer("127.0.0.1");
+
+        writeRequest = RxDocumentServiceRequest.create(OperationType.Create, ResourceType.Document,
+            COLLECTION_NAME + "/docs", Utils.getUTF8Bytes("{}"), new HashMap<>());
+        for (int i = 0; i < partitionKeyRangeCount; i++) {
+            sessionContainer.setSessionToken(writeRequest, responseHeaders(i, lsn.incrementAndGet()));
+        }
+
+        readRequest = RxDocumentServiceRequest.create(OperationType.Read, ResourceType.Document,
+            COLLECTION_NAME + "/docs/item1", Utils.getUTF8Bytes(""), new HashMap<>());
+        targetedReadRequests = new RxDocumentServiceRequest[partitionKeyRangeCount];
+        for (int i = 0; i < partitionKeyRangeCount; i++) {
+            targetedReadRequests[i] = RxDocumentServiceRequest.create(OperationType.Read, ResourceType.Document,
+                COLLECTION_NAME + "/docs/item1", Utils.getUTF8Bytes(""), new HashMap<>());
+            targetedReadRequests[i].routeTo(new PartitionKeyRangeIdentity(Integer.toString(i)));
+        }
+    }
+
+    @Benchmark
+    public void resolveSessionToken(Blackhole blackhole) {
+        blackhole.consume(sessionContainer.resolveGlobalSessionToken(readRequest));
+    }
+
+    @Benchmark
+    public void resolveTargetedSessionToken(Blackhole blackhole) {
+        int partitionKeyRangeId = ThreadLocalRandom.current().nextInt(partitionKeyRangeCount);
+        blackhole.consume(sessionContainer.resolveGlobalSessionToken(targetedReadRequests[partitionKeyRangeId]));
+    }
+
+    @Benchmark
+    public void setSessionToken() {
+        int partitionKeyRangeId = ThreadLocalRandom.current().nextInt(partitionKeyRangeCount);
+        sessionContainer.setSessionToken(writeRequest, responseHeaders(partitionKeyRangeId, lsn.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public void readWhileWriting(Blackhole blackhole) {
+        resolveSessionToken(blackhole);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void writeWhileReading() {
+        setSessionToken();
+    }
+
+    private static Map<String, String> responseHeaders(int partitionKeyRangeId, long lsn) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HttpConstants.HttpHeaders.SESSION_TOKEN, partitionKeyRangeId + ":1#" + lsn + "#1=" + lsn);
+        headers.put(HttpConstants.HttpHeaders.OWNER_FULL_NAME, COLLECTION_NAME);
+        headers.put(HttpConstants.HttpHeaders.OWNER_ID, COLLECTION_RID);
+        return headers;
+    }
+}
@@ -4,6 +4,7 @@
 package com.azure.cosmos.implementation;
 
 import com.azure.cosmos.GatewayTestUtils;
+import com.azure.cosmos.implementation.routing.PartitionKeyRangeIdentity;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.apache.commons.io.IOUtils;
@@ -91,13 +92,13 @@ public class SessionContainerTest {
         sessionContainer.setSessionToken(request1, resp.getResponseHeaders());
 
         ConcurrentHashMap<String, Long> collectionNameToCollectionResourceId = (ConcurrentHashMap<String, Long>) FieldUtils.readField(sessionContainer, "collectionNameToCollectionResourceId", true);
-        ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>> collectionResourceIdToSessionTokens = (ConcurrentHashMap<Long, ConcurrentHashMap<String, ISessionToken>>) FieldUtils.readField(sessionContainer, "collectionResourceIdToSessionTokens", true);
+        ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens> collectionResourceIdToSessionTokens = (ConcurrentHashMap<Long, SessionContainer.CollectionSessionTokens>) FieldUtils.readField(sessionContainer, "collectionResourceIdToSessionTokens", true);
         assertThat(collectionNameToCollectionResourceId).hasSize(1);
         assertThat(collectionResourceIdToSessionTokens).hasSize(1);
         assertThat(collectionNameToCollectionResourceId.get(collectionName)).isEqualTo(collectionRidAsLong);
         Assertions.assertThat(collectionResourceIdToSessionTokens.get(collectionRidAsLong)).isNotNull();
-        Assertions.assertThat(collectionResourceIdToSessionTokens.get(collectionRidAsLong)).hasSize(1);
-        assertThat(collectionResourceIdToSessionTokens.get(collectionRidAsLong).get(partitionKeyRangeId).convertToString()).isEqualTo(sessionToken);
+        Assertions.assertThat(collectionResourceIdToSessionTokens.get(collectionRidAsLong).size()).isEqualTo(1);
+        assertThat(collectionResourceIdToSessionTokens.get(collectionRidAsLong).getSessionToken(partitionKeyRangeId).convertToString()).isEqualTo(sessionToken);
 
         RxDocumentServiceRequest request2 = RxDocumentServiceRequest.create(OperationType.Read, ResourceType.Document,
                 collectionName + "/docs",  Utils.getUTF8Bytes(""), new HashMap<>());
@@ -206,6 +207,78 @@ public class SessionContainerTest {
         assertThat(tokens.contains("range_1:1#101#1=20#2=5#3=30")).isTrue();
     }
 
+    @Test(groups = "unit")
+    public void resolveGlobalSessionTokenReturnsTokenOfTargetedRange() {
+        SessionContainer sessionContainer = new SessionContainer("127.0.0.1");
+        String documentCollectionId = ResourceId.newDocumentCollectionId(getRandomDbId(), getRandomCollectionId()).getDocumentCollectionId().toString();
+        String collectionFullName = "dbs/db1/colls1/collName";
+
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_0:1#100#1=20#2=5#3=30"));
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_1:1#101#1=20#2=5#3=30"));
+
+        RxDocumentServiceRequest routedRequest = RxDocumentServiceRequest.createFromName(OperationType.Read,
+                collectionFullName + "/docs/doc1", ResourceType.Document);
+        routedRequest.routeTo(new PartitionKeyRangeIdentity("range_1"));
+        assertThat(sessionContainer.resolveGlobalSessionToken(routedRequest)).isEqualTo("range_1:1#101#1=20#2=5#3=30");
+
+        RxDocumentServiceRequest resolvedRequest = RxDocumentServiceRequest.createFromName(OperationType.Read,
+                collectionFullName + "/docs/doc1", ResourceType.Document);
+        resolvedRequest.requestContext.resolvedPartitionKeyRange = new PartitionKeyRange().setId("range_0");
+        assertThat(sessionContainer.resolveGlobalSessionToken(resolvedRequest)).isEqualTo("range_0:1#100#1=20#2=5#3=30");
+    }
+
+    @Test(groups = "unit")
+    public void resolveGlobalSessionTokenReturnsAllTokensForCrossPartitionRequest() {
+        SessionContainer sessionContainer = new SessionContainer("127.0.0.1");
+        String documentCollectionId = ResourceId.newDocumentCollectionId(getRandomDbId(), getRandomCollectionId()).getDocumentCollectionId().toString();
+        String collectionFullName = "dbs/db1/colls1/collName";
+
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_0:1#100#1=20#2=5#3=30"));
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_1:1#101#1=20#2=5#3=30"));
+
+        RxDocumentServiceRequest request = RxDocumentServiceRequest.createFromName(OperationType.Query,
+                collectionFullName + "/docs", ResourceType.Document);
+        Set<String> tokens = Sets.newSet(sessionContainer.resolveGlobalSessionToken(request).split(","));
+
+        assertThat(tokens.size()).isEqualTo(2);
+        assertThat(tokens.contains("range_0:1#100#1=20#2=5#3=30")).isTrue();
+        assertThat(tokens.contains("range_1:1#101#1=20#2=5#3=30")).isTrue();
+
+        // The combined token is rebuilt once a range's token changes.
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_1:1#102#1=20#2=5#3=30"));
+        tokens = Sets.newSet(sessionContainer.resolveGlobalSessionToken(request).split(","));
+
+        assertThat(tokens.size()).isEqualTo(2);
+        assertThat(tokens.contains("range_0:1#100#1=20#2=5#3=30")).isTrue();
+        assertThat(tokens.contains("range_1:1#102#1=20#2=5#3=30")).isTrue();
+    }
+
+    @Test(groups = "unit")
+    public void resolveGlobalSessionTokenReturnsAllTokensOnUnknownRange() {
+        SessionContainer sessionContainer = new SessionContainer("127.0.0.1");
+        String documentCollectionId = ResourceId.newDocumentCollectionId(getRandomDbId(), getRandomCollectionId()).getDocumentCollectionId().toString();
+        String collectionFullName = "dbs/db1/colls1/collName";
+
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_0:1#100#1=20#2=5#3=30"));
+        sessionContainer.setSessionToken(documentCollectionId, collectionFullName,
+                ImmutableMap.of(HttpConstants.HttpHeaders.SESSION_TOKEN, "range_1:1#101#1=20#2=5#3=30"));
+
+        RxDocumentServiceRequest request = RxDocumentServiceRequest.createFromName(OperationType.Read,
+                collectionFullName + "/docs/doc1", ResourceType.Document);
+        request.routeTo(new PartitionKeyRangeIdentity("range_2"));
+        Set<String> tokens = Sets.newSet(sessionContainer.resolveGlobalSessionToken(request).split(","));
+
+        assertThat(tokens.size()).isEqualTo(2);
+        assertThat(tokens.contains("range_0:1#100#1=20#2=5#3=30")).isTrue();
+        assertThat(tokens.contains("range_1:1#101#1=20#2=5#3=30")).isTrue();
+    }
+
 
     @Test(groups = "unit")
     public void resolveLocalSessionTokenReturnsTokenMapUsingName() {
@@ -0,0 +1,276 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.bulk;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.BulkProcessingOptions;
+import com.azure.cosmos.CosmosAsyncItemResponse;
+import com.azure.cosmos.CosmosBulkOperationResponse;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.CosmosItemOperation;
+import com.azure.cosmos.PartitionKey;
+import com.azure.cosmos.PartitionKeyDefinition;
+import com.azure.cosmos.implementation.DocumentCollection;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.PartitionKeyRange;
+import com.azure.cosmos.implementation.routing.CollectionRoutingMap;
+import com.azure.cosmos.implementation.routing.IServerIdentity;
+import com.azure.cosmos.implementation.routing.InMemoryCollectionRoutingMap;
+import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkExecutorTest {
+    private static final String CONTAINER_LINK = "dbs/db/colls/coll";
+    private static final DocumentCollection COLLECTION = createCollection();
+    private static final CollectionRoutingMap SINGLE_RANGE = createRoutingMap(
+        new PartitionKeyRange("0", "", "FF"));
+    // The effective partition keys of hashed partition keys share the "05C1" prefix.
+    private static final CollectionRoutingMap SPLIT_RANGES = createRoutingMap(
+        new PartitionKeyRange("1", "", "05C1D8"),
+        new PartitionKeyRange("2", "05C1D8", "FF"));
+
+    @Test(groups = { "unit" })
+    public void throttledOperationPausesPartitionKeyRange() {
+        Map<String, List<Long>> sendTimes = new ConcurrentHashMap<>();
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation -> {
+            List<Long> attempts = sendTimes.computeIfAbsent(operation.getId(),
+                id -> new CopyOnWriteArrayList<>());
+            attempts.add(System.nanoTime());
+            if (operation.getId().equals("throttled") && attempts.size() == 1) {
+                return Mono.error(createException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS,
+                    HttpConstants.HttpHeaders.RETRY_AFTER_IN_MILLISECONDS, "500"));
+            }
+            return success();
+        };
+
+        BulkExecutor executor = new BulkExecutor(new BulkProcessingOptions()
+            .setMaxMicroBatchSize(1)
+            .setMaxMicroBatchConcurrency(2), CONTAINER_LINK, sender, routingMap -> routingInfo(SINGLE_RANGE));
+
+        List<CosmosBulkOperationResponse> responses = executor.execute(Flux.concat(
+            Mono.just(readOperation("throttled", "a")),
+            Mono.just(readOperation("next", "b")).delayElement(Duration.ofMillis(100))))
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(responses).hasSize(2);
+        assertThat(responses).allMatch(CosmosBulkOperationResponse::isSuccessStatusCode);
+
+        long throttledAt = sendTimes.get("throttled").get(0);
+        assertThat(sendTimes.get("throttled")).hasSize(2);
+        assertThat(Duration.ofNanos(sendTimes.get("throttled").get(1) - throttledAt).toMillis())
+            .isGreaterThanOrEqualTo(500);
+        // The other operation on the same partition key range waits until the partition key range has resumed.
+        assertThat(Duration.ofNanos(sendTimes.get("next").get(0) - throttledAt).toMillis())
+            .isGreaterThanOrEqualTo(500);
+    }
+
+    @Test(groups = { "unit" })
+    public void throttlingRetriesAreBounded() {
+        AtomicInteger sends = new AtomicInteger();
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation -> {
+            sends.incrementAndGet();
+            return Mono.error(createException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS,
+                HttpConstants.HttpHeaders.RETRY_AFTER_IN_MILLISECONDS, "1"));
+        };
+
+        BulkExecutor executor = new BulkExecutor(new BulkProcessingOptions().setMaxThrottlingRetries(2),
+            CONTAINER_LINK, sender, routingMap -> routingInfo(SINGLE_RANGE));
+
+        CosmosBulkOperationResponse response = executor.execute(Flux.just(readOperation("throttled", "a")))
+            .single()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(response.isSuccessStatusCode()).isFalse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+        assertThat(sends.get()).isEqualTo(3);
+    }
+
+    @Test(groups = { "unit" })
+    public void splitRefreshesRoutingMapAndResubmitsOperations() {
+        List<CollectionRoutingMap> refreshedFrom = new CopyOnWriteArrayList<>();
+        Function<CollectionRoutingMap, Mono<BulkExecutor.RoutingInfo>> routingResolver = previousRoutingMap -> {
+            if (previousRoutingMap == null) {
+                return routingInfo(SINGLE_RANGE);
+            }
+            refreshedFrom.add(previousRoutingMap);
+            return routingInfo(SPLIT_RANGES);
+        };
+
+        Map<String, AtomicInteger> sends = new ConcurrentHashMap<>();
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation -> {
+            if (sends.computeIfAbsent(operation.getId(), id -> new AtomicInteger()).incrementAndGet() == 1) {
+                return Mono.error(createException(HttpConstants.StatusCodes.GONE,
+                    HttpConstants.HttpHeaders.SUB_STATUS,
+                    Integer.toString(HttpConstants.SubStatusCodes.PARTITION_KEY_RANGE_GONE)));
+            }
+            return success();
+        };
+
+        BulkExecutor executor = new BulkExecutor(new BulkProcessingOptions(), CONTAINER_LINK, sender,
+            routingResolver);
+
+        List<CosmosBulkOperationResponse> responses = executor.execute(Flux.just(
+            readOperation("first", partitionKeyIn(SPLIT_RANGES, "1")),
+            readOperation("second", partitionKeyIn(SPLIT_RANGES, "2")),
+            readOperation("third", partitionKeyIn(SPLIT_RANGES, "2"))))
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(responses).hasSize(3);
+        assertThat(responses).allMatch(CosmosBulkOperationResponse::isSuccessStatusCode);
+        assertThat(sends.values()).allMatch(count -> count.get() == 2);
+        // The operations that hit the split share a single refresh of the routing map.
+        assertThat(refreshedFrom).containsExactly(SINGLE_RANGE);
+    }
+
+    @Test(groups = { "unit" })
+    public void splitRetriesAreBounded() {
+        AtomicInteger sends = new AtomicInteger();
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation -> {
+            sends.incrementAndGet();
+            return Mono.error(createException(HttpConstants.StatusCodes.GONE,
+                HttpConstants.HttpHeaders.SUB_STATUS,
+                Integer.toString(HttpConstants.SubStatusCodes.COMPLETING_SPLIT)));
+        };
+
+        BulkExecutor executor = new BulkExecutor(new BulkProcessingOptions(), CONTAINER_LINK, sender,
+            routingMap -> routingInfo(SINGLE_RANGE));
+
+        CosmosBulkOperationResponse response = executor.execute(Flux.just(readOperation("split", "a")))
+            .single()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(response.isSuccessStatusCode()).isFalse();
+        assertThat(response.getStatusCode()).isEqualTo(HttpConstants.StatusCodes.GONE);
+        assertThat(sends.get()).isEqualTo(BulkExecutor.MAX_SPLIT_RETRIES + 1);
+    }
+
+    @Test(groups = { "unit" })
+    public void operationsAreGroupedByPartitionKeyRange() {
+        String blockedPartitionKey = partitionKeyIn(SPLIT_RANGES, "1");
+        String otherPartitionKey = partitionKeyIn(SPLIT_RANGES, "2");
+
+        // Operations on the first partition key range never complete, so with one micro-batch in flight per
+        // partition key range only operations routed to another partition key range can complete.
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation ->
+            operation.getId().startsWith("blocked") ? Mono.never() : success();
+
+        BulkExecutor executor = new BulkExecutor(new BulkProcessingOptions()
+            .setMaxMicroBatchSize(1)
+            .setMaxMicroBatchConcurrency(1), CONTAINER_LINK, sender, routingMap -> routingInfo(SPLIT_RANGES));
+
+        List<CosmosBulkOperationResponse> responses = executor.execute(Flux.just(
+            readOperation("blocked-1", blockedPartitionKey),
+            readOperation("other-1", otherPartitionKey),
+            readOperation("blocked-2", blockedPartitionKey),
+            readOperation("other-2", otherPartitionKey),
+            readOperation("other-3", otherPartitionKey)))
+            .take(3)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(responses).extracting(response -> response.getOperation().getId())
+            .containsExactlyInAnyOrder("other-1", "other-2", "other-3");
+    }
+
+    @Test(groups = { "unit" })
+    public void pendingOperationsAreBounded() throws InterruptedException {
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger sends = new AtomicInteger();
+        // No operation completes, so no further operations may be taken once the pending bound is reached.
+        Function<CosmosItemOperation, Mono<? extends CosmosAsyncItemResponse<?>>> sender = operation -> {
+            sends.incrementAndGet();
+            return Mono.never();
+        };
+
+        BulkProcessingOptions options = new BulkProcessingOptions()
+            .setMaxMicroBatchSize(2)
+            .setMaxMicroBatchInterval(Duration.ofMillis(10))
+            .setMaxMicroBatchConcurrency(1);
+        BulkExecutor executor = new BulkExecutor(options, CONTAINER_LINK, sender,
+            routingMap -> routingInfo(SINGLE_RANGE));
+
+        int maxPendingOperations = 2 * BulkExecutor.MAX_PENDING_MICRO_BATCHES;
+        Disposable execution = executor.execute(Flux.range(0, 100_000)
+            .doOnNext(i -> taken.incrementAndGet())
+            .map(i -> readOperation("item-" + i, "a")))
+            .subscribe();
+        Thread.sleep(500);
+        execution.dispose();
+
+        assertThat(sends.get()).isEqualTo(2);
+        // The permits are zipped with the operations, which prefetches a few more operations than are let through.
+        assertThat(taken.get()).isBetween(maxPendingOperations, maxPendingOperations + Queues.XS_BUFFER_SIZE);
+    }
+
+    private static CosmosItemOperation readOperation(String id, String partitionKey) {
+        return CosmosItemOperation.readItemOperation(id, new PartitionKey(partitionKey), Object.class);
+    }
+
+    private static Mono<CosmosAsyncItemResponse<?>> success() {
+        return Mono.just(Mockito.mock(CosmosAsyncItemResponse.class));
+    }
+
+    private static CosmosClientException createException(int statusCode, String header, String value) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(header, value);
+        return BridgeInternal.createCosmosClientException(statusCode, null, headers);
+    }
+
+    private static Mono<BulkExecutor.RoutingInfo> routingInfo(CollectionRoutingMap routingMap) {
+        return Mono.just(new BulkExecutor.RoutingInfo(COLLECTION, routingMap));
+    }
+
+    private static String partitionKeyIn(CollectionRoutingMap routingMap, String partitionKeyRangeId) {
+        for (int i = 0; i < 100; i++) {
+            String partitionKey = "pk-" + i;
+            String effectivePartitionKey = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+                BridgeInternal.getPartitionKeyInternal(new PartitionKey(partitionKey)),
+                COLLECTION.getPartitionKey());
+            if (routingMap.getRangeByEffectivePartitionKey(effectivePartitionKey).getId()
+                .equals(partitionKeyRangeId)) {
+                return partitionKey;
+            }
+        }
+        throw new IllegalStateException("No partition key found in partition key range " + partitionKeyRangeId);
+    }
+
+    private static DocumentCollection createCollection() {
+        PartitionKeyDefinition partitionKeyDefinition = new PartitionKeyDefinition();
+        partitionKeyDefinition.setPaths(Collections.singletonList("/pk"));
+        DocumentCollection collection = new DocumentCollection();
+        collection.setId("coll");
+        collection.setPartitionKey(partitionKeyDefinition);
+        return collection;
+    }
+
+    private static CollectionRoutingMap createRoutingMap(PartitionKeyRange... ranges) {
+        List<ImmutablePair<PartitionKeyRange, IServerIdentity>> pairs = new ArrayList<>();
+        for (PartitionKeyRange range : ranges) {
+            pairs.add(new ImmutablePair<>(range, null));
+        }
+        return InMemoryCollectionRoutingMap.tryCreateCompleteRoutingMap(pairs, StringUtils.EMPTY);
+    }
+}
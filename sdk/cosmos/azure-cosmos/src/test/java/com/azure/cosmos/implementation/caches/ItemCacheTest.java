@@ -0,0 +1,182 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+package com.azure.cosmos.implementation.caches;
+
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.RxDocumentServiceResponse;
+import com.azure.cosmos.implementation.SessionTokenHelper;
+import com.azure.cosmos.implementation.StoreResponseBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemCacheTest {
+
+    private static final int ITEM_SIZE = 1000;
+
+    @Test(groups = { "unit" })
+    public void cachesItemWithSessionToken() {
+        ItemCache itemCache = new ItemCache(1024 * 1024, Duration.ofMinutes(1));
+        String key = ItemCache.getKey("/dbs/db/colls/coll/docs/item1/", "[\"pk\"]");
+
+        assertThat(itemCache.put(key, entry("0:-1#12", "\"etag1\""), itemCache.getInvalidationStamp(key))).isTrue();
+
+        ItemCache.Entry entry = itemCache.get(ItemCache.getKey("dbs/db/colls/coll/docs/item1", "[\"pk\"]"));
+        assertThat(entry).isNotNull();
+        assertThat(entry.getETag()).isEqualTo("\"etag1\"");
+        assertThat(entry.getPartitionKeyRangeId()).isEqualTo("0");
+        assertThat(entry.getSessionToken().getLSN()).isEqualTo(12);
+        assertThat(itemCache.isFresh(entry)).isTrue();
+        assertThat(entry.toServiceResponse(null).getResponseBodyAsByteArray()).hasSize(ITEM_SIZE);
+    }
+
+    @Test(groups = { "unit" })
+    public void invalidationFailsReadsInFlight() {
+        ItemCache itemCache = new ItemCache(1024 * 1024, Duration.ofMinutes(1));
+        String key = ItemCache.getKey("dbs/db/colls/coll/docs/item1", "[\"pk\"]");
+
+        long invalidationStamp = itemCache.getInvalidationStamp(key);
+        itemCache.invalidate(key);
+
+        assertThat(itemCache.put(key, entry("0:-1#12", "\"etag1\""), invalidationStamp)).isFalse();
+        assertThat(itemCache.get(key)).isNull();
+
+        assertThat(itemCache.put(key, entry("0:-1#13", "\"etag2\""), itemCache.getInvalidationStamp(key))).isTrue();
+        itemCache.invalidate(key);
+        assertThat(itemCache.get(key)).isNull();
+        assertThat(itemCache.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test(groups = { "unit" })
+    public void admitsOnlyItemsMoreFrequentThanVictims() {
+        // Room for four items.
+        ItemCache itemCache = new ItemCache(4 * (ITEM_SIZE + 256), Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            String key = "hot" + i;
+            for (int j = 0; j < 3; j++) {
+                itemCache.get(key);
+            }
+            assertThat(itemCache.put(key, entry("0:-1#1", "\"etag\""), itemCache.getInvalidationStamp(key))).isTrue();
+        }
+
+        // A scan of items read once doesn't evict the hot items.
+        for (int i = 0; i < 10; i++) {
+            String key = "cold" + i;
+            itemCache.get(key);
+            assertThat(itemCache.put(key, entry("0:-1#1", "\"etag\""), itemCache.getInvalidationStamp(key))).isFalse();
+        }
+        assertThat(itemCache.getItemCount()).isEqualTo(4);
+        assertThat(itemCache.getEvictionCount()).isEqualTo(0);
+
+        // An item read more often than the least recently used item evicts it.
+        for (int j = 0; j < 10; j++) {
+            itemCache.get("warm");
+        }
+        assertThat(itemCache.put("warm", entry("0:-1#1", "\"etag\""), itemCache.getInvalidationStamp("warm"))).isTrue();
+        assertThat(itemCache.getItemCount()).isEqualTo(4);
+        assertThat(itemCache.getEvictionCount()).isEqualTo(1);
+        assertThat(itemCache.get("hot0")).isNull();
+        assertThat(itemCache.getSizeInBytes()).isLessThanOrEqualTo(4 * (ITEM_SIZE + 256));
+    }
+
+    @Test(groups = { "unit" })
+    public void returnsItemsAtLeastAsRecentAsSession() {
+        ItemCache.Entry entry = entry("0:-1#12", "\"etag1\"");
+
+        // The session has seen older or the same writes as the cached item.
+        assertThat(entry.isAtLeastAsRecentAs(SessionTokenHelper.parse("0:-1#10"))).isTrue();
+        assertThat(entry.isAtLeastAsRecentAs(SessionTokenHelper.parse("0:-1#12"))).isTrue();
+
+        // The session has seen writes the cached item may not reflect.
+        assertThat(entry.isAtLeastAsRecentAs(SessionTokenHelper.parse("0:-1#13"))).isFalse();
+        assertThat(entry.isAtLeastAsRecentAs(SessionTokenHelper.parse("0:1#12"))).isFalse();
+        assertThat(entry.isAtLeastAsRecentAs(null)).isFalse();
+    }
+
+    @Test(groups = { "unit" })
+    public void concurrentReadsAndWrites() throws Exception {
+        ItemCache itemCache = new ItemCache(16 * (ITEM_SIZE + 256), Duration.ofMinutes(1));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            tasks.add(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String key = "item" + ((i * 7 + thread) % 32);
+                    if (itemCache.get(key) == null) {
+                        itemCache.put(key, entry("0:-1#1", "\"etag\""), itemCache.getInvalidationStamp(key));
+                    } else if (i % 50 == 0) {
+                        itemCache.invalidate(key);
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(itemCache.getSizeInBytes()).isLessThanOrEqualTo(16 * (ITEM_SIZE + 256));
+    }
+
+    @Test(groups = { "unit" })
+    public void revalidationResetsAge() throws InterruptedException {
+        ItemCache itemCache = new ItemCache(1024 * 1024, Duration.ofSeconds(1));
+        ItemCache.Entry entry = entry("0:-1#12", "\"etag1\"");
+        Thread.sleep(1100);
+        assertThat(itemCache.isFresh(entry)).isFalse();
+
+        RxDocumentServiceResponse notModified = new RxDocumentServiceResponse(StoreResponseBuilder.create()
+            .withStatus(HttpConstants.StatusCodes.NOT_MODIFIED)
+            .withHeader(HttpConstants.HttpHeaders.SESSION_TOKEN, "0:-1#15")
+            .build());
+        ItemCache.Entry revalidated = entry.revalidate(notModified);
+        assertThat(itemCache.isFresh(revalidated)).isTrue();
+        assertThat(revalidated.getETag()).isEqualTo("\"etag1\"");
+        assertThat(revalidated.getSessionToken().getLSN()).isEqualTo(15);
+    }
+
+    @Test(groups = { "unit" })
+    public void closingTheMetersRegistrationRemovesTheMeters() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ItemCache itemCache = new ItemCache(1024 * 1024, Duration.ofMinutes(1));
+
+        AutoCloseable registration = itemCache.registerMeters(registry);
+        itemCache.recordHit();
+        assertThat(registry.getMeters()).hasSize(6);
+        assertThat(registry.find("azure.cosmos.itemCache.hits").functionCounter().count()).isEqualTo(1.0);
+
+        registration.close();
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private static ItemCache.Entry entry(String sessionToken, String eTag) {
+        StringBuilder content = new StringBuilder("{\"id\":\"");
+        while (content.length() < ITEM_SIZE - 2) {
+            content.append('x');
+        }
+        content.append("\"}");
+
+        RxDocumentServiceResponse response = new RxDocumentServiceResponse(StoreResponseBuilder.create()
+            .withStatus(200)
+            .withHeader(HttpConstants.HttpHeaders.SESSION_TOKEN, sessionToken)
+            .withContent(content.toString())
+            .build());
+        return ItemCache.Entry.create(response, eTag);
+    }
+}
@@ -0,0 +1,134 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.changefeed.implementation;
+
+import com.azure.cosmos.implementation.changefeed.Lease;
+import com.azure.cosmos.implementation.changefeed.ServiceItemLease;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadBasedBalancingStrategyTest {
+    private static final Duration LEASE_EXPIRATION_INTERVAL = Duration.ofMinutes(1);
+
+    @Test(groups = { "unit" })
+    public void takesAvailableLeasesHeaviestFirstUpToItsShare() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("b", 0, LEASE_EXPIRATION_INTERVAL);
+        List<Lease> leases = Arrays.asList(
+            lease("0", "a", 100, 0),
+            lease("1", null, 50, 0),
+            lease("2", null, 60, 0),
+            lease("3", null, 10, 0));
+
+        // The total load is 220, so host b stops taking leases once it carries 110.
+        assertThat(strategy.selectLeasesToTake(leases))
+            .extracting(Lease::getLeaseToken)
+            .containsExactly("2", "1");
+    }
+
+    @Test(groups = { "unit" })
+    public void countsLagAsLoad() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("b", 0, LEASE_EXPIRATION_INTERVAL);
+        List<Lease> leases = Arrays.asList(
+            lease("0", null, 0, 0),
+            lease("1", null, 0, 60 * 50),
+            lease("2", "a", 49, 0));
+
+        assertThat(strategy.selectLeasesToTake(leases))
+            .extracting(Lease::getLeaseToken)
+            .containsExactly("1");
+        assertThat(LoadBasedBalancingStrategy.getLoad(leases.get(1))).isEqualTo(50);
+    }
+
+    @Test(groups = { "unit" })
+    public void stealsTheLeaseThatBalancesTheBusiestHost() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("c", 0, LEASE_EXPIRATION_INTERVAL);
+        List<Lease> leases = Arrays.asList(
+            lease("0", "a", 100, 0),
+            lease("1", "a", 40, 0),
+            lease("2", "a", 10, 0),
+            lease("3", "b", 30, 0));
+
+        // Host a is left with 50 and host c with 100, instead of 110 and 40 or 140 and 10.
+        assertThat(strategy.selectLeasesToTake(leases))
+            .extracting(Lease::getLeaseToken)
+            .containsExactly("0");
+    }
+
+    @Test(groups = { "unit" })
+    public void doesNotStealWhenLoadIsBalanced() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("b", 0, LEASE_EXPIRATION_INTERVAL);
+
+        // Moving either lease would leave host b busier than host a is.
+        assertThat(strategy.selectLeasesToTake(Arrays.asList(
+            lease("0", "a", 100, 0),
+            lease("1", "a", 100, 0),
+            lease("2", "b", 150, 0)))).isEmpty();
+
+        // A single lease can't be split between hosts.
+        assertThat(strategy.selectLeasesToTake(Arrays.asList(
+            lease("0", "a", 500, 0),
+            lease("1", "b", 10, 0)))).isEmpty();
+    }
+
+    @Test(groups = { "unit" })
+    public void balancesLeasesWithoutLoadByCount() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("b", 0, LEASE_EXPIRATION_INTERVAL);
+        List<Lease> leases = Arrays.asList(
+            lease("0", "a", 0, 0),
+            lease("1", "a", 0, 0),
+            lease("2", "a", 0, 0),
+            lease("3", "a", 0, 0));
+
+        assertThat(strategy.selectLeasesToTake(leases)).hasSize(1);
+    }
+
+    @Test(groups = { "unit" })
+    public void respectsMaxPartitionCount() {
+        LoadBasedBalancingStrategy strategy = new LoadBasedBalancingStrategy("b", 1, LEASE_EXPIRATION_INTERVAL);
+        List<Lease> leases = Arrays.asList(
+            lease("0", null, 10, 0),
+            lease("1", null, 10, 0),
+            lease("2", null, 10, 0));
+
+        assertThat(strategy.selectLeasesToTake(leases)).hasSize(1);
+    }
+
+    @Test(groups = { "unit" })
+    public void readsLoadRecordedByTheProcessor() {
+        Lease lease = new ServiceItemLease();
+        LeaseLoad.record(lease, 120, 12.5);
+
+        assertThat(LeaseLoad.getEstimatedLag(lease)).isEqualTo(120);
+        assertThat(LeaseLoad.getDocumentsPerSecond(lease)).isEqualTo(12.5);
+
+        LeaseLoad.record(lease, -1, 3);
+        assertThat(LeaseLoad.getEstimatedLag(lease)).isEqualTo(120);
+        assertThat(LeaseLoad.getDocumentsPerSecond(lease)).isEqualTo(3);
+    }
+
+    @Test(groups = { "unit" })
+    public void parsesLsnFromSessionToken() {
+        assertThat(RemainingWorkEstimatorImpl.parseLsnFromSessionToken("0:42")).isEqualTo(42);
+        assertThat(RemainingWorkEstimatorImpl.parseLsnFromSessionToken("0:-1#42#1=40")).isEqualTo(42);
+        assertThat(RemainingWorkEstimatorImpl.parseLsnFromSessionToken(null)).isEqualTo(-1);
+        assertThat(RemainingWorkEstimatorImpl.parseLsnFromSessionToken("0:x")).isEqualTo(-1);
+    }
+
+    private static Lease lease(String leaseToken, String owner, double documentsPerSecond, long estimatedLag) {
+        ServiceItemLease lease = new ServiceItemLease()
+            .withId(leaseToken)
+            .withLeaseToken(leaseToken)
+            .withOwner(owner)
+            .withTimestamp(ZonedDateTime.now(ZoneId.of("UTC")));
+        LeaseLoad.record(lease, estimatedLag, documentsPerSecond);
+        return lease;
+    }
+}
@@ -40,9 +40,11 @@ import org.testng.annotations.Test;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
@@ -431,6 +433,125 @@ public class GatewayAddressCacheTest extends TestSuiteBase {
         assertThat(fetchCounter.get()).isEqualTo(2);
     }
 
+    @Test(groups = { "direct" },
+            dataProvider = "openAsyncTargetAndTargetPartitionsKeyRangeAndCollectionLinkParams",
+            timeOut = TIMEOUT)
+    public void openAsync_OpensConnectionsToAllReplicas(
+            List<String> allPartitionKeyRangeIds,
+            String partitionKeyRangeId,
+            String collectionLink) throws Exception {
+        Configs configs = new Configs();
+        HttpClientUnderTestWrapper httpClientWrapper = getHttpClientUnderTestWrapper(configs);
+
+        URI serviceEndpoint = new URI(TestConfigurations.HOST);
+        IAuthorizationTokenProvider authorizationTokenProvider = (RxDocumentClientImpl) client;
+
+        GatewayAddressCache cache = new GatewayAddressCache(serviceEndpoint,
+                                                            Protocol.HTTPS,
+                                                            authorizationTokenProvider,
+                                                            null,
+                                                            httpClientWrapper.getSpyHttpClient());
+
+        List<Uri> openedAddresses = Collections.synchronizedList(new ArrayList<>());
+        cache.setOpenConnectionsHandler(physicalAddress -> Mono.fromRunnable(() -> openedAddresses.add(physicalAddress)));
+
+        String collectionRid = createdCollection.getResourceId();
+
+        List<PartitionKeyRangeIdentity> pkriList = allPartitionKeyRangeIds.stream().map(
+                pkri -> new PartitionKeyRangeIdentity(collectionRid, pkri)).collect(Collectors.toList());
+
+        cache.openAsync(createdCollection, pkriList).block();
+
+        RxDocumentServiceRequest req =
+                RxDocumentServiceRequest.create(OperationType.Create, ResourceType.Document,
+                        collectionLink,
+                        new Database(), new HashMap<>());
+
+        List<Uri> expectedAddresses = new ArrayList<>();
+        for (PartitionKeyRangeIdentity partitionKeyRangeIdentity : pkriList) {
+            AddressInformation[] addresses = getSuccessResult(cache.tryGetAddresses(req, partitionKeyRangeIdentity, false), TIMEOUT).v;
+            for (AddressInformation address : addresses) {
+                expectedAddresses.add(address.getPhysicalUri());
+            }
+        }
+
+        assertThat(openedAddresses).asList().containsExactlyInAnyOrderElementsOf(expectedAddresses);
+    }
+
+    @Test(groups = { "direct" },
+            dataProvider = "openAsyncTargetAndTargetPartitionsKeyRangeAndCollectionLinkParams",
+            timeOut = TIMEOUT)
+    public void refreshSuboptimalAddressesAsync_RefreshesAheadOfRequests(
+            List<String> allPartitionKeyRangeIds,
+            String partitionKeyRangeId,
+            String collectionLink) throws Exception {
+        Configs configs = new Configs();
+        HttpClientUnderTestWrapper httpClientWrapper = getHttpClientUnderTestWrapper(configs);
+
+        URI serviceEndpoint = new URI(TestConfigurations.HOST);
+        IAuthorizationTokenProvider authorizationTokenProvider = (RxDocumentClientImpl) client;
+
+        int suboptimalRefreshTime = 600;
+
+        GatewayAddressCache origCache = new GatewayAddressCache(serviceEndpoint,
+                                                                Protocol.HTTPS,
+                                                                authorizationTokenProvider,
+                                                                null,
+                                                                httpClientWrapper.getSpyHttpClient(),
+                                                                suboptimalRefreshTime);
+
+        String collectionRid = createdCollection.getResourceId();
+        GatewayAddressCache spyCache = Mockito.spy(origCache);
+
+        final AtomicInteger fetchCounter = new AtomicInteger(0);
+        Mockito.doAnswer(new Answer() {
+            @Override
+            public Mono<List<Address>> answer(InvocationOnMock invocationOnMock) throws Throwable {
+
+                RxDocumentServiceRequest req = invocationOnMock.getArgumentAt(0, RxDocumentServiceRequest.class);
+                String collectionRid = invocationOnMock.getArgumentAt(1, String.class);
+                List partitionKeyRangeIds = invocationOnMock.getArgumentAt(2, List.class);
+                boolean forceRefresh = invocationOnMock.getArgumentAt(3, Boolean.class);
+
+                Mono<List<Address>> res = origCache.getServerAddressesViaGatewayAsync(req,
+                        collectionRid,
+                        partitionKeyRangeIds,
+                        forceRefresh);
+
+                // remove one replica on the first fetch
+                return fetchCounter.getAndIncrement() == 0 ? res.map(list -> removeOneReplica(list)) : res;
+            }
+        }).when(spyCache).getServerAddressesViaGatewayAsync(Matchers.any(RxDocumentServiceRequest.class), Matchers.anyString(),
+                Matchers.anyList(), Matchers.anyBoolean());
+
+        RxDocumentServiceRequest req =
+                RxDocumentServiceRequest.create(OperationType.Create, ResourceType.Document,
+                        collectionLink,
+                        new Database(), new HashMap<>());
+
+        PartitionKeyRangeIdentity partitionKeyRangeIdentity = new PartitionKeyRangeIdentity(collectionRid, partitionKeyRangeId);
+        Utils.ValueHolder<AddressInformation[]> suboptimalAddresses =
+                getSuccessResult(spyCache.tryGetAddresses(req, partitionKeyRangeIdentity, false), TIMEOUT);
+        assertThat(suboptimalAddresses.v.length).isLessThan(ServiceConfig.SystemReplicationPolicy.MaxReplicaSetSize);
+
+        // not within the look ahead of the force refresh: nothing is refreshed
+        spyCache.refreshSuboptimalAddressesAsync(Duration.ofSeconds(1)).block();
+        assertThat(fetchCounter.get()).isEqualTo(1);
+
+        // within the look ahead of the force refresh: refreshed in the background
+        spyCache.refreshSuboptimalAddressesAsync(Duration.ofSeconds(suboptimalRefreshTime)).block();
+        assertThat(fetchCounter.get()).isEqualTo(2);
+        httpClientWrapper.capturedRequests.clear();
+
+        Utils.ValueHolder<AddressInformation[]> addresses =
+                getSuccessResult(spyCache.tryGetAddresses(req, partitionKeyRangeIdentity, false), TIMEOUT);
+        AssertionsForClassTypes.assertThat(addresses.v).hasSize(ServiceConfig.SystemReplicationPolicy.MaxReplicaSetSize);
+        assertThat(httpClientWrapper.capturedRequests)
+                .describedAs("addresses already refreshed in the background")
+                .asList().hasSize(0);
+        assertThat(fetchCounter.get()).isEqualTo(2);
+    }
+
     @Test(groups = { "direct" }, dataProvider = "protocolProvider",timeOut = TIMEOUT)
     public void tryGetAddresses_ForMasterPartition(Protocol protocol) throws Exception {
         Configs configs = ConfigsBuilder.instance().withProtocol(protocol).build();
@@ -167,5 +167,6 @@ public class GlobalAddressResolverTest {
 
         globalAddressResolver.openAsync(documentCollection).block();
         assertThat(numberOfTaskCompleted.get()).isEqualTo(2);
+        globalAddressResolver.dispose();
     }
 }
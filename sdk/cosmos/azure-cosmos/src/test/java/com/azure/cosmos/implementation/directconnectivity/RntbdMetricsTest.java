@@ -0,0 +1,179 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.directconnectivity;
+
+import com.azure.cosmos.implementation.OperationType;
+import com.azure.cosmos.implementation.ResourceType;
+import com.azure.cosmos.implementation.RxDocumentServiceRequest;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdEndpoint;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdMetrics;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdRequestArgs;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdRequestRecord;
+import com.azure.cosmos.implementation.directconnectivity.rntbd.RntbdRequestTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RntbdMetricsTest {
+
+    private RntbdRequestTimer requestTimer;
+    private RntbdTransportClient transportClient;
+
+    @BeforeMethod(groups = { "unit" })
+    public void before() {
+        this.requestTimer = new RntbdRequestTimer(TimeUnit.SECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(100));
+        this.transportClient = new RntbdTransportClient(Mockito.mock(RntbdEndpoint.Provider.class));
+    }
+
+    @AfterMethod(groups = { "unit" })
+    public void after() {
+        this.transportClient.close();
+        this.requestTimer.close();
+    }
+
+    @Test(groups = { "unit" })
+    public void publishesEndpointMeters() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (AutoCloseable registration = RntbdMetrics.add(registry, false)) {
+
+            final RntbdEndpoint endpoint = this.endpoint(3, 10);
+            final RntbdMetrics metrics = new RntbdMetrics(this.transportClient, endpoint);
+
+            metrics.markChannelAcquisition(TimeUnit.MILLISECONDS.toNanos(5));
+            metrics.markComplete(this.requestRecord(OperationType.Read, ResourceType.Document));
+            metrics.markComplete(this.requestRecord(OperationType.Read, ResourceType.Document));
+            metrics.markComplete(this.requestRecord(OperationType.Query, ResourceType.Document));
+
+            assertThat(metrics.channelsUtilization()).isEqualTo(0.3D);
+            assertThat(metrics.channelAcquisitionLatency().count()).isEqualTo(1L);
+
+            final Gauge utilization = this.channelsUtilization(registry, endpoint);
+            assertThat(utilization).isNotNull();
+            assertThat(utilization.value()).isEqualTo(0.3D);
+
+            final Timer acquisition = this.channelAcquisitionLatency(registry, endpoint);
+            assertThat(acquisition).isNotNull();
+            assertThat(acquisition.count()).isEqualTo(1L);
+            assertThat(acquisition.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5D);
+
+            assertThat(this.requestLatency(registry, endpoint, OperationType.Read).count()).isEqualTo(2L);
+            assertThat(this.requestLatency(registry, endpoint, OperationType.Query).count()).isEqualTo(1L);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void channelsUtilizationWithoutChannelLimit() {
+        final RntbdMetrics metrics = new RntbdMetrics(this.transportClient, this.endpoint(3, 0));
+        assertThat(metrics.channelsUtilization()).isEqualTo(0D);
+    }
+
+    @Test(groups = { "unit" })
+    public void registryIsRemovedWhenAllRegistrationsAreClosed() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        final AutoCloseable first = RntbdMetrics.add(registry, false);
+        final AutoCloseable second = RntbdMetrics.add(registry, false);
+
+        first.close();
+        first.close();
+        final RntbdEndpoint published = this.endpoint(1, 10);
+        new RntbdMetrics(this.transportClient, published);
+        assertThat(this.channelsUtilization(registry, published)).isNotNull();
+
+        second.close();
+        final RntbdEndpoint unpublished = this.endpoint(1, 10);
+        new RntbdMetrics(this.transportClient, unpublished);
+        assertThat(this.channelsUtilization(registry, unpublished)).isNull();
+    }
+
+    @Test(groups = { "unit" })
+    public void percentileHistogramsFollowTheOpenRegistrations() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (AutoCloseable withoutHistograms = RntbdMetrics.add(registry, false)) {
+
+            // Records the configuration of the timers once the filter of the registration was applied to it
+            final Map<String, DistributionStatisticConfig> configs = new ConcurrentHashMap<>();
+            registry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    if (id.getName().equals("azure.cosmos.directTcp.channelAcquisitionLatency")) {
+                        configs.put(id.getTag(RntbdEndpoint.class.getSimpleName()), config);
+                    }
+                    return config;
+                }
+            });
+
+            final RntbdEndpoint before = this.endpoint(1, 10);
+            new RntbdMetrics(this.transportClient, before);
+            assertThat(configs.get(before.tag().getValue()).isPercentileHistogram()).isNotEqualTo(true);
+
+            // A later registration enabling histograms applies to the timers registered from then on
+            try (AutoCloseable withHistograms = RntbdMetrics.add(registry, true)) {
+                final RntbdEndpoint during = this.endpoint(1, 10);
+                new RntbdMetrics(this.transportClient, during);
+                assertThat(configs.get(during.tag().getValue()).isPercentileHistogram()).isEqualTo(true);
+            }
+
+            final RntbdEndpoint after = this.endpoint(1, 10);
+            new RntbdMetrics(this.transportClient, after);
+            assertThat(configs.get(after.tag().getValue()).isPercentileHistogram()).isNotEqualTo(true);
+        }
+    }
+
+    private Timer channelAcquisitionLatency(final SimpleMeterRegistry registry, final RntbdEndpoint endpoint) {
+        return registry.find("azure.cosmos.directTcp.channelAcquisitionLatency")
+            .tags(endpoint.tag().getKey(), endpoint.tag().getValue())
+            .timer();
+    }
+
+    private Gauge channelsUtilization(final SimpleMeterRegistry registry, final RntbdEndpoint endpoint) {
+        return registry.find("azure.cosmos.directTcp.channelsUtilization")
+            .tags(endpoint.tag().getKey(), endpoint.tag().getValue())
+            .gauge();
+    }
+
+    private RntbdEndpoint endpoint(final int channelsAcquired, final int maxChannels) {
+        final RntbdEndpoint endpoint = Mockito.mock(RntbdEndpoint.class);
+        Mockito.when(endpoint.tag()).thenReturn(Tag.of(RntbdEndpoint.class.getSimpleName(),
+            UUID.randomUUID().toString()));
+        Mockito.when(endpoint.channelsAcquired()).thenReturn(channelsAcquired);
+        Mockito.when(endpoint.maxChannels()).thenReturn(maxChannels);
+        return endpoint;
+    }
+
+    private Timer requestLatency(
+        final SimpleMeterRegistry registry, final RntbdEndpoint endpoint, final OperationType operationType
+    ) {
+        final Timer timer = registry.find("azure.cosmos.directTcp.requestLatency")
+            .tags(endpoint.tag().getKey(), endpoint.tag().getValue())
+            .tags("operationType", operationType.toString(), "resourceType", ResourceType.Document.toString())
+            .timer();
+        assertThat(timer).isNotNull();
+        return timer;
+    }
+
+    private RntbdRequestRecord requestRecord(final OperationType operationType, final ResourceType resourceType) {
+        final RxDocumentServiceRequest request = RxDocumentServiceRequest.create(operationType, resourceType);
+        final RntbdRequestArgs args = new RntbdRequestArgs(request, URI.create("rntbd://localhost:10251"));
+        return new RntbdRequestRecord(args, this.requestTimer);
+    }
+}
@@ -71,6 +71,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -862,6 +863,11 @@ public final class RntbdTransportClientTest {
             return !this.fakeChannel.isOpen();
         }
 
+        @Override
+        public int maxChannels() {
+            return 0;
+        }
+
         @Override
         public SocketAddress remoteAddress() {
             return this.fakeChannel.remoteAddress();
@@ -896,6 +902,11 @@ public final class RntbdTransportClientTest {
             this.fakeChannel.close().syncUninterruptibly();
         }
 
+        @Override
+        public CompletableFuture<Void> openConnection() {
+            return CompletableFuture.completedFuture(null);
+        }
+
         @Override
         public RntbdRequestRecord request(final RntbdRequestArgs requestArgs) {
             final RntbdRequestRecord requestRecord = new RntbdRequestRecord(requestArgs, this.requestTimer);
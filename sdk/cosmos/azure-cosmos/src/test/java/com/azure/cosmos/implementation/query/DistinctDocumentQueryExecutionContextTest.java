@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.CosmosClientException;
+import com.azure.cosmos.FeedResponse;
+import com.azure.cosmos.implementation.Document;
+import com.azure.cosmos.implementation.HttpConstants;
+import com.azure.cosmos.implementation.Utils;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DistinctDocumentQueryExecutionContextTest {
+
+    @Test(groups = { "unit" })
+    public void distinctHashIgnoresPropertyOrderAndNumberRepresentation() throws IOException {
+        assertThat(DistinctHash.getHash(json("{\"a\": 1, \"b\": [\"x\", true]}")))
+            .isEqualTo(DistinctHash.getHash(json("{\"b\": [\"x\", true], \"a\": 1.0}")));
+        assertThat(DistinctHash.getHash(json("{\"a\": {\"c\": null, \"d\": 2}}")))
+            .isEqualTo(DistinctHash.getHash(json("{\"a\": {\"d\": 2.0, \"c\": null}}")));
+        assertThat(DistinctHash.getHash(json("12345678901")))
+            .isEqualTo(DistinctHash.getHash(json("12345678901.0")));
+    }
+
+    @Test(groups = { "unit" })
+    public void distinctHashDistinguishesTypesAndStructure() throws IOException {
+        List<String> values = Arrays.asList("null", "false", "true", "0", "1", "\"1\"", "\"\"", "[]", "{}", "[[]]",
+            "[1, 2]", "[2, 1]", "[\"ab\", \"c\"]", "[\"a\", \"bc\"]", "{\"a\": 1}", "{\"b\": 1}", "{\"a\": [1]}",
+            "[{\"a\": 1}]", "{\"a\": null}", "{\"ab\": \"c\"}", "{\"a\": \"bc\"}");
+
+        List<Object> hashes = new ArrayList<>();
+        for (String value : values) {
+            hashes.add(DistinctHash.getHash(json(value)));
+        }
+        assertThat(hashes).doesNotHaveDuplicates();
+    }
+
+    @Test(groups = { "unit" })
+    public void orderedDistinctMapResumesFromLastHash() throws IOException {
+        DistinctMap distinctMap = DistinctMap.create(DistinctQueryType.Ordered, null);
+        assertThat(distinctMap.getLastHash()).isNull();
+        assertThat(distinctMap.add(json("{\"id\": \"1\"}"))).isTrue();
+        assertThat(distinctMap.add(json("{\"id\": \"1\"}"))).isFalse();
+
+        DistinctMap resumed = DistinctMap.create(DistinctQueryType.Ordered, distinctMap.getLastHash());
+        assertThat(resumed.add(json("{\"id\": \"1\"}"))).isFalse();
+        assertThat(resumed.add(json("{\"id\": \"2\"}"))).isTrue();
+
+        // Only adjacent duplicates are removed, the results of an ordered query are sorted.
+        assertThat(resumed.add(json("{\"id\": \"1\"}"))).isTrue();
+    }
+
+    @Test(groups = { "unit" })
+    public void unorderedDistinctMapRemovesAllDuplicates() throws IOException {
+        DistinctMap distinctMap = DistinctMap.create(DistinctQueryType.Unordered, null);
+        assertThat(distinctMap.add(json("1"))).isTrue();
+        assertThat(distinctMap.add(json("2"))).isTrue();
+        assertThat(distinctMap.add(json("1"))).isFalse();
+        assertThat(distinctMap.add(json("1.0"))).isFalse();
+        assertThat(distinctMap.add(json("\"1\""))).isTrue();
+        assertThat(distinctMap.getLastHash()).isEqualTo(DistinctHash.getHash(json("\"1\"")));
+    }
+
+    @Test(groups = { "unit" })
+    public void orderedDistinctPagesResumeFromTheirContinuationToken() {
+        List<FeedResponse<Document>> pages = drain(DistinctQueryType.Ordered, null,
+            page("source1", "1", "1", "2"),
+            page("source2", "2", "3"));
+
+        assertThat(ids(pages.get(0))).containsExactly("1", "2");
+        assertThat(ids(pages.get(1))).containsExactly("3");
+        assertThat(pages.get(1).getContinuationToken()).isNotNull();
+
+        // Resuming from the token of the first page skips the duplicate of its last result.
+        String continuationToken = pages.get(0).getContinuationToken();
+        List<String> sourceTokens = new ArrayList<>();
+        List<FeedResponse<Document>> resumed = DistinctDocumentQueryExecutionContext.<Document>createAsync(
+            sourceToken -> {
+                sourceTokens.add(sourceToken);
+                return Flux.just(maxPageSize -> Flux.just(page(null, "2", "3")));
+            },
+            DistinctQueryType.Ordered,
+            continuationToken)
+            .flatMap(component -> component.drainAsync(10))
+            .collectList()
+            .block();
+
+        assertThat(sourceTokens).containsExactly("source1");
+        assertThat(ids(resumed.get(0))).containsExactly("3");
+        assertThat(resumed.get(0).getContinuationToken()).isNull();
+    }
+
+    @Test(groups = { "unit" })
+    public void unorderedDistinctPagesHaveNoContinuationToken() {
+        List<FeedResponse<Document>> pages = drain(DistinctQueryType.Unordered, null,
+            page("source1", "1", "2", "1"),
+            page("source2", "2", "3"),
+            page(null, "1", "4"));
+
+        assertThat(pages.stream().map(this::ids).collect(Collectors.toList()))
+            .containsExactly(Arrays.asList("1", "2"), Collections.singletonList("3"), Collections.singletonList("4"));
+        for (FeedResponse<Document> page : pages) {
+            assertThat(page.getContinuationToken()).isNull();
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void unorderedDistinctRejectsContinuationToken() {
+        String continuationToken = new DistinctContinuationToken(null, "source1").toJson();
+
+        try {
+            drain(DistinctQueryType.Unordered, continuationToken, page(null, "1"));
+            throw new AssertionError("expected the continuation token to be rejected");
+        } catch (CosmosClientException e) {
+            assertThat(e.getStatusCode()).isEqualTo(HttpConstants.StatusCodes.BADREQUEST);
+        }
+    }
+
+    @SafeVarargs
+    private static List<FeedResponse<Document>> drain(DistinctQueryType distinctQueryType, String continuationToken,
+                                                      FeedResponse<Document>... sourcePages) {
+        return DistinctDocumentQueryExecutionContext.<Document>createAsync(
+            sourceToken -> Flux.just(maxPageSize -> Flux.just(sourcePages)),
+            distinctQueryType,
+            continuationToken)
+            .flatMap(component -> component.drainAsync(10))
+            .collectList()
+            .block();
+    }
+
+    private static FeedResponse<Document> page(String continuationToken, String... ids) {
+        List<Document> results = new ArrayList<>();
+        for (String id : ids) {
+            results.add(new Document(String.format("{\"id\": \"%s\"}", id)));
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HttpConstants.HttpHeaders.REQUEST_CHARGE, "1");
+        if (continuationToken != null) {
+            headers.put(HttpConstants.HttpHeaders.CONTINUATION, continuationToken);
+        }
+        return BridgeInternal.createFeedResponse(results, headers);
+    }
+
+    private List<String> ids(FeedResponse<Document> page) {
+        return page.getResults().stream().map(Document::getId).collect(Collectors.toList());
+    }
+
+    private static JsonNode json(String json) throws IOException {
+        return Utils.getSimpleObjectMapper().readTree(json);
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import com.azure.cosmos.implementation.Document;
+import com.azure.cosmos.implementation.Utils;
+import com.azure.cosmos.implementation.query.aggregation.AggregateOperator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GroupingTableTest {
+
+    @Test(groups = { "unit" })
+    public void mergesPartialAggregatesOfEveryPartition() throws IOException {
+        Map<String, AggregateOperator> aliasToAggregateType = new HashMap<>();
+        aliasToAggregateType.put("team", null);
+        aliasToAggregateType.put("count", AggregateOperator.Count);
+        aliasToAggregateType.put("total", AggregateOperator.Sum);
+        GroupingTable groupingTable = new GroupingTable(
+            Arrays.asList(AggregateOperator.Count, AggregateOperator.Sum),
+            aliasToAggregateType,
+            Arrays.asList("team", "count", "total"),
+            false);
+
+        groupingTable.addPayload(projection(
+            "{\"groupByItems\": [{\"item\": \"a\"}], "
+                + "\"payload\": {\"team\": \"a\", \"count\": {\"item\": 2}, \"total\": {\"item\": 5}}}"));
+        groupingTable.addPayload(projection(
+            "{\"groupByItems\": [{\"item\": \"b\"}], "
+                + "\"payload\": {\"team\": \"b\", \"count\": {\"item\": 1}, \"total\": {\"item\": 1}}}"));
+        groupingTable.addPayload(projection(
+            "{\"groupByItems\": [{\"item\": \"a\"}], "
+                + "\"payload\": {\"team\": \"a\", \"count\": {\"item\": 3}, \"total\": {\"item\": 4}}}"));
+
+        assertThat(groupingTable.size()).isEqualTo(2);
+
+        List<Document> firstPage = groupingTable.drain(1);
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getString("team")).isEqualTo("a");
+        assertThat(firstPage.get(0).getLong("count")).isEqualTo(5L);
+        assertThat(firstPage.get(0).getDouble("total")).isEqualTo(9.0);
+
+        List<Document> secondPage = groupingTable.drain(1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getString("team")).isEqualTo("b");
+        assertThat(groupingTable.size()).isEqualTo(0);
+    }
+
+    @Test(groups = { "unit" })
+    public void mergesSelectValueAggregates() throws IOException {
+        GroupingTable groupingTable = new GroupingTable(
+            Collections.singletonList(AggregateOperator.Max),
+            Collections.emptyMap(),
+            Collections.emptyList(),
+            true);
+
+        groupingTable.addPayload(projection("{\"groupByItems\": [{\"item\": 1}], \"payload\": [{\"item\": 3}]}"));
+        groupingTable.addPayload(projection("{\"groupByItems\": [{\"item\": 1}], \"payload\": [{\"item\": 7}]}"));
+
+        List<Document> results = groupingTable.drain(10);
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getInt("_value")).isEqualTo(7);
+    }
+
+    private static JsonNode json(String json) throws IOException {
+        return Utils.getSimpleObjectMapper().readTree(json);
+    }
+
+    private static RewrittenGroupByProjection projection(String json) throws IOException {
+        return new RewrittenGroupByProjection((ObjectNode) json(json));
+    }
+}
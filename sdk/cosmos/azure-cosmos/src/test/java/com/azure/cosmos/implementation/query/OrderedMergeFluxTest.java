@@ -0,0 +1,113 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.cosmos.implementation.query;
+
+import org.reactivestreams.Publisher;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderedMergeFluxTest {
+
+    @Test(groups = { "unit" })
+    public void mergesSortedSources() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Publisher<Integer>[] sources = new Publisher[37];
+        for (int i = 0; i < sources.length; i++) {
+            List<Integer> items = random.ints(random.nextInt(50), 0, 1000).sorted().boxed()
+                .collect(Collectors.toList());
+            expected.addAll(items);
+            sources[i] = Flux.fromIterable(items);
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        List<Integer> merged = new OrderedMergeFlux<>(sources, Comparator.<Integer>naturalOrder(), 4)
+            .collectList()
+            .block();
+
+        assertThat(merged).isEqualTo(expected);
+    }
+
+    @Test(groups = { "unit" })
+    public void emitsTiesFromTheFirstSource() {
+        @SuppressWarnings("unchecked")
+        Publisher<String>[] sources = new Publisher[] {
+            Flux.just("a1", "b1"), Flux.just("a2", "b2"), Flux.just("a3")
+        };
+        Comparator<String> comparator = Comparator.comparing(item -> item.charAt(0));
+
+        StepVerifier.create(new OrderedMergeFlux<>(sources, comparator, 1))
+            .expectNext("a1", "a2", "a3", "b1", "b2")
+            .verifyComplete();
+    }
+
+    @Test(groups = { "unit" })
+    public void buffersAtMostPrefetchItemsPerSource() {
+        List<Long> requests = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Publisher<Integer>[] sources = new Publisher[] {
+            Flux.range(0, 100).map(i -> 2 * i).doOnRequest(requests::add),
+            Flux.range(0, 100).map(i -> 2 * i + 1)
+        };
+
+        StepVerifier.create(new OrderedMergeFlux<>(sources, Comparator.<Integer>naturalOrder(), 8), 0)
+            .then(() -> assertThat(requests).containsExactly(8L))
+            .thenRequest(3)
+            .expectNext(0, 1, 2)
+            .then(() -> assertThat(requests).containsExactly(8L))
+            .thenRequest(Long.MAX_VALUE)
+            .expectNextCount(197)
+            .verifyComplete();
+
+        // The first source is replenished in batches of six as its items are emitted.
+        assertThat(requests.subList(1, requests.size())).containsOnly(6L);
+    }
+
+    @Test(groups = { "unit" })
+    public void waitsForEverySourceBeforeEmitting() {
+        TestPublisher<Integer> slow = TestPublisher.create();
+        @SuppressWarnings("unchecked")
+        Publisher<Integer>[] sources = new Publisher[] { Flux.just(1, 3), slow };
+
+        StepVerifier.create(new OrderedMergeFlux<>(sources, Comparator.<Integer>naturalOrder(), 4))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(50))
+            .then(() -> slow.next(2))
+            .expectNext(1, 2)
+            .then(slow::complete)
+            .expectNext(3)
+            .verifyComplete();
+    }
+
+    @Test(groups = { "unit" })
+    public void propagatesSourceErrors() {
+        @SuppressWarnings("unchecked")
+        Publisher<Integer>[] sources = new Publisher[] {
+            Flux.just(1, 2), Flux.error(new IllegalStateException("boom"))
+        };
+
+        StepVerifier.create(new OrderedMergeFlux<>(sources, Comparator.<Integer>naturalOrder(), 4))
+            .verifyErrorMessage("boom");
+    }
+
+    @Test(groups = { "unit" })
+    public void splitsBufferBudgetBetweenPartitions() {
+        assertThat(OrderByUtils.prefetch(0, 10)).isEqualTo(256);
+        assertThat(OrderByUtils.prefetch(1000, 10)).isEqualTo(100);
+        assertThat(OrderByUtils.prefetch(1000, 2000)).isEqualTo(1);
+        assertThat(OrderByUtils.prefetch(100_000, 2)).isEqualTo(256);
+    }
+}
@@ -9,6 +9,7 @@ import com.azure.core.annotation.ServiceMethod;
 import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
 import com.azure.core.http.rest.PagedFlux;
 import com.azure.core.http.rest.PagedResponse;
 import com.azure.core.http.rest.Response;
@@ -31,6 +32,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiFunction;
 
+import static com.azure.core.util.FluxUtil.fluxContext;
+import static com.azure.core.util.FluxUtil.fluxError;
 import static com.azure.core.util.FluxUtil.monoError;
 import static com.azure.core.util.FluxUtil.pagedFluxError;
 import static com.azure.core.util.FluxUtil.withContext;
@@ -194,6 +197,160 @@ public final class BlobBatchAsyncClient {
         return submitBatchHelper(blobUrls, (batch, blobUrl) -> batch.setBlobAccessTier(blobUrl, accessTier), context);
     }
 
+    /**
+     * Deletes a stream of blobs, packing them into batches.
+     *
+     * <p>Blobs are packed into batches of up to {@link BlobBatchStreamingOptions#getMaxBatchSize()} blobs and up to
+     * {@link BlobBatchStreamingOptions#getMaxConcurrency()} batches are in flight at once. Blobs are only requested
+     * from {@code blobUrls} as batches complete, so the stream can hold any number of blobs. Deletes that were
+     * throttled or hit a server error are retried in a new batch, other failures are reported in the results and don't
+     * stop the stream.</p>
+     *
+     * <p><strong>Code samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.batch.BlobBatchAsyncClient.deleteBlobs#Flux-DeleteSnapshotsOptionType-BlobBatchStreamingOptions}
+     *
+     * @param blobUrls Urls of the blobs to delete. Blob names must be encoded to UTF-8.
+     * @param deleteOptions The deletion option for all blobs.
+     * @param options {@link BlobBatchStreamingOptions}, may be null to use the defaults.
+     * @return The outcome of the delete of each blob, in the order the batches complete.
+     * @throws BlobStorageException If a batch request is malformed.
+     */
+    @ServiceMethod(returns = ReturnType.COLLECTION)
+    public Flux<BlobBatchOperationResult> deleteBlobs(Flux<String> blobUrls, DeleteSnapshotsOptionType deleteOptions,
+        BlobBatchStreamingOptions options) {
+        try {
+            return fluxContext(context -> deleteBlobsWithTimeout(blobUrls, deleteOptions, options, null, context));
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobBatchOperationResult> deleteBlobsWithTimeout(Flux<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchStreamingOptions options, Duration timeout,
+        Context context) {
+        return submitStreamingBatches(blobUrls, (batch, blobUrl) -> batch.deleteBlob(blobUrl, deleteOptions, null),
+            options, timeout, context);
+    }
+
+    /**
+     * Sets the access tier of a stream of blobs, packing them into batches.
+     *
+     * <p>Blobs are packed into batches of up to {@link BlobBatchStreamingOptions#getMaxBatchSize()} blobs and up to
+     * {@link BlobBatchStreamingOptions#getMaxConcurrency()} batches are in flight at once. Blobs are only requested
+     * from {@code blobUrls} as batches complete, so the stream can hold any number of blobs. Operations that were
+     * throttled or hit a server error are retried in a new batch, other failures are reported in the results and
+     * don't stop the stream.</p>
+     *
+     * <p><strong>Code samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.batch.BlobBatchAsyncClient.setBlobsAccessTier#Flux-AccessTier-BlobBatchStreamingOptions}
+     *
+     * @param blobUrls Urls of the blobs to set their access tier. Blob names must be encoded to UTF-8.
+     * @param accessTier {@link AccessTier} to set on each blob.
+     * @param options {@link BlobBatchStreamingOptions}, may be null to use the defaults.
+     * @return The outcome of the set tier operation of each blob, in the order the batches complete.
+     * @throws BlobStorageException If a batch request is malformed.
+     */
+    @ServiceMethod(returns = ReturnType.COLLECTION)
+    public Flux<BlobBatchOperationResult> setBlobsAccessTier(Flux<String> blobUrls, AccessTier accessTier,
+        BlobBatchStreamingOptions options) {
+        try {
+            return fluxContext(context -> setBlobsAccessTierWithTimeout(blobUrls, accessTier, options, null, context));
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobBatchOperationResult> setBlobsAccessTierWithTimeout(Flux<String> blobUrls, AccessTier accessTier,
+        BlobBatchStreamingOptions options, Duration timeout, Context context) {
+        return submitStreamingBatches(blobUrls, (batch, blobUrl) -> batch.setBlobAccessTier(blobUrl, accessTier),
+            options, timeout, context);
+    }
+
+    /*
+     * Packs the blobs into batches as they are requested. flatMap only requests another batch worth of blobs when one
+     * of the batches in flight completes, which keeps the number of blobs held in memory bounded.
+     */
+    private Flux<BlobBatchOperationResult> submitStreamingBatches(Flux<String> blobUrls,
+        BiFunction<BlobBatch, String, Response<Void>> generator, BlobBatchStreamingOptions options, Duration timeout,
+        Context context) {
+        StorageImplUtils.assertNotNull("blobUrls", blobUrls);
+        BlobBatchStreamingOptions finalOptions = options == null ? new BlobBatchStreamingOptions() : options;
+
+        return blobUrls.buffer(finalOptions.getMaxBatchSize())
+            .flatMap(batchUrls -> submitStreamingBatch(batchUrls, generator, finalOptions, 0, timeout, context),
+                finalOptions.getMaxConcurrency());
+    }
+
+    /*
+     * Submits a batch without failing on failed operations, then resubmits the operations that can be retried in a
+     * new batch after a delay. The retry keeps the slot of the original batch, so throttling slows down the stream.
+     */
+    private Flux<BlobBatchOperationResult> submitStreamingBatch(List<String> blobUrls,
+        BiFunction<BlobBatch, String, Response<Void>> generator, BlobBatchStreamingOptions options, int retryCount,
+        Duration timeout, Context context) {
+        return Flux.defer(() -> {
+            BlobBatch batch = getBlobBatch();
+            List<Response<Void>> responses = new ArrayList<>(blobUrls.size());
+            for (String blobUrl : blobUrls) {
+                responses.add(generator.apply(batch, blobUrl));
+            }
+
+            return StorageImplUtils.applyOptionalTimeout(submitBatchWithResponse(batch, false, context), timeout)
+                .flatMapMany(ignored -> {
+                    List<BlobBatchOperationResult> results = new ArrayList<>(blobUrls.size());
+                    List<String> retryUrls = new ArrayList<>();
+                    for (int i = 0; i < blobUrls.size(); i++) {
+                        BlobBatchOperationResponse<?> response = (BlobBatchOperationResponse<?>) responses.get(i);
+                        if (!response.isResponseReceived()) {
+                            return fluxError(logger, new IllegalStateException(
+                                "Batch response doesn't contain the operation on " + blobUrls.get(i)));
+                        }
+
+                        int statusCode = response.getReceivedStatusCode();
+                        if (response.wasExpectedResponse()) {
+                            results.add(new BlobBatchOperationResult(blobUrls.get(i), statusCode, null));
+                        } else if (retryCount < options.getMaxRetries() && isRetryable(statusCode)) {
+                            retryUrls.add(blobUrls.get(i));
+                        } else {
+                            results.add(new BlobBatchOperationResult(blobUrls.get(i), statusCode,
+                                getOperationException(response)));
+                        }
+                    }
+
+                    Flux<BlobBatchOperationResult> completed = Flux.fromIterable(results);
+                    if (retryUrls.isEmpty()) {
+                        return completed;
+                    }
+
+                    Duration delay = options.getRetryDelay().multipliedBy(1L << Math.min(retryCount, 16));
+                    return completed.concatWith(Mono.delay(delay).thenMany(submitStreamingBatch(retryUrls, generator,
+                        options, retryCount + 1, timeout, context)));
+                });
+        });
+    }
+
+    /*
+     * Matches the status codes RequestRetryPolicy retries requests on, 503 is what the service returns when it
+     * throttles.
+     */
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 500 || statusCode == 503;
+    }
+
+    /*
+     * Operations only have an exception when the service returned an error body.
+     */
+    private static BlobStorageException getOperationException(BlobBatchOperationResponse<?> response) {
+        if (response.getException() != null) {
+            return response.getException();
+        }
+
+        HttpResponse httpResponse = response.asHttpResponse("");
+        return new BlobStorageException(httpResponse.getHeaderValue("x-ms-error-code"), httpResponse, null);
+    }
+
     /*
      * This helper method creates the batch request, applies the requested batching operation to each blob, sends the
      * request to the service, and returns the responses.
@@ -9,10 +9,13 @@ import com.azure.core.annotation.ServiceMethod;
 import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.http.rest.Response;
 import com.azure.core.util.Context;
+import com.azure.core.util.IterableStream;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
 import com.azure.storage.common.implementation.StorageImplUtils;
+import reactor.core.publisher.Flux;
+
 import java.time.Duration;
 import java.util.List;
 
@@ -166,4 +169,64 @@ public final class BlobBatchClient {
         Duration timeout, Context context) {
         return new PagedIterable<>(client.setBlobsAccessTierWithTimeout(blobUrls, accessTier, timeout, context));
     }
+
+    /**
+     * Deletes a stream of blobs, packing them into batches.
+     *
+     * <p>Blobs are packed into batches of up to {@link BlobBatchStreamingOptions#getMaxBatchSize()} blobs and up to
+     * {@link BlobBatchStreamingOptions#getMaxConcurrency()} batches are in flight at once. Blobs are only read from
+     * {@code blobUrls} as the results are iterated and batches complete. Deletes that were throttled or hit a server
+     * error are retried in a new batch, other failures are reported in the results and don't stop the stream.</p>
+     *
+     * <p><strong>Code samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.batch.BlobBatchClient.deleteBlobs#Iterable-DeleteSnapshotsOptionType-BlobBatchStreamingOptions-Duration-Context}
+     *
+     * @param blobUrls Urls of the blobs to delete. Blob names must be encoded to UTF-8.
+     * @param deleteOptions The deletion option for all blobs.
+     * @param options {@link BlobBatchStreamingOptions}, may be null to use the defaults.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised, applied to each
+     * batch request.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return The outcome of the delete of each blob, in the order the batches complete.
+     * @throws RuntimeException If the {@code timeout} duration completes before a batch response is returned.
+     * @throws BlobStorageException If a batch request is malformed.
+     */
+    @ServiceMethod(returns = ReturnType.COLLECTION)
+    public IterableStream<BlobBatchOperationResult> deleteBlobs(Iterable<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchStreamingOptions options, Duration timeout,
+        Context context) {
+        return new IterableStream<>(client.deleteBlobsWithTimeout(Flux.fromIterable(blobUrls), deleteOptions, options,
+            timeout, context));
+    }
+
+    /**
+     * Sets the access tier of a stream of blobs, packing them into batches.
+     *
+     * <p>Blobs are packed into batches of up to {@link BlobBatchStreamingOptions#getMaxBatchSize()} blobs and up to
+     * {@link BlobBatchStreamingOptions#getMaxConcurrency()} batches are in flight at once. Blobs are only read from
+     * {@code blobUrls} as the results are iterated and batches complete. Operations that were throttled or hit a
+     * server error are retried in a new batch, other failures are reported in the results and don't stop the
+     * stream.</p>
+     *
+     * <p><strong>Code samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.batch.BlobBatchClient.setBlobsAccessTier#Iterable-AccessTier-BlobBatchStreamingOptions-Duration-Context}
+     *
+     * @param blobUrls Urls of the blobs to set their access tier. Blob names must be encoded to UTF-8.
+     * @param accessTier {@link AccessTier} to set on each blob.
+     * @param options {@link BlobBatchStreamingOptions}, may be null to use the defaults.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised, applied to each
+     * batch request.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return The outcome of the set tier operation of each blob, in the order the batches complete.
+     * @throws RuntimeException If the {@code timeout} duration completes before a batch response is returned.
+     * @throws BlobStorageException If a batch request is malformed.
+     */
+    @ServiceMethod(returns = ReturnType.COLLECTION)
+    public IterableStream<BlobBatchOperationResult> setBlobsAccessTier(Iterable<String> blobUrls,
+        AccessTier accessTier, BlobBatchStreamingOptions options, Duration timeout, Context context) {
+        return new IterableStream<>(client.setBlobsAccessTierWithTimeout(Flux.fromIterable(blobUrls), accessTier,
+            options, timeout, context));
+    }
 }
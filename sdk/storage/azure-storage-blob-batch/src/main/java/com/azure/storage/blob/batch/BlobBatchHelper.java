@@ -113,8 +113,8 @@ class BlobBatchHelper {
                         createHttpResponse(batchResponse), exceptions));
                 }
 
-                new SimpleResponse<>(batchResponse, null);
-            }));
+            }))
+            .then(Mono.fromSupplier(() -> new SimpleResponse<>(batchResponse, null)));
     }
 
     private static BlobBatchOperationResponse<?> getBatchOperation(BlobBatchOperationInfo batchOperationInfo,
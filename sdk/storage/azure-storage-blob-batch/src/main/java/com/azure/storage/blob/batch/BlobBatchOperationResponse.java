@@ -96,6 +96,21 @@ final class BlobBatchOperationResponse<T> implements Response<T> {
         return expectedStatusCodes.contains(statusCode);
     }
 
+    boolean isResponseReceived() {
+        return responseReceived;
+    }
+
+    /*
+     * Unlike getStatusCode, this doesn't throw when the operation failed.
+     */
+    int getReceivedStatusCode() {
+        return statusCode;
+    }
+
+    BlobStorageException getException() {
+        return exception;
+    }
+
     HttpResponse asHttpResponse(String body) {
         return BlobBatchHelper.createHttpResponse(request, statusCode, headers, body);
     }
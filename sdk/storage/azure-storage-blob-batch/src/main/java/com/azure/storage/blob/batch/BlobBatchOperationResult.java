@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.annotation.Immutable;
+import com.azure.storage.blob.models.BlobStorageException;
+
+/**
+ * The outcome of the operation on a single blob when {@link BlobBatchAsyncClient} streams blobs into batches.
+ */
+@Immutable
+public final class BlobBatchOperationResult {
+    private final String blobUrl;
+    private final int statusCode;
+    private final BlobStorageException exception;
+
+    BlobBatchOperationResult(String blobUrl, int statusCode, BlobStorageException exception) {
+        this.blobUrl = blobUrl;
+        this.statusCode = statusCode;
+        this.exception = exception;
+    }
+
+    /**
+     * @return the URL of the blob the operation applied to
+     */
+    public String getBlobUrl() {
+        return blobUrl;
+    }
+
+    /**
+     * @return the status code of the last attempt of the operation
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return whether the operation succeeded
+     */
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    /**
+     * @return the error of the operation, or {@code null} if it succeeded
+     */
+    public BlobStorageException getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Defines options available to configure how a {@link BlobBatchAsyncClient} packs a stream of blobs into batches.
+ */
+@Fluent
+public final class BlobBatchStreamingOptions {
+    /**
+     * The maximum number of operations the service accepts in a batch.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    private int maxBatchSize = MAX_BATCH_SIZE;
+    private int maxConcurrency = 4;
+    private int maxRetries = 3;
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    /**
+     * @return the maximum number of blobs in a batch, {@link #MAX_BATCH_SIZE} by default
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize The maximum number of blobs in a batch, between 1 and {@link #MAX_BATCH_SIZE}
+     * @return the updated BlobBatchStreamingOptions object
+     */
+    public BlobBatchStreamingOptions setMaxBatchSize(int maxBatchSize) {
+        StorageImplUtils.assertInBounds("maxBatchSize", maxBatchSize, 1, MAX_BATCH_SIZE);
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of batches in flight, 4 by default
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of batches in flight, must be at least 1. Blobs are only requested from
+     * the stream as batches complete.
+     * @return the updated BlobBatchStreamingOptions object
+     */
+    public BlobBatchStreamingOptions setMaxConcurrency(int maxConcurrency) {
+        StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of times the operation on a blob is retried, 3 by default
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param maxRetries The maximum number of times the operation on a blob is retried, 0 to not retry. Only
+     * operations that were throttled or hit a server error are retried, in a new batch with the other operations of
+     * their batch that need a retry.
+     * @return the updated BlobBatchStreamingOptions object
+     */
+    public BlobBatchStreamingOptions setMaxRetries(int maxRetries) {
+        StorageImplUtils.assertInBounds("maxRetries", maxRetries, 0, Integer.MAX_VALUE);
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * @return the delay before the first retry of failed operations, 1 second by default
+     */
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * @param retryDelay The delay before the first retry of failed operations. The delay doubles with every further
+     * retry.
+     * @return the updated BlobBatchStreamingOptions object
+     */
+    public BlobBatchStreamingOptions setRetryDelay(Duration retryDelay) {
+        Objects.requireNonNull(retryDelay, "'retryDelay' cannot be null.");
+        this.retryDelay = retryDelay;
+        return this;
+    }
+}
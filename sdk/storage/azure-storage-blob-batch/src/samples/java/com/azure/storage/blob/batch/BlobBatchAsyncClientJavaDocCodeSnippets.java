@@ -6,10 +6,13 @@ package com.azure.storage.blob.batch;
 import com.azure.core.http.rest.Response;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobClientBuilder;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -102,4 +105,42 @@ public class BlobBatchAsyncClientJavaDocCodeSnippets {
             error -> System.err.printf("Setting blob access tier failed with exception: %s%n", error.getMessage()));
         // END: com.azure.storage.blob.batch.BlobBatchAsyncClient.setBlobsAccessTier#List-AccessTier
     }
+
+    /**
+     * Code snippet for {@link BlobBatchAsyncClient#deleteBlobs(Flux, DeleteSnapshotsOptionType, BlobBatchStreamingOptions)}
+     */
+    public void deleteBlobsStreaming() {
+        BlobContainerAsyncClient containerAsyncClient = new BlobContainerClientBuilder().buildAsyncClient();
+
+        // BEGIN: com.azure.storage.blob.batch.BlobBatchAsyncClient.deleteBlobs#Flux-DeleteSnapshotsOptionType-BlobBatchStreamingOptions
+        Flux<String> blobUrls = containerAsyncClient.listBlobs()
+            .map(blobItem -> containerAsyncClient.getBlobAsyncClient(blobItem.getName()).getBlobUrl());
+
+        batchAsyncClient.deleteBlobs(blobUrls, DeleteSnapshotsOptionType.INCLUDE,
+            new BlobBatchStreamingOptions().setMaxConcurrency(8))
+            .filter(result -> !result.isSuccessful())
+            .subscribe(result -> System.out.printf("Deleting blob with URL %s failed with status code %d%n",
+                    result.getBlobUrl(), result.getStatusCode()),
+                error -> System.err.printf("Deleting blobs failed with exception: %s%n", error.getMessage()));
+        // END: com.azure.storage.blob.batch.BlobBatchAsyncClient.deleteBlobs#Flux-DeleteSnapshotsOptionType-BlobBatchStreamingOptions
+    }
+
+    /**
+     * Code snippet for {@link BlobBatchAsyncClient#setBlobsAccessTier(Flux, AccessTier, BlobBatchStreamingOptions)}
+     */
+    public void setBlobsAccessTierStreaming() {
+        BlobContainerAsyncClient containerAsyncClient = new BlobContainerClientBuilder().buildAsyncClient();
+
+        // BEGIN: com.azure.storage.blob.batch.BlobBatchAsyncClient.setBlobsAccessTier#Flux-AccessTier-BlobBatchStreamingOptions
+        Flux<String> blobUrls = containerAsyncClient.listBlobs()
+            .map(blobItem -> containerAsyncClient.getBlobAsyncClient(blobItem.getName()).getBlobUrl());
+
+        batchAsyncClient.setBlobsAccessTier(blobUrls, AccessTier.COOL, new BlobBatchStreamingOptions())
+            .filter(result -> !result.isSuccessful())
+            .subscribe(result -> System.out.printf("Setting the tier of blob with URL %s failed with status code %d%n",
+                    result.getBlobUrl(), result.getStatusCode()),
+                error -> System.err.printf("Setting blob access tiers failed with exception: %s%n",
+                    error.getMessage()));
+        // END: com.azure.storage.blob.batch.BlobBatchAsyncClient.setBlobsAccessTier#Flux-AccessTier-BlobBatchStreamingOptions
+    }
 }
@@ -7,6 +7,8 @@ import com.azure.core.http.rest.Response;
 import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobClientBuilder;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobRequestConditions;
@@ -168,4 +170,46 @@ public class BlobBatchClientJavaDocCodeSnippets {
         }
         // END: com.azure.storage.blob.batch.BlobBatchClient.setBlobsAccessTier#List-AccessTier-Duration-Context
     }
+
+    /**
+     * Code snippet for {@link BlobBatchClient#deleteBlobs(Iterable, DeleteSnapshotsOptionType, BlobBatchStreamingOptions, Duration, Context)}
+     */
+    public void deleteBlobsStreaming() {
+        BlobContainerClient containerClient = new BlobContainerClientBuilder().buildClient();
+
+        // BEGIN: com.azure.storage.blob.batch.BlobBatchClient.deleteBlobs#Iterable-DeleteSnapshotsOptionType-BlobBatchStreamingOptions-Duration-Context
+        Iterable<String> blobUrls = () -> containerClient.listBlobs().stream()
+            .map(blobItem -> containerClient.getBlobClient(blobItem.getName()).getBlobUrl())
+            .iterator();
+
+        batchClient.deleteBlobs(blobUrls, DeleteSnapshotsOptionType.INCLUDE,
+            new BlobBatchStreamingOptions().setMaxConcurrency(8), timeout, Context.NONE).forEach(result -> {
+                if (!result.isSuccessful()) {
+                    System.out.printf("Deleting blob with URL %s failed with status code %d%n", result.getBlobUrl(),
+                        result.getStatusCode());
+                }
+            });
+        // END: com.azure.storage.blob.batch.BlobBatchClient.deleteBlobs#Iterable-DeleteSnapshotsOptionType-BlobBatchStreamingOptions-Duration-Context
+    }
+
+    /**
+     * Code snippet for {@link BlobBatchClient#setBlobsAccessTier(Iterable, AccessTier, BlobBatchStreamingOptions, Duration, Context)}
+     */
+    public void setBlobsAccessTierStreaming() {
+        BlobContainerClient containerClient = new BlobContainerClientBuilder().buildClient();
+
+        // BEGIN: com.azure.storage.blob.batch.BlobBatchClient.setBlobsAccessTier#Iterable-AccessTier-BlobBatchStreamingOptions-Duration-Context
+        Iterable<String> blobUrls = () -> containerClient.listBlobs().stream()
+            .map(blobItem -> containerClient.getBlobClient(blobItem.getName()).getBlobUrl())
+            .iterator();
+
+        batchClient.setBlobsAccessTier(blobUrls, AccessTier.COOL, new BlobBatchStreamingOptions(), timeout,
+            Context.NONE).forEach(result -> {
+                if (!result.isSuccessful()) {
+                    System.out.printf("Setting the tier of blob with URL %s failed with status code %d%n",
+                        result.getBlobUrl(), result.getStatusCode());
+                }
+            });
+        // END: com.azure.storage.blob.batch.BlobBatchClient.setBlobsAccessTier#Iterable-AccessTier-BlobBatchStreamingOptions-Duration-Context
+    }
 }
@@ -354,6 +354,7 @@ class BatchAPITest extends APISpec {
         def responses = batchClient.deleteBlobs(blobUrls, DeleteSnapshotsOptionType.INCLUDE)
 
         then:
+        responses.stream().count() == 10
         for (def response : responses) {
             assert response.getStatusCode() == 202
         }
@@ -372,6 +373,7 @@ class BatchAPITest extends APISpec {
         def responses = batchClient.setBlobsAccessTier(blobUrls, AccessTier.HOT)
 
         then:
+        responses.stream().count() == 10
         for (def response : responses) {
             assert response.getStatusCode() == 200
         }
@@ -0,0 +1,108 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch
+
+import com.azure.storage.blob.BlobServiceClientBuilder
+import com.azure.storage.blob.models.AccessTier
+import com.azure.storage.blob.models.BlobErrorCode
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Tests the streaming bulk operations of {@link BlobBatchAsyncClient} against {@link FakeBatchHttpClient}, as they
+ * need more blobs and failures than can be set up against the service.
+ */
+class BlobBatchStreamingTest extends Specification {
+    def "Streaming packs more than 256 blobs into batches"() {
+        setup:
+        def httpClient = new FakeBatchHttpClient({ String blobPath, Integer attempt -> 202 })
+        def blobUrls = new ArrayList<String>()
+        for (def i = 0; i < 600; i++) {
+            blobUrls.add(fakeBlobUrl(i))
+        }
+
+        when:
+        def results = getFakeBatchClient(httpClient)
+            .deleteBlobs(Flux.fromIterable(blobUrls), DeleteSnapshotsOptionType.INCLUDE, null)
+            .collectList().block()
+
+        then:
+        results.size() == 600
+        results.collect { it.getBlobUrl() }.toSet() == blobUrls.toSet()
+        results.every { it.isSuccessful() && it.getStatusCode() == 202 }
+        httpClient.getBatchSizes().size() == 3
+        httpClient.getBatchSizes().every { it <= BlobBatchStreamingOptions.MAX_BATCH_SIZE }
+        httpClient.getBatchSizes().sum() == 600
+    }
+
+    def "Streaming retries throttled operations"() {
+        setup:
+        // blob0 is throttled once, blob1 always fails with a server error, the others succeed the first time.
+        def httpClient = new FakeBatchHttpClient({ String blobPath, Integer attempt ->
+            if (blobPath.endsWith("/blob0")) {
+                return attempt == 0 ? 503 : 200
+            }
+            return blobPath.endsWith("/blob1") ? 500 : 200
+        })
+        def blobUrls = (0..3).collect { fakeBlobUrl(it) }
+        def options = new BlobBatchStreamingOptions().setMaxRetries(2).setRetryDelay(Duration.ofMillis(1))
+
+        when:
+        def results = getFakeBatchClient(httpClient)
+            .setBlobsAccessTier(Flux.fromIterable(blobUrls), AccessTier.HOT, options)
+            .collectList().block()
+        def resultsByUrl = results.collectEntries { [(it.getBlobUrl()): it] }
+
+        then:
+        results.size() == 4
+        resultsByUrl[fakeBlobUrl(0)].isSuccessful()
+        !resultsByUrl[fakeBlobUrl(1)].isSuccessful()
+        resultsByUrl[fakeBlobUrl(1)].getStatusCode() == 500
+        resultsByUrl[fakeBlobUrl(2)].isSuccessful()
+        resultsByUrl[fakeBlobUrl(3)].isSuccessful()
+        httpClient.getAttempts("/container/blob0") == 2
+        httpClient.getAttempts("/container/blob1") == options.getMaxRetries() + 1
+        httpClient.getAttempts("/container/blob2") == 1
+        httpClient.getAttempts("/container/blob3") == 1
+        httpClient.getBatchSizes() == [4, 2, 1]
+    }
+
+    def "Streaming reports failures without ending the stream"() {
+        setup:
+        def httpClient = new FakeBatchHttpClient({ String blobPath, Integer attempt ->
+            blobPath.endsWith("/blob1") ? 404 : 202
+        })
+        def blobUrls = (0..599).collect { fakeBlobUrl(it) }
+
+        when:
+        def results = getFakeBatchClient(httpClient)
+            .deleteBlobs(Flux.fromIterable(blobUrls), DeleteSnapshotsOptionType.INCLUDE, null)
+            .collectList().block()
+        def failed = results.findAll { !it.isSuccessful() }
+
+        then:
+        results.size() == 600
+        failed.size() == 1
+        failed[0].getBlobUrl() == fakeBlobUrl(1)
+        failed[0].getStatusCode() == 404
+        failed[0].getException().getErrorCode() == BlobErrorCode.BLOB_NOT_FOUND
+        httpClient.getAttempts("/container/blob1") == 1
+        httpClient.getBatchSizes().sum() == 600
+    }
+
+    static def getFakeBatchClient(FakeBatchHttpClient httpClient) {
+        return new BlobBatchClientBuilder(new BlobServiceClientBuilder()
+            .endpoint("https://account.blob.core.windows.net")
+            .httpClient(httpClient)
+            .buildAsyncClient())
+            .buildAsyncClient()
+    }
+
+    static def fakeBlobUrl(int index) {
+        return "https://account.blob.core.windows.net/container/blob" + index
+    }
+}
@@ -0,0 +1,153 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.FluxUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers batch requests without a service, so the packing and retrying of batches can be tested deterministically.
+ * The status code of every operation is given by a function of the path of its blob and of the number of times the
+ * blob was already part of a batch.
+ */
+class FakeBatchHttpClient implements HttpClient {
+    private static final String NEWLINE = "\r\n";
+    private static final Pattern CONTENT_ID_PATTERN = Pattern.compile("Content-ID: (\\d+)");
+    private static final Pattern REQUEST_LINE_PATTERN = Pattern.compile("(\\w+) (\\S+) HTTP/1\\.1");
+
+    private final BiFunction<String, Integer, Integer> statusCodes;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    FakeBatchHttpClient(BiFunction<String, Integer, Integer> statusCodes) {
+        this.statusCodes = statusCodes;
+    }
+
+    /**
+     * @return the number of operations of every batch request, in the order they were sent.
+     */
+    List<Integer> getBatchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * @param blobPath The path of the blob, "/container/blob".
+     * @return the number of batch requests the blob was part of.
+     */
+    int getAttempts(String blobPath) {
+        AtomicInteger count = attempts.get(blobPath);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        String boundary = request.getHeaders().getValue("Content-Type").split("boundary=", 2)[1];
+
+        return FluxUtil.collectBytesInByteBufferStream(request.getBody()).map(bytes -> {
+            String responseBoundary = "batchresponse_" + UUID.randomUUID();
+            StringBuilder body = new StringBuilder();
+            int operationCount = 0;
+
+            for (String part : new String(bytes, StandardCharsets.UTF_8).split("--" + boundary)) {
+                Matcher contentId = CONTENT_ID_PATTERN.matcher(part);
+                Matcher requestLine = REQUEST_LINE_PATTERN.matcher(part);
+                if (!contentId.find() || !requestLine.find()) {
+                    continue;
+                }
+
+                operationCount++;
+                String blobPath = requestLine.group(2).split("\\?", 2)[0];
+                int attempt = attempts.computeIfAbsent(blobPath, ignored -> new AtomicInteger()).getAndIncrement();
+                int statusCode = statusCodes.apply(blobPath, attempt);
+
+                body.append("--").append(responseBoundary).append(NEWLINE)
+                    .append("Content-Type: application/http").append(NEWLINE)
+                    .append("Content-ID: ").append(contentId.group(1)).append(NEWLINE)
+                    .append(NEWLINE)
+                    .append("HTTP/1.1 ").append(statusCode).append(statusCode < 400 ? " Accepted" : " Error")
+                    .append(NEWLINE);
+                if (statusCode >= 400) {
+                    body.append("x-ms-error-code: ").append(statusCode == 404 ? "BlobNotFound" : "ServerBusy")
+                        .append(NEWLINE);
+                }
+                body.append("x-ms-request-id: ").append(UUID.randomUUID()).append(NEWLINE)
+                    .append("x-ms-version: 2019-02-02").append(NEWLINE)
+                    .append(NEWLINE);
+            }
+            body.append("--").append(responseBoundary).append("--").append(NEWLINE);
+            batchSizes.add(operationCount);
+
+            HttpHeaders headers = new HttpHeaders()
+                .put("Content-Type", "multipart/mixed; boundary=" + responseBoundary)
+                .put("x-ms-request-id", UUID.randomUUID().toString())
+                .put("x-ms-version", "2019-02-02");
+
+            return new FakeResponse(request, headers, body.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    private static final class FakeResponse extends HttpResponse {
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        FakeResponse(HttpRequest request, HttpHeaders headers, byte[] body) {
+            super(request);
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 202;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.just(ByteBuffer.wrap(body));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.just(new String(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just(new String(body, charset));
+        }
+    }
+}
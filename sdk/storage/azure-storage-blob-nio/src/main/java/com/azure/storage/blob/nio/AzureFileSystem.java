@@ -315,6 +315,14 @@ public final class AzureFileSystem extends FileSystem {
         return this.blobServiceClient;
     }
 
+    Integer getBlockSize() {
+        return this.blockSize;
+    }
+
+    Integer getDownloadResumeRetries() {
+        return this.downloadResumeRetries;
+    }
+
     private BlobServiceClient buildBlobServiceClient(String accountName, Map<String, ?> config) {
         // Build the endpoint.
         String scheme = !config.containsKey(AZURE_STORAGE_USE_HTTPS)
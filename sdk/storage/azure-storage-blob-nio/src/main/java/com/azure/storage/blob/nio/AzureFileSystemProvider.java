@@ -5,12 +5,18 @@ package com.azure.storage.blob.nio;
 
 import com.azure.core.util.CoreUtils;
 import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobClientBuilder;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.CopyStatusType;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
 import com.azure.storage.blob.nio.implementation.util.Utility;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,7 +26,9 @@ import java.net.HttpURLConnection;
 import java.net.URI;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.CopyOption;
+import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileStore;
@@ -28,14 +36,18 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystemAlreadyExistsException;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -184,12 +196,86 @@ public final class AzureFileSystemProvider extends FileSystemProvider {
     }
 
     /**
+     * Opens a channel to read or write a blob, see {@link AzureReadChannel} and {@link AzureWriteChannel}.
+     * <p>
+     * A channel may be opened either for reading or for writing, and {@link StandardOpenOption#APPEND} is not
+     * supported. Reads are served from a cache of blocks downloaded with range requests, so seeking is cheap, and fail
+     * if the blob is modified after the channel was opened. Writes stage blocks in parallel and the blob is only
+     * replaced when the channel is closed; the position of a write channel can't be moved. As a blob can only be
+     * replaced as a whole, writing to an existing blob requires {@link StandardOpenOption#TRUNCATE_EXISTING}.
+     * <p>
+     * When writing, file attributes are converted to blob headers and metadata as in
+     * {@link #createDirectory(Path, FileAttribute[])}. As with directories, only the weak existence of the parent
+     * directory is checked.
+     *
      * {@inheritDoc}
      */
     @Override
     public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> set,
             FileAttribute<?>... fileAttributes) throws IOException {
-        return null;
+        AzurePath azurePath = toAzurePath(path);
+        Set<? extends OpenOption> options = set == null ? Collections.emptySet() : set;
+        fileAttributes = fileAttributes == null ? new FileAttribute<?>[0] : fileAttributes;
+
+        if (options.contains(StandardOpenOption.APPEND)) {
+            throw Utility.logError(logger, new UnsupportedOperationException("Appending to a blob is not supported."));
+        }
+        boolean write = options.contains(StandardOpenOption.WRITE);
+        if (write && options.contains(StandardOpenOption.READ)) {
+            throw Utility.logError(logger, new UnsupportedOperationException(
+                "A channel cannot be opened for both reading and writing."));
+        }
+
+        AzureFileSystem fileSystem = (AzureFileSystem) path.getFileSystem();
+        BlobClient client = azurePath.toBlobClient();
+        BlobProperties properties = getPropertiesIfExists(client);
+        if (properties != null && isDirectoryMarker(properties)) {
+            throw Utility.logError(logger, new IOException("Path is a directory: " + path.toString()));
+        }
+
+        if (!write) {
+            if (properties == null) {
+                throw Utility.logError(logger, new NoSuchFileException(path.toString()));
+            }
+            return new AzureReadChannel(client, properties.getBlobSize(), properties.getETag(),
+                fileSystem.getDownloadResumeRetries());
+        }
+
+        BlobRequestConditions requestConditions = new BlobRequestConditions();
+        if (options.contains(StandardOpenOption.CREATE_NEW)) {
+            if (properties != null) {
+                throw Utility.logError(logger, new FileAlreadyExistsException(path.toString()));
+            }
+            requestConditions.setIfNoneMatch("*");
+        } else if (properties == null) {
+            if (!options.contains(StandardOpenOption.CREATE)) {
+                throw Utility.logError(logger, new NoSuchFileException(path.toString()));
+            }
+        } else if (!options.contains(StandardOpenOption.TRUNCATE_EXISTING)) {
+            throw Utility.logError(logger, new UnsupportedOperationException("Writing to an existing blob requires "
+                + "TRUNCATE_EXISTING as blobs can only be replaced as a whole."));
+        }
+
+        if (!checkParentDirectoryExists(getContainerClient(fileSystem, client), getParentPrefix(path))) {
+            throw Utility.logError(logger, new IOException("Parent directory does not exist for path: "
+                + path.toString()));
+        }
+
+        List<FileAttribute<?>> attributeList = new ArrayList<>(Arrays.asList(fileAttributes));
+        BlobHttpHeaders headers = Utility.extractHttpHeaders(attributeList, logger);
+        Map<String, String> metadata = Utility.convertAttributesToMetadata(attributeList);
+
+        BlockBlobAsyncClient asyncClient = new BlobClientBuilder()
+            .pipeline(client.getHttpPipeline())
+            .endpoint(client.getBlobUrl())
+            .serviceVersion(client.getServiceVersion())
+            .buildAsyncClient()
+            .getBlockBlobAsyncClient();
+        int blockSize = fileSystem.getBlockSize() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_UPLOAD_BLOCK_SIZE
+            : fileSystem.getBlockSize();
+
+        return new AzureWriteChannel(asyncClient, blockSize, headers, metadata, requestConditions, path.toString());
     }
 
     /**
@@ -255,23 +341,18 @@ public final class AzureFileSystemProvider extends FileSystemProvider {
      */
     @Override
     public void createDirectory(Path path, FileAttribute<?>... fileAttributes) throws IOException {
-        if (!(path instanceof AzurePath)) {
-            throw Utility.logError(logger, new IllegalArgumentException("This provider cannot operate on subtypes of "
-                + "Path other than AzurePath"));
-        }
         fileAttributes = fileAttributes == null ? new FileAttribute<?>[0] : fileAttributes;
 
         // Get the destination for the directory and it's parent container.
-        BlobClient client = ((AzurePath) path).toBlobClient();
-        BlobContainerClient containerClient = ((AzureFileSystem) path.getFileSystem()).getBlobServiceClient()
-            .getBlobContainerClient(client.getContainerName());
+        BlobClient client = toAzurePath(path).toBlobClient();
+        BlobContainerClient containerClient = getContainerClient((AzureFileSystem) path.getFileSystem(), client);
 
         // Determine the path for the parent directory blob. This is the parent path without the root.
         Path root = path.getRoot();
         if (root != null && root.equals(path)) {
             throw Utility.logError(logger, new IOException("Creating a root directory is not supported."));
         }
-        Path prefix = root == null ? path.getParent() : root.relativize(path).getParent();
+        Path prefix = getParentPrefix(path);
 
         // Check if parent exists. If it does, atomically check if a file already exists and create a new dir if not.
         if (checkParentDirectoryExists(containerClient, prefix)) {
@@ -317,27 +398,133 @@ public final class AzureFileSystemProvider extends FileSystemProvider {
     }
 
     /**
+     * Deletes the blob at the given path, or the marker blob of a concrete directory. Directories may only be deleted
+     * when they are empty; deleting the last child of a virtual directory deletes the directory as well.
+     *
      * {@inheritDoc}
      */
     @Override
     public void delete(Path path) throws IOException {
+        BlobClient client = toAzurePath(path).toBlobClient();
+        BlobContainerClient containerClient = getContainerClient((AzureFileSystem) path.getFileSystem(), client);
+
+        if (directoryHasChildren(containerClient, client.getBlobName())) {
+            throw Utility.logError(logger, new DirectoryNotEmptyException(path.toString()));
+        }
 
+        try {
+            client.delete();
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                throw Utility.logError(logger, new NoSuchFileException(path.toString()));
+            }
+            throw Utility.logError(logger, new IOException("An error occurred when deleting the blob", e));
+        }
     }
 
     /**
+     * Copies a blob with a server side copy, so the data is not downloaded. The blob properties and metadata are
+     * always copied. Copying a directory creates an empty concrete directory at the destination; the children of the
+     * directory are not copied. A copy that the service reports as failed or aborted throws an {@link IOException},
+     * and the incomplete destination blob is deleted.
+     * <p>
+     * Supported options are {@link StandardCopyOption#REPLACE_EXISTING} and {@link StandardCopyOption#COPY_ATTRIBUTES}.
+     * Copies within a file system are only supported when authenticating with an account key, or when the source blob
+     * is otherwise readable with its url.
+     *
      * {@inheritDoc}
      */
     @Override
     public void copy(Path path, Path path1, CopyOption... copyOptions) throws IOException {
+        boolean replaceExisting = false;
+        for (CopyOption option : copyOptions == null ? new CopyOption[0] : copyOptions) {
+            if (option == StandardCopyOption.REPLACE_EXISTING) {
+                replaceExisting = true;
+            } else if (option != StandardCopyOption.COPY_ATTRIBUTES) {
+                throw Utility.logError(logger, new UnsupportedOperationException("Unsupported copy option: "
+                    + option));
+            }
+        }
+
+        BlobClient sourceClient = toAzurePath(path).toBlobClient();
+        BlobClient destinationClient = toAzurePath(path1).toBlobClient();
+        if (sourceClient.getBlobUrl().equals(destinationClient.getBlobUrl())) {
+            return;
+        }
+
+        AzureFileSystem destinationFileSystem = (AzureFileSystem) path1.getFileSystem();
+        BlobContainerClient destinationContainerClient = getContainerClient(destinationFileSystem, destinationClient);
+        BlobContainerClient sourceContainerClient = getContainerClient((AzureFileSystem) path.getFileSystem(),
+            sourceClient);
+
+        // A missing source blob may still be a virtual directory.
+        BlobProperties sourceProperties = getPropertiesIfExists(sourceClient);
+        boolean sourceIsDirectory = sourceProperties == null
+            ? directoryHasChildren(sourceContainerClient, sourceClient.getBlobName())
+            : isDirectoryMarker(sourceProperties);
+        if (sourceProperties == null && !sourceIsDirectory) {
+            throw Utility.logError(logger, new NoSuchFileException(path.toString()));
+        }
+
+        if (!checkParentDirectoryExists(destinationContainerClient, getParentPrefix(path1))) {
+            throw Utility.logError(logger, new IOException("Parent directory does not exist for path: "
+                + path1.toString()));
+        }
+
+        BlobRequestConditions requestConditions = new BlobRequestConditions();
+        if (!replaceExisting) {
+            requestConditions.setIfNoneMatch("*");
+        } else if (directoryHasChildren(destinationContainerClient, destinationClient.getBlobName())) {
+            throw Utility.logError(logger, new DirectoryNotEmptyException(path1.toString()));
+        }
 
+        try {
+            if (sourceIsDirectory) {
+                destinationClient.getAppendBlobClient().createWithResponse(null,
+                    prepareMetadataForDirectory(null), requestConditions, null, null);
+            } else {
+                BlobCopyInfo copyInfo = destinationClient.beginCopy(sourceClient.getBlobUrl(), null, null, null,
+                    null, requestConditions, null).waitForCompletion().getValue();
+                if (copyInfo == null || copyInfo.getCopyStatus() != CopyStatusType.SUCCESS) {
+                    throw Utility.logError(logger, copyFailed(destinationClient, copyInfo));
+                }
+            }
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_CONFLICT) {
+                throw Utility.logError(logger, new FileAlreadyExistsException(path1.toString()));
+            }
+            throw Utility.logError(logger, new IOException("An error occurred when copying the blob", e));
+        }
     }
 
     /**
+     * Moves a blob by copying it, see {@link #copy(Path, Path, CopyOption...)}, and deleting the source. Only empty
+     * directories may be moved, and {@link StandardCopyOption#ATOMIC_MOVE} is not supported.
+     *
      * {@inheritDoc}
      */
     @Override
     public void move(Path path, Path path1, CopyOption... copyOptions) throws IOException {
+        List<CopyOption> copyOptionList = new ArrayList<>();
+        for (CopyOption option : copyOptions == null ? new CopyOption[0] : copyOptions) {
+            if (option == StandardCopyOption.ATOMIC_MOVE) {
+                throw Utility.logError(logger, new AtomicMoveNotSupportedException(path.toString(),
+                    path1.toString(), "Blobs cannot be moved atomically."));
+            }
+            copyOptionList.add(option);
+        }
 
+        BlobClient sourceClient = toAzurePath(path).toBlobClient();
+        if (sourceClient.getBlobUrl().equals(toAzurePath(path1).toBlobClient().getBlobUrl())) {
+            return;
+        }
+        if (directoryHasChildren(getContainerClient((AzureFileSystem) path.getFileSystem(), sourceClient),
+            sourceClient.getBlobName())) {
+            throw Utility.logError(logger, new DirectoryNotEmptyException(path.toString()));
+        }
+
+        this.copy(path, path1, copyOptionList.toArray(new CopyOption[0]));
+        this.delete(path);
     }
 
     /**
@@ -405,6 +592,68 @@ public final class AzureFileSystemProvider extends FileSystemProvider {
 
     }
 
+    private AzurePath toAzurePath(Path path) {
+        if (!(path instanceof AzurePath)) {
+            throw Utility.logError(logger, new IllegalArgumentException("This provider cannot operate on subtypes of "
+                + "Path other than AzurePath"));
+        }
+        return (AzurePath) path;
+    }
+
+    private static BlobContainerClient getContainerClient(AzureFileSystem fileSystem, BlobClient client) {
+        return fileSystem.getBlobServiceClient().getBlobContainerClient(client.getContainerName());
+    }
+
+    /*
+    The path of the parent directory without the root, or null if the parent is the root directory of the container.
+     */
+    private static Path getParentPrefix(Path path) {
+        Path root = path.getRoot();
+        return root == null ? path.getParent() : root.relativize(path).getParent();
+    }
+
+    private BlobProperties getPropertiesIfExists(BlobClient client) throws IOException {
+        try {
+            return client.getProperties();
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            throw Utility.logError(logger, new IOException("An error occurred when reading the blob properties", e));
+        }
+    }
+
+    /*
+    A copy that failed or was aborted leaves an incomplete destination blob behind. It is deleted, unless it was
+    replaced in the meantime, so the copy can be retried without REPLACE_EXISTING. Throwing keeps move from deleting
+    the source.
+     */
+    private IOException copyFailed(BlobClient destinationClient, BlobCopyInfo copyInfo) {
+        if (copyInfo != null) {
+            try {
+                destinationClient.deleteWithResponse(null, new BlobRequestConditions().setIfMatch(copyInfo.getETag()),
+                    null, null);
+            } catch (BlobStorageException e) {
+                logger.warning("The incomplete destination of a failed copy could not be deleted.", e);
+            }
+        }
+
+        return new IOException("The copy of the blob did not succeed. Status: "
+            + (copyInfo == null ? null : copyInfo.getCopyStatus()) + ", error: "
+            + (copyInfo == null ? null : copyInfo.getError()));
+    }
+
+    private static boolean isDirectoryMarker(BlobProperties properties) {
+        return properties.getMetadata() != null
+            && Boolean.parseBoolean(properties.getMetadata().get(DIR_METADATA_MARKER));
+    }
+
+    private static boolean directoryHasChildren(BlobContainerClient containerClient, String blobName) {
+        return containerClient.listBlobsByHierarchy(AzureFileSystem.PATH_SEPARATOR,
+            new ListBlobsOptions().setPrefix(blobName + AzureFileSystem.PATH_SEPARATOR).setMaxResultsPerPage(1), null)
+            .iterator().hasNext();
+    }
+
     void closeFileSystem(String fileSystemName) {
         this.openFileSystems.remove(fileSystemName);
     }
@@ -0,0 +1,239 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.nio.implementation.util.Utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A read only {@link SeekableByteChannel} over a blob.
+ * <p>
+ * The blob is read in blocks of {@link #BLOCK_SIZE} bytes with range GETs. Blocks are kept in an LRU cache of
+ * {@link #MAX_CACHED_BLOCKS} blocks so seeking back and forth, as columnar file readers do between the footer and the
+ * column chunks of a file, doesn't download the same data again. Each miss downloads a window of consecutive blocks in
+ * a single request; the window doubles while the channel is read sequentially, up to {@link #MAX_READ_AHEAD_BLOCKS}
+ * blocks, and shrinks back to a single block when the position jumps.
+ * <p>
+ * Every request is conditioned on the ETag the blob had when the channel was opened, so reads fail with an
+ * {@link IOException} rather than mix the contents of different versions of the blob.
+ */
+final class AzureReadChannel implements SeekableByteChannel {
+    static final int BLOCK_SIZE = 512 * 1024;
+    static final int MAX_READ_AHEAD_BLOCKS = 16;
+    static final int MAX_CACHED_BLOCKS = 2 * MAX_READ_AHEAD_BLOCKS;
+
+    private final ClientLogger logger = new ClientLogger(AzureReadChannel.class);
+
+    private final BlobClient client;
+    private final long size;
+    private final BlobRequestConditions requestConditions;
+    private final DownloadRetryOptions retryOptions;
+    private final Map<Long, byte[]> blocks;
+
+    private long position;
+    private long lastBlockIndex = -1;
+    private int readAheadBlocks = 1;
+    private boolean closed;
+
+    AzureReadChannel(BlobClient client, long size, String eTag, Integer downloadResumeRetries) {
+        this.client = client;
+        this.size = size;
+        this.requestConditions = new BlobRequestConditions().setIfMatch(eTag);
+        this.retryOptions = downloadResumeRetries == null
+            ? new DownloadRetryOptions()
+            : new DownloadRetryOptions().setMaxRetryRequests(downloadResumeRetries);
+        this.blocks = new LinkedHashMap<Long, byte[]>(MAX_CACHED_BLOCKS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return this.size() > MAX_CACHED_BLOCKS;
+            }
+        };
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        this.ensureOpen();
+        if (this.position >= this.size) {
+            return -1;
+        }
+
+        int read = 0;
+        while (dst.hasRemaining() && this.position < this.size) {
+            long blockIndex = this.position / BLOCK_SIZE;
+            byte[] block = this.getBlock(blockIndex);
+            int offset = (int) (this.position - blockIndex * BLOCK_SIZE);
+            int length = Math.min(dst.remaining(), block.length - offset);
+
+            dst.put(block, offset, length);
+            this.position += length;
+            read += length;
+        }
+
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw Utility.logError(this.logger, new NonWritableChannelException());
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        this.ensureOpen();
+        return this.position;
+    }
+
+    /**
+     * Moving the position past the end of the blob is allowed, subsequent reads will return end of stream.
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        this.ensureOpen();
+        if (newPosition < 0) {
+            throw Utility.logError(this.logger, new IllegalArgumentException("Position cannot be negative."));
+        }
+
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        this.ensureOpen();
+        return this.size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw Utility.logError(this.logger, new NonWritableChannelException());
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return !this.closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        this.blocks.clear();
+    }
+
+    private byte[] getBlock(long blockIndex) throws IOException {
+        // Reading the block the previous read stopped in, or the next one, keeps the read sequential.
+        boolean sequential = blockIndex == this.lastBlockIndex || blockIndex == this.lastBlockIndex + 1;
+        this.lastBlockIndex = blockIndex;
+
+        byte[] block = this.blocks.get(blockIndex);
+        if (block != null) {
+            return block;
+        }
+
+        this.readAheadBlocks = sequential ? Math.min(this.readAheadBlocks * 2, MAX_READ_AHEAD_BLOCKS) : 1;
+        long blockCount = (this.size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int windowBlocks = (int) Math.min(this.readAheadBlocks, blockCount - blockIndex);
+
+        // Stop the window at the first block that is already cached.
+        for (int i = 1; i < windowBlocks; i++) {
+            if (this.blocks.containsKey(blockIndex + i)) {
+                windowBlocks = i;
+                break;
+            }
+        }
+
+        byte[][] window = this.download(blockIndex, windowBlocks);
+        for (int i = 0; i < window.length; i++) {
+            this.blocks.put(blockIndex + i, window[i]);
+        }
+
+        return window[0];
+    }
+
+    private byte[][] download(long blockIndex, int blockCount) throws IOException {
+        long offset = blockIndex * BLOCK_SIZE;
+        long count = Math.min((long) blockCount * BLOCK_SIZE, this.size - offset);
+
+        byte[][] window = new byte[blockCount][];
+        for (int i = 0; i < blockCount; i++) {
+            window[i] = new byte[(int) Math.min(BLOCK_SIZE, count - (long) i * BLOCK_SIZE)];
+        }
+
+        try {
+            this.client.downloadWithResponse(new BlockOutputStream(window), new BlobRange(offset, count),
+                this.retryOptions, this.requestConditions, false, null, null);
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) {
+                throw Utility.logError(this.logger,
+                    new IOException("The blob was modified after the channel was opened.", e));
+            }
+            throw Utility.logError(this.logger, new IOException("Reading from the blob failed.", e));
+        } catch (UncheckedIOException e) {
+            throw Utility.logError(this.logger, e.getCause());
+        }
+
+        return window;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (this.closed) {
+            throw Utility.logError(this.logger, new ClosedChannelException());
+        }
+    }
+
+    /*
+    Writes the downloaded range straight into the blocks it is cached as.
+     */
+    private static final class BlockOutputStream extends OutputStream {
+        private final byte[][] blocks;
+        private int block;
+        private int offset;
+
+        BlockOutputStream(byte[][] blocks) {
+            this.blocks = blocks;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (this.block == this.blocks.length) {
+                    throw new IOException("The service returned more data than requested.");
+                }
+
+                byte[] target = this.blocks[this.block];
+                int length = Math.min(len, target.length - this.offset);
+                System.arraycopy(b, off, target, this.offset, length);
+                this.offset += length;
+                off += length;
+                len -= length;
+
+                if (this.offset == target.length) {
+                    this.block++;
+                    this.offset = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.nio.implementation.util.Utility;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A write only {@link SeekableByteChannel} that writes a block blob.
+ * <p>
+ * Written data is buffered into blocks, and every full block is staged while the next one is filled. Up to
+ * {@link #MAX_CONCURRENT_STAGES} blocks are staged in parallel; writes block once that many are in flight, which bounds
+ * the memory held by the channel. Closing the channel stages the last block and commits the block list, so the blob
+ * only changes once the channel is closed. A failure to stage a block is reported by the following write or by
+ * {@link #close()}.
+ * <p>
+ * Data can only be written sequentially: the position can't be moved, and the channel can't be truncated below its
+ * current size.
+ */
+final class AzureWriteChannel implements SeekableByteChannel {
+    static final int MAX_CONCURRENT_STAGES = 4;
+
+    private final ClientLogger logger = new ClientLogger(AzureWriteChannel.class);
+
+    private final BlockBlobAsyncClient client;
+    private final int blockSize;
+    private final BlobHttpHeaders headers;
+    private final Map<String, String> metadata;
+    private final BlobRequestConditions requestConditions;
+    private final String path;
+
+    private final List<String> blockIds = new ArrayList<>();
+    private final Semaphore stagePermits = new Semaphore(MAX_CONCURRENT_STAGES);
+    private final AtomicReference<Throwable> stageError = new AtomicReference<>();
+
+    private byte[] buffer;
+    private int bufferLength;
+    private long position;
+    private boolean closed;
+
+    AzureWriteChannel(BlockBlobAsyncClient client, int blockSize, BlobHttpHeaders headers,
+        Map<String, String> metadata, BlobRequestConditions requestConditions, String path) {
+        this.client = client;
+        this.blockSize = blockSize;
+        this.headers = headers;
+        this.metadata = metadata;
+        this.requestConditions = requestConditions;
+        this.path = path;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+        throw Utility.logError(this.logger, new NonReadableChannelException());
+    }
+
+    @Override
+    public synchronized int write(ByteBuffer src) throws IOException {
+        this.ensureOpen();
+        this.throwIfStageFailed();
+
+        int written = 0;
+        while (src.hasRemaining()) {
+            if (this.buffer == null) {
+                this.buffer = new byte[this.blockSize];
+            }
+
+            int length = Math.min(src.remaining(), this.blockSize - this.bufferLength);
+            src.get(this.buffer, this.bufferLength, length);
+            this.bufferLength += length;
+            this.position += length;
+            written += length;
+
+            if (this.bufferLength == this.blockSize) {
+                this.stageBuffer();
+            }
+        }
+
+        return written;
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        this.ensureOpen();
+        return this.position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        this.ensureOpen();
+        if (newPosition != this.position) {
+            throw Utility.logError(this.logger, new UnsupportedOperationException(
+                "Blobs can only be written sequentially; the position of the channel cannot be moved."));
+        }
+
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        this.ensureOpen();
+        return this.position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel truncate(long size) throws IOException {
+        this.ensureOpen();
+        if (size < 0) {
+            throw Utility.logError(this.logger, new IllegalArgumentException("Size cannot be negative."));
+        }
+        if (size < this.position) {
+            throw Utility.logError(this.logger, new UnsupportedOperationException(
+                "Data that was already written to a blob cannot be truncated."));
+        }
+
+        return this;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return !this.closed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        if (this.bufferLength > 0) {
+            this.stageBuffer();
+        }
+        this.buffer = null;
+
+        // Wait for the blocks that are still being staged.
+        this.acquireStagePermits(MAX_CONCURRENT_STAGES);
+        this.throwIfStageFailed();
+
+        try {
+            this.client.commitBlockListWithResponse(this.blockIds, this.headers, this.metadata, null,
+                this.requestConditions).block();
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_CONFLICT) {
+                throw Utility.logError(this.logger, new FileAlreadyExistsException(this.path));
+            }
+            throw Utility.logError(this.logger, new IOException("Committing the blob failed.", e));
+        }
+    }
+
+    private void stageBuffer() throws IOException {
+        byte[] data = this.buffer;
+        int length = this.bufferLength;
+        this.buffer = null;
+        this.bufferLength = 0;
+
+        this.acquireStagePermits(1);
+        if (this.stageError.get() != null) {
+            this.stagePermits.release();
+            this.throwIfStageFailed();
+        }
+
+        String blockId = Base64.getEncoder().encodeToString(UUID.randomUUID().toString()
+            .getBytes(StandardCharsets.UTF_8));
+        this.blockIds.add(blockId);
+
+        this.client.stageBlock(blockId, Flux.just(ByteBuffer.wrap(data, 0, length)), length)
+            .doFinally(signalType -> this.stagePermits.release())
+            .subscribe(null, error -> this.stageError.compareAndSet(null, error));
+    }
+
+    private void acquireStagePermits(int permits) throws IOException {
+        try {
+            this.stagePermits.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Utility.logError(this.logger, new InterruptedIOException("Interrupted while staging blocks."));
+        }
+    }
+
+    private void throwIfStageFailed() throws IOException {
+        Throwable error = this.stageError.get();
+        if (error != null) {
+            throw Utility.logError(this.logger, new IOException("Staging a block of the blob failed.", error));
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (this.closed) {
+            throw Utility.logError(this.logger, new ClosedChannelException());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio
+
+import com.azure.storage.blob.models.CopyStatusType
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.DirectoryNotEmptyException
+import java.nio.file.FileAlreadyExistsException
+import java.nio.file.NoSuchFileException
+import java.nio.file.StandardCopyOption
+
+/*
+Runs delete, copy and move against an in memory blob service so the error paths, which depend on the state of the
+container and on the outcome of the server side copy, can be exercised deterministically.
+ */
+class AzureFileSystemProviderDeleteCopyMoveSpec extends Specification {
+    static final String CONTAINER = "container"
+
+    InMemoryBlobHttpClient httpClient
+    AzureFileSystem fs
+    AzureFileSystemProvider provider
+    byte[] data
+
+    def setup() {
+        httpClient = new InMemoryBlobHttpClient()
+        def config = [:]
+        config[AzureFileSystem.AZURE_STORAGE_HTTP_CLIENT] = httpClient
+        config[AzureFileSystem.AZURE_STORAGE_SAS_TOKEN] = "sig=fake"
+        config[AzureFileSystem.AZURE_STORAGE_FILE_STORES] = CONTAINER
+        config[AzureFileSystem.AZURE_STORAGE_MAX_TRIES] = 1
+        provider = new AzureFileSystemProvider()
+        fs = new AzureFileSystem(provider, "account", config as Map<String, Object>)
+
+        data = new byte[1024]
+        new Random(1024).nextBytes(data)
+        httpClient.putBlob(CONTAINER, "file", data, [fizz: "buzz"])
+        httpClient.putBlob(CONTAINER, "dir/child", data, null)
+        httpClient.putBlob(CONTAINER, "emptyDir", new byte[0], [(AzureFileSystemProvider.DIR_METADATA_MARKER): "true"])
+    }
+
+    def "FileSystemProvider delete file"() {
+        when:
+        provider.delete(fs.getPath("file"))
+
+        then:
+        httpClient.getBlob(CONTAINER, "file") == null
+    }
+
+    def "FileSystemProvider delete empty directory"() {
+        when:
+        provider.delete(fs.getPath("emptyDir"))
+
+        then:
+        httpClient.getBlob(CONTAINER, "emptyDir") == null
+    }
+
+    def "FileSystemProvider delete non empty directory"() {
+        when:
+        provider.delete(fs.getPath("dir"))
+
+        then:
+        thrown(DirectoryNotEmptyException)
+        httpClient.getBlob(CONTAINER, "dir/child") != null
+    }
+
+    def "FileSystemProvider delete missing"() {
+        when:
+        provider.delete(fs.getPath("missing"))
+
+        then:
+        thrown(NoSuchFileException)
+    }
+
+    def "FileSystemProvider copy"() {
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("copy"))
+
+        then:
+        httpClient.getBlob(CONTAINER, "copy").data == data
+        httpClient.getBlob(CONTAINER, "copy").metadata["fizz"] == "buzz"
+        httpClient.getBlob(CONTAINER, "file") != null
+    }
+
+    def "FileSystemProvider copy destination exists"() {
+        setup:
+        httpClient.putBlob(CONTAINER, "copy", new byte[10], null)
+
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("copy"))
+
+        then:
+        thrown(FileAlreadyExistsException)
+
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("copy"), StandardCopyOption.REPLACE_EXISTING)
+
+        then:
+        httpClient.getBlob(CONTAINER, "copy").data == data
+    }
+
+    def "FileSystemProvider copy replace non empty directory"() {
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("dir"), StandardCopyOption.REPLACE_EXISTING)
+
+        then:
+        thrown(DirectoryNotEmptyException)
+    }
+
+    def "FileSystemProvider copy missing source"() {
+        when:
+        provider.copy(fs.getPath("missing"), fs.getPath("copy"))
+
+        then:
+        thrown(NoSuchFileException)
+    }
+
+    def "FileSystemProvider copy missing destination parent"() {
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("missingDir/copy"))
+
+        then:
+        thrown(IOException)
+        httpClient.getBlob(CONTAINER, "missingDir/copy") == null
+    }
+
+    def "FileSystemProvider copy directory"() {
+        when: "Copying a virtual directory creates an empty concrete directory"
+        provider.copy(fs.getPath("dir"), fs.getPath("dirCopy"))
+
+        then:
+        httpClient.getBlob(CONTAINER, "dirCopy").metadata[AzureFileSystemProvider.DIR_METADATA_MARKER] == "true"
+        httpClient.getBlob(CONTAINER, "dirCopy/child") == null
+    }
+
+    @Unroll
+    def "FileSystemProvider copy not successful"() {
+        setup:
+        httpClient.setCopyStatus(status)
+
+        when:
+        provider.copy(fs.getPath("file"), fs.getPath("copy"))
+
+        then: "The incomplete destination is deleted"
+        thrown(IOException)
+        httpClient.getBlob(CONTAINER, "copy") == null
+
+        where:
+        status                  | _
+        CopyStatusType.FAILED   | _
+        CopyStatusType.ABORTED  | _
+    }
+
+    def "FileSystemProvider move"() {
+        when:
+        provider.move(fs.getPath("file"), fs.getPath("moved"))
+
+        then:
+        httpClient.getBlob(CONTAINER, "moved").data == data
+        httpClient.getBlob(CONTAINER, "file") == null
+    }
+
+    def "FileSystemProvider move copy failed"() {
+        setup:
+        httpClient.setCopyStatus(CopyStatusType.FAILED)
+
+        when:
+        provider.move(fs.getPath("file"), fs.getPath("moved"))
+
+        then: "The source is kept"
+        thrown(IOException)
+        httpClient.getBlob(CONTAINER, "file").data == data
+        httpClient.getBlob(CONTAINER, "moved") == null
+    }
+
+    def "FileSystemProvider move non empty directory"() {
+        when:
+        provider.move(fs.getPath("dir"), fs.getPath("movedDir"))
+
+        then:
+        thrown(DirectoryNotEmptyException)
+        httpClient.getBlob(CONTAINER, "dir/child") != null
+    }
+
+    def "FileSystemProvider move atomic"() {
+        when:
+        provider.move(fs.getPath("file"), fs.getPath("moved"), StandardCopyOption.ATOMIC_MOVE)
+
+        then:
+        thrown(AtomicMoveNotSupportedException)
+        httpClient.getBlob(CONTAINER, "file") != null
+    }
+}
@@ -0,0 +1,206 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio
+
+import com.azure.core.http.HttpMethod
+import com.azure.storage.blob.BlobClient
+import com.azure.storage.blob.BlobClientBuilder
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.ClosedChannelException
+import java.nio.channels.NonWritableChannelException
+
+class AzureReadChannelSpec extends Specification {
+    static final int BLOCK_SIZE = AzureReadChannel.BLOCK_SIZE
+
+    InMemoryBlobHttpClient httpClient
+    BlobClient blobClient
+
+    def setup() {
+        httpClient = new InMemoryBlobHttpClient()
+        blobClient = new BlobClientBuilder()
+            .endpoint("https://account.blob.core.windows.net/container/blob")
+            .httpClient(httpClient)
+            .buildClient()
+    }
+
+    def "ReadChannel read"() {
+        setup:
+        def data = createBlob(7 * BLOCK_SIZE - 100)
+        def channel = openChannel()
+        def result = ByteBuffer.allocate(data.length)
+        def buffer = ByteBuffer.allocate(64 * 1024)
+
+        when:
+        while (channel.read(buffer) > 0) {
+            buffer.flip()
+            result.put(buffer)
+            buffer.clear()
+        }
+
+        then:
+        result.array() == data
+        channel.position() == data.length
+        channel.read(ByteBuffer.allocate(1)) == -1
+    }
+
+    def "ReadChannel read ahead window grows while reading sequentially"() {
+        setup:
+        def data = createBlob(7 * BLOCK_SIZE - 100)
+        def channel = openChannel()
+
+        when:
+        def buffer = ByteBuffer.allocate(64 * 1024)
+        while (channel.read(buffer) > 0) {
+            buffer.clear()
+        }
+
+        then: "Windows of 2 and 4 blocks, then the last partial block"
+        downloadedRanges() == [range(0, 2 * BLOCK_SIZE - 1), range(2 * BLOCK_SIZE, 6 * BLOCK_SIZE - 1),
+                               range(6 * BLOCK_SIZE, data.length - 1)]
+    }
+
+    def "ReadChannel read ahead window resets after a seek"() {
+        setup:
+        def data = createBlob(7 * BLOCK_SIZE - 100)
+        def channel = openChannel()
+
+        when:
+        channel.read(ByteBuffer.allocate(10))
+        channel.position(5L * BLOCK_SIZE)
+        channel.read(ByteBuffer.allocate(BLOCK_SIZE))
+        channel.read(ByteBuffer.allocate(10))
+
+        then: "The seek downloads a single block, and reading on from it grows the window again"
+        downloadedRanges() == [range(0, 2 * BLOCK_SIZE - 1), range(5 * BLOCK_SIZE, 6 * BLOCK_SIZE - 1),
+                               range(6 * BLOCK_SIZE, data.length - 1)]
+    }
+
+    def "ReadChannel cached blocks are not downloaded again"() {
+        setup:
+        createBlob(7 * BLOCK_SIZE)
+        def channel = openChannel()
+        channel.position(6L * BLOCK_SIZE + 10)
+        channel.read(ByteBuffer.allocate(10))
+        channel.position(0)
+        channel.read(ByteBuffer.allocate(10))
+        httpClient.getRequests().clear()
+
+        when: "Seeking between the footer and the start of the blob"
+        channel.position(6L * BLOCK_SIZE + 20)
+        channel.read(ByteBuffer.allocate(10))
+        channel.position(5)
+        channel.read(ByteBuffer.allocate(10))
+
+        then:
+        downloadedRanges().isEmpty()
+    }
+
+    def "ReadChannel least recently used blocks are evicted"() {
+        setup:
+        def blockCount = AzureReadChannel.MAX_CACHED_BLOCKS + 2
+        createBlob(blockCount * BLOCK_SIZE)
+        def channel = openChannel()
+
+        when: "The first two blocks are read, then the rest of the blob fills the cache"
+        channel.read(ByteBuffer.allocate(10))
+        channel.position(2L * BLOCK_SIZE)
+        def buffer = ByteBuffer.allocate(BLOCK_SIZE)
+        while (channel.read(buffer) > 0) {
+            buffer.clear()
+        }
+        httpClient.getRequests().clear()
+        channel.position((blockCount - 1L) * BLOCK_SIZE)
+        channel.read(ByteBuffer.allocate(10))
+
+        then: "The most recently read block is still cached"
+        downloadedRanges().isEmpty()
+
+        when:
+        channel.position(0)
+        channel.read(ByteBuffer.allocate(10))
+
+        then: "The first block was evicted"
+        downloadedRanges() == [range(0, BLOCK_SIZE - 1)]
+    }
+
+    def "ReadChannel blob modified after open"() {
+        setup:
+        def data = createBlob(2 * BLOCK_SIZE)
+        def channel = openChannel()
+        httpClient.putBlob("container", "blob", data, null)
+
+        when:
+        channel.read(ByteBuffer.allocate(10))
+
+        then:
+        thrown(IOException)
+    }
+
+    def "ReadChannel position"() {
+        setup:
+        def data = createBlob(100)
+        def channel = openChannel()
+
+        when: "Moving past the end of the blob reads end of stream"
+        channel.position(200)
+
+        then:
+        channel.read(ByteBuffer.allocate(10)) == -1
+        channel.size() == data.length
+
+        when:
+        channel.position(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "ReadChannel write"() {
+        setup:
+        createBlob(100)
+        def channel = openChannel()
+
+        when:
+        channel.write(ByteBuffer.allocate(10))
+
+        then:
+        thrown(NonWritableChannelException)
+    }
+
+    def "ReadChannel closed"() {
+        setup:
+        createBlob(100)
+        def channel = openChannel()
+
+        when:
+        channel.close()
+        channel.read(ByteBuffer.allocate(10))
+
+        then:
+        !channel.isOpen()
+        thrown(ClosedChannelException)
+    }
+
+    def createBlob(int size) {
+        def data = new byte[size]
+        new Random(size).nextBytes(data)
+        httpClient.putBlob("container", "blob", data, null)
+        return data
+    }
+
+    def openChannel() {
+        def blob = httpClient.getBlob("container", "blob")
+        return new AzureReadChannel(blobClient, blob.data.length, blob.eTag, null)
+    }
+
+    def downloadedRanges() {
+        return httpClient.getRequests(HttpMethod.GET, null).collect { it.getHeaders().getValue("x-ms-range") }
+    }
+
+    static def range(long start, long end) {
+        return "bytes=" + start + "-" + end
+    }
+}
@@ -0,0 +1,161 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio
+
+import com.azure.core.http.HttpMethod
+import com.azure.storage.blob.models.BlobRequestConditions
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient
+import com.azure.storage.blob.specialized.SpecializedBlobClientBuilder
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.ClosedChannelException
+import java.nio.channels.NonReadableChannelException
+import java.nio.file.FileAlreadyExistsException
+
+class AzureWriteChannelSpec extends Specification {
+    static final int BLOCK_SIZE = 1024
+
+    InMemoryBlobHttpClient httpClient
+    BlockBlobAsyncClient blobClient
+
+    def setup() {
+        httpClient = new InMemoryBlobHttpClient()
+        blobClient = new SpecializedBlobClientBuilder()
+            .endpoint("https://account.blob.core.windows.net/container/blob")
+            .httpClient(httpClient)
+            .buildBlockBlobAsyncClient()
+    }
+
+    def "WriteChannel write"() {
+        setup:
+        def data = getRandomData(10 * BLOCK_SIZE + 5)
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, [foo: "bar"],
+            new BlobRequestConditions().setIfNoneMatch("*"), "blob")
+
+        when:
+        channel.write(ByteBuffer.wrap(data, 0, 3000))
+        channel.write(ByteBuffer.wrap(data, 3000, data.length - 3000))
+
+        then: "Full blocks are staged while writing, the blob only changes on close"
+        channel.size() == data.length
+        channel.position() == data.length
+        httpClient.getBlob("container", "blob") == null
+
+        when:
+        channel.close()
+
+        then:
+        httpClient.getBlob("container", "blob").data == data
+        httpClient.getBlob("container", "blob").metadata["foo"] == "bar"
+        httpClient.getStagedBlockCount() == 11
+        httpClient.getRequests(HttpMethod.PUT, "comp=blocklist").size() == 1
+    }
+
+    def "WriteChannel empty"() {
+        setup:
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+
+        when:
+        channel.close()
+
+        then:
+        httpClient.getBlob("container", "blob").data.length == 0
+        httpClient.getStagedBlockCount() == 0
+    }
+
+    def "WriteChannel stage failure"() {
+        setup:
+        httpClient.setStageFailureStatusCode(400)
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+
+        when: "The failure is reported by a following write or by close"
+        channel.write(ByteBuffer.wrap(getRandomData(4 * BLOCK_SIZE)))
+        channel.close()
+
+        then:
+        thrown(IOException)
+        httpClient.getBlob("container", "blob") == null
+    }
+
+    def "WriteChannel commit conflict"() {
+        setup:
+        httpClient.putBlob("container", "blob", getRandomData(10), null)
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null,
+            new BlobRequestConditions().setIfNoneMatch("*"), "blob")
+        channel.write(ByteBuffer.wrap(getRandomData(10)))
+
+        when:
+        channel.close()
+
+        then:
+        thrown(FileAlreadyExistsException)
+    }
+
+    def "WriteChannel position"() {
+        setup:
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+        channel.write(ByteBuffer.wrap(getRandomData(10)))
+
+        when: "Setting the current position is allowed"
+        channel.position(10)
+
+        then:
+        notThrown(UnsupportedOperationException)
+
+        when:
+        channel.position(5)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "WriteChannel truncate"() {
+        setup:
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+        channel.write(ByteBuffer.wrap(getRandomData(10)))
+
+        when:
+        channel.truncate(20)
+
+        then:
+        channel.size() == 10
+
+        when:
+        channel.truncate(5)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "WriteChannel read"() {
+        setup:
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+
+        when:
+        channel.read(ByteBuffer.allocate(10))
+
+        then:
+        thrown(NonReadableChannelException)
+    }
+
+    def "WriteChannel closed"() {
+        setup:
+        def channel = new AzureWriteChannel(blobClient, BLOCK_SIZE, null, null, null, "blob")
+        channel.close()
+
+        when:
+        channel.write(ByteBuffer.wrap(getRandomData(10)))
+
+        then:
+        !channel.isOpen()
+        thrown(ClosedChannelException)
+    }
+
+    static byte[] getRandomData(int size) {
+        def data = new byte[size]
+        new Random(size).nextBytes(data)
+        return data
+    }
+}
@@ -0,0 +1,423 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.nio;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.FluxUtil;
+import com.azure.storage.blob.models.CopyStatusType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+An in memory HttpClient that serves the subset of the Blob service API used by the channels and the file system
+provider: container creation, flat and hierarchical listing, blob properties, range downloads, staging and committing
+blocks, creating append blobs, deleting blobs and server side copies. Every request is recorded so tests can verify
+how many requests an operation took, and failures can be injected for the staging and copy paths.
+ */
+class InMemoryBlobHttpClient implements HttpClient {
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d+)-(\\d+)");
+    private static final Pattern BLOCK_PATTERN = Pattern.compile("<(?:Latest|Uncommitted|Committed)>([^<]*)</");
+    private static final String LAST_MODIFIED = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+        ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+    static final class StoredBlob {
+        final byte[] data;
+        final String eTag;
+        final Map<String, String> metadata;
+        final String blobType;
+        final String copySource;
+        final CopyStatusType copyStatus;
+
+        StoredBlob(byte[] data, Map<String, String> metadata, String blobType) {
+            this(data, metadata, blobType, null, null);
+        }
+
+        StoredBlob(byte[] data, Map<String, String> metadata, String blobType, String copySource,
+            CopyStatusType copyStatus) {
+            this.data = data;
+            this.eTag = "\"" + UUID.randomUUID() + "\"";
+            this.metadata = metadata;
+            this.blobType = blobType;
+            this.copySource = copySource;
+            this.copyStatus = copyStatus;
+        }
+    }
+
+    private final Map<String, StoredBlob> blobs = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, byte[]>> stagedBlocks = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> containers = new ConcurrentHashMap<>();
+    private final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger stagedBlockCount = new AtomicInteger();
+
+    private volatile CopyStatusType copyStatus = CopyStatusType.SUCCESS;
+    private volatile int stageFailureStatusCode;
+
+    /*
+    The status every following copy finishes with.
+     */
+    InMemoryBlobHttpClient setCopyStatus(CopyStatusType copyStatus) {
+        this.copyStatus = copyStatus;
+        return this;
+    }
+
+    /*
+    Makes every following Put Block request fail with the given status code.
+     */
+    InMemoryBlobHttpClient setStageFailureStatusCode(int statusCode) {
+        this.stageFailureStatusCode = statusCode;
+        return this;
+    }
+
+    void putBlob(String container, String blobName, byte[] data, Map<String, String> metadata) {
+        this.containers.put(container, true);
+        this.blobs.put(container + "/" + blobName, new StoredBlob(data,
+            metadata == null ? Collections.emptyMap() : metadata, "BlockBlob"));
+    }
+
+    StoredBlob getBlob(String container, String blobName) {
+        return this.blobs.get(container + "/" + blobName);
+    }
+
+    List<HttpRequest> getRequests() {
+        return this.requests;
+    }
+
+    List<HttpRequest> getRequests(HttpMethod method, String queryFragment) {
+        List<HttpRequest> matching = new ArrayList<>();
+        for (HttpRequest request : this.requests) {
+            String query = request.getUrl().getQuery();
+            if (request.getHttpMethod() == method
+                && (queryFragment == null ? query == null : query != null && query.contains(queryFragment))) {
+                matching.add(request);
+            }
+        }
+        return matching;
+    }
+
+    int getStagedBlockCount() {
+        return this.stagedBlockCount.get();
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        this.requests.add(request);
+        Mono<byte[]> body = request.getBody() == null
+            ? Mono.just(new byte[0])
+            : FluxUtil.collectBytesInByteBufferStream(request.getBody()).defaultIfEmpty(new byte[0]);
+        return body.map(bytes -> this.handle(request, bytes));
+    }
+
+    private HttpResponse handle(HttpRequest request, byte[] body) {
+        String path = request.getUrl().getPath().substring(1);
+        Map<String, String> query = parseQuery(request.getUrl().getQuery());
+        int separator = path.indexOf('/');
+        String container = separator < 0 ? path : path.substring(0, separator);
+        String blobName = separator < 0 ? null : decode(path.substring(separator + 1));
+        HttpMethod method = request.getHttpMethod();
+
+        if (blobName == null || blobName.isEmpty()) {
+            if ("list".equals(query.get("comp"))) {
+                return this.list(request, container, query);
+            }
+            if (method == HttpMethod.PUT) {
+                this.containers.put(container, true);
+                return new Response(request, 201);
+            }
+            return this.containers.containsKey(container)
+                ? new Response(request, 200)
+                : error(request, 404, "ContainerNotFound");
+        }
+
+        String key = container + "/" + blobName;
+        StoredBlob blob = this.blobs.get(key);
+        if (method == HttpMethod.HEAD) {
+            return blob == null ? error(request, 404, "BlobNotFound") : properties(request, blob, 200);
+        } else if (method == HttpMethod.GET) {
+            return this.download(request, blob);
+        } else if (method == HttpMethod.DELETE) {
+            if (blob == null) {
+                return error(request, 404, "BlobNotFound");
+            }
+            this.blobs.remove(key);
+            return new Response(request, 202);
+        } else if ("block".equals(query.get("comp"))) {
+            if (this.stageFailureStatusCode != 0) {
+                return error(request, this.stageFailureStatusCode, "InternalError");
+            }
+            this.stagedBlocks.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(query.get("blockid"), body);
+            this.stagedBlockCount.incrementAndGet();
+            return new Response(request, 201);
+        }
+
+        if ("*".equals(request.getHeaders().getValue("If-None-Match")) && blob != null) {
+            return error(request, 409, "BlobAlreadyExists");
+        }
+
+        StoredBlob created;
+        if ("blocklist".equals(query.get("comp"))) {
+            Map<String, byte[]> staged = this.stagedBlocks.getOrDefault(key, Collections.emptyMap());
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            Matcher matcher = BLOCK_PATTERN.matcher(new String(body, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                byte[] block = staged.get(matcher.group(1));
+                if (block == null) {
+                    return error(request, 400, "InvalidBlockList");
+                }
+                data.write(block, 0, block.length);
+            }
+            this.stagedBlocks.remove(key);
+            created = new StoredBlob(data.toByteArray(), metadata(request), "BlockBlob");
+        } else if (request.getHeaders().getValue("x-ms-copy-source") != null) {
+            String source = request.getHeaders().getValue("x-ms-copy-source");
+            String sourcePath = decode(source.substring(source.indexOf('/', source.indexOf("//") + 2) + 1));
+            StoredBlob sourceBlob = this.blobs.get(sourcePath);
+            if (sourceBlob == null) {
+                return error(request, 404, "CannotVerifyCopySource");
+            }
+            created = new StoredBlob(this.copyStatus == CopyStatusType.SUCCESS ? sourceBlob.data : new byte[0],
+                sourceBlob.metadata, sourceBlob.blobType, source, this.copyStatus);
+            this.blobs.put(key, created);
+            Response response = new Response(request, 202);
+            response.headers.put("ETag", created.eTag);
+            response.headers.put("Last-Modified", LAST_MODIFIED);
+            response.headers.put("x-ms-copy-id", UUID.randomUUID().toString());
+            // The service reports a pending copy; its outcome is found by polling the properties of the blob.
+            response.headers.put("x-ms-copy-status", CopyStatusType.PENDING.toString());
+            return response;
+        } else {
+            created = new StoredBlob(new byte[0], metadata(request),
+                request.getHeaders().getValue("x-ms-blob-type"));
+        }
+
+        this.blobs.put(key, created);
+        Response response = new Response(request, 201);
+        response.headers.put("ETag", created.eTag);
+        response.headers.put("Last-Modified", LAST_MODIFIED);
+        return response;
+    }
+
+    private HttpResponse download(HttpRequest request, StoredBlob blob) {
+        if (blob == null) {
+            return error(request, 404, "BlobNotFound");
+        }
+        String ifMatch = request.getHeaders().getValue("If-Match");
+        if (ifMatch != null && !ifMatch.equals(blob.eTag)) {
+            return error(request, 412, "ConditionNotMet");
+        }
+
+        int start = 0;
+        int end = blob.data.length - 1;
+        String range = request.getHeaders().getValue("x-ms-range");
+        if (range != null) {
+            Matcher matcher = RANGE_PATTERN.matcher(range);
+            if (matcher.matches()) {
+                start = Integer.parseInt(matcher.group(1));
+                end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+        }
+
+        byte[] data = new byte[Math.max(end - start + 1, 0)];
+        System.arraycopy(blob.data, start, data, 0, data.length);
+        Response response = properties(request, blob, range == null ? 200 : 206);
+        response.headers.put("Content-Length", Integer.toString(data.length));
+        response.headers.put("Content-Range", "bytes " + start + "-" + end + "/" + blob.data.length);
+        response.body = data;
+        return response;
+    }
+
+    private HttpResponse list(HttpRequest request, String container, Map<String, String> query) {
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.get("delimiter");
+        int maxResults = Integer.parseInt(query.getOrDefault("maxresults", "5000"));
+
+        TreeSet<String> blobNames = new TreeSet<>();
+        TreeSet<String> prefixes = new TreeSet<>();
+        for (String key : new TreeMap<>(this.blobs).keySet()) {
+            if (!key.startsWith(container + "/")) {
+                continue;
+            }
+            String name = key.substring(container.length() + 1);
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            int next = delimiter == null ? -1 : name.indexOf(delimiter, prefix.length());
+            if (next >= 0) {
+                prefixes.add(name.substring(0, next + delimiter.length()));
+            } else {
+                blobNames.add(name);
+            }
+        }
+
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>")
+            .append("<EnumerationResults ServiceEndpoint=\"").append(request.getUrl().getProtocol()).append("://")
+            .append(request.getUrl().getHost()).append("/\" ContainerName=\"").append(container).append("\">")
+            .append("<Prefix>").append(prefix).append("</Prefix>")
+            .append("<MaxResults>").append(maxResults).append("</MaxResults>");
+        if (delimiter != null) {
+            xml.append("<Delimiter>").append(delimiter).append("</Delimiter>");
+        }
+        xml.append("<Blobs>");
+        int count = 0;
+        for (String name : blobNames) {
+            if (count++ == maxResults) {
+                break;
+            }
+            StoredBlob blob = this.blobs.get(container + "/" + name);
+            xml.append("<Blob><Name>").append(name).append("</Name><Properties><Content-Length>")
+                .append(blob == null ? 0 : blob.data.length).append("</Content-Length><BlobType>")
+                .append(blob == null ? "BlockBlob" : blob.blobType).append("</BlobType></Properties></Blob>");
+        }
+        for (String name : prefixes) {
+            if (count++ == maxResults) {
+                break;
+            }
+            xml.append("<BlobPrefix><Name>").append(name).append("</Name></BlobPrefix>");
+        }
+        xml.append("</Blobs></EnumerationResults>");
+
+        Response response = new Response(request, 200);
+        response.headers.put("Content-Type", "application/xml");
+        response.body = xml.toString().getBytes(StandardCharsets.UTF_8);
+        return response;
+    }
+
+    private static Response properties(HttpRequest request, StoredBlob blob, int statusCode) {
+        Response response = new Response(request, statusCode);
+        response.headers.put("Content-Length", Integer.toString(blob.data.length));
+        response.headers.put("ETag", blob.eTag);
+        response.headers.put("Last-Modified", LAST_MODIFIED);
+        response.headers.put("x-ms-blob-type", blob.blobType);
+        for (Map.Entry<String, String> entry : blob.metadata.entrySet()) {
+            response.headers.put("x-ms-meta-" + entry.getKey(), entry.getValue());
+        }
+        if (blob.copyStatus != null) {
+            response.headers.put("x-ms-copy-id", UUID.randomUUID().toString());
+            response.headers.put("x-ms-copy-source", blob.copySource);
+            response.headers.put("x-ms-copy-status", blob.copyStatus.toString());
+            if (blob.copyStatus != CopyStatusType.SUCCESS) {
+                response.headers.put("x-ms-copy-status-description", "The copy was " + blob.copyStatus + ".");
+            }
+        }
+        return response;
+    }
+
+    private static Response error(HttpRequest request, int statusCode, String errorCode) {
+        Response response = new Response(request, statusCode);
+        response.headers.put("x-ms-error-code", errorCode);
+        if (request.getHttpMethod() != HttpMethod.HEAD) {
+            response.headers.put("Content-Type", "application/xml");
+            response.body = ("<?xml version=\"1.0\" encoding=\"utf-8\"?><Error><Code>" + errorCode
+                + "</Code><Message>" + errorCode + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        }
+        return response;
+    }
+
+    private static Map<String, String> metadata(HttpRequest request) {
+        Map<String, String> metadata = new HashMap<>();
+        for (HttpHeader header : request.getHeaders()) {
+            if (header.getName().toLowerCase().startsWith("x-ms-meta-")) {
+                metadata.put(header.getName().substring("x-ms-meta-".length()), header.getValue());
+            }
+        }
+        return metadata;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(parameter.substring(0, equals), decode(parameter.substring(equals + 1)));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Response extends HttpResponse {
+        private final int statusCode;
+        private final HttpHeaders headers = new HttpHeaders();
+        private byte[] body = new byte[0];
+
+        Response(HttpRequest request, int statusCode) {
+            super(request);
+            this.statusCode = statusCode;
+            this.headers.put("x-ms-request-id", UUID.randomUUID().toString());
+            this.headers.put("x-ms-version", "2019-02-02");
+            this.headers.put("x-ms-request-server-encrypted", "true");
+        }
+
+        @Override
+        public int getStatusCode() {
+            return this.statusCode;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return this.headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return this.body.length == 0 ? Flux.empty() : Flux.just(ByteBuffer.wrap(this.body));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(this.body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.just(new String(this.body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just(new String(this.body, charset));
+        }
+    }
+}
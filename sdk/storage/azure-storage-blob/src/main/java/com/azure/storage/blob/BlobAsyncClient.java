@@ -20,9 +20,13 @@ import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.specialized.AppendBlobAsyncClient;
 import com.azure.storage.blob.specialized.BlobAsyncClientBase;
 import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import com.azure.storage.blob.specialized.BlockBlobClient;
 import com.azure.storage.blob.specialized.PageBlobAsyncClient;
 import com.azure.storage.blob.specialized.SpecializedBlobClientBuilder;
+import com.azure.storage.common.StorageChecksumAlgorithm;
 import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.StorageChecksum;
+import com.azure.storage.common.implementation.UploadBufferPool;
 import com.azure.storage.common.implementation.UploadUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -340,17 +344,23 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
 
             BlockBlobAsyncClient blockBlobAsyncClient = getBlockBlobAsyncClient();
 
+            // Put Blob only validates content with MD5, the checksum is computed as the data is cached.
+            StorageChecksum uploadFullBlobChecksum = StorageChecksum.create(
+                StorageChecksum.resolve(validatedParallelTransferOptions.getChecksumAlgorithm(), false));
+
             Function<Flux<ByteBuffer>, Mono<Response<BlockBlobItem>>> uploadInChunksFunction = (stream) ->
                 uploadInChunks(blockBlobAsyncClient, stream, validatedParallelTransferOptions, headers, metadata, tier,
                     validatedRequestConditions);
 
             BiFunction<Flux<ByteBuffer>, Long, Mono<Response<BlockBlobItem>>> uploadFullBlobMethod =
-                (stream, length) -> blockBlobAsyncClient.uploadWithResponse(ProgressReporter
+                (stream, length) -> Mono.defer(() -> blockBlobAsyncClient.uploadWithResponse(ProgressReporter
                     .addProgressReporting(stream, validatedParallelTransferOptions.getProgressReceiver()),
-                    length, headers, metadata, tier, null, validatedRequestConditions);
+                    length, headers, metadata, tier,
+                    uploadFullBlobChecksum == null ? null : uploadFullBlobChecksum.getValue(),
+                    validatedRequestConditions));
 
-            return determineUploadFullOrChunked(data, validatedParallelTransferOptions, uploadInChunksFunction,
-                uploadFullBlobMethod);
+            return determineUploadFullOrChunked(data, validatedParallelTransferOptions, uploadFullBlobChecksum,
+                uploadInChunksFunction, uploadFullBlobMethod);
         } catch (RuntimeException ex) {
             return monoError(logger, ex);
         }
@@ -359,16 +369,25 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
     private Mono<Response<BlockBlobItem>> uploadInChunks(BlockBlobAsyncClient blockBlobAsyncClient,
         Flux<ByteBuffer> data, ParallelTransferOptions parallelTransferOptions, BlobHttpHeaders headers,
         Map<String, String> metadata, AccessTier tier, BlobRequestConditions requestConditions) {
+        // Validation done when the pool is created. The pool computes the checksum of each block as it copies the data.
+        StorageChecksumAlgorithm checksumAlgorithm =
+            StorageChecksum.resolve(parallelTransferOptions.getChecksumAlgorithm(), true);
+        return UploadBufferPool.create(parallelTransferOptions.getNumBuffers(), parallelTransferOptions.getBlockSize(),
+            BlockBlobClient.MAX_STAGE_BLOCK_BYTES, checksumAlgorithm)
+            .flatMap(pool -> uploadInChunks(blockBlobAsyncClient, data, parallelTransferOptions, headers, metadata,
+                tier, requestConditions, pool, checksumAlgorithm));
+    }
+
+    private Mono<Response<BlockBlobItem>> uploadInChunks(BlockBlobAsyncClient blockBlobAsyncClient,
+        Flux<ByteBuffer> data, ParallelTransferOptions parallelTransferOptions, BlobHttpHeaders headers,
+        Map<String, String> metadata, AccessTier tier, BlobRequestConditions requestConditions, UploadBufferPool pool,
+        StorageChecksumAlgorithm checksumAlgorithm) {
         // TODO: Parallelism parameter? Or let Reactor handle it?
         // TODO: Sample/api reference
         // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
         AtomicLong totalProgress = new AtomicLong();
         Lock progressLock = new ReentrantLock();
 
-        // Validation done in the constructor.
-        UploadBufferPool pool = new UploadBufferPool(parallelTransferOptions.getNumBuffers(),
-            parallelTransferOptions.getBlockSize());
-
         /*
         Break the source Flux into chunks that are <= chunk size. This makes filling the pooled buffers much easier
         as we can guarantee we only need at most two buffers for any call to write (two in the case of one pool
@@ -403,8 +422,11 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
                 final String blockId = Base64.getEncoder().encodeToString(
                     UUID.randomUUID().toString().getBytes(UTF_8));
 
+                byte[] checksum = pool.getChecksum(buffer);
                 return blockBlobAsyncClient.stageBlockWithResponse(blockId, progressData, buffer.remaining(),
-                    null, requestConditions.getLeaseId())
+                    checksumAlgorithm == StorageChecksumAlgorithm.MD5 ? checksum : null,
+                    checksumAlgorithm == StorageChecksumAlgorithm.STORAGE_CRC64 ? checksum : null,
+                    requestConditions.getLeaseId())
                     // We only care about the stageBlock insofar as it was successful,
                     // but we need to collect the ids.
                     .map(x -> blockId)
@@ -413,11 +435,12 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
             }) // TODO: parallelism?
             .collect(Collectors.toList())
             .flatMap(ids ->
-                blockBlobAsyncClient.commitBlockListWithResponse(ids, headers, metadata, tier, requestConditions));
+                blockBlobAsyncClient.commitBlockListWithResponse(ids, headers, metadata, tier, requestConditions))
+            .doFinally(signalType -> pool.close());
     }
 
     private Mono<Response<BlockBlobItem>> determineUploadFullOrChunked(final Flux<ByteBuffer> data,
-        ParallelTransferOptions parallelTransferOptions,
+        ParallelTransferOptions parallelTransferOptions, final StorageChecksum uploadFullBlobChecksum,
         final Function<Flux<ByteBuffer>, Mono<Response<BlockBlobItem>>> uploadInChunks,
         final BiFunction<Flux<ByteBuffer>, Long, Mono<Response<BlockBlobItem>>> uploadFullBlob) {
         final long[] bufferedDataSize = {0};
@@ -448,6 +471,9 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
                          * the stream in a way that the Stage Blocks and Put Block List code path does, and this API
                          * explicitly states that it supports non-replayable streams.
                          */
+                        if (uploadFullBlobChecksum != null) {
+                            uploadFullBlobChecksum.update(buffer);
+                        }
                         ByteBuffer cachedBuffer = ByteBuffer.allocate(buffer.remaining()).put(buffer);
                         cachedBuffer.flip();
                         cachedBuffers.add(cachedBuffer);
@@ -0,0 +1,267 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.models.BlobRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The sidecar file a resumable download to a file records its progress in.
+ * <p>
+ * The journal identifies the blob, the version of the blob by its ETag, and the range being downloaded, and lists the
+ * ranges of the file that were completely written. It is rewritten through a temporary file and an atomic move each
+ * time a range completes, so an interrupted download leaves either the previous or the new journal behind. A download
+ * that finds a journal for the same blob and range only downloads the missing ranges, on the condition that the blob
+ * still has the recorded ETag.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class DownloadJournal {
+    /**
+     * The suffix appended to the path of the downloaded file to get the path of its journal.
+     */
+    public static final String FILE_SUFFIX = ".azdownload";
+
+    private static final String VERSION = "1";
+    private static final String VERSION_KEY = "version";
+    private static final String URL_KEY = "url";
+    private static final String ETAG_KEY = "etag";
+    private static final String OFFSET_KEY = "offset";
+    private static final String REQUESTED_COUNT_KEY = "requestedCount";
+    private static final String COUNT_KEY = "count";
+    private static final String COMPLETED_KEY = "completed";
+
+    private final ClientLogger logger = new ClientLogger(DownloadJournal.class);
+
+    private final Path path;
+    private final String blobUrl;
+    private final String eTag;
+    private final BlobRange requestedRange;
+    private final long count;
+
+    // The completed ranges of the file, as the start position mapped to the end position, exclusive. Adjacent ranges
+    // are merged.
+    private final TreeMap<Long, Long> completedRanges = new TreeMap<>();
+
+    private DownloadJournal(Path path, String blobUrl, String eTag, BlobRange requestedRange, long count) {
+        this.path = path;
+        this.blobUrl = blobUrl;
+        this.eTag = eTag;
+        this.requestedRange = requestedRange;
+        this.count = count;
+    }
+
+    /**
+     * Creates the journal of a new download. Nothing is written until a range is completed.
+     *
+     * @param path The path of the journal.
+     * @param blobUrl The URL of the blob.
+     * @param eTag The ETag of the blob.
+     * @param requestedRange The range requested by the user.
+     * @param count The number of bytes being downloaded.
+     * @return The journal.
+     */
+    public static DownloadJournal create(Path path, String blobUrl, String eTag, BlobRange requestedRange,
+        long count) {
+        return new DownloadJournal(path, blobUrl, eTag, requestedRange, count);
+    }
+
+    /**
+     * Loads the journal a previous download of the same blob and range left behind.
+     *
+     * @param path The path of the journal.
+     * @param blobUrl The URL of the blob.
+     * @param requestedRange The range requested by the user.
+     * @return The journal, or {@code null} if there is no journal, or it records the download of another blob or range
+     * or can't be read.
+     */
+    public static DownloadJournal load(Path path, String blobUrl, BlobRange requestedRange) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(path)) {
+            properties.load(stream);
+        } catch (IOException e) {
+            new ClientLogger(DownloadJournal.class).warning("Ignoring unreadable download journal {}.", path);
+            return null;
+        }
+
+        try {
+            if (!VERSION.equals(properties.getProperty(VERSION_KEY))
+                || !blobUrl.equals(properties.getProperty(URL_KEY))
+                || requestedRange.getOffset() != Long.parseLong(properties.getProperty(OFFSET_KEY))
+                || !Objects.equals(toString(requestedRange.getCount()),
+                    properties.getProperty(REQUESTED_COUNT_KEY, ""))) {
+                return null;
+            }
+
+            String eTag = properties.getProperty(ETAG_KEY);
+            long count = Long.parseLong(properties.getProperty(COUNT_KEY));
+            if (eTag == null || count <= 0) {
+                return null;
+            }
+
+            DownloadJournal journal = new DownloadJournal(path, blobUrl, eTag, requestedRange, count);
+            String completed = properties.getProperty(COMPLETED_KEY, "");
+            for (String range : completed.split(",")) {
+                if (range.isEmpty()) {
+                    continue;
+                }
+
+                String[] bounds = range.split("-");
+                long start = Long.parseLong(bounds[0]);
+                long end = Long.parseLong(bounds[1]);
+                if (start < 0 || end <= start || end > count) {
+                    return null;
+                }
+                journal.addCompletedRange(start, end);
+            }
+
+            return journal;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            new ClientLogger(DownloadJournal.class).warning("Ignoring malformed download journal {}.", path);
+            return null;
+        }
+    }
+
+    /**
+     * @return The ETag of the blob being downloaded.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return The number of bytes being downloaded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of bytes already written to the file.
+     */
+    public synchronized long getCompletedBytes() {
+        long completed = 0;
+        for (Map.Entry<Long, Long> range : completedRanges.entrySet()) {
+            completed += range.getValue() - range.getKey();
+        }
+        return completed;
+    }
+
+    /**
+     * @return The ranges of the file that still have to be downloaded, as file positions and lengths, in order.
+     */
+    public synchronized List<BlobRange> getMissingRanges() {
+        List<BlobRange> missing = new ArrayList<>();
+        long position = 0;
+        for (Map.Entry<Long, Long> range : completedRanges.entrySet()) {
+            if (range.getKey() > position) {
+                missing.add(new BlobRange(position, range.getKey() - position));
+            }
+            position = range.getValue();
+        }
+        if (position < count) {
+            missing.add(new BlobRange(position, count - position));
+        }
+
+        return missing;
+    }
+
+    /**
+     * Records that a range of the file was written and saves the journal.
+     *
+     * @param position The position of the range in the file.
+     * @param length The length of the range.
+     * @throws UncheckedIOException If the journal can't be saved.
+     */
+    public synchronized void complete(long position, long length) {
+        addCompletedRange(position, position + length);
+        save();
+    }
+
+    /**
+     * Deletes the journal once the download completed.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warning("Failed to delete download journal {}.", path);
+        }
+    }
+
+    private void addCompletedRange(long start, long end) {
+        Map.Entry<Long, Long> previous = completedRanges.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            start = previous.getKey();
+            end = Math.max(end, previous.getValue());
+        }
+
+        Map.Entry<Long, Long> next = completedRanges.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            completedRanges.remove(next.getKey());
+            next = completedRanges.ceilingEntry(start);
+        }
+
+        completedRanges.put(start, end);
+    }
+
+    private void save() {
+        StringBuilder completed = new StringBuilder();
+        for (Map.Entry<Long, Long> range : completedRanges.entrySet()) {
+            if (completed.length() > 0) {
+                completed.append(',');
+            }
+            completed.append(range.getKey()).append('-').append(range.getValue());
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, VERSION);
+        properties.setProperty(URL_KEY, blobUrl);
+        properties.setProperty(ETAG_KEY, eTag);
+        properties.setProperty(OFFSET_KEY, Long.toString(requestedRange.getOffset()));
+        properties.setProperty(REQUESTED_COUNT_KEY, toString(requestedRange.getCount()));
+        properties.setProperty(COUNT_KEY, Long.toString(count));
+        properties.setProperty(COMPLETED_KEY, completed.toString());
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporaryPath)) {
+                properties.store(stream, null);
+            }
+
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw logger.logExceptionAsError(new UncheckedIOException(e));
+        }
+    }
+
+    private static String toString(Long value) {
+        return value == null ? "" : value.toString();
+    }
+}
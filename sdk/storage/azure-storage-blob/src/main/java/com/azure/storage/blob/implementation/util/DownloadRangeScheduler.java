@@ -0,0 +1,212 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.common.implementation.Constants;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Splits the ranges a download to a file still needs into chunks, and tunes the chunk size and the number of chunks
+ * downloaded concurrently from the observed throughput.
+ * <p>
+ * The chunk size doubles when chunks complete in less than a quarter of {@link #TARGET_CHUNK_DURATION} and halves when
+ * they take more than twice as long, so each request stays long enough to amortize its latency and short enough that
+ * a retry doesn't repeat much. The concurrency is hill climbed: every time as many chunks as the current concurrency
+ * complete, the throughput of that round is compared with the previous round's, and the concurrency keeps moving in the
+ * same direction while the throughput improves and reverses when it drops.
+ * <p>
+ * {@link #getChunks()} emits chunks only while fewer than the current concurrency are in flight, so it must be
+ * consumed with a concurrency of at least {@link #MAX_CONCURRENCY}, and every chunk must be reported to
+ * {@link #onChunkCompleted(BlobRange, long)}.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class DownloadRangeScheduler {
+    /**
+     * The maximum number of chunks downloaded concurrently.
+     */
+    public static final int MAX_CONCURRENCY = 64;
+
+    /**
+     * The size chunks grow to at most by default.
+     */
+    public static final long MAX_CHUNK_SIZE = 128L * Constants.MB;
+
+    static final Duration TARGET_CHUNK_DURATION = Duration.ofSeconds(2);
+    static final long MIN_CHUNK_SIZE = Constants.MB;
+
+    // Changes of the throughput within this fraction are noise and don't move the concurrency.
+    private static final double THROUGHPUT_TOLERANCE = 0.05;
+
+    private final Deque<long[]> remainingRanges = new ArrayDeque<>();
+    private final long minChunkSize;
+    private final long maxChunkSize;
+
+    // Guarded by this.
+    private FluxSink<BlobRange> sink;
+    private long demand;
+    private int inFlight;
+    private long chunkSize;
+    private int concurrency;
+    private int concurrencyStep = 1;
+    private int roundChunks;
+    private long roundBytes;
+    private long roundStartNanos;
+    private double lastRoundThroughput;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param ranges The ranges to download, as file positions and lengths, in order.
+     * @param initialChunkSize The size of the first chunks.
+     * @param initialConcurrency The number of chunks initially downloaded concurrently.
+     */
+    public DownloadRangeScheduler(List<BlobRange> ranges, long initialChunkSize, int initialConcurrency) {
+        this(ranges, initialChunkSize, initialConcurrency, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a scheduler whose chunks never exceed a size.
+     *
+     * @param ranges The ranges to download, as file positions and lengths, in order.
+     * @param initialChunkSize The size of the first chunks.
+     * @param initialConcurrency The number of chunks initially downloaded concurrently.
+     * @param maxChunkSize The size chunks grow to at most, raised to the initial chunk size if smaller.
+     */
+    public DownloadRangeScheduler(List<BlobRange> ranges, long initialChunkSize, int initialConcurrency,
+        long maxChunkSize) {
+        for (BlobRange range : ranges) {
+            if (range.getCount() > 0) {
+                remainingRanges.add(new long[] {range.getOffset(), range.getOffset() + range.getCount()});
+            }
+        }
+
+        this.minChunkSize = Math.min(initialChunkSize, MIN_CHUNK_SIZE);
+        this.maxChunkSize = Math.max(initialChunkSize, maxChunkSize);
+        this.chunkSize = initialChunkSize;
+        this.concurrency = Math.max(1, Math.min(initialConcurrency, MAX_CONCURRENCY));
+        this.roundStartNanos = System.nanoTime();
+    }
+
+    /**
+     * @return The chunks to download, as file positions and lengths.
+     */
+    public Flux<BlobRange> getChunks() {
+        return Flux.create(emitter -> {
+            synchronized (this) {
+                this.sink = emitter;
+            }
+            emitter.onRequest(requested -> {
+                synchronized (this) {
+                    demand = demand + requested < 0 ? Long.MAX_VALUE : demand + requested;
+                    drain();
+                }
+            });
+        });
+    }
+
+    /**
+     * Records that a chunk was written to the file and emits the next chunks.
+     *
+     * @param chunk The chunk.
+     * @param durationNanos The time it took to download and write the chunk.
+     */
+    public synchronized void onChunkCompleted(BlobRange chunk, long durationNanos) {
+        inFlight--;
+        tuneChunkSize(durationNanos);
+        tuneConcurrency(chunk.getCount());
+        drain();
+    }
+
+    /**
+     * @return The current chunk size.
+     */
+    public synchronized long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return The current number of chunks downloaded concurrently.
+     */
+    public synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    private void tuneChunkSize(long durationNanos) {
+        long targetNanos = TARGET_CHUNK_DURATION.toNanos();
+        if (durationNanos < targetNanos / 4) {
+            chunkSize = Math.min(chunkSize * 2, maxChunkSize);
+        } else if (durationNanos > targetNanos * 2) {
+            chunkSize = Math.max(chunkSize / 2, minChunkSize);
+        }
+    }
+
+    private void tuneConcurrency(long bytes) {
+        roundChunks++;
+        roundBytes += bytes;
+        if (roundChunks < concurrency) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        double throughput = roundBytes / (double) Math.max(now - roundStartNanos, 1);
+        if (lastRoundThroughput > 0) {
+            if (throughput < lastRoundThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+                concurrencyStep = -concurrencyStep;
+                concurrency = clampConcurrency(concurrency + concurrencyStep);
+            } else if (throughput > lastRoundThroughput * (1 + THROUGHPUT_TOLERANCE)) {
+                concurrency = clampConcurrency(concurrency + concurrencyStep);
+            }
+        } else {
+            concurrency = clampConcurrency(concurrency + concurrencyStep);
+        }
+
+        lastRoundThroughput = throughput;
+        roundChunks = 0;
+        roundBytes = 0;
+        roundStartNanos = now;
+    }
+
+    private static int clampConcurrency(int value) {
+        return Math.max(1, Math.min(value, MAX_CONCURRENCY));
+    }
+
+    /*
+    Emits chunks while there is demand and room in the concurrency. Must be called while holding the lock. Emitting can
+    request more chunks re-entrantly, so the state is updated before each chunk is emitted.
+     */
+    private void drain() {
+        if (sink == null) {
+            return;
+        }
+
+        while (demand > 0 && inFlight < concurrency && !remainingRanges.isEmpty()) {
+            long[] range = remainingRanges.peekFirst();
+            long length = Math.min(chunkSize, range[1] - range[0]);
+            BlobRange chunk = new BlobRange(range[0], length);
+            range[0] += length;
+            if (range[0] == range[1]) {
+                remainingRanges.pollFirst();
+            }
+            demand--;
+            inFlight++;
+
+            sink.next(chunk);
+        }
+
+        // A re-entrant call may have completed the sink already.
+        if (sink != null && remainingRanges.isEmpty()) {
+            FluxSink<BlobRange> completedSink = sink;
+            sink = null;
+            completedSink.complete();
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.azure.storage.blob.implementation.util;
 import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import com.azure.storage.common.StorageChecksumAlgorithm;
 
 import java.util.regex.Pattern;
 
@@ -34,6 +35,7 @@ public class ModelHelper {
                 : other.getNumBuffers(),
             other.getProgressReceiver(),
             other.getMaxSingleUploadSize() == null ? Integer.valueOf(BlockBlobAsyncClient.MAX_UPLOAD_BLOB_BYTES)
-                : other.getMaxSingleUploadSize());
+                : other.getMaxSingleUploadSize(),
+            other.getChecksumAlgorithm() == null ? StorageChecksumAlgorithm.NONE : other.getChecksumAlgorithm());
     }
 }
@@ -0,0 +1,153 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.ProgressReceiver;
+import com.azure.storage.blob.specialized.BlobTransferAsyncClient;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * Defines options available to configure the directory transfers of a {@link BlobTransferAsyncClient}. All the
+ * transfers of a client share its concurrency and bandwidth budget.
+ */
+@Fluent
+public final class BlobTransferOptions {
+    private int maxConcurrency = 32;
+    private Long maxBytesPerSecond;
+    private int blockSize = 8 * Constants.MB;
+    private int maxSingleTransferSize = 32 * Constants.MB;
+    private int smallFileSize = 256 * Constants.KB;
+    private boolean overwrite;
+    private ProgressReceiver progressReceiver;
+
+    /**
+     * @return the maximum number of requests in flight across all transfers, 32 by default
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of requests in flight across all transfers, must be at least 1
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setMaxConcurrency(int maxConcurrency) {
+        StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of bytes transferred per second across all transfers, or null for no limit
+     */
+    public Long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * @param maxBytesPerSecond The maximum number of bytes transferred per second across all transfers, or null for no
+     * limit. The limit is applied when requests start, so the rate averages out to it over a few blocks.
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setMaxBytesPerSecond(Long maxBytesPerSecond) {
+        if (maxBytesPerSecond != null) {
+            StorageImplUtils.assertInBounds("maxBytesPerSecond", maxBytesPerSecond, 1, Long.MAX_VALUE);
+        }
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        return this;
+    }
+
+    /**
+     * @return the size of the blocks large files are uploaded in and the ranges large blobs are downloaded in, 8MB by
+     * default
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @param blockSize The size of the blocks large files are uploaded in and the ranges large blobs are downloaded
+     * in, between 1 and {@link BlockBlobAsyncClient#MAX_STAGE_BLOCK_BYTES}
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setBlockSize(int blockSize) {
+        StorageImplUtils.assertInBounds("blockSize", blockSize, 1, BlockBlobAsyncClient.MAX_STAGE_BLOCK_BYTES);
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * @return the size up to which a file or blob is transferred in a single request, 32MB by default
+     */
+    public int getMaxSingleTransferSize() {
+        return maxSingleTransferSize;
+    }
+
+    /**
+     * @param maxSingleTransferSize The size up to which a file or blob is transferred in a single request, between 1
+     * and {@link BlockBlobAsyncClient#MAX_UPLOAD_BLOB_BYTES}. Larger files and blobs are transferred in blocks.
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setMaxSingleTransferSize(int maxSingleTransferSize) {
+        StorageImplUtils.assertInBounds("maxSingleTransferSize", maxSingleTransferSize, 1,
+            BlockBlobAsyncClient.MAX_UPLOAD_BLOB_BYTES);
+        this.maxSingleTransferSize = maxSingleTransferSize;
+        return this;
+    }
+
+    /**
+     * @return the size up to which files and blobs are coalesced, 256KB by default
+     */
+    public int getSmallFileSize() {
+        return smallFileSize;
+    }
+
+    /**
+     * @param smallFileSize The size up to which files and blobs are coalesced, 0 to disable coalescing. Small files
+     * and blobs are grouped up to the block size and each group is transferred as a single unit of the concurrency
+     * budget, so tens of thousands of tiny files don't each pay for a separate slot.
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setSmallFileSize(int smallFileSize) {
+        StorageImplUtils.assertInBounds("smallFileSize", smallFileSize, 0, Integer.MAX_VALUE);
+        this.smallFileSize = smallFileSize;
+        return this;
+    }
+
+    /**
+     * @return whether existing blobs and files are overwritten, false by default
+     */
+    public boolean isOverwrite() {
+        return overwrite;
+    }
+
+    /**
+     * @param overwrite Whether existing blobs and files are overwritten. When false, a transfer fails if a destination
+     * already exists.
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setOverwrite(boolean overwrite) {
+        this.overwrite = overwrite;
+        return this;
+    }
+
+    /**
+     * @return the receiver of the total number of bytes transferred across all transfers
+     */
+    public ProgressReceiver getProgressReceiver() {
+        return progressReceiver;
+    }
+
+    /**
+     * @param progressReceiver The receiver of the total number of bytes transferred across all transfers
+     * @return the updated BlobTransferOptions object
+     */
+    public BlobTransferOptions setProgressReceiver(ProgressReceiver progressReceiver) {
+        this.progressReceiver = progressReceiver;
+        return this;
+    }
+}
@@ -26,6 +26,8 @@ import com.azure.storage.blob.implementation.models.BlobGetPropertiesHeaders;
 import com.azure.storage.blob.implementation.models.BlobStartCopyFromURLHeaders;
 import com.azure.storage.blob.implementation.models.EncryptionScope;
 import com.azure.storage.blob.implementation.util.BlobSasImplUtil;
+import com.azure.storage.blob.implementation.util.DownloadJournal;
+import com.azure.storage.blob.implementation.util.DownloadRangeScheduler;
 import com.azure.storage.blob.implementation.util.ModelHelper;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.ArchiveStatus;
@@ -46,9 +48,12 @@ import com.azure.storage.blob.models.RehydratePriority;
 import com.azure.storage.blob.models.StorageAccountInfo;
 import com.azure.storage.blob.models.UserDelegationKey;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageChecksumAlgorithm;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.Utility;
+import com.azure.storage.common.implementation.Constants;
 import com.azure.storage.common.implementation.SasImplUtils;
+import com.azure.storage.common.implementation.StorageChecksum;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -58,6 +63,7 @@ import reactor.util.function.Tuple3;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
@@ -65,11 +71,15 @@ import java.nio.channels.AsynchronousFileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -79,7 +89,6 @@ import java.util.concurrent.locks.ReentrantLock;
 import static com.azure.core.util.FluxUtil.fluxError;
 import static com.azure.core.util.FluxUtil.monoError;
 import static com.azure.core.util.FluxUtil.withContext;
-import static java.lang.StrictMath.toIntExact;
 
 /**
  * This class provides a client that contains all operations that apply to any blob type.
@@ -90,6 +99,9 @@ import static java.lang.StrictMath.toIntExact;
  */
 public class BlobAsyncClientBase {
 
+    // The largest range the service returns a transactional checksum for.
+    private static final int MAX_CHECKSUM_RANGE_BYTES = 4 * Constants.MB;
+
     private final ClientLogger logger = new ClientLogger(BlobAsyncClientBase.class);
 
     protected final AzureBlobStorageImpl azureBlobStorage;
@@ -667,15 +679,33 @@ public class BlobAsyncClientBase {
 
     Mono<BlobDownloadAsyncResponse> downloadWithResponse(BlobRange range, DownloadRetryOptions options,
         BlobRequestConditions requestConditions, boolean getRangeContentMd5, Context context) {
-        return downloadHelper(range, options, requestConditions, getRangeContentMd5, context)
+        return downloadWithResponse(range, options, requestConditions, getRangeContentMd5,
+            StorageChecksumAlgorithm.NONE, context);
+    }
+
+    Mono<BlobDownloadAsyncResponse> downloadWithResponse(BlobRange range, DownloadRetryOptions options,
+        BlobRequestConditions requestConditions, boolean getRangeContentMd5,
+        StorageChecksumAlgorithm checksumAlgorithm, Context context) {
+        return downloadHelper(range, options, requestConditions, getRangeContentMd5, checksumAlgorithm, context)
             .map(response -> new BlobDownloadAsyncResponse(response.getRequest(), response.getStatusCode(),
                 response.getHeaders(), response.getValue(), response.getDeserializedHeaders()));
     }
 
     private Mono<ReliableDownload> downloadHelper(BlobRange range, DownloadRetryOptions options,
-        BlobRequestConditions requestConditions, boolean getRangeContentMd5, Context context) {
+        BlobRequestConditions requestConditions, boolean getRangeContentMd5,
+        StorageChecksumAlgorithm checksumAlgorithm, Context context) {
         range = range == null ? new BlobRange(0) : range;
-        Boolean getMD5 = getRangeContentMd5 ? getRangeContentMd5 : null;
+        StorageChecksumAlgorithm resolvedChecksum = StorageChecksum.resolve(checksumAlgorithm, true);
+        if (resolvedChecksum != StorageChecksumAlgorithm.NONE
+            && (range.getCount() == null || range.getCount() > MAX_CHECKSUM_RANGE_BYTES)) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "The service only returns checksums for ranges of at most 4MB."));
+        }
+
+        // The service returns at most one checksum per response, content validation takes precedence.
+        Boolean getMD5 = resolvedChecksum == StorageChecksumAlgorithm.MD5
+            || (getRangeContentMd5 && resolvedChecksum == StorageChecksumAlgorithm.NONE) ? Boolean.TRUE : null;
+        Boolean getCrc64 = resolvedChecksum == StorageChecksumAlgorithm.STORAGE_CRC64 ? Boolean.TRUE : null;
         requestConditions = requestConditions == null ? new BlobRequestConditions() : requestConditions;
         HttpGetterInfo info = new HttpGetterInfo()
             .setOffset(range.getOffset())
@@ -683,14 +713,14 @@ public class BlobAsyncClientBase {
             .setETag(requestConditions.getIfMatch());
 
         return azureBlobStorage.blobs().downloadWithRestResponseAsync(null, null, snapshot, null, range.toHeaderValue(),
-            requestConditions.getLeaseId(), getMD5, null, requestConditions.getIfModifiedSince(),
+            requestConditions.getLeaseId(), getMD5, getCrc64, requestConditions.getIfModifiedSince(),
             requestConditions.getIfUnmodifiedSince(), requestConditions.getIfMatch(),
             requestConditions.getIfNoneMatch(), null, customerProvidedKey, context)
             .map(response -> {
                 info.setETag(response.getDeserializedHeaders().getETag());
-                return new ReliableDownload(response, options, info, updatedInfo ->
+                return new ReliableDownload(response, options, info, resolvedChecksum, updatedInfo ->
                     downloadHelper(new BlobRange(updatedInfo.getOffset(), updatedInfo.getCount()), options,
-                        new BlobRequestConditions().setIfMatch(info.getETag()), false, context));
+                        new BlobRequestConditions().setIfMatch(info.getETag()), false, resolvedChecksum, context));
             });
     }
 
@@ -764,8 +794,9 @@ public class BlobAsyncClientBase {
      *
      * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
      * @param range {@link BlobRange}
-     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. Number of parallel
-     * transfers parameter is ignored.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     * the number of buffers are the initial size of the ranges downloaded and the initial number of ranges downloaded
+     * in parallel; both are then tuned from the observed throughput.
      * @param options {@link DownloadRetryOptions}
      * @param requestConditions {@link BlobRequestConditions}
      * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
@@ -796,8 +827,9 @@ public class BlobAsyncClientBase {
      *
      * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
      * @param range {@link BlobRange}
-     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. Number of parallel
-     * transfers parameter is ignored.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     * the number of buffers are the initial size of the ranges downloaded and the initial number of ranges downloaded
+     * in parallel; both are then tuned from the observed throughput.
      * @param options {@link DownloadRetryOptions}
      * @param requestConditions {@link BlobRequestConditions}
      * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
@@ -817,18 +849,82 @@ public class BlobAsyncClientBase {
         }
     }
 
+    /**
+     * Downloads the entire blob into a file specified by the path, optionally resuming an interrupted download.
+     *
+     * <p>By default the file will be created and must not exist, if the file already exists a
+     * {@link FileAlreadyExistsException} will be thrown. To override this behavior, provide appropriate
+     * {@link OpenOption OpenOptions} </p>
+     *
+     * <p>A resumable download records the ranges written to the file in a journal next to it, named after the file
+     * with a {@code .azdownload} suffix. If the download fails, the partial file and the journal are kept, and the next
+     * resumable download of the same blob and range to the same file only downloads the missing ranges, ignoring the
+     * open options. The missing ranges are only downloaded if the blob still has the ETag it had when the download
+     * started; otherwise the whole file is downloaded again. The journal is deleted once the download completes.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobAsyncClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean}
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     * the number of buffers are the initial size of the ranges downloaded and the initial number of ranges downloaded
+     * in parallel; both are then tuned from the observed throughput.
+     * @param options {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
+     * @param openOptions {@link OpenOption OpenOptions} to use to configure how to open or create the file.
+     * @param resumable Whether to record the progress of the download so that it can be resumed after a failure, and
+     * to resume a previous download of the blob to the file.
+     * @return A reactive response containing the blob properties and metadata.
+     * @throws IllegalArgumentException If {@code blockSize} is less than 0 or greater than 100MB.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public Mono<Response<BlobProperties>> downloadToFileWithResponse(String filePath, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions options,
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
+        boolean resumable) {
+        try {
+            return withContext(context -> downloadToFileWithResponse(filePath, range, parallelTransferOptions, options,
+                requestConditions, rangeGetContentMd5, openOptions, resumable, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
     Mono<Response<BlobProperties>> downloadToFileWithResponse(String filePath, BlobRange range,
         ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
         BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
         Context context) {
+        return downloadToFileWithResponse(filePath, range, parallelTransferOptions, downloadRetryOptions,
+            requestConditions, rangeGetContentMd5, openOptions, false, context);
+    }
+
+    Mono<Response<BlobProperties>> downloadToFileWithResponse(String filePath, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
+        boolean resumable, Context context) {
         BlobRange finalRange = range == null ? new BlobRange(0) : range;
         final ParallelTransferOptions finalParallelTransferOptions =
-            ModelHelper.populateAndApplyDefaults(parallelTransferOptions);
+            limitBlockSizeForChecksum(ModelHelper.populateAndApplyDefaults(parallelTransferOptions));
         BlobRequestConditions finalConditions = requestConditions == null
             ? new BlobRequestConditions() : requestConditions;
 
-        // Default behavior is not to overwrite
-        if (openOptions == null) {
+        Path journalPath = resumable ? Paths.get(filePath + DownloadJournal.FILE_SUFFIX) : null;
+        DownloadJournal journal = resumable ? loadDownloadJournal(journalPath, filePath, finalRange, finalConditions)
+            : null;
+
+        if (journal != null) {
+            // Write the missing ranges into the file the interrupted download left behind.
+            openOptions = new HashSet<>();
+            openOptions.add(StandardOpenOption.WRITE);
+            openOptions.add(StandardOpenOption.READ);
+        } else if (openOptions == null) {
+            // Default behavior is not to overwrite
             openOptions = new HashSet<>();
             openOptions.add(StandardOpenOption.CREATE_NEW);
             openOptions.add(StandardOpenOption.WRITE);
@@ -838,8 +934,21 @@ public class BlobAsyncClientBase {
         AsynchronousFileChannel channel = downloadToFileResourceSupplier(filePath, openOptions);
         return Mono.just(channel)
             .flatMap(c -> this.downloadToFileImpl(c, finalRange, finalParallelTransferOptions,
-                downloadRetryOptions, finalConditions, rangeGetContentMd5, context))
-            .doFinally(signalType -> this.downloadToFileCleanup(channel, filePath, signalType));
+                downloadRetryOptions, finalConditions, rangeGetContentMd5, journal, journalPath, context))
+            .doFinally(signalType -> this.downloadToFileCleanup(channel, filePath, journalPath, signalType));
+    }
+
+    /*
+    The service only returns the checksum of ranges up to 4MB, so downloads validating content use chunks no larger.
+     */
+    private static ParallelTransferOptions limitBlockSizeForChecksum(ParallelTransferOptions options) {
+        if (options.getChecksumAlgorithm() == StorageChecksumAlgorithm.NONE
+            || options.getBlockSize() <= MAX_CHECKSUM_RANGE_BYTES) {
+            return options;
+        }
+
+        return new ParallelTransferOptions(MAX_CHECKSUM_RANGE_BYTES, options.getNumBuffers(),
+            options.getProgressReceiver(), options.getMaxSingleUploadSize(), options.getChecksumAlgorithm());
     }
 
     private AsynchronousFileChannel downloadToFileResourceSupplier(String filePath, Set<OpenOption> openOptions) {
@@ -850,13 +959,85 @@ public class BlobAsyncClientBase {
         }
     }
 
+    private DownloadJournal loadDownloadJournal(Path journalPath, String filePath, BlobRange range,
+        BlobRequestConditions requestConditions) {
+        if (!Files.isRegularFile(Paths.get(filePath))) {
+            return null;
+        }
+
+        DownloadJournal journal = DownloadJournal.load(journalPath, getBlobUrl(), range);
+        // The caller asked for another version of the blob than the one the journal recorded.
+        if (journal != null && requestConditions.getIfMatch() != null
+            && !requestConditions.getIfMatch().equals(journal.getETag())) {
+            return null;
+        }
+
+        return journal;
+    }
+
     private Mono<Response<BlobProperties>> downloadToFileImpl(AsynchronousFileChannel file, BlobRange finalRange,
         ParallelTransferOptions finalParallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
-        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Context context) {
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, DownloadJournal journal,
+        Path journalPath, Context context) {
         // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
         Lock progressLock = new ReentrantLock();
         AtomicLong totalProgress = new AtomicLong(0);
 
+        if (journal == null) {
+            return downloadNewFile(file, finalRange, finalParallelTransferOptions, downloadRetryOptions,
+                requestConditions, rangeGetContentMd5, journalPath, progressLock, totalProgress, context);
+        }
+
+        /*
+         * Resume the download from the first missing range. Every request is conditioned on the ETag the journal
+         * recorded; if the blob changed since, the file is downloaded again from scratch.
+         */
+        List<BlobRange> missingRanges = journal.getMissingRanges();
+        BlobRange firstMissingRange = missingRanges.isEmpty()
+            ? new BlobRange(0, journal.getCount())
+            : missingRanges.get(0);
+        BlobRange initialChunk = new BlobRange(firstMissingRange.getOffset(),
+            Math.min(firstMissingRange.getCount(), (long) finalParallelTransferOptions.getBlockSize()));
+
+        List<BlobRange> remainingRanges = new ArrayList<>();
+        if (!missingRanges.isEmpty()) {
+            remainingRanges.add(new BlobRange(initialChunk.getOffset() + initialChunk.getCount(),
+                firstMissingRange.getCount() - initialChunk.getCount()));
+            remainingRanges.addAll(missingRanges.subList(1, missingRanges.size()));
+        }
+
+        BlobRequestConditions resumeConditions = setEtag(requestConditions, journal.getETag());
+        long completedBytes = journal.getCompletedBytes();
+        totalProgress.set(completedBytes);
+        logger.info("Resuming the download to file with {} of {} bytes already downloaded.", completedBytes,
+            journal.getCount());
+
+        return this.downloadWithResponse(new BlobRange(finalRange.getOffset() + initialChunk.getOffset(),
+            initialChunk.getCount()), downloadRetryOptions, resumeConditions, rangeGetContentMd5,
+            finalParallelTransferOptions.getChecksumAlgorithm(), context)
+            .subscribeOn(Schedulers.elastic())
+            .onErrorResume(BlobStorageException.class, e -> {
+                if (e.getStatusCode() != HttpURLConnection.HTTP_PRECON_FAILED) {
+                    return Mono.error(e);
+                }
+
+                logger.info("The blob changed since the download to file was interrupted, downloading it again.");
+                journal.delete();
+                totalProgress.set(0);
+                return Mono.fromCallable(() -> file.truncate(0)).then(Mono.empty());
+            })
+            .flatMap(initialResponse -> downloadChunksToFile(file, finalRange, finalParallelTransferOptions,
+                downloadRetryOptions, resumeConditions, rangeGetContentMd5, initialResponse, initialChunk,
+                remainingRanges, journal, progressLock, totalProgress))
+            .switchIfEmpty(Mono.defer(() -> downloadNewFile(file, finalRange, finalParallelTransferOptions,
+                downloadRetryOptions, requestConditions, rangeGetContentMd5, journalPath, progressLock, totalProgress,
+                context)));
+    }
+
+    private Mono<Response<BlobProperties>> downloadNewFile(AsynchronousFileChannel file, BlobRange finalRange,
+        ParallelTransferOptions finalParallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Path journalPath, Lock progressLock,
+        AtomicLong totalProgress, Context context) {
         /*
          * Downloads the first chunk and gets the size of the data and etag if not specified by the user.
          */
@@ -865,48 +1046,86 @@ public class BlobAsyncClientBase {
             .flatMap(setupTuple3 -> {
                 long newCount = setupTuple3.getT1();
                 BlobRequestConditions finalConditions = setupTuple3.getT2();
-
-                int numChunks = calculateNumBlocks(newCount, finalParallelTransferOptions.getBlockSize());
-
-                // In case it is an empty blob, this ensures we still actually perform a download operation.
-                numChunks = numChunks == 0 ? 1 : numChunks;
-
                 BlobDownloadAsyncResponse initialResponse = setupTuple3.getT3();
-                return Flux.range(0, numChunks)
-                    .flatMap(chunkNum -> {
-                        // The first chunk was retrieved during setup.
-                        if (chunkNum == 0) {
-                            return writeBodyToFile(initialResponse, file, 0, finalParallelTransferOptions, progressLock,
-                                totalProgress);
-                        }
-
-                        // Calculate whether we need a full chunk or something smaller because we are at the end.
-                        long modifier = chunkNum.longValue() * finalParallelTransferOptions.getBlockSize();
-                        long chunkSizeActual = Math.min(finalParallelTransferOptions.getBlockSize(),
-                            newCount - modifier);
-                        BlobRange chunkRange = new BlobRange(finalRange.getOffset() + modifier, chunkSizeActual);
-
-                        // Make the download call.
-                        return this.downloadWithResponse(chunkRange, downloadRetryOptions, finalConditions,
-                            rangeGetContentMd5, null)
-                            .subscribeOn(Schedulers.elastic())
-                            .flatMap(response ->
-                                writeBodyToFile(response, file, chunkNum, finalParallelTransferOptions, progressLock,
-                                    totalProgress));
-                    })
-                    // Only the first download call returns a value.
-                    .then(Mono.just(buildBlobPropertiesResponse(initialResponse)));
+
+                // In case it is an empty blob, the empty initial chunk is still written.
+                BlobRange initialChunk = new BlobRange(0,
+                    Math.min(newCount, (long) finalParallelTransferOptions.getBlockSize()));
+                List<BlobRange> remainingRanges = newCount > initialChunk.getCount()
+                    ? Collections.singletonList(new BlobRange(initialChunk.getCount(),
+                        newCount - initialChunk.getCount()))
+                    : Collections.emptyList();
+
+                DownloadJournal journal = journalPath == null || newCount == 0 ? null
+                    : DownloadJournal.create(journalPath, getBlobUrl(), finalConditions.getIfMatch(), finalRange,
+                        newCount);
+
+                return downloadChunksToFile(file, finalRange, finalParallelTransferOptions, downloadRetryOptions,
+                    finalConditions, rangeGetContentMd5, initialResponse, initialChunk, remainingRanges, journal,
+                    progressLock, totalProgress);
             });
     }
 
-    private int calculateNumBlocks(long dataSize, long blockLength) {
-        // Can successfully cast to an int because MaxBlockSize is an int, which this expression must be less than.
-        int numBlocks = toIntExact(dataSize / blockLength);
-        // Include an extra block for trailing data.
-        if (dataSize % blockLength != 0) {
-            numBlocks++;
+    /*
+    Writes the body of the first response and downloads the remaining ranges in chunks whose size and concurrency a
+    DownloadRangeScheduler tunes. Each chunk is written with positional writes straight from the response body.
+     */
+    private Mono<Response<BlobProperties>> downloadChunksToFile(AsynchronousFileChannel file, BlobRange finalRange,
+        ParallelTransferOptions finalParallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions finalConditions, boolean rangeGetContentMd5, BlobDownloadAsyncResponse initialResponse,
+        BlobRange initialChunk, List<BlobRange> remainingRanges, DownloadJournal journal, Lock progressLock,
+        AtomicLong totalProgress) {
+        Mono<Void> initialDownload = writeBodyToFile(initialResponse, file, initialChunk.getOffset(),
+            finalParallelTransferOptions, progressLock, totalProgress)
+            .then(completeChunk(file, journal, initialChunk));
+
+        StorageChecksumAlgorithm checksumAlgorithm = finalParallelTransferOptions.getChecksumAlgorithm();
+        DownloadRangeScheduler scheduler = new DownloadRangeScheduler(remainingRanges,
+            finalParallelTransferOptions.getBlockSize(), finalParallelTransferOptions.getNumBuffers(),
+            checksumAlgorithm == StorageChecksumAlgorithm.NONE ? DownloadRangeScheduler.MAX_CHUNK_SIZE
+                : MAX_CHECKSUM_RANGE_BYTES);
+        Mono<Void> remainingDownloads = scheduler.getChunks()
+            .flatMap(chunk -> {
+                long start = System.nanoTime();
+                BlobRange chunkRange = new BlobRange(finalRange.getOffset() + chunk.getOffset(), chunk.getCount());
+
+                return this.downloadWithResponse(chunkRange, downloadRetryOptions, finalConditions,
+                    rangeGetContentMd5, checksumAlgorithm, null)
+                    .subscribeOn(Schedulers.elastic())
+                    .flatMap(response -> writeBodyToFile(response, file, chunk.getOffset(),
+                        finalParallelTransferOptions, progressLock, totalProgress))
+                    .then(completeChunk(file, journal, chunk))
+                    .doOnSuccess(ignored -> scheduler.onChunkCompleted(chunk, System.nanoTime() - start));
+            }, DownloadRangeScheduler.MAX_CONCURRENCY, 1)
+            .then();
+
+        return Mono.when(initialDownload, remainingDownloads)
+            .then(Mono.fromRunnable(() -> {
+                if (journal != null) {
+                    journal.delete();
+                }
+            }))
+            // Only the first download call returns a value.
+            .then(Mono.just(buildBlobPropertiesResponse(initialResponse)));
+    }
+
+    /*
+    Records a written chunk in the journal of a resumable download. The file is forced to the device first, so the
+    journal never claims data a crash could lose.
+     */
+    private Mono<Void> completeChunk(AsynchronousFileChannel file, DownloadJournal journal, BlobRange chunk) {
+        if (journal == null) {
+            return Mono.empty();
         }
-        return numBlocks;
+
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                file.force(false);
+            } catch (IOException e) {
+                throw logger.logExceptionAsError(new UncheckedIOException(e));
+            }
+            journal.complete(chunk.getOffset(), chunk.getCount());
+        }).subscribeOn(Schedulers.elastic());
     }
 
     /*
@@ -921,7 +1140,7 @@ public class BlobAsyncClientBase {
             ? range.getCount() : parallelTransferOptions.getBlockSize();
 
         return this.downloadWithResponse(new BlobRange(range.getOffset(), initialChunkSize), downloadRetryOptions,
-            requestConditions, rangeGetContentMd5, context)
+            requestConditions, rangeGetContentMd5, parallelTransferOptions.getChecksumAlgorithm(), context)
             .subscribeOn(Schedulers.elastic())
             .flatMap(response -> {
                 /*
@@ -982,7 +1201,7 @@ public class BlobAsyncClientBase {
             .setIfModifiedSince(
                 requestConditions.getIfModifiedSince())
             .setIfUnmodifiedSince(
-                requestConditions.getIfModifiedSince())
+                requestConditions.getIfUnmodifiedSince())
             .setIfMatch(etag)
             .setIfNoneMatch(
                 requestConditions.getIfNoneMatch())
@@ -990,7 +1209,7 @@ public class BlobAsyncClientBase {
     }
 
     private static Mono<Void> writeBodyToFile(BlobDownloadAsyncResponse response, AsynchronousFileChannel file,
-        long chunkNum, ParallelTransferOptions finalParallelTransferOptions, Lock progressLock,
+        long position, ParallelTransferOptions finalParallelTransferOptions, Lock progressLock,
         AtomicLong totalProgress) {
 
         // Extract the body.
@@ -1001,7 +1220,7 @@ public class BlobAsyncClientBase {
             finalParallelTransferOptions.getProgressReceiver(), progressLock, totalProgress);
 
         // Write to the file.
-        return FluxUtil.writeFile(data, file, chunkNum * finalParallelTransferOptions.getBlockSize());
+        return FluxUtil.writeFile(data, file, position);
     }
 
     private static Response<BlobProperties> buildBlobPropertiesResponse(BlobDownloadAsyncResponse response) {
@@ -1032,12 +1251,18 @@ public class BlobAsyncClientBase {
         return Long.parseLong(contentRange.split("/")[1]);
     }
 
-    private void downloadToFileCleanup(AsynchronousFileChannel channel, String filePath, SignalType signalType) {
+    private void downloadToFileCleanup(AsynchronousFileChannel channel, String filePath, Path journalPath,
+        SignalType signalType) {
         try {
             channel.close();
             if (!signalType.equals(SignalType.ON_COMPLETE)) {
-                Files.deleteIfExists(Paths.get(filePath));
-                logger.verbose("Downloading to file failed. Cleaning up resources.");
+                // A resumable download keeps the partial file once its journal records progress to resume from.
+                if (journalPath != null && Files.exists(journalPath)) {
+                    logger.verbose("Downloading to file failed. Keeping the partial file to resume the download.");
+                } else {
+                    Files.deleteIfExists(Paths.get(filePath));
+                    logger.verbose("Downloading to file failed. Cleaning up resources.");
+                }
             }
         } catch (IOException e) {
             throw logger.logExceptionAsError(new UncheckedIOException(e));
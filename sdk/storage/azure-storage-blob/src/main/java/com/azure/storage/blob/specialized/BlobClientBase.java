@@ -504,8 +504,9 @@ public class BlobClientBase {
      *
      * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
      * @param range {@link BlobRange}
-     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. Number of parallel
-     *        transfers parameter is ignored.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     *        the number of buffers are the initial size of the ranges downloaded and the initial number of ranges
+     *        downloaded in parallel; both are then tuned from the observed throughput.
      * @param downloadRetryOptions {@link DownloadRetryOptions}
      * @param requestConditions {@link BlobRequestConditions}
      * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
@@ -537,8 +538,9 @@ public class BlobClientBase {
      *
      * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
      * @param range {@link BlobRange}
-     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. Number of parallel
-     *        transfers parameter is ignored.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     *        the number of buffers are the initial size of the ranges downloaded and the initial number of ranges
+     *        downloaded in parallel; both are then tuned from the observed throughput.
      * @param downloadRetryOptions {@link DownloadRetryOptions}
      * @param requestConditions {@link BlobRequestConditions}
      * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
@@ -557,6 +559,52 @@ public class BlobClientBase {
         return blockWithOptionalTimeout(download, timeout);
     }
 
+    /**
+     * Downloads the entire blob into a file specified by the path, optionally resuming an interrupted download.
+     *
+     * <p>By default the file will be created and must not exist, if the file already exists a
+     * {@link FileAlreadyExistsException} will be thrown. To override this behavior, provide appropriate
+     * {@link OpenOption OpenOptions} </p>
+     *
+     * <p>A resumable download records the ranges written to the file in a journal next to it, named after the file
+     * with a {@code .azdownload} suffix. If the download fails, the partial file and the journal are kept, and the next
+     * resumable download of the same blob and range to the same file only downloads the missing ranges, ignoring the
+     * open options. The missing ranges are only downloaded if the blob still has the ETag it had when the download
+     * started; otherwise the whole file is downloaded again. The journal is deleted once the download completes.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean-Duration-Context}
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param filePath A {@link String} representing the filePath where the downloaded data will be written.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download to file. The block size and
+     *        the number of buffers are the initial size of the ranges downloaded and the initial number of ranges
+     *        downloaded in parallel; both are then tuned from the observed throughput.
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @param rangeGetContentMd5 Whether the contentMD5 for the specified blob range should be returned.
+     * @param openOptions {@link OpenOption OpenOptions} to use to configure how to open or create the file.
+     * @param resumable Whether to record the progress of the download so that it can be resumed after a failure, and
+     *        to resume a previous download of the blob to the file.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response containing the blob properties and metadata.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public Response<BlobProperties> downloadToFileWithResponse(String filePath, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
+        boolean resumable, Duration timeout, Context context) {
+        Mono<Response<BlobProperties>> download = client.downloadToFileWithResponse(filePath, range,
+            parallelTransferOptions, downloadRetryOptions, requestConditions, rangeGetContentMd5, openOptions,
+            resumable, context);
+        return blockWithOptionalTimeout(download, timeout);
+    }
+
     /**
      * Deletes the specified blob or snapshot. Note that deleting a blob also deletes all its snapshots.
      *
@@ -4,6 +4,8 @@ package com.azure.storage.blob.specialized;
 
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.ProgressReporter;
+import com.azure.storage.blob.implementation.util.ModelHelper;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.AppendBlobRequestConditions;
 import com.azure.storage.blob.models.BlobHttpHeaders;
@@ -14,14 +16,23 @@ import com.azure.storage.blob.models.PageRange;
 import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.common.StorageOutputStream;
 import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.UploadBufferPool;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * BlobOutputStream allows for the uploading of data to a blob using a stream-like approach.
@@ -150,52 +161,122 @@ public abstract class BlobOutputStream extends StorageOutputStream {
         }
     }
 
+    /*
+    Stages the written data as blocks and commits the block list when the stream is closed. Writes are copied into
+    buffers from an UploadBufferPool, so callers can reuse their arrays as soon as a write returns, and every full
+    buffer is staged while the next one is filled. Writes wait once all the buffers are being staged. Data that never
+    fills a block is uploaded with a single Put Blob instead.
+     */
     private static final class BlockBlobOutputStream extends BlobOutputStream {
+        private final ClientLogger logger = new ClientLogger(BlockBlobOutputStream.class);
+        private final BlockBlobAsyncClient client;
+        private final ParallelTransferOptions parallelTransferOptions;
+        private final BlobHttpHeaders headers;
+        private final Map<String, String> metadata;
+        private final AccessTier tier;
+        private final BlobRequestConditions requestConditions;
+
+        private final List<String> blockIds = new ArrayList<>();
+        private final Semaphore stagePermits;
 
-        private FluxSink<ByteBuffer> sink;
+        // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
+        private final AtomicLong totalProgress = new AtomicLong();
+        private final Lock progressLock = new ReentrantLock();
 
-        boolean complete;
+        // Created by the first write, so a stream that is never written to doesn't hold buffers.
+        private UploadBufferPool pool;
 
         private BlockBlobOutputStream(final BlobAsyncClient client,
             final ParallelTransferOptions parallelTransferOptions, final BlobHttpHeaders headers,
             final Map<String, String> metadata, final AccessTier tier, final BlobRequestConditions requestConditions) {
             super(BlockBlobClient.MAX_STAGE_BLOCK_BYTES);
-
-            Flux<ByteBuffer> fbb = Flux.create((FluxSink<ByteBuffer> sink) -> this.sink = sink);
-
-            /* Subscribe by upload takes too long. We need to subscribe so that the sink is actually created. Since
-             this subscriber doesn't do anything and no data has started flowing, there are no drawbacks to this extra
-             subscribe. */
-            fbb.subscribe();
-
-            client.uploadWithResponse(fbb, parallelTransferOptions, headers, metadata, tier, requestConditions)
-                // This allows the operation to continue while maintaining the error that occurred.
-                .onErrorResume(BlobStorageException.class, e -> {
-                    this.lastError = new IOException(e);
-                    return Mono.empty();
-                })
-                .doOnTerminate(() -> complete = true)
-                .subscribe();
+            this.client = client.getBlockBlobAsyncClient();
+            this.parallelTransferOptions = ModelHelper.populateAndApplyDefaults(parallelTransferOptions);
+            this.headers = headers;
+            this.metadata = metadata;
+            this.tier = tier;
+            this.requestConditions = requestConditions == null ? new BlobRequestConditions() : requestConditions;
+            this.stagePermits = new Semaphore(this.parallelTransferOptions.getNumBuffers());
         }
 
         @Override
         void commit() {
-            sink.complete();
-
-            // Need to wait until the uploadTask completes
-            while (!complete) {
-                try {
-                    Thread.sleep(100L);
-                } catch (InterruptedException e) {
-                    // Does this need to be caught by logger?
-                    e.printStackTrace();
+            if (this.pool == null) {
+                // Nothing was written, upload an empty blob.
+                this.client.uploadWithResponse(Flux.empty(), 0, headers, metadata, tier, null, requestConditions)
+                    .block();
+                return;
+            }
+
+            try {
+                ByteBuffer last = this.pool.flush().blockFirst();
+                if (this.blockIds.isEmpty()) {
+                    Flux<ByteBuffer> data = last == null ? Flux.empty() : Flux.just(last);
+                    long length = last == null ? 0 : last.remaining();
+                    this.client.uploadWithResponse(ProgressReporter.addProgressReporting(data,
+                        this.parallelTransferOptions.getProgressReceiver()), length, headers, metadata, tier, null,
+                        requestConditions).block();
+                    return;
                 }
+
+                if (last != null) {
+                    this.stageBlock(last);
+                }
+
+                // Wait for the blocks that are still being staged.
+                this.acquireStagePermits(this.parallelTransferOptions.getNumBuffers());
+                if (this.lastError == null) {
+                    this.client.commitBlockListWithResponse(this.blockIds, headers, metadata, tier,
+                        requestConditions).block();
+                }
+            } finally {
+                this.pool.close();
             }
         }
 
         @Override
         protected void writeInternal(final byte[] data, int offset, int length) {
-            sink.next(ByteBuffer.wrap(data, offset, length));
+            this.checkStreamState();
+            int blockSize = this.parallelTransferOptions.getBlockSize();
+            if (this.pool == null) {
+                this.pool = new UploadBufferPool(this.parallelTransferOptions.getNumBuffers(), blockSize,
+                    BlockBlobClient.MAX_STAGE_BLOCK_BYTES);
+            }
+
+            // The pool needs chunks that are no larger than its buffers.
+            for (int position = offset; position < offset + length; position += blockSize) {
+                ByteBuffer chunk = ByteBuffer.wrap(data, position, Math.min(blockSize, offset + length - position));
+                this.pool.write(chunk).subscribe(this::stageBlock);
+            }
+        }
+
+        private void stageBlock(ByteBuffer buffer) {
+            this.acquireStagePermits(1);
+
+            String blockId = Base64.getEncoder().encodeToString(UUID.randomUUID().toString()
+                .getBytes(StandardCharsets.UTF_8));
+            this.blockIds.add(blockId);
+
+            Flux<ByteBuffer> progressData = ProgressReporter.addParallelProgressReporting(Flux.just(buffer),
+                this.parallelTransferOptions.getProgressReceiver(), this.progressLock, this.totalProgress);
+            this.client.stageBlockWithResponse(blockId, progressData, buffer.remaining(), null,
+                this.requestConditions.getLeaseId())
+                .doFinally(signalType -> {
+                    this.pool.returnBuffer(buffer);
+                    this.stagePermits.release();
+                })
+                .subscribe(null, error -> this.lastError = error instanceof IOException
+                    ? (IOException) error
+                    : new IOException(error));
+        }
+
+        private void acquireStagePermits(int permits) {
+            try {
+                this.stagePermits.acquire(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw logger.logExceptionAsError(new IllegalStateException("Interrupted while staging blocks."));
+            }
         }
 
         // Never called
@@ -0,0 +1,182 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.annotation.ReturnType;
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.annotation.ServiceMethod;
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobTransferOptions;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.DirectoryTransfer;
+import com.azure.storage.common.implementation.DirectoryTransfer.LocalFile;
+import com.azure.storage.common.implementation.TransferScheduler;
+import com.azure.storage.common.implementation.UploadUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.UUID;
+
+import static com.azure.core.util.FluxUtil.monoError;
+
+/**
+ * This class provides a client that uploads local directories to and downloads blob prefixes from a container.
+ * <p>
+ * All the transfers started on a client share a single budget of concurrent requests and bandwidth, configured by the
+ * {@link BlobTransferOptions} the client is built with, so starting many transfers at once doesn't multiply the
+ * requests and memory in flight. Files and blobs up to {@link BlobTransferOptions#getMaxSingleTransferSize()} are
+ * transferred in a single request, and larger ones in blocks that are scheduled individually. Small files and blobs
+ * are coalesced in groups that each take a single slot of the budget. Progress is reported as the total number of
+ * bytes transferred by the client. A file or blob that fails to transfer doesn't stop the others, the failures are
+ * reported once the transfer is done.
+ *
+ * <p><strong>Instantiating a BlobTransferAsyncClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildAsyncClient}
+ *
+ * @see BlobTransferClientBuilder
+ */
+@ServiceClient(builder = BlobTransferClientBuilder.class, isAsync = true)
+public final class BlobTransferAsyncClient {
+    private final ClientLogger logger = new ClientLogger(BlobTransferAsyncClient.class);
+
+    private final BlobContainerAsyncClient containerClient;
+    private final TransferScheduler scheduler;
+    private final DirectoryTransfer transfer;
+    private final int maxConcurrency;
+    private final int blockSize;
+    private final boolean overwrite;
+
+    BlobTransferAsyncClient(BlobContainerAsyncClient containerClient, BlobTransferOptions options) {
+        this.containerClient = containerClient;
+        this.maxConcurrency = options.getMaxConcurrency();
+        this.blockSize = options.getBlockSize();
+        this.overwrite = options.isOverwrite();
+        this.scheduler = new TransferScheduler(maxConcurrency, options.getMaxBytesPerSecond(),
+            options.getProgressReceiver() == null ? null : options.getProgressReceiver()::reportProgress);
+        this.transfer = new DirectoryTransfer(scheduler, maxConcurrency, blockSize,
+            options.getMaxSingleTransferSize(), options.getSmallFileSize(), overwrite);
+    }
+
+    /**
+     * Gets the URL of the container the client transfers to and from.
+     *
+     * @return the URL.
+     */
+    public String getBlobContainerUrl() {
+        return containerClient.getBlobContainerUrl();
+    }
+
+    /**
+     * Uploads the files under a local directory, recursively, as block blobs. The path of each file relative to the
+     * directory, with '/' separators, is appended to the prefix to get the name of its blob.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobTransferAsyncClient.uploadDirectory#String-String}
+     *
+     * @param directoryPath The path of the local directory.
+     * @param blobPrefix The prefix of the blob names, usually ending with '/', may be null.
+     * @return A reactive response signaling completion.
+     * @throws UncheckedIOException If the directory can't be read, or if files failed to upload.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public Mono<Void> uploadDirectory(String directoryPath, String blobPrefix) {
+        try {
+            return transfer.uploadDirectory(Paths.get(directoryPath), blobPrefix == null ? "" : blobPrefix,
+                this::putBlob, this::uploadBlocks);
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Downloads the blobs whose names start with a prefix to a local directory. The rest of the name of each blob,
+     * with '/' separators replaced by the local separator, is resolved against the directory to get the path of its
+     * file, and missing parent directories are created. Blobs whose file would be outside of the directory fail to
+     * download.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobTransferAsyncClient.downloadDirectory#String-String}
+     *
+     * @param blobPrefix The prefix of the blob names, usually ending with '/', may be null to download the container.
+     * @param directoryPath The path of the local directory.
+     * @return A reactive response signaling completion.
+     * @throws UncheckedIOException If blobs failed to download.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public Mono<Void> downloadDirectory(String blobPrefix, String directoryPath) {
+        try {
+            Flux<BlobItem> blobs = containerClient.listBlobs(new ListBlobsOptions().setPrefix(blobPrefix))
+                .filter(item -> !item.getName().endsWith("/"));
+
+            return transfer.downloadDirectory(blobs, BlobItem::getName,
+                item -> item.getProperties().getContentLength(), Paths.get(directoryPath),
+                blobPrefix == null ? "" : blobPrefix, this::getReader);
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    private Mono<Void> uploadBlocks(LocalFile file) {
+        BlockBlobAsyncClient blobClient = containerClient.getBlobAsyncClient(file.getName())
+            .getBlockBlobAsyncClient();
+        int blockCount = (int) ((file.getSize() + blockSize - 1) / blockSize);
+
+        return Mono.using(() -> UploadUtils.uploadFileResourceSupplier(file.getPath().toString(), logger),
+            channel -> Flux.range(0, blockCount)
+                .flatMapSequential(index -> {
+                    long offset = (long) index * blockSize;
+                    long length = Math.min(blockSize, file.getSize() - offset);
+                    String blockId = Base64.getEncoder()
+                        .encodeToString(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+
+                    return scheduler.schedule(length, () -> blobClient.stageBlockWithResponse(blockId,
+                        FluxUtil.readFile(channel, offset, length), length, null, null))
+                        .thenReturn(blockId);
+                }, maxConcurrency)
+                .collectList()
+                .flatMap(blockIds -> scheduler.schedule(0, () -> blobClient.commitBlockListWithResponse(blockIds,
+                    null, null, null, getUploadRequestConditions())))
+                .then(),
+            channel -> UploadUtils.uploadFileCleanup(channel, logger));
+    }
+
+    private Mono<Void> putBlob(LocalFile file) {
+        BlockBlobAsyncClient blobClient = containerClient.getBlobAsyncClient(file.getName())
+            .getBlockBlobAsyncClient();
+
+        return Mono.using(() -> UploadUtils.uploadFileResourceSupplier(file.getPath().toString(), logger),
+            channel -> blobClient.uploadWithResponse(FluxUtil.readFile(channel, 0, file.getSize()), file.getSize(),
+                null, null, null, null, getUploadRequestConditions()).then(),
+            channel -> UploadUtils.uploadFileCleanup(channel, logger));
+    }
+
+    private BlobRequestConditions getUploadRequestConditions() {
+        return overwrite ? null : new BlobRequestConditions().setIfNoneMatch(Constants.HeaderConstants.ETAG_WILDCARD);
+    }
+
+    private DirectoryTransfer.RangeReader getReader(BlobItem item) {
+        BlobAsyncClientBase blobClient = containerClient.getBlobAsyncClient(item.getName());
+        // Every range is downloaded from the version of the blob that was listed.
+        BlobRequestConditions requestConditions = new BlobRequestConditions()
+            .setIfMatch(item.getProperties().getETag());
+
+        return (offset, length) -> blobClient.downloadWithResponse(length == null ? null
+            : new BlobRange(offset, length), null, requestConditions, false)
+            .map(BlobDownloadAsyncResponse::getValue);
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.annotation.ReturnType;
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.annotation.ServiceMethod;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * This class provides a client that uploads local directories to and downloads blob prefixes from a container. All
+ * the transfers started on a client share a single budget of concurrent requests and bandwidth. See
+ * {@link BlobTransferAsyncClient} for details.
+ *
+ * <p><strong>Instantiating a BlobTransferClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildClient}
+ *
+ * @see BlobTransferClientBuilder
+ */
+@ServiceClient(builder = BlobTransferClientBuilder.class)
+public final class BlobTransferClient {
+    private final BlobTransferAsyncClient client;
+
+    BlobTransferClient(BlobTransferAsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Gets the URL of the container the client transfers to and from.
+     *
+     * @return the URL.
+     */
+    public String getBlobContainerUrl() {
+        return client.getBlobContainerUrl();
+    }
+
+    /**
+     * Uploads the files under a local directory, recursively, as block blobs. The path of each file relative to the
+     * directory, with '/' separators, is appended to the prefix to get the name of its blob.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClient.uploadDirectory#String-String-Duration}
+     *
+     * @param directoryPath The path of the local directory.
+     * @param blobPrefix The prefix of the blob names, usually ending with '/', may be null.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @throws UncheckedIOException If the directory can't be read.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public void uploadDirectory(String directoryPath, String blobPrefix, Duration timeout) {
+        StorageImplUtils.blockWithOptionalTimeout(client.uploadDirectory(directoryPath, blobPrefix), timeout);
+    }
+
+    /**
+     * Downloads the blobs whose names start with a prefix to a local directory. The rest of the name of each blob,
+     * with '/' separators replaced by the local separator, is resolved against the directory to get the path of its
+     * file, and missing parent directories are created.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClient.downloadDirectory#String-String-Duration}
+     *
+     * @param blobPrefix The prefix of the blob names, usually ending with '/', may be null to download the container.
+     * @param directoryPath The path of the local directory.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @throws UncheckedIOException If a file can't be created.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public void downloadDirectory(String blobPrefix, String directoryPath, Duration timeout) {
+        StorageImplUtils.blockWithOptionalTimeout(client.downloadDirectory(blobPrefix, directoryPath), timeout);
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.annotation.ServiceClientBuilder;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobTransferOptions;
+
+import java.util.Objects;
+
+/**
+ * This class provides a fluent builder API to help aid the configuration and instantiation of directory transfer
+ * clients. A new instance of {@link BlobTransferClient} and {@link BlobTransferAsyncClient} is constructed every time
+ * {@link #buildClient() buildClient} and {@link #buildAsyncClient() buildAsyncClient} are called respectively, and
+ * each instance has its own concurrency and bandwidth budget, so a single instance should be shared by the transfers
+ * that are meant to share a budget.
+ *
+ * <p><strong>Instantiating a BlobTransferClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildClient}
+ *
+ * <p><strong>Instantiating a BlobTransferAsyncClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildAsyncClient}
+ *
+ * @see BlobTransferClient
+ * @see BlobTransferAsyncClient
+ */
+@ServiceClientBuilder(serviceClients = { BlobTransferClient.class, BlobTransferAsyncClient.class })
+public final class BlobTransferClientBuilder {
+    private BlobContainerAsyncClient containerAsyncClient;
+    private BlobTransferOptions transferOptions;
+
+    /**
+     * Creates a {@link BlobTransferClient} based on the configurations set in the builder.
+     *
+     * @return a {@link BlobTransferClient} based on the configurations in this builder.
+     * @throws NullPointerException If the container client isn't set.
+     */
+    public BlobTransferClient buildClient() {
+        return new BlobTransferClient(buildAsyncClient());
+    }
+
+    /**
+     * Creates a {@link BlobTransferAsyncClient} based on the configurations set in the builder.
+     *
+     * @return a {@link BlobTransferAsyncClient} based on the configurations in this builder.
+     * @throws NullPointerException If the container client isn't set.
+     */
+    public BlobTransferAsyncClient buildAsyncClient() {
+        Objects.requireNonNull(containerAsyncClient, "'containerAsyncClient' cannot be null.");
+        return new BlobTransferAsyncClient(containerAsyncClient,
+            transferOptions == null ? new BlobTransferOptions() : transferOptions);
+    }
+
+    /**
+     * Sets the container the client transfers to and from. Blobs are accessed through clients created by
+     * {@link BlobContainerAsyncClient#getBlobAsyncClient(String)}, so they use its pipeline, customer provided key and
+     * encryption scope.
+     *
+     * @param containerAsyncClient BlobContainerAsyncClient used to configure the builder.
+     * @return the updated BlobTransferClientBuilder object
+     * @throws NullPointerException If {@code containerAsyncClient} is {@code null}.
+     */
+    public BlobTransferClientBuilder containerAsyncClient(BlobContainerAsyncClient containerAsyncClient) {
+        this.containerAsyncClient = Objects.requireNonNull(containerAsyncClient);
+        return this;
+    }
+
+    /**
+     * Sets the options of the transfers. The options are read when the client is built.
+     *
+     * @param transferOptions {@link BlobTransferOptions}
+     * @return the updated BlobTransferClientBuilder object
+     */
+    public BlobTransferClientBuilder transferOptions(BlobTransferOptions transferOptions) {
+        this.transferOptions = transferOptions;
+        return this;
+    }
+}
@@ -282,8 +282,53 @@ public final class BlockBlobAsyncClient extends BlobAsyncClientBase {
 
     Mono<Response<Void>> stageBlockWithResponse(String base64BlockId, Flux<ByteBuffer> data, long length,
         byte[] contentMd5, String leaseId, Context context) {
+        return stageBlockWithResponse(base64BlockId, data, length, contentMd5, null, leaseId, context);
+    }
+
+    /**
+     * Uploads the specified block to the block blob's "staging area" to be later committed by a call to
+     * commitBlockList, validating the block with either an MD5 or a storage CRC64 of its content. For more
+     * information, see the
+     * <a href="https://docs.microsoft.com/rest/api/storageservices/put-block">Azure Docs</a>.
+     * <p>
+     * Note that the data passed must be replayable if retries are enabled (the default). In other words, the
+     * {@code Flux} must produce the same data each time it is subscribed to.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.blob.specialized.BlockBlobAsyncClient.stageBlockWithResponse#String-Flux-long-byte-byte-String}
+     *
+     * @param base64BlockId A Base64 encoded {@code String} that specifies the ID for this block. Note that all block
+     * ids for a given blob must be the same length.
+     * @param data The data to write to the block. Note that this {@code Flux} must be replayable if retries are enabled
+     * (the default). In other words, the Flux must produce the same data each time it is subscribed to.
+     * @param length The exact length of the data. It is important that this value match precisely the length of the
+     * data emitted by the {@code Flux}.
+     * @param contentMd5 An MD5 hash of the block content. This hash is used to verify the integrity of the block during
+     * transport. When this header is specified, the storage service compares the hash of the content that has arrived
+     * with this header value. Note that this MD5 hash is not stored with the blob. If the two hashes do not match, the
+     * operation will fail.
+     * @param contentCrc64 A storage CRC64 of the block content, as eight little-endian bytes. It is used like
+     * {@code contentMd5} but is much cheaper to compute. At most one of {@code contentMd5} and {@code contentCrc64} may
+     * be specified.
+     * @param leaseId The lease ID the active lease on the blob must match.
+     *
+     * @return A reactive response signalling completion.
+     */
+    public Mono<Response<Void>> stageBlockWithResponse(String base64BlockId, Flux<ByteBuffer> data, long length,
+        byte[] contentMd5, byte[] contentCrc64, String leaseId) {
+        try {
+            return withContext(context -> stageBlockWithResponse(base64BlockId, data, length, contentMd5,
+                contentCrc64, leaseId, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Response<Void>> stageBlockWithResponse(String base64BlockId, Flux<ByteBuffer> data, long length,
+        byte[] contentMd5, byte[] contentCrc64, String leaseId, Context context) {
         return this.azureBlobStorage.blockBlobs().stageBlockWithRestResponseAsync(null, null,
-            base64BlockId, length, data, contentMd5, null, null, leaseId, null, getCustomerProvidedKey(),
+            base64BlockId, length, data, contentMd5, contentCrc64, null, leaseId, null, getCustomerProvidedKey(),
             encryptionScope, context)
             .map(response -> new SimpleResponse<>(response, null));
     }
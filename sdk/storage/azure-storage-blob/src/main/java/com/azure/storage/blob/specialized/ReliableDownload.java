@@ -5,16 +5,20 @@ package com.azure.storage.blob.specialized;
 
 import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpRequest;
+import com.azure.core.util.logging.ClientLogger;
 import com.azure.storage.blob.HttpGetterInfo;
 import com.azure.storage.blob.implementation.models.BlobsDownloadResponse;
 import com.azure.storage.blob.models.BlobDownloadHeaders;
 import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.common.StorageChecksumAlgorithm;
+import com.azure.storage.common.implementation.StorageChecksum;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -25,15 +29,31 @@ import java.util.function.Function;
  * will be resumed from the point where the download failed. This allows for the download to be consumed as one
  * continuous stream.
  * </p>
+ *
+ * <p>
+ * When a checksum is requested, the body of each response is checksummed as it streams through and compared with the
+ * checksum the service returned for the response's range once the body completes; a mismatch fails the download. A
+ * retry requests the rest of the range and is validated against its own checksum, so the data a response delivered
+ * before it failed mid-stream is the only data that isn't validated.
+ * </p>
  */
 final class ReliableDownload {
+    private final ClientLogger logger = new ClientLogger(ReliableDownload.class);
+
     private final BlobsDownloadResponse rawResponse;
     private final DownloadRetryOptions options;
     private final HttpGetterInfo info;
+    private final StorageChecksumAlgorithm checksumAlgorithm;
     private final Function<HttpGetterInfo, Mono<ReliableDownload>> getter;
 
     ReliableDownload(BlobsDownloadResponse rawResponse, DownloadRetryOptions options, HttpGetterInfo info,
                      Function<HttpGetterInfo, Mono<ReliableDownload>> getter) {
+        this(rawResponse, options, info, StorageChecksumAlgorithm.NONE, getter);
+    }
+
+    ReliableDownload(BlobsDownloadResponse rawResponse, DownloadRetryOptions options, HttpGetterInfo info,
+                     StorageChecksumAlgorithm checksumAlgorithm,
+                     Function<HttpGetterInfo, Mono<ReliableDownload>> getter) {
         StorageImplUtils.assertNotNull("getter", getter);
         StorageImplUtils.assertNotNull("info", info);
         StorageImplUtils.assertNotNull("info.eTag", info.getETag());
@@ -41,6 +61,7 @@ final class ReliableDownload {
         this.rawResponse = rawResponse;
         this.options = (options == null) ? new DownloadRetryOptions() : options;
         this.info = info;
+        this.checksumAlgorithm = StorageChecksum.resolve(checksumAlgorithm, true);
         this.getter = getter;
     }
 
@@ -67,12 +88,45 @@ final class ReliableDownload {
         add 1 before calling into tryContinueFlux, we set the initial value to -1.
          */
         Flux<ByteBuffer> value = (options.getMaxRetryRequests() == 0)
-            ? rawResponse.getValue()
-            : applyReliableDownload(rawResponse.getValue(), -1, options);
+            ? getValidatedBody()
+            : applyReliableDownload(getValidatedBody(), -1, options);
 
         return value.switchIfEmpty(Flux.just(ByteBuffer.wrap(new byte[0])));
     }
 
+    /*
+    Checksums the body as it is consumed rather than buffering it, the buffers are only read before they are passed on.
+     */
+    private Flux<ByteBuffer> getValidatedBody() {
+        if (checksumAlgorithm == StorageChecksumAlgorithm.NONE) {
+            return rawResponse.getValue();
+        }
+
+        return Flux.defer(() -> {
+            StorageChecksum checksum = StorageChecksum.create(checksumAlgorithm);
+            return rawResponse.getValue()
+                .doOnNext(checksum::update)
+                .concatWith(Mono.fromRunnable(() -> validateChecksum(checksum.getValue())));
+        });
+    }
+
+    private void validateChecksum(byte[] actual) {
+        BlobDownloadHeaders headers = rawResponse.getDeserializedHeaders();
+        byte[] expected = checksumAlgorithm == StorageChecksumAlgorithm.MD5
+            ? headers.getContentMd5()
+            : headers.getContentCrc64();
+
+        if (expected == null) {
+            throw logger.logExceptionAsError(new IllegalStateException(String.format(
+                "The service didn't return the %s of the downloaded range.", checksumAlgorithm)));
+        }
+        if (!Arrays.equals(expected, actual)) {
+            throw logger.logExceptionAsError(new IllegalStateException(String.format(
+                "The %s of the downloaded range doesn't match the one the service returned, the data was corrupted "
+                    + "in transit.", checksumAlgorithm)));
+        }
+    }
+
     private Flux<ByteBuffer> tryContinueFlux(Throwable t, int retryCount, DownloadRetryOptions options) {
         // If all the errors are exhausted, return this error to the user.
         if (retryCount > options.getMaxRetryRequests() || !(t instanceof IOException)) {
@@ -90,7 +144,7 @@ final class ReliableDownload {
                 the raw body.
                 */
                 return getter.apply(info)
-                    .flatMapMany(ignored -> applyReliableDownload(rawResponse.getValue(), retryCount, options));
+                    .flatMapMany(retry -> applyReliableDownload(retry.getValidatedBody(), retryCount, options));
             } catch (Exception e) {
                 // If the getter fails, return the getter failure to the user.
                 return Flux.error(e);
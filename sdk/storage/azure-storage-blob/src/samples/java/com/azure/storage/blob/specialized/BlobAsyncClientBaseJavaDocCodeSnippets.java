@@ -157,6 +157,13 @@ public class BlobAsyncClientBaseJavaDocCodeSnippets {
         client.downloadToFileWithResponse(file, blobRange, null, downloadRetryOptions, null, false, openOptions)
             .subscribe(response -> System.out.println("Completed download to file"));
         // END: com.azure.storage.blob.specialized.BlobAsyncClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set
+
+        // BEGIN: com.azure.storage.blob.specialized.BlobAsyncClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean
+        // Resumes the download if a previous resumable download of the blob to the file was interrupted.
+        client.downloadToFileWithResponse(file, null, null, new DownloadRetryOptions().setMaxRetryRequests(5), null,
+            false, null, true)
+            .subscribe(response -> System.out.println("Completed download to file"));
+        // END: com.azure.storage.blob.specialized.BlobAsyncClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean
     }
 
     /**
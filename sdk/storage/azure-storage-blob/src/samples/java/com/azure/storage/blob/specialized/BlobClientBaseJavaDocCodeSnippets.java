@@ -140,6 +140,14 @@ public class BlobClientBaseJavaDocCodeSnippets {
             downloadRetryOptions, null, false, openOptions, timeout, new Context(key2, value2));
         System.out.println("Completed download to file");
         // END: com.azure.storage.blob.specialized.BlobClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-Duration-Context
+
+        // BEGIN: com.azure.storage.blob.specialized.BlobClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean-Duration-Context
+        // Resumes the download if a previous resumable download of the blob to the file was interrupted.
+        client.downloadToFileWithResponse(file, null, new ParallelTransferOptions(4 * Constants.MB, null, null),
+            new DownloadRetryOptions().setMaxRetryRequests(5), null, false, null, true, timeout,
+            new Context(key2, value2));
+        System.out.println("Completed download to file");
+        // END: com.azure.storage.blob.specialized.BlobClientBase.downloadToFileWithResponse#String-BlobRange-ParallelTransferOptions-DownloadRetryOptions-BlobRequestConditions-boolean-Set-boolean-Duration-Context
     }
 
     /**
@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobContainerClientBuilder;
+import com.azure.storage.blob.models.BlobTransferOptions;
+
+public class BlobTransferAsyncClientJavaDocCodeSnippets {
+    private BlobContainerAsyncClient blobContainerAsyncClient = new BlobContainerClientBuilder()
+        .containerName("container")
+        .buildAsyncClient();
+
+    private BlobTransferAsyncClient client = new BlobTransferClientBuilder()
+        .containerAsyncClient(blobContainerAsyncClient)
+        .buildAsyncClient();
+
+    /**
+     * Code snippets for {@link BlobTransferClientBuilder#buildAsyncClient()}.
+     */
+    public void asyncInstantiation() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildAsyncClient
+        BlobTransferAsyncClient transferAsyncClient = new BlobTransferClientBuilder()
+            .containerAsyncClient(blobContainerAsyncClient)
+            .transferOptions(new BlobTransferOptions()
+                .setMaxConcurrency(64)
+                .setMaxBytesPerSecond(100L * 1024 * 1024)
+                .setProgressReceiver(bytesTransferred -> System.out.printf("Transferred %d bytes%n",
+                    bytesTransferred)))
+            .buildAsyncClient();
+        // END: com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildAsyncClient
+    }
+
+    /**
+     * Code snippets for {@link BlobTransferAsyncClient#uploadDirectory(String, String)}.
+     */
+    public void uploadDirectory() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferAsyncClient.uploadDirectory#String-String
+        client.uploadDirectory("/data/logs", "logs/")
+            .doOnSuccess(ignored -> System.out.println("Upload completed"))
+            .subscribe();
+        // END: com.azure.storage.blob.specialized.BlobTransferAsyncClient.uploadDirectory#String-String
+    }
+
+    /**
+     * Code snippets for {@link BlobTransferAsyncClient#downloadDirectory(String, String)}.
+     */
+    public void downloadDirectory() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferAsyncClient.downloadDirectory#String-String
+        client.downloadDirectory("logs/", "/data/logs")
+            .doOnSuccess(ignored -> System.out.println("Download completed"))
+            .subscribe();
+        // END: com.azure.storage.blob.specialized.BlobTransferAsyncClient.downloadDirectory#String-String
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobContainerClientBuilder;
+import com.azure.storage.blob.models.BlobTransferOptions;
+
+import java.time.Duration;
+
+public class BlobTransferClientJavaDocCodeSnippets {
+    private BlobContainerAsyncClient blobContainerAsyncClient = new BlobContainerClientBuilder()
+        .containerName("container")
+        .buildAsyncClient();
+
+    private BlobTransferClient client = new BlobTransferClientBuilder()
+        .containerAsyncClient(blobContainerAsyncClient)
+        .buildClient();
+
+    private Duration timeout = Duration.ofHours(1);
+
+    /**
+     * Code snippets for {@link BlobTransferClientBuilder#buildClient()}.
+     */
+    public void syncInstantiation() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildClient
+        BlobTransferClient transferClient = new BlobTransferClientBuilder()
+            .containerAsyncClient(blobContainerAsyncClient)
+            .transferOptions(new BlobTransferOptions()
+                .setMaxConcurrency(64)
+                .setOverwrite(true))
+            .buildClient();
+        // END: com.azure.storage.blob.specialized.BlobTransferClientBuilder.buildClient
+    }
+
+    /**
+     * Code snippets for {@link BlobTransferClient#uploadDirectory(String, String, Duration)}.
+     */
+    public void uploadDirectory() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferClient.uploadDirectory#String-String-Duration
+        client.uploadDirectory("/data/logs", "logs/", timeout);
+        System.out.println("Upload completed");
+        // END: com.azure.storage.blob.specialized.BlobTransferClient.uploadDirectory#String-String-Duration
+    }
+
+    /**
+     * Code snippets for {@link BlobTransferClient#downloadDirectory(String, String, Duration)}.
+     */
+    public void downloadDirectory() {
+        // BEGIN: com.azure.storage.blob.specialized.BlobTransferClient.downloadDirectory#String-String-Duration
+        client.downloadDirectory("logs/", "/data/logs", timeout);
+        System.out.println("Download completed");
+        // END: com.azure.storage.blob.specialized.BlobTransferClient.downloadDirectory#String-String-Duration
+    }
+}
@@ -9,6 +9,7 @@ import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlockList;
 import com.azure.storage.blob.models.BlockListType;
+import com.azure.storage.common.implementation.StorageCrc64Calculator;
 import reactor.core.publisher.Flux;
 
 import java.nio.ByteBuffer;
@@ -35,6 +36,8 @@ public class BlockBlobAsyncClientJavaDocCodeSnippets {
     private long offset = 1024L;
     private long count = length;
     private byte[] md5 = MessageDigest.getInstance("MD5").digest("data".getBytes(StandardCharsets.UTF_8));
+    private byte[] crc64 = StorageCrc64Calculator.toBytes(
+        StorageCrc64Calculator.compute(0, ByteBuffer.wrap("data".getBytes(StandardCharsets.UTF_8))));
 
     /**
      * Constructor for snippets.
@@ -115,6 +118,16 @@ public class BlockBlobAsyncClientJavaDocCodeSnippets {
         // END: com.azure.storage.blob.specialized.BlockBlobAsyncClient.stageBlockWithResponse#String-Flux-long-byte-String
     }
 
+    /**
+     * Code snippet for {@link BlockBlobAsyncClient#stageBlockWithResponse(String, Flux, long, byte[], byte[], String)}
+     */
+    public void stageBlockCrc64() {
+        // BEGIN: com.azure.storage.blob.specialized.BlockBlobAsyncClient.stageBlockWithResponse#String-Flux-long-byte-byte-String
+        client.stageBlockWithResponse(base64BlockID, data, length, null, crc64, leaseId).subscribe(response ->
+            System.out.printf("Staging block completed with status %d%n", response.getStatusCode()));
+        // END: com.azure.storage.blob.specialized.BlockBlobAsyncClient.stageBlockWithResponse#String-Flux-long-byte-byte-String
+    }
+
     /**
      * Code snippet for {@link BlockBlobAsyncClient#stageBlockFromUrl(String, String, BlobRange)}
      */
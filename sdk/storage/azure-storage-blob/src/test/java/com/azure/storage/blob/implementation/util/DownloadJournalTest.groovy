@@ -0,0 +1,148 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util
+
+import com.azure.storage.blob.models.BlobRange
+import com.azure.storage.common.implementation.Constants
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class DownloadJournalTest extends Specification {
+    static final String BLOB_URL = "https://account.blob.core.windows.net/container/blob"
+
+    Path directory
+
+    def setup() {
+        directory = Files.createTempDirectory("downloadjournal")
+    }
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    def "Journal records completed ranges"() {
+        setup:
+        def path = directory.resolve("file" + DownloadJournal.FILE_SUFFIX)
+        def journal = DownloadJournal.create(path, BLOB_URL, "etag", new BlobRange(0), 100)
+
+        when:
+        journal.complete(40, 20)
+        journal.complete(0, 10)
+        journal.complete(10, 10)
+
+        then:
+        journal.getCompletedBytes() == 40
+        journal.getMissingRanges()*.toString() == [new BlobRange(20, 20L), new BlobRange(60, 40L)]*.toString()
+    }
+
+    def "Journal loads"() {
+        setup:
+        def path = directory.resolve("file" + DownloadJournal.FILE_SUFFIX)
+        def journal = DownloadJournal.create(path, BLOB_URL, "etag", new BlobRange(5, 100L), 100)
+        journal.complete(0, 30)
+        journal.complete(50, 50)
+
+        when:
+        def loaded = DownloadJournal.load(path, BLOB_URL, new BlobRange(5, 100L))
+
+        then:
+        loaded.getETag() == "etag"
+        loaded.getCount() == 100
+        loaded.getCompletedBytes() == 80
+        loaded.getMissingRanges()*.toString() == [new BlobRange(30, 20L)]*.toString()
+    }
+
+    def "Journal of another download is ignored"() {
+        setup:
+        def path = directory.resolve("file" + DownloadJournal.FILE_SUFFIX)
+        DownloadJournal.create(path, BLOB_URL, "etag", new BlobRange(0), 100).complete(0, 10)
+
+        expect:
+        DownloadJournal.load(path, BLOB_URL + "2", new BlobRange(0)) == null
+        DownloadJournal.load(path, BLOB_URL, new BlobRange(1)) == null
+        DownloadJournal.load(path, BLOB_URL, new BlobRange(0, 100L)) == null
+        DownloadJournal.load(directory.resolve("missing"), BLOB_URL, new BlobRange(0)) == null
+    }
+
+    def "Malformed journal is ignored"() {
+        setup:
+        def path = directory.resolve("file" + DownloadJournal.FILE_SUFFIX)
+        Files.write(path, "version=1\nurl=${BLOB_URL}\netag=etag\noffset=0\nrequestedCount=\ncount=10\ncompleted=5-20\n"
+            .getBytes("UTF-8"))
+
+        expect:
+        DownloadJournal.load(path, BLOB_URL, new BlobRange(0)) == null
+    }
+
+    def "Journal is deleted"() {
+        setup:
+        def path = directory.resolve("file" + DownloadJournal.FILE_SUFFIX)
+        def journal = DownloadJournal.create(path, BLOB_URL, "etag", new BlobRange(0), 100)
+        journal.complete(0, 10)
+
+        when:
+        journal.delete()
+
+        then:
+        !Files.exists(path)
+    }
+
+    def "Scheduler covers the ranges and grows fast chunks"() {
+        setup:
+        def ranges = [new BlobRange(0, (long) 3 * Constants.MB), new BlobRange(10 * Constants.MB, (long) 20 * Constants.MB)]
+        def scheduler = new DownloadRangeScheduler(ranges, Constants.MB, 2)
+
+        when:
+        def chunks = scheduler.getChunks()
+            .flatMap({ chunk ->
+                Mono.fromRunnable({ scheduler.onChunkCompleted(chunk, 1000) }).thenReturn(chunk)
+            }, DownloadRangeScheduler.MAX_CONCURRENCY, 1)
+            .collectList()
+            .block()
+        def covered = chunks.collect { it.getCount() }.sum()
+
+        then:
+        covered == 23 * Constants.MB
+        chunks.every { chunk -> ranges.any { range ->
+            chunk.getOffset() >= range.getOffset()
+                && chunk.getOffset() + chunk.getCount() <= range.getOffset() + range.getCount() } }
+        chunks.size() < 23
+        scheduler.getChunkSize() > Constants.MB
+    }
+
+    def "Scheduler limits the chunks in flight"() {
+        setup:
+        def scheduler = new DownloadRangeScheduler([new BlobRange(0, (long) 10 * Constants.MB)], Constants.MB, 3)
+        def emitted = []
+
+        when:
+        scheduler.getChunks().subscribe({ emitted.add(it) })
+
+        then:
+        emitted.size() == 3
+
+        when:
+        scheduler.onChunkCompleted(emitted[0], DownloadRangeScheduler.TARGET_CHUNK_DURATION.toNanos())
+
+        then:
+        emitted.size() == 4
+    }
+
+    def "Scheduler shrinks slow chunks"() {
+        setup:
+        def scheduler = new DownloadRangeScheduler([new BlobRange(0, (long) 100 * Constants.MB)], 8 * Constants.MB, 1)
+        def emitted = []
+        scheduler.getChunks().subscribe({ emitted.add(it) })
+
+        when:
+        scheduler.onChunkCompleted(emitted[0], DownloadRangeScheduler.TARGET_CHUNK_DURATION.toNanos() * 3)
+
+        then:
+        scheduler.getChunkSize() == 4 * Constants.MB
+        emitted[1].getCount() == 4 * Constants.MB
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.FluxUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers block blob uploads without a service and records every request with its body, so the headers an upload
+ * sends for the data it sends can be checked.
+ */
+class FakeBlockBlobHttpClient implements HttpClient {
+    private final List<HttpRequest> requests = new ArrayList<>();
+    private final List<byte[]> bodies = new ArrayList<>();
+
+    /**
+     * @return the requests sent, in the order their bodies were read.
+     */
+    synchronized List<HttpRequest> getRequests() {
+        return new ArrayList<>(requests);
+    }
+
+    /**
+     * @return the bodies of the requests sent, in the order of {@link #getRequests()}.
+     */
+    synchronized List<byte[]> getBodies() {
+        return new ArrayList<>(bodies);
+    }
+
+    /**
+     * @return the Stage Block requests sent.
+     */
+    synchronized List<HttpRequest> getStageBlockRequests() {
+        List<HttpRequest> stageBlockRequests = new ArrayList<>();
+        for (HttpRequest request : requests) {
+            if (isStageBlock(request)) {
+                stageBlockRequests.add(request);
+            }
+        }
+        return stageBlockRequests;
+    }
+
+    /**
+     * @return the bodies of the Stage Block requests sent, in the order of {@link #getStageBlockRequests()}.
+     */
+    synchronized List<byte[]> getStageBlockBodies() {
+        List<byte[]> stageBlockBodies = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (isStageBlock(requests.get(i))) {
+                stageBlockBodies.add(bodies.get(i));
+            }
+        }
+        return stageBlockBodies;
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        Flux<ByteBuffer> body = request.getBody() == null ? Flux.empty() : request.getBody();
+
+        return FluxUtil.collectBytesInByteBufferStream(body)
+            .defaultIfEmpty(new byte[0])
+            .map(bytes -> {
+                synchronized (this) {
+                    requests.add(request);
+                    bodies.add(bytes);
+                }
+
+                return new CreatedResponse(request);
+            });
+    }
+
+    private static boolean isStageBlock(HttpRequest request) {
+        String query = request.getUrl().getQuery();
+        return query != null && query.contains("comp=block") && !query.contains("comp=blocklist");
+    }
+
+    private static final class CreatedResponse extends HttpResponse {
+        private final HttpHeaders headers = new HttpHeaders()
+            .put("ETag", "\"0x8D7B1C5C5B5E1C1\"")
+            .put("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT")
+            .put("x-ms-request-id", "00000000-0000-0000-0000-000000000000")
+            .put("x-ms-version", "2019-02-02")
+            .put("x-ms-request-server-encrypted", "false");
+
+        CreatedResponse(HttpRequest request) {
+            super(request);
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 201;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.empty();
+        }
+    }
+}
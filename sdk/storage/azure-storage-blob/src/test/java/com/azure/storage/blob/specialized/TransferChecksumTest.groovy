@@ -0,0 +1,222 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized
+
+import com.azure.core.http.HttpHeaders
+import com.azure.core.http.HttpRequest
+import com.azure.core.util.FluxUtil
+import com.azure.storage.blob.BlobAsyncClient
+import com.azure.storage.blob.BlobClientBuilder
+import com.azure.storage.blob.HttpGetterInfo
+import com.azure.storage.blob.implementation.models.BlobsDownloadResponse
+import com.azure.storage.blob.models.BlobDownloadHeaders
+import com.azure.storage.blob.models.DownloadRetryOptions
+import com.azure.storage.blob.models.ParallelTransferOptions
+import com.azure.storage.common.StorageChecksumAlgorithm
+import com.azure.storage.common.implementation.StorageCrc64Calculator
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+
+/**
+ * Checks the transactional checksums of buffered uploads and reliable downloads against a fake service, so corrupted
+ * or missing checksums can be simulated.
+ */
+class TransferChecksumTest extends Specification {
+    static final int DATA_SIZE = 1024
+    static final int BLOCK_SIZE = 100
+
+    byte[] data
+
+    def setup() {
+        data = new byte[DATA_SIZE]
+        new Random().nextBytes(data)
+    }
+
+    @Unroll
+    def "Download validates the range checksum"() {
+        setup:
+        def download = download(Flux.just(ByteBuffer.wrap(data)), checksum(algorithm, data), algorithm)
+
+        expect:
+        FluxUtil.collectBytesInByteBufferStream(download.getValue()).block() == data
+
+        where:
+        algorithm                              | _
+        StorageChecksumAlgorithm.STORAGE_CRC64 | _
+        StorageChecksumAlgorithm.MD5           | _
+    }
+
+    @Unroll
+    def "Download fails on a mismatched or missing range checksum"() {
+        setup:
+        def expected = corrupt ? checksum(algorithm, data) : null
+        if (corrupt) {
+            expected[0] = (byte) (expected[0] ^ 1)
+        }
+        def download = download(Flux.just(ByteBuffer.wrap(data)), expected, algorithm)
+
+        when:
+        FluxUtil.collectBytesInByteBufferStream(download.getValue()).block()
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.getMessage().contains(message)
+
+        where:
+        algorithm                              | corrupt || message
+        StorageChecksumAlgorithm.STORAGE_CRC64 | true    || "doesn't match"
+        StorageChecksumAlgorithm.STORAGE_CRC64 | false   || "didn't return"
+        StorageChecksumAlgorithm.MD5           | true    || "doesn't match"
+        StorageChecksumAlgorithm.MD5           | false   || "didn't return"
+    }
+
+    @Unroll
+    def "Download retries validate against the new response"() {
+        setup:
+        def received = Arrays.copyOfRange(data, 0, 256)
+        def rest = Arrays.copyOfRange(data, 256, DATA_SIZE)
+        def algorithm = StorageChecksumAlgorithm.STORAGE_CRC64
+        def retries = []
+
+        // The first response fails after its first buffer, the retry requests the rest of the range.
+        def first = response(Flux.just(ByteBuffer.wrap(received)).concatWith(Flux.error(new IOException())),
+            checksum(algorithm, data), algorithm)
+        def getter = { HttpGetterInfo info ->
+            retries << info.getOffset()
+            def retry = response(Flux.just(ByteBuffer.wrap(rest)), checksum(algorithm, retryData ? rest : data),
+                algorithm)
+            Mono.just(new ReliableDownload(retry, new DownloadRetryOptions().setMaxRetryRequests(5), info, algorithm,
+                { Mono.error(new IllegalStateException("Retried twice.")) }))
+        }
+        def info = new HttpGetterInfo().setOffset(0).setCount(DATA_SIZE).setETag("etag")
+        def download = new ReliableDownload(first, new DownloadRetryOptions().setMaxRetryRequests(5), info, algorithm,
+            getter)
+
+        when:
+        def result = FluxUtil.collectBytesInByteBufferStream(download.getValue())
+            .map({ bytes -> bytes == data })
+            .onErrorResume(IllegalStateException, { Mono.just(false) })
+            .block()
+
+        then:
+        retries == [256L]
+        result == succeeds
+
+        where:
+        retryData | succeeds
+        true      | true  // the checksum of the retried range
+        false     | false // the checksum of the whole range, stale for the retry
+    }
+
+    @Unroll
+    def "Staged blocks carry the checksum of their data"() {
+        setup:
+        def httpClient = new FakeBlockBlobHttpClient()
+        def client = client(httpClient)
+        // Writes of 250 and 774 bytes spill over the 100 byte pool buffers.
+        def source = Flux.just(ByteBuffer.wrap(Arrays.copyOfRange(data, 0, 250)),
+            ByteBuffer.wrap(Arrays.copyOfRange(data, 250, DATA_SIZE)))
+
+        when:
+        client.upload(source, new ParallelTransferOptions(BLOCK_SIZE, 4, null, BLOCK_SIZE, algorithm), true).block()
+
+        then:
+        def requests = httpClient.getStageBlockRequests()
+        def bodies = httpClient.getStageBlockBodies()
+        requests.size() == 11
+        // Blocks are staged concurrently, so their requests may be recorded in any order.
+        bodies.collect { it.length }.sort() == [24] + [100] * 10
+        for (int i = 0; i < requests.size(); i++) {
+            assert header(requests[i], checksumHeader) == checksum(algorithm, bodies[i])
+            assert requests[i].getHeaders().getValue(otherHeader) == null
+        }
+
+        where:
+        algorithm                              | checksumHeader       | otherHeader
+        StorageChecksumAlgorithm.STORAGE_CRC64 | "x-ms-content-crc64" | "Content-MD5"
+        StorageChecksumAlgorithm.MD5           | "Content-MD5"        | "x-ms-content-crc64"
+    }
+
+    def "Staged blocks carry no checksum unless asked for"() {
+        setup:
+        def httpClient = new FakeBlockBlobHttpClient()
+
+        when:
+        client(httpClient).upload(Flux.just(ByteBuffer.wrap(data)),
+            new ParallelTransferOptions(BLOCK_SIZE, 4, null, BLOCK_SIZE), true).block()
+
+        then:
+        httpClient.getStageBlockRequests().size() == 11
+        httpClient.getStageBlockRequests().every {
+            it.getHeaders().getValue("x-ms-content-crc64") == null && it.getHeaders().getValue("Content-MD5") == null
+        }
+    }
+
+    @Unroll
+    def "Put Blob carries the MD5 of the blob"() {
+        setup:
+        def httpClient = new FakeBlockBlobHttpClient()
+        def content = Arrays.copyOfRange(data, 0, 50)
+
+        when:
+        client(httpClient).upload(Flux.just(ByteBuffer.wrap(content)),
+            new ParallelTransferOptions(BLOCK_SIZE, 4, null, BLOCK_SIZE, algorithm), true).block()
+
+        then:
+        // Put Blob doesn't accept a CRC64, the MD5 is sent instead.
+        httpClient.getRequests().size() == 1
+        httpClient.getBodies()[0] == content
+        header(httpClient.getRequests()[0], "Content-MD5") == checksum(StorageChecksumAlgorithm.MD5, content)
+        httpClient.getRequests()[0].getHeaders().getValue("x-ms-content-crc64") == null
+
+        where:
+        algorithm                              | _
+        StorageChecksumAlgorithm.STORAGE_CRC64 | _
+        StorageChecksumAlgorithm.MD5           | _
+    }
+
+    static byte[] checksum(StorageChecksumAlgorithm algorithm, byte[] content) {
+        if (algorithm == StorageChecksumAlgorithm.MD5) {
+            return MessageDigest.getInstance("MD5").digest(content)
+        }
+
+        return StorageCrc64Calculator.toBytes(StorageCrc64Calculator.compute(0, content, 0, content.length))
+    }
+
+    static byte[] header(HttpRequest request, String name) {
+        def value = request.getHeaders().getValue(name)
+        return value == null ? null : Base64.getDecoder().decode(value)
+    }
+
+    static BlobAsyncClient client(FakeBlockBlobHttpClient httpClient) {
+        return new BlobClientBuilder()
+            .endpoint("https://account.blob.core.windows.net/container/blob")
+            .httpClient(httpClient)
+            .buildAsyncClient()
+    }
+
+    static BlobsDownloadResponse response(Flux<ByteBuffer> body, byte[] checksum,
+        StorageChecksumAlgorithm algorithm) {
+        def headers = new BlobDownloadHeaders()
+        if (algorithm == StorageChecksumAlgorithm.MD5) {
+            headers.setContentMd5(checksum)
+        } else {
+            headers.setContentCrc64(checksum)
+        }
+
+        return new BlobsDownloadResponse(null, 206, new HttpHeaders(), body, headers)
+    }
+
+    static ReliableDownload download(Flux<ByteBuffer> body, byte[] checksum, StorageChecksumAlgorithm algorithm) {
+        def info = new HttpGetterInfo().setOffset(0).setCount(DATA_SIZE).setETag("etag")
+        return new ReliableDownload(response(body, checksum, algorithm),
+            new DownloadRetryOptions().setMaxRetryRequests(5), info, algorithm,
+            { Mono.error(new IllegalStateException("Unexpected retry.")) })
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common;
+
+/**
+ * Specifies the checksum used to validate the content of each request of a transfer. The checksum is computed while
+ * the data is copied or received, so validating content doesn't read it a second time.
+ */
+public enum StorageChecksumAlgorithm {
+    /**
+     * Content isn't validated.
+     */
+    NONE,
+
+    /**
+     * Content is validated with the checksum the library picks for the operation, currently the same as
+     * {@link #STORAGE_CRC64}.
+     */
+    AUTO,
+
+    /**
+     * Content is validated with MD5.
+     */
+    MD5,
+
+    /**
+     * Content is validated with the storage CRC64 where the service supports it for the operation and with MD5
+     * otherwise. The CRC64 is much cheaper to compute than MD5.
+     */
+    STORAGE_CRC64
+}
@@ -9,22 +9,38 @@ import com.azure.core.util.CoreUtils;
 
 import com.azure.storage.common.implementation.StorageImplUtils;
 import com.azure.storage.common.policy.StorageSharedKeyCredentialPolicy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * SharedKey credential policy that is put into a header to authorize requests.
  */
 public final class StorageSharedKeyCredential {
-    private static final String AUTHORIZATION_HEADER_FORMAT = "SharedKey %s:%s";
+    private static final String AUTHORIZATION_HEADER_PREFIX = "SharedKey ";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final String X_MS_HEADER_PREFIX = "x-ms-";
+
+    /*
+     * Builders used to assemble the string-to-sign are reused by the thread signing the request. Builders that grew
+     * beyond this capacity, because of an unusually long URL or header, are dropped instead of being kept around.
+     */
+    private static final int STRING_TO_SIGN_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> STRING_TO_SIGN_BUILDER =
+        ThreadLocal.withInitial(() -> new StringBuilder(STRING_TO_SIGN_CAPACITY));
 
     // Pieces of the connection string that are needed.
     private static final String ACCOUNT_NAME = "accountname";
@@ -32,6 +48,7 @@ public final class StorageSharedKeyCredential {
 
     private final String accountName;
     private final String accountKey;
+    private final ThreadLocal<Mac> hmacSha256;
 
     /**
      * Initializes a new instance of StorageSharedKeyCredential contains an account's name and its primary or secondary
@@ -45,6 +62,9 @@ public final class StorageSharedKeyCredential {
         Objects.requireNonNull(accountKey, "'accountKey' cannot be null.");
         this.accountName = accountName;
         this.accountKey = accountKey;
+
+        // Mac instances aren't thread-safe, each thread signing with this credential initializes its own once.
+        this.hmacSha256 = ThreadLocal.withInitial(this::createMac);
     }
 
     /**
@@ -92,9 +112,8 @@ public final class StorageSharedKeyCredential {
      * @return the SharedKey authorization value
      */
     public String generateAuthorizationHeader(URL requestURL, String httpMethod, Map<String, String> headers) {
-        String signature = StorageImplUtils.computeHMac256(accountKey,
-            buildStringToSign(requestURL, httpMethod, headers));
-        return String.format(AUTHORIZATION_HEADER_FORMAT, accountName, signature);
+        String signature = computeHmac256(buildStringToSign(requestURL, httpMethod, headers));
+        return AUTHORIZATION_HEADER_PREFIX + accountName + ':' + signature;
     }
 
     /**
@@ -107,32 +126,55 @@ public final class StorageSharedKeyCredential {
      * string, or the UTF-8 charset isn't supported.
      */
     public String computeHmac256(final String stringToSign) {
-        return StorageImplUtils.computeHMac256(accountKey, stringToSign);
+        Mac mac = hmacSha256.get();
+
+        // doFinal resets the Mac, leaving it ready for the next signature computed on this thread.
+        return Base64.getEncoder().encodeToString(mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode(accountKey), HMAC_SHA256));
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+            throw new RuntimeException(ex);
+        }
     }
 
     private String buildStringToSign(URL requestURL, String httpMethod, Map<String, String> headers) {
         String contentLength = headers.get("Content-Length");
-        contentLength = contentLength.equals("0") ? "" : contentLength;
+        contentLength = "0".equals(contentLength) ? "" : contentLength;
 
         // If the x-ms-header exists ignore the Date header
         String dateHeader = (headers.containsKey("x-ms-date")) ? ""
             : getStandardHeaderValue(headers, "Date");
 
-        return String.join("\n",
-            httpMethod,
-            getStandardHeaderValue(headers, "Content-Encoding"),
-            getStandardHeaderValue(headers, "Content-Language"),
-            contentLength,
-            getStandardHeaderValue(headers, "Content-MD5"),
-            getStandardHeaderValue(headers, "Content-Type"),
-            dateHeader,
-            getStandardHeaderValue(headers, "If-Modified-Since"),
-            getStandardHeaderValue(headers, "If-Match"),
-            getStandardHeaderValue(headers, "If-None-Match"),
-            getStandardHeaderValue(headers, "If-Unmodified-Since"),
-            getStandardHeaderValue(headers, "Range"),
-            getAdditionalXmsHeaders(headers),
-            getCanonicalizedResource(requestURL));
+        final StringBuilder stringToSign = STRING_TO_SIGN_BUILDER.get();
+        stringToSign.setLength(0);
+
+        stringToSign.append(httpMethod).append('\n')
+            .append(getStandardHeaderValue(headers, "Content-Encoding")).append('\n')
+            .append(getStandardHeaderValue(headers, "Content-Language")).append('\n')
+            .append(contentLength == null ? "" : contentLength).append('\n')
+            .append(getStandardHeaderValue(headers, "Content-MD5")).append('\n')
+            .append(getStandardHeaderValue(headers, "Content-Type")).append('\n')
+            .append(dateHeader).append('\n')
+            .append(getStandardHeaderValue(headers, "If-Modified-Since")).append('\n')
+            .append(getStandardHeaderValue(headers, "If-Match")).append('\n')
+            .append(getStandardHeaderValue(headers, "If-None-Match")).append('\n')
+            .append(getStandardHeaderValue(headers, "If-Unmodified-Since")).append('\n')
+            .append(getStandardHeaderValue(headers, "Range")).append('\n');
+        appendAdditionalXmsHeaders(stringToSign, headers);
+        stringToSign.append('\n');
+        appendCanonicalizedResource(stringToSign, requestURL);
+
+        String result = stringToSign.toString();
+        if (stringToSign.capacity() > MAX_RETAINED_CAPACITY) {
+            STRING_TO_SIGN_BUILDER.remove();
+        }
+
+        return result;
     }
 
     /*
@@ -144,70 +186,80 @@ public final class StorageSharedKeyCredential {
         return headerValue == null ? "" : headerValue;
     }
 
-    private String getAdditionalXmsHeaders(Map<String, String> headers) {
+    private void appendAdditionalXmsHeaders(StringBuilder stringToSign, Map<String, String> headers) {
         // Add only headers that begin with 'x-ms-'
-        final List<String> xmsHeaderNameArray = headers.entrySet().stream()
-            .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).startsWith("x-ms-"))
-            .filter(entry -> entry.getValue() != null)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
-
-        if (xmsHeaderNameArray.isEmpty()) {
-            return "";
+        List<String> xmsHeaderNames = null;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            String headerName = header.getKey();
+            if (header.getValue() != null
+                && headerName.regionMatches(true, 0, X_MS_HEADER_PREFIX, 0, X_MS_HEADER_PREFIX.length())) {
+                if (xmsHeaderNames == null) {
+                    xmsHeaderNames = new ArrayList<>(headers.size());
+                }
+
+                xmsHeaderNames.add(headerName);
+            }
         }
 
-        Collections.sort(xmsHeaderNameArray);
+        if (xmsHeaderNames == null) {
+            return;
+        }
 
-        final StringBuilder canonicalizedHeaders = new StringBuilder();
-        for (final String key : xmsHeaderNameArray) {
-            if (canonicalizedHeaders.length() > 0) {
-                canonicalizedHeaders.append('\n');
+        if (xmsHeaderNames.size() > 1) {
+            Collections.sort(xmsHeaderNames);
+        }
+
+        for (int i = 0; i < xmsHeaderNames.size(); i++) {
+            final String key = xmsHeaderNames.get(i);
+            if (i > 0) {
+                stringToSign.append('\n');
             }
 
-            canonicalizedHeaders.append(key.toLowerCase(Locale.ROOT))
+            stringToSign.append(key.toLowerCase(Locale.ROOT))
                 .append(':')
                 .append(headers.get(key));
         }
-
-        return canonicalizedHeaders.toString();
     }
 
-    private String getCanonicalizedResource(URL requestURL) {
+    private void appendCanonicalizedResource(StringBuilder stringToSign, URL requestURL) {
 
         // Resource path
-        final StringBuilder canonicalizedResource = new StringBuilder("/");
-        canonicalizedResource.append(accountName);
+        stringToSign.append('/').append(accountName);
 
         // Note that AbsolutePath starts with a '/'.
-        if (requestURL.getPath().length() > 0) {
-            canonicalizedResource.append(requestURL.getPath());
+        String path = requestURL.getPath();
+        if (path.length() > 0) {
+            stringToSign.append(path);
         } else {
-            canonicalizedResource.append('/');
+            stringToSign.append('/');
         }
 
         // check for no query params and return
-        if (requestURL.getQuery() == null) {
-            return canonicalizedResource.toString();
+        String query = requestURL.getQuery();
+        if (query == null) {
+            return;
         }
 
-        // The URL object's query field doesn't include the '?'. The QueryStringDecoder expects it.
-        Map<String, String[]> queryParams = StorageImplUtils.parseQueryStringSplitValues(requestURL.getQuery());
+        // The parsed query parameters are keyed on their lower-cased names in sorted order.
+        Map<String, String[]> queryParams = StorageImplUtils.parseQueryStringSplitValues(query);
 
-        ArrayList<String> queryParamNames = new ArrayList<>(queryParams.keySet());
-        Collections.sort(queryParamNames);
+        for (Map.Entry<String, String[]> queryParam : queryParams.entrySet()) {
+            String[] queryParamValues = queryParam.getValue();
+            if (queryParamValues.length > 1) {
+                Arrays.sort(queryParamValues);
+            }
 
-        for (String queryParamName : queryParamNames) {
-            String[] queryParamValues = queryParams.get(queryParamName);
-            Arrays.sort(queryParamValues);
-            String queryParamValuesStr = String.join(",", queryParamValues);
-            canonicalizedResource.append("\n")
-                .append(queryParamName.toLowerCase(Locale.ROOT))
-                .append(":")
-                .append(queryParamValuesStr);
-        }
+            stringToSign.append('\n')
+                .append(queryParam.getKey())
+                .append(':');
+            for (int i = 0; i < queryParamValues.length; i++) {
+                if (i > 0) {
+                    stringToSign.append(',');
+                }
 
-        // append to main string builder the join of completed params with new line
-        return canonicalizedResource.toString();
+                stringToSign.append(queryParamValues[i]);
+            }
+        }
     }
 
     /**
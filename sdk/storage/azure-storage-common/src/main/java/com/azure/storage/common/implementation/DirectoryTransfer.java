@@ -0,0 +1,325 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.logging.ClientLogger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Uploads local directories and downloads remote directories on the budget of a {@link TransferScheduler}.
+ * <p>
+ * Files and remote items up to the maximum single transfer size are transferred by a single task, and small ones are
+ * coalesced in groups that each take a single task. Larger local files are handed to the service specific upload,
+ * which schedules its own blocks, and larger remote items are downloaded in ranges scheduled individually.
+ * <p>
+ * A failed file doesn't stop the transfer of the others. Once every file was attempted, the transfer fails with an
+ * {@link UncheckedIOException} naming the files that failed, with their errors attached as suppressed exceptions.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class DirectoryTransfer {
+    // The maximum number of small files transferred by a single task.
+    private static final int MAX_GROUP_COUNT = 64;
+
+    // The maximum number of failed files named in the message of the exception.
+    private static final int MAX_REPORTED_NAMES = 10;
+
+    private final ClientLogger logger = new ClientLogger(DirectoryTransfer.class);
+
+    private final TransferScheduler scheduler;
+    private final int maxConcurrency;
+    private final int blockSize;
+    private final int maxSingleTransferSize;
+    private final int smallFileSize;
+    private final boolean overwrite;
+
+    /**
+     * Creates a directory transfer.
+     *
+     * @param scheduler The scheduler running the requests.
+     * @param maxConcurrency The maximum number of files transferred at once, usually that of the scheduler.
+     * @param blockSize The size of the blocks and ranges of large files, and the maximum total size of a group.
+     * @param maxSingleTransferSize The size up to which a file is transferred by a single request.
+     * @param smallFileSize The size up to which a file is coalesced with others.
+     * @param overwrite Whether existing local files are overwritten by downloads.
+     */
+    public DirectoryTransfer(TransferScheduler scheduler, int maxConcurrency, int blockSize,
+        int maxSingleTransferSize, int smallFileSize, boolean overwrite) {
+        this.scheduler = scheduler;
+        this.maxConcurrency = maxConcurrency;
+        this.blockSize = blockSize;
+        this.maxSingleTransferSize = maxSingleTransferSize;
+        this.smallFileSize = Math.min(smallFileSize, maxSingleTransferSize);
+        this.overwrite = overwrite;
+    }
+
+    /**
+     * Uploads the files under a local directory, recursively. The path of each file relative to the directory, with
+     * '/' separators, is appended to the prefix to get its remote name.
+     *
+     * @param directory The local directory.
+     * @param prefix The prefix of the remote names.
+     * @param putFile Uploads a file in a single request, it is scheduled by this transfer.
+     * @param uploadInBlocks Uploads a file larger than the maximum single transfer size, scheduling its own requests.
+     * @return A reactive response signaling completion.
+     */
+    public Mono<Void> uploadDirectory(Path directory, String prefix, Function<LocalFile, Mono<Void>> putFile,
+        Function<LocalFile, Mono<Void>> uploadInBlocks) {
+        Failures failures = new Failures();
+
+        Flux<LocalFile> files = listFiles(directory)
+            .map(path -> new LocalFile(path, prefix + toRemoteName(directory.relativize(path))));
+
+        return TransferScheduler.coalesce(files, LocalFile::getSize, smallFileSize, blockSize, MAX_GROUP_COUNT)
+            .flatMap(group -> {
+                if (group.size() > 1) {
+                    long bytes = group.stream().mapToLong(LocalFile::getSize).sum();
+                    return scheduler.schedule(bytes, () -> Flux.fromIterable(group)
+                        .concatMap(file -> failures.guard(file.getName(), () -> putFile.apply(file)))
+                        .then());
+                }
+
+                LocalFile file = group.get(0);
+                return failures.guard(file.getName(), () -> file.getSize() <= maxSingleTransferSize
+                    ? scheduler.schedule(file.getSize(), () -> putFile.apply(file))
+                    : uploadInBlocks.apply(file));
+            }, maxConcurrency)
+            .then(Mono.defer(failures::toResult));
+    }
+
+    /**
+     * Downloads remote items to a local directory. The rest of the name of each item after the prefix, with '/'
+     * separators replaced by the local separator, is resolved against the directory to get the path of its file, and
+     * missing parent directories are created.
+     *
+     * @param items The remote items, without directories.
+     * @param nameOf Gets the remote name of an item.
+     * @param sizeOf Gets the size of an item.
+     * @param directory The local directory.
+     * @param prefix The prefix of the remote names.
+     * @param readerOf Gets the reader of the content of an item.
+     * @param <T> The type of the items.
+     * @return A reactive response signaling completion.
+     */
+    public <T> Mono<Void> downloadDirectory(Flux<T> items, Function<T, String> nameOf, ToLongFunction<T> sizeOf,
+        Path directory, String prefix, Function<T, RangeReader> readerOf) {
+        Failures failures = new Failures();
+
+        return TransferScheduler.coalesce(items, sizeOf, smallFileSize, blockSize, MAX_GROUP_COUNT)
+            .flatMap(group -> {
+                if (group.size() > 1) {
+                    long bytes = group.stream().mapToLong(sizeOf).sum();
+                    return scheduler.schedule(bytes, () -> Flux.fromIterable(group)
+                        .concatMap(item -> failures.guard(nameOf.apply(item), () -> readFile(readerOf.apply(item),
+                            toLocalPath(directory, prefix, nameOf.apply(item)))))
+                        .then());
+                }
+
+                T item = group.get(0);
+                long size = sizeOf.applyAsLong(item);
+                return failures.guard(nameOf.apply(item), () -> {
+                    Path localPath = toLocalPath(directory, prefix, nameOf.apply(item));
+                    return size <= maxSingleTransferSize
+                        ? scheduler.schedule(size, () -> readFile(readerOf.apply(item), localPath))
+                        : readFileInRanges(readerOf.apply(item), size, localPath);
+                });
+            }, maxConcurrency)
+            .then(Mono.defer(failures::toResult));
+    }
+
+    /**
+     * Gets the path of the local file a remote item is downloaded to.
+     *
+     * @param directory The local directory.
+     * @param prefix The prefix of the remote names.
+     * @param name The remote name of the item.
+     * @return The path.
+     * @throws IllegalArgumentException If the path would be outside of the directory.
+     */
+    Path toLocalPath(Path directory, String prefix, String name) {
+        String relativeName = name.substring(prefix.length());
+        while (relativeName.startsWith("/")) {
+            relativeName = relativeName.substring(1);
+        }
+        if (relativeName.isEmpty()) {
+            // The prefix is the name of the item itself.
+            relativeName = name.substring(name.lastIndexOf('/') + 1);
+        }
+
+        Path localPath = directory.resolve(relativeName.replace('/', File.separatorChar)).normalize();
+        if (relativeName.isEmpty() || !localPath.startsWith(directory.normalize())) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(
+                "'%s' would be downloaded outside of the local directory.", name)));
+        }
+
+        return localPath;
+    }
+
+    private Mono<Void> readFile(RangeReader reader, Path localPath) {
+        return Mono.using(() -> openLocalFile(localPath),
+            channel -> reader.read(0, null).flatMap(data -> FluxUtil.writeFile(data, channel, 0)),
+            this::closeLocalFile);
+    }
+
+    private Mono<Void> readFileInRanges(RangeReader reader, long size, Path localPath) {
+        int rangeCount = (int) ((size + blockSize - 1) / blockSize);
+
+        return Mono.using(() -> openLocalFile(localPath),
+            channel -> Flux.range(0, rangeCount)
+                .flatMap(index -> {
+                    long offset = (long) index * blockSize;
+                    long length = Math.min(blockSize, size - offset);
+
+                    return scheduler.schedule(length, () -> reader.read(offset, length)
+                        .flatMap(data -> FluxUtil.writeFile(data, channel, offset)));
+                }, maxConcurrency)
+                .then(),
+            this::closeLocalFile);
+    }
+
+    private AsynchronousFileChannel openLocalFile(Path localPath) {
+        try {
+            Files.createDirectories(localPath.getParent());
+            return overwrite
+                ? AsynchronousFileChannel.open(localPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)
+                : AsynchronousFileChannel.open(localPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw logger.logExceptionAsError(new UncheckedIOException(e));
+        }
+    }
+
+    private void closeLocalFile(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw logger.logExceptionAsError(new UncheckedIOException(e));
+        }
+    }
+
+    private static Flux<Path> listFiles(Path directory) {
+        return Flux.using(() -> {
+            try {
+                return Files.walk(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, files -> Flux.fromStream(files.filter(Files::isRegularFile)), Stream::close)
+            .subscribeOn(Schedulers.elastic());
+    }
+
+    private static String toRemoteName(Path relativePath) {
+        return relativePath.toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Reads the content of a remote item.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+        /**
+         * Reads a range of the item.
+         *
+         * @param offset The offset of the range.
+         * @param length The length of the range, or {@code null} to read to the end of the item.
+         * @return A reactive response emitting the content of the range.
+         */
+        Mono<Flux<ByteBuffer>> read(long offset, Long length);
+    }
+
+    /**
+     * A local file and the remote name it is uploaded to.
+     */
+    public static final class LocalFile {
+        private final Path path;
+        private final String name;
+        private final long size;
+
+        LocalFile(Path path, String name) {
+            this.path = path;
+            this.name = name;
+            try {
+                this.size = Files.size(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @return the path of the local file.
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * @return the remote name of the file.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the size of the file.
+         */
+        public long getSize() {
+            return size;
+        }
+    }
+
+    /*
+    Collects the files that failed so the others are still transferred, and reports them once the transfer is done.
+     */
+    private final class Failures {
+        private final AtomicInteger attempted = new AtomicInteger();
+        private final Queue<String> names = new ConcurrentLinkedQueue<>();
+        private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        Mono<Void> guard(String name, Supplier<Mono<Void>> transfer) {
+            return Mono.defer(() -> {
+                attempted.incrementAndGet();
+                return transfer.get();
+            }).onErrorResume(error -> {
+                names.add(name);
+                errors.add(error);
+                return Mono.empty();
+            });
+        }
+
+        Mono<Void> toResult() {
+            if (errors.isEmpty()) {
+                return Mono.empty();
+            }
+
+            List<String> failedNames = names.stream().limit(MAX_REPORTED_NAMES).collect(Collectors.toList());
+            String message = String.format("%d of %d files failed to transfer: %s%s", errors.size(), attempted.get(),
+                String.join(", ", failedNames), errors.size() > failedNames.size() ? ", ..." : "");
+
+            IOException exception = new IOException(message, errors.poll());
+            errors.forEach(exception::addSuppressed);
+            return FluxUtil.monoError(logger, new UncheckedIOException(exception));
+        }
+    }
+}
@@ -0,0 +1,377 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.core.util.Configuration;
+import com.azure.core.util.logging.ClientLogger;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A process wide pool of the buffers buffered uploads stage their blocks from.
+ * <p>
+ * Buffers are grouped in size classes: sizes up to {@link #SIZE_CLASS_GRANULARITY} are rounded up to the next power of
+ * two and larger sizes to the next multiple of it, so uploads with slightly different block sizes share buffers. Every
+ * buffer the pool hands out has the capacity of its size class, callers that need an exact size limit the buffer.
+ * <p>
+ * The bytes of all the buffers allocated by the pool, in use or idle, are capped. Idle buffers of other size classes
+ * are dropped to make room for an allocation, and once the cap is reached acquiring a buffer waits until another buffer
+ * is released, which bounds the memory concurrent uploads hold instead of letting each of them allocate its own
+ * buffers. A request that doesn't fit the cap at all is only served once no other buffer is in use, so it can't wait
+ * forever. Released buffers are kept for reuse while the idle bytes stay under a quarter of the cap.
+ * <p>
+ * The pool allocates heap buffers unless the {@value #DIRECT_PROPERTY} configuration is {@code true}, and caps them at
+ * the {@value #MAX_BYTES_PROPERTY} configuration, which defaults to a quarter of the maximum heap size.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class SharedBufferPool {
+    /**
+     * Configuration holding the maximum number of bytes the shared pool allocates.
+     */
+    public static final String MAX_BYTES_PROPERTY = "AZURE_STORAGE_UPLOAD_BUFFER_POOL_MAX_BYTES";
+
+    /**
+     * Configuration that makes the shared pool allocate direct buffers when it is {@code true}.
+     */
+    public static final String DIRECT_PROPERTY = "AZURE_STORAGE_UPLOAD_BUFFER_POOL_DIRECT";
+
+    static final int MIN_SIZE_CLASS = 4 * Constants.KB;
+    static final int SIZE_CLASS_GRANULARITY = Constants.MB;
+
+    private final ClientLogger logger = new ClientLogger(SharedBufferPool.class);
+
+    private final long maxBytes;
+    private final long maxIdleBytes;
+    private final boolean direct;
+
+    // Fair, so the uploads waiting for room are served in the order they started waiting.
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition bufferReleased = lock.newCondition();
+
+    // Guarded by lock.
+    private final TreeMap<Integer, Deque<ByteBuffer>> idleBuffers = new TreeMap<>();
+    private long allocatedBytes;
+    private long idleBytes;
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong allocatedCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Creates a pool.
+     *
+     * @param maxBytes The maximum number of bytes the buffers allocated by the pool can hold.
+     * @param direct Whether the pool allocates direct buffers.
+     */
+    public SharedBufferPool(long maxBytes, boolean direct) {
+        StorageImplUtils.assertInBounds("maxBytes", maxBytes, 1, Long.MAX_VALUE);
+        this.maxBytes = maxBytes;
+        this.maxIdleBytes = maxBytes / 4;
+        this.direct = direct;
+    }
+
+    /**
+     * @return The pool shared by all the uploads of the process.
+     */
+    public static SharedBufferPool getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Acquires a buffer, waiting until the pool has room for it.
+     *
+     * @param size The size of the buffer.
+     * @return A cleared buffer with a capacity of at least {@code size}.
+     * @throws IllegalStateException If the thread is interrupted while waiting.
+     */
+    public ByteBuffer acquire(int size) {
+        return acquire(size, 1).get(0);
+    }
+
+    /**
+     * Acquires several buffers at once, waiting until the pool has room for all of them. Uploads acquire the buffers
+     * they need to make progress this way, so two uploads can't each hold part of what the other one waits for.
+     *
+     * @param size The size of the buffers.
+     * @param count The number of buffers.
+     * @return Cleared buffers with a capacity of at least {@code size}.
+     * @throws IllegalStateException If the thread is interrupted while waiting.
+     */
+    public List<ByteBuffer> acquire(int size, int count) {
+        StorageImplUtils.assertInBounds("size", size, 1, Integer.MAX_VALUE);
+        StorageImplUtils.assertInBounds("count", count, 1, Integer.MAX_VALUE);
+        int sizeClass = sizeClass(size);
+
+        List<ByteBuffer> buffers = new ArrayList<>(count);
+        long waitStart = 0;
+        lock.lock();
+        try {
+            while (!tryTake(sizeClass, count, buffers)) {
+                if (waitStart == 0) {
+                    waitStart = System.nanoTime();
+                }
+                bufferReleased.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw logger.logExceptionAsError(new IllegalStateException(
+                "Thread interrupted while waiting for an upload buffer. Thread:" + Thread.currentThread().getId()));
+        } finally {
+            lock.unlock();
+            if (waitStart != 0) {
+                waitCount.incrementAndGet();
+                waitNanos.addAndGet(System.nanoTime() - waitStart);
+            }
+        }
+
+        acquiredCount.addAndGet(count);
+        return buffers;
+    }
+
+    /**
+     * Acquires a buffer if the pool has room for it without waiting.
+     *
+     * @param size The size of the buffer.
+     * @return A cleared buffer with a capacity of at least {@code size}, or {@code null} if the pool is full.
+     */
+    public ByteBuffer tryAcquire(int size) {
+        List<ByteBuffer> buffers = tryAcquire(size, 1);
+        return buffers == null ? null : buffers.get(0);
+    }
+
+    /**
+     * Acquires several buffers at once if the pool has room for all of them without waiting.
+     *
+     * @param size The size of the buffers.
+     * @param count The number of buffers.
+     * @return Cleared buffers with a capacity of at least {@code size}, or {@code null} if the pool is full.
+     */
+    public List<ByteBuffer> tryAcquire(int size, int count) {
+        StorageImplUtils.assertInBounds("size", size, 1, Integer.MAX_VALUE);
+        StorageImplUtils.assertInBounds("count", count, 1, Integer.MAX_VALUE);
+        List<ByteBuffer> buffers = new ArrayList<>(count);
+        lock.lock();
+        try {
+            if (!tryTake(sizeClass(size), count, buffers)) {
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        acquiredCount.addAndGet(count);
+        return buffers;
+    }
+
+    /**
+     * Returns a buffer acquired from this pool. The buffer must not be used afterwards.
+     *
+     * @param buffer The buffer.
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        lock.lock();
+        try {
+            if (idleBytes + capacity <= maxIdleBytes) {
+                buffer.clear();
+                idleBuffers.computeIfAbsent(capacity, c -> new ArrayDeque<>()).push(buffer);
+                idleBytes += capacity;
+            } else {
+                allocatedBytes -= capacity;
+            }
+            bufferReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The maximum number of bytes the buffers allocated by the pool can hold.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return Whether the pool allocates direct buffers.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * @return The bytes held by the buffers the pool allocated and didn't drop, in use or idle.
+     */
+    public long getAllocatedBytes() {
+        lock.lock();
+        try {
+            return allocatedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The bytes held by the buffers currently handed out by the pool.
+     */
+    public long getInUseBytes() {
+        lock.lock();
+        try {
+            return allocatedBytes - idleBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The bytes held by the released buffers the pool keeps for reuse.
+     */
+    public long getIdleBytes() {
+        lock.lock();
+        try {
+            return idleBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of buffers handed out by the pool.
+     */
+    public long getAcquiredCount() {
+        return acquiredCount.get();
+    }
+
+    /**
+     * @return The number of buffers the pool had to allocate rather than reuse.
+     */
+    public long getAllocatedCount() {
+        return allocatedCount.get();
+    }
+
+    /**
+     * @return The number of acquisitions that had to wait for a buffer to be released.
+     */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    /**
+     * @return The total time acquisitions waited for buffers to be released.
+     */
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(waitNanos.get());
+    }
+
+    static int sizeClass(int size) {
+        if (size <= MIN_SIZE_CLASS) {
+            return MIN_SIZE_CLASS;
+        }
+        if (size <= SIZE_CLASS_GRANULARITY) {
+            return Integer.highestOneBit(size - 1) << 1;
+        }
+
+        long rounded = ((long) size + SIZE_CLASS_GRANULARITY - 1) / SIZE_CLASS_GRANULARITY * SIZE_CLASS_GRANULARITY;
+        return (int) Math.min(rounded, Integer.MAX_VALUE);
+    }
+
+    /*
+    Takes the buffers out of the idle ones of their size class and allocates the others, or takes nothing if the pool
+    has no room for them. Must be called while holding the lock.
+     */
+    private boolean tryTake(int sizeClass, int count, List<ByteBuffer> buffers) {
+        Deque<ByteBuffer> idle = idleBuffers.get(sizeClass);
+        int reused = idle == null ? 0 : Math.min(idle.size(), count);
+        long needed = (long) (count - reused) * sizeClass;
+
+        if (needed > 0 && !makeRoom(needed, sizeClass)) {
+            return false;
+        }
+
+        for (int i = 0; i < reused; i++) {
+            buffers.add(idle.pop());
+        }
+        idleBytes -= (long) reused * sizeClass;
+
+        for (int i = reused; i < count; i++) {
+            buffers.add(direct ? ByteBuffer.allocateDirect(sizeClass) : ByteBuffer.allocate(sizeClass));
+        }
+        allocatedBytes += needed;
+        allocatedCount.addAndGet(count - reused);
+        return true;
+    }
+
+    /*
+    Drops idle buffers of other size classes, largest first, until the allocation fits under the cap. Must be called
+    while holding the lock.
+     */
+    private boolean makeRoom(long needed, int keptSizeClass) {
+        if (allocatedBytes + needed <= maxBytes) {
+            return true;
+        }
+
+        Deque<ByteBuffer> kept = idleBuffers.get(keptSizeClass);
+        long keptBytes = kept == null ? 0 : (long) kept.size() * keptSizeClass;
+        long inUseBytes = allocatedBytes - idleBytes;
+        boolean fits = allocatedBytes - (idleBytes - keptBytes) + needed <= maxBytes;
+
+        // Serve a request that doesn't fit the cap once nothing else is in use, otherwise it could wait forever.
+        if (!fits && inUseBytes != 0) {
+            return false;
+        }
+
+        Iterator<Map.Entry<Integer, Deque<ByteBuffer>>> sizeClasses = idleBuffers.descendingMap().entrySet()
+            .iterator();
+        while (allocatedBytes + needed > maxBytes && sizeClasses.hasNext()) {
+            Map.Entry<Integer, Deque<ByteBuffer>> entry = sizeClasses.next();
+            if (entry.getKey() == keptSizeClass) {
+                continue;
+            }
+
+            Deque<ByteBuffer> dropped = entry.getValue();
+            while (!dropped.isEmpty() && allocatedBytes + needed > maxBytes) {
+                dropped.pop();
+                allocatedBytes -= entry.getKey();
+                idleBytes -= entry.getKey();
+            }
+            if (dropped.isEmpty()) {
+                sizeClasses.remove();
+            }
+        }
+
+        return true;
+    }
+
+    private static SharedBufferPool fromConfiguration(Configuration configuration) {
+        long maxBytes = Runtime.getRuntime().maxMemory() / 4;
+        String configuredMaxBytes = configuration.get(MAX_BYTES_PROPERTY);
+        if (configuredMaxBytes != null) {
+            try {
+                maxBytes = Long.parseLong(configuredMaxBytes.trim());
+            } catch (NumberFormatException e) {
+                new ClientLogger(SharedBufferPool.class).warning("Ignoring invalid {} value '{}'.",
+                    MAX_BYTES_PROPERTY, configuredMaxBytes);
+            }
+        }
+
+        return new SharedBufferPool(Math.max(maxBytes, 1), Boolean.parseBoolean(configuration.get(DIRECT_PROPERTY)));
+    }
+
+    private static final class InstanceHolder {
+        private static final SharedBufferPool INSTANCE = fromConfiguration(Configuration.getGlobalConfiguration());
+    }
+}
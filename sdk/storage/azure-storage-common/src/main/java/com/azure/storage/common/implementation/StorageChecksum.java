@@ -0,0 +1,102 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.common.StorageChecksumAlgorithm;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes a transactional checksum incrementally, as the data of a request is copied or received.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class StorageChecksum {
+    private final ClientLogger logger = new ClientLogger(StorageChecksum.class);
+
+    private final StorageChecksumAlgorithm algorithm;
+    private final MessageDigest md5;
+    private long crc64;
+
+    private StorageChecksum(StorageChecksumAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        if (algorithm == StorageChecksumAlgorithm.MD5) {
+            try {
+                this.md5 = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw logger.logExceptionAsError(new IllegalStateException(e));
+            }
+        } else {
+            this.md5 = null;
+        }
+    }
+
+    /**
+     * Resolves the checksum an operation computes for the checksum a caller asked for.
+     *
+     * @param algorithm The checksum the caller asked for, may be {@code null}.
+     * @param crc64Supported Whether the operation supports the storage CRC64.
+     * @return {@link StorageChecksumAlgorithm#NONE}, {@link StorageChecksumAlgorithm#MD5} or
+     * {@link StorageChecksumAlgorithm#STORAGE_CRC64}.
+     */
+    public static StorageChecksumAlgorithm resolve(StorageChecksumAlgorithm algorithm, boolean crc64Supported) {
+        if (algorithm == null || algorithm == StorageChecksumAlgorithm.NONE) {
+            return StorageChecksumAlgorithm.NONE;
+        } else if (algorithm == StorageChecksumAlgorithm.MD5 || !crc64Supported) {
+            return StorageChecksumAlgorithm.MD5;
+        } else {
+            return StorageChecksumAlgorithm.STORAGE_CRC64;
+        }
+    }
+
+    /**
+     * Creates a checksum.
+     *
+     * @param algorithm The checksum, resolved by {@link #resolve(StorageChecksumAlgorithm, boolean)}.
+     * @return The checksum, or {@code null} for {@link StorageChecksumAlgorithm#NONE}.
+     */
+    public static StorageChecksum create(StorageChecksumAlgorithm algorithm) {
+        StorageChecksumAlgorithm resolved = resolve(algorithm, true);
+        return resolved == StorageChecksumAlgorithm.NONE ? null : new StorageChecksum(resolved);
+    }
+
+    /**
+     * @return the checksum computed, either {@link StorageChecksumAlgorithm#MD5} or
+     * {@link StorageChecksumAlgorithm#STORAGE_CRC64}
+     */
+    public StorageChecksumAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Adds the remaining bytes of a buffer to the checksum, without changing the position of the buffer.
+     *
+     * @param buffer The data.
+     */
+    public void update(ByteBuffer buffer) {
+        if (md5 != null) {
+            md5.update(buffer.duplicate());
+        } else {
+            crc64 = StorageCrc64Calculator.compute(crc64, buffer);
+        }
+    }
+
+    /**
+     * Completes the checksum and resets it for the next request.
+     *
+     * @return The checksum, encoded the way the service sends it.
+     */
+    public byte[] getValue() {
+        if (md5 != null) {
+            return md5.digest();
+        }
+
+        byte[] value = StorageCrc64Calculator.toBytes(crc64);
+        crc64 = 0;
+        return value;
+    }
+}
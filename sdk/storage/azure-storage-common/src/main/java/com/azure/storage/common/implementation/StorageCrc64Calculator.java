@@ -0,0 +1,106 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Computes the CRC64 the storage service uses for transactional content validation.
+ * <p>
+ * The CRC is the reflected CRC64 with the polynomial 0x9A6C9329AC4BC9B5, inverted before and after the data. It is
+ * computed eight bytes at a time with the slice-by-8 algorithm: each long read from the data is folded into the CRC
+ * with eight table lookups, one per byte, that don't depend on each other, instead of eight dependent shift and xor
+ * steps.
+ * Trailing bytes are processed one at a time.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class StorageCrc64Calculator {
+    private static final long POLY = 0x9A6C9329AC4BC9B5L;
+
+    // TABLES[n][b] is the CRC of byte b followed by n zero bytes.
+    private static final long[][] TABLES = new long[8][256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            long crc = b;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) == 0 ? crc >>> 1 : (crc >>> 1) ^ POLY;
+            }
+            TABLES[0][b] = crc;
+        }
+
+        for (int b = 0; b < 256; b++) {
+            for (int n = 1; n < 8; n++) {
+                long previous = TABLES[n - 1][b];
+                TABLES[n][b] = (previous >>> 8) ^ TABLES[0][(int) (previous & 0xFF)];
+            }
+        }
+    }
+
+    private StorageCrc64Calculator() {
+    }
+
+    /**
+     * Extends a CRC with the remaining bytes of a buffer, without changing the position of the buffer.
+     *
+     * @param crc The CRC of the data before the buffer, 0 for the start of the data.
+     * @param buffer The data.
+     * @return The CRC of the data including the buffer.
+     */
+    public static long compute(long crc, ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        long[] t0 = TABLES[0];
+        long[] t1 = TABLES[1];
+        long[] t2 = TABLES[2];
+        long[] t3 = TABLES[3];
+        long[] t4 = TABLES[4];
+        long[] t5 = TABLES[5];
+        long[] t6 = TABLES[6];
+        long[] t7 = TABLES[7];
+
+        long value = ~crc;
+        while (data.remaining() >= 8) {
+            value ^= data.getLong();
+            value = t7[(int) (value & 0xFF)]
+                ^ t6[(int) ((value >>> 8) & 0xFF)]
+                ^ t5[(int) ((value >>> 16) & 0xFF)]
+                ^ t4[(int) ((value >>> 24) & 0xFF)]
+                ^ t3[(int) ((value >>> 32) & 0xFF)]
+                ^ t2[(int) ((value >>> 40) & 0xFF)]
+                ^ t1[(int) ((value >>> 48) & 0xFF)]
+                ^ t0[(int) (value >>> 56)];
+        }
+
+        while (data.hasRemaining()) {
+            value = (value >>> 8) ^ t0[(int) ((value ^ data.get()) & 0xFF)];
+        }
+
+        return ~value;
+    }
+
+    /**
+     * Extends a CRC with a range of an array.
+     *
+     * @param crc The CRC of the data before the range, 0 for the start of the data.
+     * @param data The array.
+     * @param offset The start of the range.
+     * @param length The length of the range.
+     * @return The CRC of the data including the range.
+     */
+    public static long compute(long crc, byte[] data, int offset, int length) {
+        return compute(crc, ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Encodes a CRC the way the service sends it in the x-ms-content-crc64 header, as eight little-endian bytes.
+     *
+     * @param crc The CRC.
+     * @return The encoded CRC.
+     */
+    public static byte[] toBytes(long crc) {
+        return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(crc).array();
+    }
+}
@@ -0,0 +1,183 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs the requests of directory transfers on a single concurrency and bandwidth budget.
+ * <p>
+ * Every request is scheduled as a task with the number of bytes it transfers. Tasks are queued in the order they are
+ * scheduled and at most the maximum concurrency of them run at once, no matter how many files or transfers they come
+ * from. When a bandwidth limit is set, each task starts no earlier than the bytes of the tasks started before it allow,
+ * so the transfers as a whole don't exceed the limit over time. The bytes of every task that completes are added to
+ * the progress reported to the progress receiver.
+ * <p>
+ * Tasks must not schedule other tasks and wait for them, as the outer task would hold a slot the inner one needs.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class TransferScheduler {
+    private final FluxSink<Task<?>> tasks;
+    private final double nanosPerByte;
+    private final LongConsumer progressReceiver;
+
+    // Guarded by this.
+    private long nextStartNanos = System.nanoTime();
+    private long totalProgress;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param maxConcurrency The maximum number of tasks that run at once.
+     * @param maxBytesPerSecond The maximum number of bytes transferred per second, or {@code null} for no limit.
+     * @param progressReceiver Receives the total number of bytes transferred, may be {@code null}.
+     */
+    public TransferScheduler(int maxConcurrency, Long maxBytesPerSecond, LongConsumer progressReceiver) {
+        StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        if (maxBytesPerSecond != null) {
+            StorageImplUtils.assertInBounds("maxBytesPerSecond", maxBytesPerSecond, 1, Long.MAX_VALUE);
+        }
+
+        this.nanosPerByte = maxBytesPerSecond == null
+            ? 0
+            : Duration.ofSeconds(1).toNanos() / (double) maxBytesPerSecond;
+        this.progressReceiver = progressReceiver;
+
+        UnicastProcessor<Task<?>> queue = UnicastProcessor.create(Queues.<Task<?>>unboundedMultiproducer().get());
+        this.tasks = queue.sink();
+        queue.flatMap(Task::run, maxConcurrency).subscribe();
+    }
+
+    /**
+     * Schedules a request.
+     *
+     * @param bytes The number of bytes the request transfers.
+     * @param request Supplies the request once the scheduler lets it run.
+     * @param <T> The type of the result of the request.
+     * @return A reactive response emitting the result of the request. Cancelling it skips the request if it didn't
+     * start yet and cancels it otherwise.
+     */
+    public <T> Mono<T> schedule(long bytes, Supplier<Mono<T>> request) {
+        return Mono.create(sink -> tasks.next(new Task<>(bytes, request, sink)));
+    }
+
+    /**
+     * Groups small items together so each group can be transferred by a single task, and leaves other items alone.
+     *
+     * @param items The items.
+     * @param sizeOf Gets the size of an item.
+     * @param maxSmallSize The size up to which an item is small.
+     * @param maxGroupSize The maximum total size of a group.
+     * @param maxGroupCount The maximum number of items in a group.
+     * @param <T> The type of the items.
+     * @return The groups, items that aren't small are alone in their group.
+     */
+    public static <T> Flux<List<T>> coalesce(Flux<T> items, ToLongFunction<T> sizeOf, long maxSmallSize,
+        long maxGroupSize, int maxGroupCount) {
+        return Flux.defer(() -> {
+            List<T> group = new ArrayList<>();
+            long[] groupSize = new long[1];
+
+            return items.concatMapIterable(item -> {
+                long size = sizeOf.applyAsLong(item);
+                if (size > maxSmallSize) {
+                    return Collections.singletonList(Collections.singletonList(item));
+                }
+
+                List<List<T>> completed = Collections.emptyList();
+                if (!group.isEmpty() && (groupSize[0] + size > maxGroupSize || group.size() == maxGroupCount)) {
+                    completed = Collections.singletonList(new ArrayList<>(group));
+                    group.clear();
+                    groupSize[0] = 0;
+                }
+                group.add(item);
+                groupSize[0] += size;
+                return completed;
+            }).concatWith(Flux.defer(() -> group.isEmpty() ? Flux.empty() : Flux.just(new ArrayList<>(group))));
+        });
+    }
+
+    private Mono<Void> throttle(long bytes) {
+        if (nanosPerByte == 0 || bytes == 0) {
+            return Mono.empty();
+        }
+
+        long delayNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextStartNanos);
+            nextStartNanos = start + (long) (bytes * nanosPerByte);
+            delayNanos = start - now;
+        }
+
+        return delayNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(delayNanos)).then();
+    }
+
+    private void reportProgress(long bytes) {
+        if (progressReceiver == null || bytes == 0) {
+            return;
+        }
+
+        /*
+        The receiver is called under the lock, so it sees the totals in order and doesn't have to be thread safe. See
+        ProgressReporter for the same trade off.
+         */
+        synchronized (this) {
+            totalProgress += bytes;
+            progressReceiver.accept(totalProgress);
+        }
+    }
+
+    private final class Task<T> {
+        private final long bytes;
+        private final Supplier<Mono<T>> request;
+        private final MonoSink<T> sink;
+        private final MonoProcessor<Void> cancelled = MonoProcessor.create();
+
+        Task(long bytes, Supplier<Mono<T>> request, MonoSink<T> sink) {
+            this.bytes = bytes;
+            this.request = request;
+            this.sink = sink;
+            sink.onCancel(cancelled::onComplete);
+        }
+
+        /*
+        Runs the request and forwards its result to the sink. The returned Mono never fails, so one failed request
+        doesn't stop the queue.
+         */
+        Mono<Void> run() {
+            if (cancelled.isTerminated()) {
+                return Mono.empty();
+            }
+
+            return throttle(bytes)
+                .then(Mono.defer(request))
+                .takeUntilOther(cancelled)
+                .doOnSuccess(result -> {
+                    if (!cancelled.isTerminated()) {
+                        reportProgress(bytes);
+                        sink.success(result);
+                    }
+                })
+                .doOnError(sink::error)
+                .onErrorResume(error -> Mono.empty())
+                .then();
+        }
+    }
+}
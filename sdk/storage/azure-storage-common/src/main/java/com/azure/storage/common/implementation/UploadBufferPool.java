@@ -4,9 +4,16 @@
 package com.azure.storage.common.implementation;
 
 import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.common.StorageChecksumAlgorithm;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -19,7 +26,15 @@ import java.util.concurrent.LinkedBlockingQueue;
  *
  * It is incumbent upon the caller to return the buffers after an upload is completed. It is also the caller's
  * responsibility to signal to the pool when the stream is empty and call flush to return any data still sitting in the
- * pool.
+ * pool, and to close the pool once the upload terminates.
+ *
+ * The buffers come from the {@link SharedBufferPool}, so the memory held by concurrent uploads is bounded. The two
+ * buffers an upload needs to make progress are acquired together when the pool is created, possibly waiting for other
+ * uploads to release theirs. Asynchronous uploads create the pool with {@link #create(int, int, int,
+ * StorageChecksumAlgorithm)}, which only waits off the calling thread: uploads release their buffers on the threads
+ * completing their requests, typically event loops, and waiting on one of them could deadlock. Additional buffers are
+ * only taken from the shared pool when it has room for them; otherwise the upload waits for one of its own buffers to
+ * be returned. Closing the pool releases the buffers to the shared pool.
  *
  * Broadly, the workflow of this operation is to chunk the source into reasonable sized pieces. On each piece, one
  * thread will call write on the pool. The pool will grab a buffer from the queue to write to, possibly waiting for one
@@ -27,6 +42,10 @@ import java.util.concurrent.LinkedBlockingQueue;
  * be sent. Filled buffers can be uploaded in parallel and should return buffers to the pool after the upload completes.
  * Once the source terminates, it should call flush.
  *
+ * When a checksum is requested, it is computed from the data as it is copied into the pool buffers, while the data is
+ * already being read, and can be retrieved with {@link #getChecksum(ByteBuffer)} for every buffer the pool emits until
+ * the buffer is returned.
+ *
  * RESERVED FOR INTERNAL USE ONLY
  */
 public final class UploadBufferPool {
@@ -39,6 +58,13 @@ public final class UploadBufferPool {
      */
     private final BlockingQueue<ByteBuffer> buffers;
 
+    private final SharedBufferPool sharedPool;
+
+    // Every buffer acquired from the shared pool, wherever it currently is. Guarded by this.
+    private final List<ByteBuffer> acquiredBuffers = new ArrayList<>();
+
+    private boolean closed;
+
     private final int maxBuffs;
 
     // The number of buffs we have allocated. We can query the queue for how many are available.
@@ -48,30 +74,135 @@ public final class UploadBufferPool {
 
     private ByteBuffer currentBuf;
 
+    // The checksum of the data in currentBuf, null when no checksum was requested.
+    private final StorageChecksum checksum;
+
+    // The checksums of the emitted buffers, keyed by identity as buffers compare by content. Guarded by this.
+    private final Map<ByteBuffer, byte[]> checksums = new IdentityHashMap<>();
+
     /**
      * Creates a new instance of UploadBufferPool
      * @param numBuffs The number of buffers in the buffer pool.
      * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
      */
     public UploadBufferPool(final int numBuffs, final int buffSize, int maxBuffSize) {
+        this(numBuffs, buffSize, maxBuffSize, SharedBufferPool.getInstance());
+    }
+
+    /**
+     * Creates a new instance of UploadBufferPool
+     * @param numBuffs The number of buffers in the buffer pool.
+     * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
+     * @param checksumAlgorithm The checksum computed for each buffer, resolved by
+     * {@link StorageChecksum#resolve(StorageChecksumAlgorithm, boolean)}.
+     */
+    public UploadBufferPool(final int numBuffs, final int buffSize, int maxBuffSize,
+        StorageChecksumAlgorithm checksumAlgorithm) {
+        this(numBuffs, buffSize, maxBuffSize, SharedBufferPool.getInstance(), checksumAlgorithm);
+    }
+
+    /**
+     * Creates a new instance of UploadBufferPool
+     * @param numBuffs The number of buffers in the buffer pool.
+     * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
+     * @param sharedPool The pool the buffers are acquired from.
+     */
+    public UploadBufferPool(final int numBuffs, final int buffSize, int maxBuffSize, SharedBufferPool sharedPool) {
+        this(numBuffs, buffSize, maxBuffSize, sharedPool, StorageChecksumAlgorithm.NONE);
+    }
+
+    /**
+     * Creates a new instance of UploadBufferPool
+     * @param numBuffs The number of buffers in the buffer pool.
+     * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
+     * @param sharedPool The pool the buffers are acquired from.
+     * @param checksumAlgorithm The checksum computed for each buffer, resolved by
+     * {@link StorageChecksum#resolve(StorageChecksumAlgorithm, boolean)}.
+     */
+    public UploadBufferPool(final int numBuffs, final int buffSize, int maxBuffSize, SharedBufferPool sharedPool,
+        StorageChecksumAlgorithm checksumAlgorithm) {
+        this(numBuffs, buffSize, maxBuffSize, sharedPool, checksumAlgorithm, null);
+    }
+
+    private UploadBufferPool(final int numBuffs, final int buffSize, int maxBuffSize, SharedBufferPool sharedPool,
+        StorageChecksumAlgorithm checksumAlgorithm, List<ByteBuffer> initialBuffers) {
+        validate(numBuffs, buffSize, maxBuffSize);
+        this.maxBuffs = numBuffs;
+        buffers = new LinkedBlockingQueue<>(numBuffs);
+        this.buffSize = buffSize;
+
+        // We prep the queue with two buffers in case there is overflow.
+        this.sharedPool = sharedPool;
+        if (initialBuffers == null) {
+            initialBuffers = sharedPool.acquire(this.buffSize, 2);
+        }
+        for (ByteBuffer buffer : initialBuffers) {
+            this.acquiredBuffers.add(buffer);
+            buffers.add(this.reset(buffer));
+        }
+        this.numBuffs = 2;
+        this.checksum = StorageChecksum.create(checksumAlgorithm);
+    }
+
+    /**
+     * Creates a new instance of UploadBufferPool without blocking the subscribing thread. The buffers are acquired
+     * right away if the shared pool has room for them, otherwise the pool is created on a thread that may wait for
+     * other uploads to release theirs.
+     * @param numBuffs The number of buffers in the buffer pool.
+     * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
+     * @param checksumAlgorithm The checksum computed for each buffer, resolved by
+     * {@link StorageChecksum#resolve(StorageChecksumAlgorithm, boolean)}.
+     * @return A Mono emitting the pool, which must be closed once the upload terminates.
+     */
+    public static Mono<UploadBufferPool> create(final int numBuffs, final int buffSize, int maxBuffSize,
+        StorageChecksumAlgorithm checksumAlgorithm) {
+        return create(numBuffs, buffSize, maxBuffSize, SharedBufferPool.getInstance(), checksumAlgorithm);
+    }
+
+    /**
+     * Creates a new instance of UploadBufferPool without blocking the subscribing thread.
+     * @param numBuffs The number of buffers in the buffer pool.
+     * @param buffSize The size of the buffers
+     * @param maxBuffSize The maximum size of the buffers
+     * @param sharedPool The pool the buffers are acquired from.
+     * @param checksumAlgorithm The checksum computed for each buffer, resolved by
+     * {@link StorageChecksum#resolve(StorageChecksumAlgorithm, boolean)}.
+     * @return A Mono emitting the pool, which must be closed once the upload terminates.
+     * @see #create(int, int, int, StorageChecksumAlgorithm)
+     */
+    public static Mono<UploadBufferPool> create(final int numBuffs, final int buffSize, int maxBuffSize,
+        SharedBufferPool sharedPool, StorageChecksumAlgorithm checksumAlgorithm) {
+        return Mono.defer(() -> {
+            validate(numBuffs, buffSize, maxBuffSize);
+            List<ByteBuffer> initialBuffers = sharedPool.tryAcquire(buffSize, 2);
+            if (initialBuffers != null) {
+                return Mono.just(new UploadBufferPool(numBuffs, buffSize, maxBuffSize, sharedPool, checksumAlgorithm,
+                    initialBuffers));
+            }
+
+            return Mono.fromCallable(() -> new UploadBufferPool(numBuffs, buffSize, maxBuffSize, sharedPool,
+                checksumAlgorithm, null))
+                .subscribeOn(Schedulers.elastic());
+        })
+            // A pool created after the upload was cancelled is never handed to it, release its buffers.
+            .doOnDiscard(UploadBufferPool.class, UploadBufferPool::close);
+    }
+
+    private static void validate(int numBuffs, int buffSize, int maxBuffSize) {
         /*
         We require at least two buffers because it is possible that a given write will spill over into a second buffer.
         We only need one overflow buffer because the max size of a ByteBuffer is assumed to be the size as a buffer in
         the pool.
          */
         StorageImplUtils.assertInBounds("numBuffs", numBuffs, 2, Integer.MAX_VALUE);
-        this.maxBuffs = numBuffs;
-        buffers = new LinkedBlockingQueue<>(numBuffs);
-
 
         // These buffers will be used in calls to stageBlock, so they must be no greater than block size.
         StorageImplUtils.assertInBounds("buffSize", buffSize, 1, maxBuffSize);
-        this.buffSize = buffSize;
-
-        // We prep the queue with two buffers in case there is overflow.
-        buffers.add(ByteBuffer.allocate(this.buffSize));
-        buffers.add(ByteBuffer.allocate(this.buffSize));
-        this.numBuffs = 2;
     }
 
     /*
@@ -93,10 +224,12 @@ public final class UploadBufferPool {
         Flux<ByteBuffer> result;
         // We can fit this whole write in the buffer we currently have.
         if (this.currentBuf.remaining() >= buf.remaining()) {
+            this.updateChecksum(buf);
             this.currentBuf.put(buf);
             if (this.currentBuf.remaining() == 0) {
                 // Reset the position so that we can read the whole thing then return this buffer.
                 this.currentBuf.position(0);
+                this.completeChecksum(this.currentBuf);
                 result = Flux.just(this.currentBuf);
                 // This will force us to get a new buffer next time we try to write.
                 this.currentBuf = null;
@@ -112,12 +245,14 @@ public final class UploadBufferPool {
             // Adjust the window of buf so that we fill up currentBuf without going out of bounds.
             int oldLimit = buf.limit();
             buf.limit(buf.position() + this.currentBuf.remaining());
+            this.updateChecksum(buf);
             this.currentBuf.put(buf);
             // Set the old limit so we can read to the end in the next buffer.
             buf.limit(oldLimit);
 
             // Reset the position so we can read the buffer.
             this.currentBuf.position(0);
+            this.completeChecksum(this.currentBuf);
             result = Flux.just(this.currentBuf);
 
             /*
@@ -127,11 +262,39 @@ public final class UploadBufferPool {
             buffer we will write to on the next call to write().
              */
             this.currentBuf = this.getBuffer();
+            this.updateChecksum(buf);
             this.currentBuf.put(buf);
         }
         return result;
     }
 
+    /*
+    The checksum reads the data right before it is copied, so it is still in the cache for the copy.
+     */
+    private void updateChecksum(ByteBuffer buf) {
+        if (this.checksum != null) {
+            this.checksum.update(buf);
+        }
+    }
+
+    private void completeChecksum(ByteBuffer buffer) {
+        if (this.checksum != null) {
+            byte[] value = this.checksum.getValue();
+            synchronized (this) {
+                this.checksums.put(buffer, value);
+            }
+        }
+    }
+
+    /**
+     * Gets the checksum of the data in a buffer the pool emitted.
+     * @param buffer The buffer, before it is returned to the pool.
+     * @return The checksum, or {@code null} when no checksum was requested.
+     */
+    public synchronized byte[] getChecksum(ByteBuffer buffer) {
+        return this.checksums.get(buffer);
+    }
+
     /*
     Note that the upload method will be calling write sequentially as there is only one worker reading from the source
     and calling write. Hence there is only one worker calling getBuffer at any time.
@@ -144,8 +307,11 @@ public final class UploadBufferPool {
          then result = buffers.pop()--because we only get here when the queue is empty, the buffer returned is the one
          we just created. The new buffer will be added to buffers when it is returned to the pool.
          */
-        if (this.buffers.isEmpty() && this.numBuffs < this.maxBuffs) {
-            result = ByteBuffer.allocate(this.buffSize);
+        ByteBuffer allocated = this.buffers.isEmpty() && this.numBuffs < this.maxBuffs
+            ? this.tryAcquireBuffer()
+            : null;
+        if (allocated != null) {
+            result = allocated;
             this.numBuffs++;
         } else {
             try {
@@ -160,6 +326,32 @@ public final class UploadBufferPool {
         return result;
     }
 
+    /*
+    Only takes a buffer from the shared pool when it has room, waiting for the shared pool here could deadlock with
+    other uploads that also hold buffers.
+     */
+    private synchronized ByteBuffer tryAcquireBuffer() {
+        if (this.closed) {
+            return null;
+        }
+
+        ByteBuffer buffer = this.sharedPool.tryAcquire(this.buffSize);
+        if (buffer != null) {
+            this.acquiredBuffers.add(buffer);
+            this.reset(buffer);
+        }
+        return buffer;
+    }
+
+    /*
+    Shared pool buffers may be larger than the requested size, the limit keeps each of them to a block.
+     */
+    private ByteBuffer reset(ByteBuffer buffer) {
+        buffer.position(0);
+        buffer.limit(this.buffSize);
+        return buffer;
+    }
+
     /**
      * Flushes the current buffer
      * @return the flushed buffer
@@ -172,6 +364,7 @@ public final class UploadBufferPool {
         if (this.currentBuf != null) {
             this.currentBuf.flip();
             ByteBuffer last = this.currentBuf;
+            this.completeChecksum(last);
             // If there is an accidental duplicate call to flush, this prevents sending the last buffer twice
             this.currentBuf = null;
             return Flux.just(last);
@@ -183,15 +376,33 @@ public final class UploadBufferPool {
      * Returns the ByteBuffer
      * @param b The ByteBuffer to reset and return
      */
-    public void returnBuffer(ByteBuffer b) {
-        // Reset the buffer.
-        b.position(0);
-        b.limit(b.capacity());
+    public synchronized void returnBuffer(ByteBuffer b) {
+        // The buffers were released to the shared pool when the pool was closed.
+        if (this.closed) {
+            return;
+        }
+
+        // Reset the buffer. The queue holds every buffer of the pool, so this never waits.
+        this.checksums.remove(b);
+        this.buffers.offer(this.reset(b));
+    }
+
+    /**
+     * Releases the buffers to the shared pool. Called once the upload terminated, buffers returned afterwards are
+     * ignored.
+     */
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
 
-        try {
-            this.buffers.put(b);
-        } catch (InterruptedException e) {
-            throw logger.logExceptionAsError(new IllegalStateException("UploadFromStream thread interrupted."));
+        this.closed = true;
+        this.currentBuf = null;
+        this.buffers.clear();
+        this.checksums.clear();
+        for (ByteBuffer buffer : this.acquiredBuffers) {
+            this.sharedPool.release(buffer);
         }
+        this.acquiredBuffers.clear();
     }
 }
@@ -21,7 +21,9 @@ import java.net.URL;
 public final class SasTokenCredentialPolicy implements HttpPipelinePolicy {
     private final ClientLogger logger = new ClientLogger(SasTokenCredentialPolicy.class);
 
-    private final SasTokenCredential credential;
+    // The SAS token prefixed with the delimiter it's appended with, built once instead of on every request.
+    private final String firstQueryParameters;
+    private final String additionalQueryParameters;
 
     /**
      * Creates a SAS token credential policy that appends the SAS token to the request URL's query.
@@ -29,17 +31,19 @@ public final class SasTokenCredentialPolicy implements HttpPipelinePolicy {
      * @param credential SAS token credential
      */
     public SasTokenCredentialPolicy(SasTokenCredential credential) {
-        this.credential = credential;
+        this.firstQueryParameters = "?" + credential.getSasToken();
+        this.additionalQueryParameters = "&" + credential.getSasToken();
     }
 
     @Override
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
         try {
             URL requestURL = context.getHttpRequest().getUrl();
-            String delimiter = !CoreUtils.isNullOrEmpty(requestURL.getQuery()) ? "&" : "?";
+            String queryParameters = !CoreUtils.isNullOrEmpty(requestURL.getQuery())
+                ? additionalQueryParameters
+                : firstQueryParameters;
 
-            String newURL = requestURL.toString() + delimiter + credential.getSasToken();
-            context.getHttpRequest().setUrl(new URL(newURL));
+            context.getHttpRequest().setUrl(new URL(requestURL.toString() + queryParameters));
         } catch (MalformedURLException ex) {
             throw logger.logExceptionAsError(new IllegalStateException(ex));
         }
@@ -0,0 +1,157 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common;
+
+import com.azure.storage.common.implementation.StorageImplUtils;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StorageSharedKeyCredentialTest {
+    private static final String ACCOUNT_NAME = "devstoreaccount1";
+    private static final String ACCOUNT_KEY =
+        "Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==";
+
+    @Test
+    public void authorizationHeaderMatchesCanonicalization() throws MalformedURLException {
+        StorageSharedKeyCredential credential = new StorageSharedKeyCredential(ACCOUNT_NAME, ACCOUNT_KEY);
+
+        URL[] urls = {
+            new URL("https://account.blob.core.windows.net"),
+            new URL("https://account.blob.core.windows.net/container/blob"),
+            new URL("https://account.blob.core.windows.net/container?restype=container&comp=list&Prefix=a%2Cb"),
+            new URL("https://account.blob.core.windows.net/container/blob?comp=block&blockid=YmxvY2s%3D&include=b,a")
+        };
+
+        for (URL url : urls) {
+            for (Map<String, String> headers : Arrays.asList(minimalHeaders(), fullHeaders())) {
+                assertEquals(expectedAuthorization(url, "PUT", headers),
+                    credential.generateAuthorizationHeader(url, "PUT", headers));
+            }
+        }
+    }
+
+    @Test
+    public void reusesMacAcrossSignatures() {
+        StorageSharedKeyCredential credential = new StorageSharedKeyCredential(ACCOUNT_NAME, ACCOUNT_KEY);
+
+        for (int i = 0; i < 10; i++) {
+            String stringToSign = "string-to-sign-" + i;
+            assertEquals(StorageImplUtils.computeHMac256(ACCOUNT_KEY, stringToSign),
+                credential.computeHmac256(stringToSign));
+        }
+    }
+
+    @Test
+    public void signsConcurrently() throws Exception {
+        StorageSharedKeyCredential credential = new StorageSharedKeyCredential(ACCOUNT_NAME, ACCOUNT_KEY);
+        URL url = new URL("https://account.blob.core.windows.net/container/blob?comp=metadata");
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int thread = i;
+            tasks.add(() -> {
+                for (int j = 0; j < 200; j++) {
+                    Map<String, String> headers = fullHeaders();
+                    headers.put("x-ms-meta-thread", thread + "-" + j);
+                    assertEquals(expectedAuthorization(url, "GET", headers),
+                        credential.generateAuthorizationHeader(url, "GET", headers));
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Map<String, String> minimalHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Length", "0");
+        headers.put("Date", "Mon, 01 Jun 2020 00:00:00 GMT");
+        return headers;
+    }
+
+    private static Map<String, String> fullHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Length", "1024");
+        headers.put("Content-Type", "application/octet-stream");
+        headers.put("Content-MD5", "1B2M2Y8AsgTpgAmY7PhCfg==");
+        headers.put("If-Match", "\"0x8D7\"");
+        headers.put("Range", "bytes=0-1023");
+        headers.put("x-ms-date", "Mon, 01 Jun 2020 00:00:00 GMT");
+        headers.put("x-ms-version", "2019-07-07");
+        headers.put("X-MS-Client-Request-Id", "b0a1f4c6-0000-0000-0000-000000000000");
+        headers.put("x-ms-blob-type", "BlockBlob");
+        headers.put("User-Agent", "azsdk-java-azure-storage-blob");
+        return headers;
+    }
+
+    /*
+     * Builds the authorization header the way it's described by the service, independently of the credential.
+     */
+    private static String expectedAuthorization(URL url, String httpMethod, Map<String, String> headers) {
+        String contentLength = headers.get("Content-Length");
+        List<String> xmsHeaderNames = new ArrayList<>();
+        for (String name : headers.keySet()) {
+            if (name.toLowerCase(Locale.ROOT).startsWith("x-ms-")) {
+                xmsHeaderNames.add(name);
+            }
+        }
+        Collections.sort(xmsHeaderNames);
+        List<String> xmsHeaders = new ArrayList<>();
+        for (String name : xmsHeaderNames) {
+            xmsHeaders.add(name.toLowerCase(Locale.ROOT) + ":" + headers.get(name));
+        }
+
+        StringBuilder resource = new StringBuilder("/").append(ACCOUNT_NAME)
+            .append(url.getPath().isEmpty() ? "/" : url.getPath());
+        if (url.getQuery() != null) {
+            Map<String, String[]> queryParams = StorageImplUtils.parseQueryStringSplitValues(url.getQuery());
+            for (Map.Entry<String, String[]> queryParam : queryParams.entrySet()) {
+                String[] values = queryParam.getValue().clone();
+                Arrays.sort(values);
+                resource.append('\n').append(queryParam.getKey()).append(':').append(String.join(",", values));
+            }
+        }
+
+        String stringToSign = String.join("\n",
+            httpMethod,
+            headers.getOrDefault("Content-Encoding", ""),
+            headers.getOrDefault("Content-Language", ""),
+            "0".equals(contentLength) ? "" : contentLength,
+            headers.getOrDefault("Content-MD5", ""),
+            headers.getOrDefault("Content-Type", ""),
+            headers.containsKey("x-ms-date") ? "" : headers.getOrDefault("Date", ""),
+            headers.getOrDefault("If-Modified-Since", ""),
+            headers.getOrDefault("If-Match", ""),
+            headers.getOrDefault("If-None-Match", ""),
+            headers.getOrDefault("If-Unmodified-Since", ""),
+            headers.getOrDefault("Range", ""),
+            String.join("\n", xmsHeaders),
+            resource);
+
+        return "SharedKey " + ACCOUNT_NAME + ":" + StorageImplUtils.computeHMac256(ACCOUNT_KEY, stringToSign);
+    }
+}
@@ -0,0 +1,163 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectoryTransferTest {
+    private Path root;
+    private Path directory;
+    private DirectoryTransfer transfer;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("directorytransfer");
+        directory = Files.createDirectory(root.resolve("directory"));
+        transfer = new DirectoryTransfer(new TransferScheduler(4, null, null), 4, 8, 16, 4, false);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void localPathIsUnderTheDirectory() {
+        assertEquals(directory.resolve("a").resolve("b"), transfer.toLocalPath(directory, "prefix/", "prefix/a/b"));
+        assertEquals(directory.resolve("b"), transfer.toLocalPath(directory, "prefix/", "prefix//b"));
+        // The prefix is the name of the item itself.
+        assertEquals(directory.resolve("b"), transfer.toLocalPath(directory, "a/b", "a/b"));
+    }
+
+    @Test
+    public void localPathOutsideOfTheDirectoryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> transfer.toLocalPath(directory, "", "../evil"));
+        assertThrows(IllegalArgumentException.class, () -> transfer.toLocalPath(directory, "p/", "p/a/../../evil"));
+        assertThrows(IllegalArgumentException.class, () -> transfer.toLocalPath(directory, "p/", "p/../directory2"));
+        assertThrows(IllegalArgumentException.class, () -> transfer.toLocalPath(directory, "a/", "a/"));
+    }
+
+    @Test
+    public void downloadOutsideOfTheDirectoryFailsOnlyThatItem() {
+        Map<String, byte[]> items = new HashMap<>();
+        items.put("ok", bytes("ok"));
+        items.put("../evil", bytes("evil"));
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> download(items, null));
+
+        assertTrue(error.getMessage().contains("1 of 2 files failed to transfer: ../evil"));
+        assertTrue(error.getCause().getCause() instanceof IllegalArgumentException);
+        assertFalse(Files.exists(root.resolve("evil")));
+        assertArrayEquals(bytes("ok"), read(directory.resolve("ok")));
+    }
+
+    @Test
+    public void downloadReportsPartialFailure() {
+        Map<String, byte[]> items = new HashMap<>();
+        // Small items are coalesced, the large one is read in ranges.
+        items.put("small1", bytes("a"));
+        items.put("small2", bytes("b"));
+        items.put("small3", bytes("c"));
+        items.put("large", bytes("0123456789012345678901234"));
+        items.put("large-failed", bytes("abcdefghijklmnopqrstuvwxyz"));
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class,
+            () -> download(items, name -> name.equals("small2") || name.equals("large-failed")));
+
+        assertTrue(error.getMessage().contains("2 of 5 files failed to transfer"));
+        assertTrue(error.getMessage().contains("small2"));
+        assertTrue(error.getMessage().contains("large-failed"));
+        assertEquals(1, error.getCause().getSuppressed().length);
+        assertArrayEquals(bytes("a"), read(directory.resolve("small1")));
+        assertArrayEquals(bytes("c"), read(directory.resolve("small3")));
+        assertArrayEquals(items.get("large"), read(directory.resolve("large")));
+    }
+
+    @Test
+    public void uploadReportsPartialFailure() throws IOException {
+        Files.write(directory.resolve("small1"), bytes("a"));
+        Files.write(directory.resolve("small2"), bytes("b"));
+        Files.createDirectory(directory.resolve("sub"));
+        Files.write(directory.resolve("sub").resolve("small3"), bytes("c"));
+        Files.write(directory.resolve("large"), bytes("0123456789012345678901234"));
+        Set<String> uploaded = ConcurrentHashMap.newKeySet();
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> transfer.uploadDirectory(
+            directory, "prefix/",
+            file -> file.getName().equals("prefix/small2")
+                ? Mono.error(new IllegalStateException()) : Mono.fromRunnable(() -> uploaded.add(file.getName())),
+            file -> Mono.fromRunnable(() -> uploaded.add(file.getName())))
+            .block(Duration.ofSeconds(10)));
+
+        assertTrue(error.getMessage().contains("1 of 4 files failed to transfer: prefix/small2"));
+        assertTrue(error.getCause().getCause() instanceof IllegalStateException);
+        assertEquals(3, uploaded.size());
+        assertTrue(uploaded.containsAll(Arrays.asList("prefix/small1", "prefix/sub/small3", "prefix/large")));
+    }
+
+    @Test
+    public void uploadSucceeds() throws IOException {
+        Files.write(directory.resolve("small1"), bytes("a"));
+        Set<String> uploaded = ConcurrentHashMap.newKeySet();
+
+        transfer.uploadDirectory(directory, "", file -> Mono.fromRunnable(() -> uploaded.add(file.getName())),
+            file -> Mono.error(new IllegalStateException())).block(Duration.ofSeconds(10));
+
+        assertEquals(1, uploaded.size());
+        assertTrue(uploaded.contains("small1"));
+    }
+
+    private void download(Map<String, byte[]> items, Predicate<String> failing) {
+        transfer.downloadDirectory(Flux.fromIterable(items.keySet()), name -> name,
+            name -> items.get(name).length, directory, "", name -> (offset, length) -> {
+                if (failing != null && failing.test(name)) {
+                    return Mono.error(new IllegalStateException(name));
+                }
+
+                byte[] data = items.get(name);
+                int end = length == null ? data.length : (int) (offset + length);
+                return Mono.just(Flux.just(ByteBuffer.wrap(Arrays.copyOfRange(data, (int) offset, end))));
+            }).block(Duration.ofSeconds(10));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.storage.common.StorageChecksumAlgorithm;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedBufferPoolTest {
+    @Test
+    public void sizeClasses() {
+        assertEquals(4 * Constants.KB, SharedBufferPool.sizeClass(1));
+        assertEquals(4 * Constants.KB, SharedBufferPool.sizeClass(4 * Constants.KB));
+        assertEquals(8 * Constants.KB, SharedBufferPool.sizeClass(4 * Constants.KB + 1));
+        assertEquals(Constants.MB, SharedBufferPool.sizeClass(Constants.MB));
+        assertEquals(5 * Constants.MB, SharedBufferPool.sizeClass(4 * Constants.MB + 1));
+        assertEquals(100 * Constants.MB, SharedBufferPool.sizeClass(100 * Constants.MB));
+    }
+
+    @Test
+    public void reusesReleasedBuffers() {
+        SharedBufferPool pool = new SharedBufferPool(64 * Constants.MB, false);
+        ByteBuffer buffer = pool.acquire(3 * Constants.MB);
+        assertEquals(3 * Constants.MB, buffer.capacity());
+        assertFalse(buffer.isDirect());
+
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        assertEquals(3 * Constants.MB, pool.getIdleBytes());
+        assertEquals(0, pool.getInUseBytes());
+
+        ByteBuffer reused = pool.acquire(3 * Constants.MB - 10);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(1, pool.getAllocatedCount());
+        assertEquals(2, pool.getAcquiredCount());
+    }
+
+    @Test
+    public void allocatesDirectBuffers() {
+        SharedBufferPool pool = new SharedBufferPool(Constants.MB, true);
+        assertTrue(pool.acquire(Constants.KB).isDirect());
+    }
+
+    @Test
+    public void dropsIdleBuffersOfOtherSizesToMakeRoom() {
+        SharedBufferPool pool = new SharedBufferPool(8 * Constants.MB, false);
+        pool.release(pool.acquire(2 * Constants.MB));
+        assertEquals(2 * Constants.MB, pool.getIdleBytes());
+
+        List<ByteBuffer> buffers = pool.acquire(4 * Constants.MB, 2);
+        assertEquals(2, buffers.size());
+        assertEquals(0, pool.getIdleBytes());
+        assertEquals(8 * Constants.MB, pool.getAllocatedBytes());
+    }
+
+    @Test
+    public void tryAcquireDoesNotWait() {
+        SharedBufferPool pool = new SharedBufferPool(2 * Constants.MB, false);
+        ByteBuffer buffer = pool.acquire(2 * Constants.MB);
+        assertNull(pool.tryAcquire(Constants.MB));
+
+        pool.release(buffer);
+        assertEquals(Constants.MB, pool.tryAcquire(Constants.MB).capacity());
+    }
+
+    @Test
+    public void acquireWaitsForRoom() throws Exception {
+        SharedBufferPool pool = new SharedBufferPool(4 * Constants.MB, false);
+        List<ByteBuffer> held = pool.acquire(2 * Constants.MB, 2);
+
+        CompletableFuture<ByteBuffer> waiting = CompletableFuture.supplyAsync(() -> pool.acquire(2 * Constants.MB));
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+        pool.release(held.get(0));
+        assertEquals(2 * Constants.MB, waiting.get(10, TimeUnit.SECONDS).capacity());
+        assertEquals(1, pool.getWaitCount());
+        assertTrue(pool.getTotalWaitTime().toMillis() >= 100);
+        assertTrue(pool.getAllocatedBytes() <= pool.getMaxBytes());
+    }
+
+    @Test
+    public void servesRequestsLargerThanTheCapWhenIdle() {
+        SharedBufferPool pool = new SharedBufferPool(Constants.MB, false);
+        pool.release(pool.acquire(Constants.KB));
+
+        assertEquals(4 * Constants.MB, pool.acquire(4 * Constants.MB).capacity());
+        assertEquals(0, pool.getIdleBytes());
+    }
+
+    @Test
+    public void uploadBufferPoolReleasesBuffersWhenClosed() {
+        SharedBufferPool sharedPool = new SharedBufferPool(64 * Constants.MB, false);
+        UploadBufferPool pool = new UploadBufferPool(4, Constants.MB + 1, 4 * Constants.MB, sharedPool);
+        assertEquals(4 * Constants.MB, sharedPool.getInUseBytes());
+
+        List<ByteBuffer> written = pool.write(ByteBuffer.allocate(Constants.MB + 1)).collectList().block();
+        assertEquals(1, written.size());
+        assertEquals(Constants.MB + 1, written.get(0).remaining());
+
+        pool.close();
+        pool.returnBuffer(written.get(0));
+        assertEquals(0, sharedPool.getInUseBytes());
+        assertEquals(4 * Constants.MB, sharedPool.getIdleBytes());
+    }
+
+    @Test
+    public void uploadBufferPoolCreatedOnSubscribingThreadWhenThereIsRoom() {
+        SharedBufferPool sharedPool = new SharedBufferPool(64 * Constants.MB, false);
+        Thread[] creatingThread = new Thread[1];
+        UploadBufferPool pool = UploadBufferPool.create(4, Constants.MB, 4 * Constants.MB, sharedPool,
+            StorageChecksumAlgorithm.NONE)
+            .doOnNext(created -> creatingThread[0] = Thread.currentThread())
+            .block();
+
+        assertSame(Thread.currentThread(), creatingThread[0]);
+        assertEquals(2 * Constants.MB, sharedPool.getInUseBytes());
+        pool.close();
+        assertEquals(0, sharedPool.getInUseBytes());
+    }
+
+    @Test
+    public void uploadBufferPoolCreationDoesNotBlockSubscribingThread() throws Exception {
+        SharedBufferPool sharedPool = new SharedBufferPool(4 * Constants.MB, false);
+        List<ByteBuffer> held = sharedPool.acquire(2 * Constants.MB, 2);
+
+        // A single thread stands in for the event loop the other uploads release their buffers on.
+        ExecutorService eventLoop = Executors.newSingleThreadExecutor();
+        try {
+            Thread loopThread = eventLoop.submit(Thread::currentThread).get();
+            CompletableFuture<UploadBufferPool> created = new CompletableFuture<>();
+            CompletableFuture<Thread> creatingThread = new CompletableFuture<>();
+            eventLoop.submit(() -> UploadBufferPool.create(4, 2 * Constants.MB, 4 * Constants.MB, sharedPool,
+                StorageChecksumAlgorithm.NONE)
+                .subscribe(pool -> {
+                    creatingThread.complete(Thread.currentThread());
+                    created.complete(pool);
+                })).get(10, TimeUnit.SECONDS);
+
+            assertThrows(TimeoutException.class, () -> created.get(200, TimeUnit.MILLISECONDS));
+
+            // The release runs on the event loop, which would deadlock if the creation waited on it.
+            eventLoop.submit(() -> held.forEach(sharedPool::release)).get(10, TimeUnit.SECONDS);
+            UploadBufferPool pool = created.get(10, TimeUnit.SECONDS);
+            assertNotSame(loopThread, creatingThread.get());
+            pool.close();
+        } finally {
+            eventLoop.shutdown();
+        }
+    }
+
+    @Test
+    public void uploadBufferPoolCreatedAfterCancellationIsClosed() throws Exception {
+        SharedBufferPool sharedPool = new SharedBufferPool(4 * Constants.MB, false);
+        List<ByteBuffer> held = sharedPool.acquire(2 * Constants.MB, 2);
+
+        Disposable subscription = UploadBufferPool.create(4, 2 * Constants.MB, 4 * Constants.MB, sharedPool,
+            StorageChecksumAlgorithm.NONE).subscribe();
+        Thread.sleep(100);
+        subscription.dispose();
+        held.forEach(sharedPool::release);
+
+        // Whether the waiting creation was interrupted or completed after the cancellation, no buffer stays in use.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sharedPool.getInUseBytes() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sharedPool.getInUseBytes());
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the slice-by-8 storage CRC64 with a CRC64 computed a byte at a time and with MD5, over heap and direct
+ * buffers of the size of a block.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class StorageCrc64CalculatorBenchMark {
+    private static final long POLY = 0x9A6C9329AC4BC9B5L;
+    private static final long[] TABLE = new long[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            long crc = b;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) == 0 ? crc >>> 1 : (crc >>> 1) ^ POLY;
+            }
+            TABLE[b] = crc;
+        }
+    }
+
+    @Param({"4096", "4194304"})
+    private int size;
+
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+    private MessageDigest md5;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        heapBuffer = ByteBuffer.wrap(data);
+        directBuffer = ByteBuffer.allocateDirect(size);
+        directBuffer.put(data).flip();
+        md5 = MessageDigest.getInstance("MD5");
+    }
+
+    @Benchmark
+    public long sliceBy8Heap() {
+        return StorageCrc64Calculator.compute(0, heapBuffer);
+    }
+
+    @Benchmark
+    public long sliceBy8Direct() {
+        return StorageCrc64Calculator.compute(0, directBuffer);
+    }
+
+    @Benchmark
+    public long byteAtATimeHeap() {
+        ByteBuffer data = heapBuffer.duplicate();
+        long crc = ~0L;
+        while (data.hasRemaining()) {
+            crc = (crc >>> 8) ^ TABLE[(int) ((crc ^ data.get()) & 0xFF)];
+        }
+        return ~crc;
+    }
+
+    @Benchmark
+    public byte[] md5Heap() {
+        md5.update(heapBuffer.duplicate());
+        return md5.digest();
+    }
+
+    public static void main(String... args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
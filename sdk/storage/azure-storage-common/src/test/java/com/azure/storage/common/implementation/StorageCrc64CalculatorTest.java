@@ -0,0 +1,133 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.storage.common.StorageChecksumAlgorithm;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StorageCrc64CalculatorTest {
+    private static final long POLY = 0x9A6C9329AC4BC9B5L;
+
+    @Test
+    public void matchesBitwiseCrc() {
+        byte[] data = randomBytes(1000);
+
+        // Covers empty data, lengths that aren't a multiple of eight and unaligned offsets.
+        for (int offset = 0; offset < 9; offset++) {
+            for (int length = 0; length < 40; length++) {
+                assertEquals(bitwiseCrc(data, offset, length),
+                    StorageCrc64Calculator.compute(0, data, offset, length));
+            }
+        }
+        assertEquals(bitwiseCrc(data, 0, data.length), StorageCrc64Calculator.compute(0, data, 0, data.length));
+    }
+
+    @Test
+    public void matchesServiceCrc() {
+        // x-ms-content-crc64 returned by the service for the "default" payload of the blob tests and for an empty body,
+        // see BlockBlobAPITestbuffereduploadillegalargsoutofbounds[0].json and BlockBlobAPITestuploademptybody.json.
+        byte[] data = "default".getBytes(StandardCharsets.UTF_8);
+        assertEquals("6RYQPwaVsyQ=", Base64.getEncoder().encodeToString(
+            StorageCrc64Calculator.toBytes(StorageCrc64Calculator.compute(0, data, 0, data.length))));
+        assertEquals("AAAAAAAAAAA=", Base64.getEncoder().encodeToString(
+            StorageCrc64Calculator.toBytes(StorageCrc64Calculator.compute(0, new byte[0], 0, 0))));
+    }
+
+    @Test
+    public void computesIncrementally() {
+        byte[] data = randomBytes(1000);
+        long crc = StorageCrc64Calculator.compute(0, data, 0, 333);
+        crc = StorageCrc64Calculator.compute(crc, data, 333, 667);
+
+        assertEquals(StorageCrc64Calculator.compute(0, data, 0, data.length), crc);
+    }
+
+    @Test
+    public void directBufferMatchesHeapBuffer() {
+        byte[] data = randomBytes(1003);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+
+        assertEquals(StorageCrc64Calculator.compute(0, ByteBuffer.wrap(data)),
+            StorageCrc64Calculator.compute(0, direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void encodesLittleEndian() {
+        assertArrayEquals(new byte[] {8, 7, 6, 5, 4, 3, 2, 1}, StorageCrc64Calculator.toBytes(0x0102030405060708L));
+    }
+
+    @Test
+    public void resolvesAlgorithm() {
+        assertEquals(StorageChecksumAlgorithm.NONE, StorageChecksum.resolve(null, true));
+        assertEquals(StorageChecksumAlgorithm.STORAGE_CRC64,
+            StorageChecksum.resolve(StorageChecksumAlgorithm.AUTO, true));
+        assertEquals(StorageChecksumAlgorithm.MD5, StorageChecksum.resolve(StorageChecksumAlgorithm.AUTO, false));
+        assertEquals(StorageChecksumAlgorithm.MD5,
+            StorageChecksum.resolve(StorageChecksumAlgorithm.STORAGE_CRC64, false));
+        assertNull(StorageChecksum.create(StorageChecksumAlgorithm.NONE));
+    }
+
+    @Test
+    public void uploadBufferPoolChecksumsEmittedBuffers() {
+        byte[] data = randomBytes(25);
+        UploadBufferPool pool = new UploadBufferPool(2, 10, 10, StorageChecksumAlgorithm.MD5);
+
+        List<ByteBuffer> buffers = Flux.range(0, 5)
+            .map(i -> ByteBuffer.wrap(data, i * 5, 5))
+            .concatMap(pool::write)
+            .concatWith(Flux.defer(pool::flush))
+            .doOnNext(buffer -> {
+                assertArrayEquals(md5(buffer), pool.getChecksum(buffer));
+                pool.returnBuffer(buffer);
+                assertNull(pool.getChecksum(buffer));
+            })
+            .collectList()
+            .block();
+
+        assertEquals(3, buffers.size());
+        pool.close();
+    }
+
+    private static byte[] md5(ByteBuffer buffer) {
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            md5.update(buffer.duplicate());
+            return md5.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long bitwiseCrc(byte[] data, int offset, int length) {
+        long crc = ~0L;
+        for (int i = offset; i < offset + length; i++) {
+            crc ^= data[i] & 0xFF;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) == 0 ? crc >>> 1 : (crc >>> 1) ^ POLY;
+            }
+        }
+        return ~crc;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+}
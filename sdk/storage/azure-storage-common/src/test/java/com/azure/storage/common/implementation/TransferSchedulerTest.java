@@ -0,0 +1,103 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransferSchedulerTest {
+    @Test
+    public void limitsConcurrency() {
+        TransferScheduler scheduler = new TransferScheduler(3, null, null);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Flux.range(0, 20)
+            .flatMap(i -> scheduler.schedule(1, () -> Mono.fromRunnable(() ->
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .then(Mono.delay(Duration.ofMillis(5)))
+                .doFinally(signal -> running.decrementAndGet())))
+            .blockLast(Duration.ofSeconds(10));
+
+        assertEquals(3, maxRunning.get());
+    }
+
+    @Test
+    public void failedRequestDoesNotStopTheQueue() {
+        TransferScheduler scheduler = new TransferScheduler(1, null, null);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(1,
+            () -> Mono.error(new IllegalStateException())).block(Duration.ofSeconds(10)));
+        assertEquals("done", scheduler.schedule(1, () -> Mono.just("done")).block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void reportsTotalProgress() {
+        List<Long> progress = new ArrayList<>();
+        TransferScheduler scheduler = new TransferScheduler(2, null, progress::add);
+
+        Flux.just(10L, 20L, 30L)
+            .concatMap(bytes -> scheduler.schedule(bytes, Mono::empty))
+            .blockLast(Duration.ofSeconds(10));
+        scheduler.schedule(40, () -> Mono.error(new IllegalStateException()))
+            .onErrorResume(error -> Mono.empty())
+            .block(Duration.ofSeconds(10));
+
+        assertEquals(Arrays.asList(10L, 30L, 60L), progress);
+    }
+
+    @Test
+    public void limitsBandwidth() {
+        TransferScheduler scheduler = new TransferScheduler(4, 1000L, null);
+
+        long start = System.nanoTime();
+        Flux.range(0, 4)
+            .flatMap(i -> scheduler.schedule(100, Mono::empty))
+            .blockLast(Duration.ofSeconds(10));
+
+        // The fourth request starts once the 300 bytes before it took their 300 milliseconds.
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 250);
+    }
+
+    @Test
+    public void cancelledRequestIsSkipped() {
+        TransferScheduler scheduler = new TransferScheduler(1, null, null);
+        MonoProcessor<Void> blocker = MonoProcessor.create();
+        AtomicBoolean started = new AtomicBoolean();
+
+        Disposable first = scheduler.schedule(0, () -> blocker).subscribe();
+        Disposable second = scheduler.schedule(0, () -> Mono.fromRunnable(() -> started.set(true))).subscribe();
+        second.dispose();
+        blocker.onComplete();
+
+        assertEquals("done", scheduler.schedule(0, () -> Mono.just("done")).block(Duration.ofSeconds(10)));
+        assertFalse(started.get());
+        first.dispose();
+    }
+
+    @Test
+    public void coalescesSmallItems() {
+        List<List<Integer>> groups = TransferScheduler.coalesce(Flux.just(1, 2, 100, 3, 4, 5, 6), i -> i, 10, 7, 3)
+            .collectList()
+            .block();
+
+        assertEquals(Arrays.asList(Arrays.asList(100), Arrays.asList(1, 2, 3), Arrays.asList(4), Arrays.asList(5),
+            Arrays.asList(6)), groups);
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.common.implementation;
+
+import com.azure.storage.common.StorageChecksumAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class UploadBufferPoolTest {
+    private static final int BUFFER_SIZE = 10;
+
+    @Test
+    public void checksumsMatchTheEmittedBuffers() {
+        // 7 byte writes spill over into the next buffer on most writes.
+        List<byte[]> checksums = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
+        byte[] data = upload(StorageChecksumAlgorithm.STORAGE_CRC64, 7, 5, checksums, contents);
+
+        assertEquals(4, contents.size());
+        assertArrayEquals(new int[] {10, 10, 10, 5}, contents.stream().mapToInt(content -> content.length).toArray());
+        int offset = 0;
+        for (int i = 0; i < contents.size(); i++) {
+            byte[] content = contents.get(i);
+            assertArrayEquals(Arrays.copyOfRange(data, offset, offset + content.length), content);
+            assertArrayEquals(StorageCrc64Calculator.toBytes(StorageCrc64Calculator.compute(0, content, 0,
+                content.length)), checksums.get(i));
+            offset += content.length;
+        }
+    }
+
+    @Test
+    public void md5sMatchTheEmittedBuffers() throws NoSuchAlgorithmException {
+        List<byte[]> checksums = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
+        upload(StorageChecksumAlgorithm.MD5, 4, 6, checksums, contents);
+
+        assertEquals(3, contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            assertArrayEquals(MessageDigest.getInstance("MD5").digest(contents.get(i)), checksums.get(i));
+        }
+    }
+
+    @Test
+    public void noChecksumUnlessRequested() {
+        List<byte[]> checksums = new ArrayList<>();
+        upload(StorageChecksumAlgorithm.NONE, 7, 3, checksums, new ArrayList<>());
+
+        assertEquals(3, checksums.size());
+        checksums.forEach(checksum -> assertNull(checksum));
+    }
+
+    /*
+    Writes the given number of random writes to a pool and collects the content and the checksum of every buffer it
+    emits, returning each buffer to the pool once it is read like an upload does.
+     */
+    private static byte[] upload(StorageChecksumAlgorithm algorithm, int writeSize, int writeCount,
+        List<byte[]> checksums, List<byte[]> contents) {
+        SharedBufferPool sharedPool = new SharedBufferPool(64 * Constants.MB, false);
+        UploadBufferPool pool = new UploadBufferPool(4, BUFFER_SIZE, 4 * Constants.MB, sharedPool, algorithm);
+        byte[] data = new byte[writeSize * writeCount];
+        ThreadLocalRandom.current().nextBytes(data);
+
+        try {
+            for (int i = 0; i < writeCount; i++) {
+                pool.write(ByteBuffer.wrap(data, i * writeSize, writeSize))
+                    .doOnNext(buffer -> collect(pool, buffer, checksums, contents))
+                    .blockLast();
+            }
+            pool.flush().doOnNext(buffer -> collect(pool, buffer, checksums, contents)).blockLast();
+        } finally {
+            pool.close();
+        }
+
+        return data;
+    }
+
+    private static void collect(UploadBufferPool pool, ByteBuffer buffer, List<byte[]> checksums,
+        List<byte[]> contents) {
+        byte[] content = new byte[buffer.remaining()];
+        buffer.duplicate().get(content);
+        contents.add(content);
+        checksums.add(pool.getChecksum(buffer));
+        pool.returnBuffer(buffer);
+    }
+}
@@ -14,6 +14,7 @@ import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
 import com.azure.storage.common.ParallelTransferOptions;
 import com.azure.storage.common.ProgressReporter;
+import com.azure.storage.common.StorageChecksumAlgorithm;
 import com.azure.storage.common.implementation.UploadBufferPool;
 import com.azure.storage.common.implementation.Constants;
 import com.azure.storage.common.implementation.UploadUtils;
@@ -287,14 +288,20 @@ public class DataLakeFileAsyncClient extends DataLakePathAsyncClient {
     private Mono<Response<PathInfo>> uploadInChunks(Flux<ByteBuffer> data, long fileOffset,
         ParallelTransferOptions parallelTransferOptions, PathHttpHeaders httpHeaders,
         DataLakeRequestConditions requestConditions) {
+        // Validation done when the pool is created.
+        return UploadBufferPool.create(parallelTransferOptions.getNumBuffers(), parallelTransferOptions.getBlockSize(),
+            MAX_APPEND_FILE_BYTES, StorageChecksumAlgorithm.NONE)
+            .flatMap(pool -> uploadInChunks(data, fileOffset, parallelTransferOptions, httpHeaders, requestConditions,
+                pool));
+    }
+
+    private Mono<Response<PathInfo>> uploadInChunks(Flux<ByteBuffer> data, long fileOffset,
+        ParallelTransferOptions parallelTransferOptions, PathHttpHeaders httpHeaders,
+        DataLakeRequestConditions requestConditions, UploadBufferPool pool) {
         // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
         AtomicLong totalProgress = new AtomicLong();
         Lock progressLock = new ReentrantLock();
 
-        // Validation done in the constructor.
-        UploadBufferPool pool = new UploadBufferPool(parallelTransferOptions.getNumBuffers(),
-            parallelTransferOptions.getBlockSize(), MAX_APPEND_FILE_BYTES);
-
         Flux<ByteBuffer> chunkedSource = UploadUtils.chunkSource(data, parallelTransferOptions);
 
         /*
@@ -333,7 +340,8 @@ public class DataLakeFileAsyncClient extends DataLakePathAsyncClient {
                     .flux();
             })
             .last()
-            .flatMap(length -> flushWithResponse(length, false, false, httpHeaders, requestConditions));
+            .flatMap(length -> flushWithResponse(length, false, false, httpHeaders, requestConditions))
+            .doFinally(signalType -> pool.close());
     }
 
     private Mono<Response<PathInfo>> uploadWithResponse(Flux<ByteBuffer> data, long fileOffset, long length,
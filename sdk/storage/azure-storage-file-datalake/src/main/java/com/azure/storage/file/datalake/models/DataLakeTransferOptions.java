@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake.models;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.ProgressReceiver;
+import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient;
+
+/**
+ * Defines options available to configure the directory transfers of a {@link DataLakeTransferAsyncClient}. All the
+ * transfers of a client share its concurrency and bandwidth budget.
+ */
+@Fluent
+public final class DataLakeTransferOptions {
+    // The maximum number of bytes a single append accepts.
+    private static final int MAX_APPEND_BYTES = 100 * Constants.MB;
+
+    private int maxConcurrency = 32;
+    private Long maxBytesPerSecond;
+    private int blockSize = 8 * Constants.MB;
+    private int maxSingleTransferSize = 32 * Constants.MB;
+    private int smallFileSize = 256 * Constants.KB;
+    private boolean overwrite;
+    private ProgressReceiver progressReceiver;
+
+    /**
+     * @return the maximum number of requests in flight across all transfers, 32 by default
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of requests in flight across all transfers, must be at least 1
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setMaxConcurrency(int maxConcurrency) {
+        StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of bytes transferred per second across all transfers, or null for no limit
+     */
+    public Long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * @param maxBytesPerSecond The maximum number of bytes transferred per second across all transfers, or null for no
+     * limit. The limit is applied when requests start, so the rate averages out to it over a few blocks.
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setMaxBytesPerSecond(Long maxBytesPerSecond) {
+        if (maxBytesPerSecond != null) {
+            StorageImplUtils.assertInBounds("maxBytesPerSecond", maxBytesPerSecond, 1, Long.MAX_VALUE);
+        }
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        return this;
+    }
+
+    /**
+     * @return the size of the appends large local files are uploaded in and the ranges large files are downloaded in,
+     * 8MB by default
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @param blockSize The size of the appends large local files are uploaded in and the ranges large files are
+     * downloaded in, between 1 and 100MB
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setBlockSize(int blockSize) {
+        StorageImplUtils.assertInBounds("blockSize", blockSize, 1, MAX_APPEND_BYTES);
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * @return the size up to which a file is transferred in a single request, 32MB by default
+     */
+    public int getMaxSingleTransferSize() {
+        return maxSingleTransferSize;
+    }
+
+    /**
+     * @param maxSingleTransferSize The size up to which a file is transferred in a single request, between 1 and
+     * 100MB. Larger files are transferred in ranges.
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setMaxSingleTransferSize(int maxSingleTransferSize) {
+        StorageImplUtils.assertInBounds("maxSingleTransferSize", maxSingleTransferSize, 1, MAX_APPEND_BYTES);
+        this.maxSingleTransferSize = maxSingleTransferSize;
+        return this;
+    }
+
+    /**
+     * @return the size up to which files are coalesced, 256KB by default
+     */
+    public int getSmallFileSize() {
+        return smallFileSize;
+    }
+
+    /**
+     * @param smallFileSize The size up to which files are coalesced, 0 to disable coalescing. Small files are grouped
+     * up to the block size and each group is transferred as a single unit of the concurrency budget, so tens of
+     * thousands of tiny files don't each pay for a separate slot.
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setSmallFileSize(int smallFileSize) {
+        StorageImplUtils.assertInBounds("smallFileSize", smallFileSize, 0, Integer.MAX_VALUE);
+        this.smallFileSize = smallFileSize;
+        return this;
+    }
+
+    /**
+     * @return whether existing files are overwritten, false by default
+     */
+    public boolean isOverwrite() {
+        return overwrite;
+    }
+
+    /**
+     * @param overwrite Whether existing files are overwritten. When false, a transfer fails if a destination
+     * already exists.
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setOverwrite(boolean overwrite) {
+        this.overwrite = overwrite;
+        return this;
+    }
+
+    /**
+     * @return the receiver of the total number of bytes transferred across all transfers
+     */
+    public ProgressReceiver getProgressReceiver() {
+        return progressReceiver;
+    }
+
+    /**
+     * @param progressReceiver The receiver of the total number of bytes transferred across all transfers
+     * @return the updated DataLakeTransferOptions object
+     */
+    public DataLakeTransferOptions setProgressReceiver(ProgressReceiver progressReceiver) {
+        this.progressReceiver = progressReceiver;
+        return this;
+    }
+}
@@ -0,0 +1,199 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake.specialized;
+
+import com.azure.core.annotation.ReturnType;
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.annotation.ServiceMethod;
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.common.implementation.Constants;
+import com.azure.storage.common.implementation.DirectoryTransfer;
+import com.azure.storage.common.implementation.DirectoryTransfer.LocalFile;
+import com.azure.storage.common.implementation.TransferScheduler;
+import com.azure.storage.common.implementation.UploadUtils;
+import com.azure.storage.file.datalake.DataLakeFileAsyncClient;
+import com.azure.storage.file.datalake.DataLakeFileSystemAsyncClient;
+import com.azure.storage.file.datalake.models.DataLakeRequestConditions;
+import com.azure.storage.file.datalake.models.DataLakeTransferOptions;
+import com.azure.storage.file.datalake.models.FileReadAsyncResponse;
+import com.azure.storage.file.datalake.models.FileRange;
+import com.azure.storage.file.datalake.models.ListPathsOptions;
+import com.azure.storage.file.datalake.models.PathItem;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+import static com.azure.core.util.FluxUtil.monoError;
+
+/**
+ * This class provides a client that uploads local directories to and downloads directories from a file system.
+ * <p>
+ * All the transfers started on a client share a single budget of concurrent requests and bandwidth, configured by the
+ * {@link DataLakeTransferOptions} the client is built with, so starting many transfers at once doesn't multiply the
+ * requests and memory in flight. Files up to {@link DataLakeTransferOptions#getMaxSingleTransferSize()} are
+ * transferred in a single request, and larger ones in appends or ranges that are scheduled individually. Small files
+ * are coalesced in groups that each take a single slot of the budget. Progress is reported as the total number of
+ * bytes transferred by the client. A file that fails to transfer doesn't stop the others, the failures are reported
+ * once the transfer is done.
+ *
+ * <p><strong>Instantiating a DataLakeTransferAsyncClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildAsyncClient}
+ *
+ * @see DataLakeTransferClientBuilder
+ */
+@ServiceClient(builder = DataLakeTransferClientBuilder.class, isAsync = true)
+public final class DataLakeTransferAsyncClient {
+    private final ClientLogger logger = new ClientLogger(DataLakeTransferAsyncClient.class);
+
+    private final DataLakeFileSystemAsyncClient fileSystemClient;
+    private final TransferScheduler scheduler;
+    private final DirectoryTransfer transfer;
+    private final int maxConcurrency;
+    private final int blockSize;
+    private final boolean overwrite;
+
+    DataLakeTransferAsyncClient(DataLakeFileSystemAsyncClient fileSystemClient, DataLakeTransferOptions options) {
+        this.fileSystemClient = fileSystemClient;
+        this.maxConcurrency = options.getMaxConcurrency();
+        this.blockSize = options.getBlockSize();
+        this.overwrite = options.isOverwrite();
+        this.scheduler = new TransferScheduler(maxConcurrency, options.getMaxBytesPerSecond(),
+            options.getProgressReceiver() == null ? null : options.getProgressReceiver()::reportProgress);
+        this.transfer = new DirectoryTransfer(scheduler, maxConcurrency, blockSize,
+            options.getMaxSingleTransferSize(), options.getSmallFileSize(), overwrite);
+    }
+
+    /**
+     * Gets the URL of the file system the client transfers to and from.
+     *
+     * @return the URL.
+     */
+    public String getFileSystemUrl() {
+        return fileSystemClient.getFileSystemUrl();
+    }
+
+    /**
+     * Uploads the files under a local directory, recursively, to a directory of the file system. The path of each
+     * file relative to the local directory, with '/' separators, is resolved against the directory to get the path of
+     * its file, and missing parent directories are created by the service.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.uploadDirectory#String-String}
+     *
+     * @param localDirectoryPath The path of the local directory.
+     * @param directoryName The path of the directory in the file system, may be null for the root directory.
+     * @return A reactive response signaling completion.
+     * @throws UncheckedIOException If the local directory can't be read, or if files failed to upload.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public Mono<Void> uploadDirectory(String localDirectoryPath, String directoryName) {
+        try {
+            return transfer.uploadDirectory(Paths.get(localDirectoryPath), toPrefix(directoryName), this::putFile,
+                this::uploadAppends);
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Downloads the files under a directory of the file system, recursively, to a local directory. The path of each
+     * file relative to the directory, with '/' separators replaced by the local separator, is resolved against the
+     * local directory to get the path of its local file, and missing parent directories are created. Files whose
+     * local file would be outside of the local directory fail to download.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.downloadDirectory#String-String}
+     *
+     * @param directoryName The path of the directory in the file system, may be null for the root directory.
+     * @param localDirectoryPath The path of the local directory.
+     * @return A reactive response signaling completion.
+     * @throws UncheckedIOException If files failed to download.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public Mono<Void> downloadDirectory(String directoryName, String localDirectoryPath) {
+        try {
+            String prefix = toPrefix(directoryName);
+
+            Flux<PathItem> files = fileSystemClient.listPaths(new ListPathsOptions()
+                .setPath(prefix.isEmpty() ? null : prefix.substring(0, prefix.length() - 1))
+                .setRecursive(true))
+                .filter(item -> !item.isDirectory());
+
+            return transfer.downloadDirectory(files, PathItem::getName, PathItem::getContentLength,
+                Paths.get(localDirectoryPath), prefix, this::getReader);
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    private Mono<Void> uploadAppends(LocalFile file) {
+        DataLakeFileAsyncClient fileClient = fileSystemClient.getFileAsyncClient(file.getName());
+        int appendCount = (int) ((file.getSize() + blockSize - 1) / blockSize);
+
+        return Mono.using(() -> UploadUtils.uploadFileResourceSupplier(file.getPath().toString(), logger),
+            channel -> scheduler.schedule(0, () -> createFile(fileClient))
+                .thenMany(Flux.range(0, appendCount))
+                .flatMap(index -> {
+                    long offset = (long) index * blockSize;
+                    long length = Math.min(blockSize, file.getSize() - offset);
+
+                    return scheduler.schedule(length, () -> fileClient.appendWithResponse(
+                        FluxUtil.readFile(channel, offset, length), offset, length, null, null));
+                }, maxConcurrency)
+                .then(Mono.defer(() -> scheduler.schedule(0, () -> fileClient.flushWithResponse(file.getSize(),
+                    false, true, null, null))))
+                .then(),
+            channel -> UploadUtils.uploadFileCleanup(channel, logger));
+    }
+
+    private Mono<Void> putFile(LocalFile file) {
+        DataLakeFileAsyncClient fileClient = fileSystemClient.getFileAsyncClient(file.getName());
+        if (file.getSize() == 0) {
+            return createFile(fileClient);
+        }
+
+        return Mono.using(() -> UploadUtils.uploadFileResourceSupplier(file.getPath().toString(), logger),
+            channel -> createFile(fileClient)
+                .then(fileClient.appendWithResponse(FluxUtil.readFile(channel, 0, file.getSize()), 0, file.getSize(),
+                    null, null))
+                .then(fileClient.flushWithResponse(file.getSize(), false, true, null, null))
+                .then(),
+            channel -> UploadUtils.uploadFileCleanup(channel, logger));
+    }
+
+    private Mono<Void> createFile(DataLakeFileAsyncClient fileClient) {
+        DataLakeRequestConditions requestConditions = overwrite
+            ? null : new DataLakeRequestConditions().setIfNoneMatch(Constants.HeaderConstants.ETAG_WILDCARD);
+        return fileClient.createWithResponse(null, null, null, null, requestConditions).then();
+    }
+
+    private DirectoryTransfer.RangeReader getReader(PathItem item) {
+        DataLakeFileAsyncClient fileClient = fileSystemClient.getFileAsyncClient(item.getName());
+        // Every range is read from the version of the file that was listed.
+        DataLakeRequestConditions requestConditions = new DataLakeRequestConditions().setIfMatch(item.getETag());
+
+        return (offset, length) -> fileClient.readWithResponse(length == null ? null : new FileRange(offset, length),
+            null, requestConditions, false)
+            .map(FileReadAsyncResponse::getValue);
+    }
+
+    // Gets the prefix of the paths of the files under a directory, "" for the root directory and "name/" otherwise.
+    private static String toPrefix(String directoryName) {
+        if (directoryName == null) {
+            return "";
+        }
+
+        String trimmed = directoryName;
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? "" : trimmed + "/";
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake.specialized;
+
+import com.azure.core.annotation.ReturnType;
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.annotation.ServiceMethod;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * This class provides a client that uploads local directories to and downloads directories from a file system. All
+ * the transfers started on a client share a single budget of concurrent requests and bandwidth. See
+ * {@link DataLakeTransferAsyncClient} for details.
+ *
+ * <p><strong>Instantiating a DataLakeTransferClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildClient}
+ *
+ * @see DataLakeTransferClientBuilder
+ */
+@ServiceClient(builder = DataLakeTransferClientBuilder.class)
+public final class DataLakeTransferClient {
+    private final DataLakeTransferAsyncClient client;
+
+    DataLakeTransferClient(DataLakeTransferAsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Gets the URL of the file system the client transfers to and from.
+     *
+     * @return the URL.
+     */
+    public String getFileSystemUrl() {
+        return client.getFileSystemUrl();
+    }
+
+    /**
+     * Uploads the files under a local directory, recursively, to a directory of the file system. The path of each
+     * file relative to the local directory, with '/' separators, is resolved against the directory to get the path of
+     * its file, and missing parent directories are created by the service.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClient.uploadDirectory#String-String-Duration}
+     *
+     * @param localDirectoryPath The path of the local directory.
+     * @param directoryName The path of the directory in the file system, may be null for the root directory.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @throws UncheckedIOException If the local directory can't be read.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public void uploadDirectory(String localDirectoryPath, String directoryName, Duration timeout) {
+        StorageImplUtils.blockWithOptionalTimeout(client.uploadDirectory(localDirectoryPath, directoryName), timeout);
+    }
+
+    /**
+     * Downloads the files under a directory of the file system, recursively, to a local directory. The path of each
+     * file relative to the directory, with '/' separators replaced by the local separator, is resolved against the
+     * local directory to get the path of its local file, and missing parent directories are created.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClient.downloadDirectory#String-String-Duration}
+     *
+     * @param directoryName The path of the directory in the file system, may be null for the root directory.
+     * @param localDirectoryPath The path of the local directory.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @throws UncheckedIOException If a local file can't be created.
+     */
+    @ServiceMethod(returns = ReturnType.SINGLE)
+    public void downloadDirectory(String directoryName, String localDirectoryPath, Duration timeout) {
+        StorageImplUtils.blockWithOptionalTimeout(client.downloadDirectory(directoryName, localDirectoryPath), timeout);
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake.specialized;
+
+import com.azure.core.annotation.ServiceClientBuilder;
+import com.azure.storage.file.datalake.DataLakeFileSystemAsyncClient;
+import com.azure.storage.file.datalake.models.DataLakeTransferOptions;
+
+import java.util.Objects;
+
+/**
+ * This class provides a fluent builder API to help aid the configuration and instantiation of directory transfer
+ * clients. A new instance of {@link DataLakeTransferClient} and {@link DataLakeTransferAsyncClient} is constructed every time
+ * {@link #buildClient() buildClient} and {@link #buildAsyncClient() buildAsyncClient} are called respectively, and
+ * each instance has its own concurrency and bandwidth budget, so a single instance should be shared by the transfers
+ * that are meant to share a budget.
+ *
+ * <p><strong>Instantiating a DataLakeTransferClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildClient}
+ *
+ * <p><strong>Instantiating a DataLakeTransferAsyncClient</strong></p>
+ *
+ * {@codesnippet com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildAsyncClient}
+ *
+ * @see DataLakeTransferClient
+ * @see DataLakeTransferAsyncClient
+ */
+@ServiceClientBuilder(serviceClients = { DataLakeTransferClient.class, DataLakeTransferAsyncClient.class })
+public final class DataLakeTransferClientBuilder {
+    private DataLakeFileSystemAsyncClient fileSystemAsyncClient;
+    private DataLakeTransferOptions transferOptions;
+
+    /**
+     * Creates a {@link DataLakeTransferClient} based on the configurations set in the builder.
+     *
+     * @return a {@link DataLakeTransferClient} based on the configurations in this builder.
+     * @throws NullPointerException If the file system client isn't set.
+     */
+    public DataLakeTransferClient buildClient() {
+        return new DataLakeTransferClient(buildAsyncClient());
+    }
+
+    /**
+     * Creates a {@link DataLakeTransferAsyncClient} based on the configurations set in the builder.
+     *
+     * @return a {@link DataLakeTransferAsyncClient} based on the configurations in this builder.
+     * @throws NullPointerException If the file system client isn't set.
+     */
+    public DataLakeTransferAsyncClient buildAsyncClient() {
+        Objects.requireNonNull(fileSystemAsyncClient, "'fileSystemAsyncClient' cannot be null.");
+        return new DataLakeTransferAsyncClient(fileSystemAsyncClient,
+            transferOptions == null ? new DataLakeTransferOptions() : transferOptions);
+    }
+
+    /**
+     * Sets the file system the client transfers to and from. Files are accessed through clients created by
+     * {@link DataLakeFileSystemAsyncClient#getFileAsyncClient(String)}, so they use its pipeline.
+     *
+     * @param fileSystemAsyncClient DataLakeFileSystemAsyncClient used to configure the builder.
+     * @return the updated DataLakeTransferClientBuilder object
+     * @throws NullPointerException If {@code fileSystemAsyncClient} is {@code null}.
+     */
+    public DataLakeTransferClientBuilder fileSystemAsyncClient(DataLakeFileSystemAsyncClient fileSystemAsyncClient) {
+        this.fileSystemAsyncClient = Objects.requireNonNull(fileSystemAsyncClient);
+        return this;
+    }
+
+    /**
+     * Sets the options of the transfers. The options are read when the client is built.
+     *
+     * @param transferOptions {@link DataLakeTransferOptions}
+     * @return the updated DataLakeTransferClientBuilder object
+     */
+    public DataLakeTransferClientBuilder transferOptions(DataLakeTransferOptions transferOptions) {
+        this.transferOptions = transferOptions;
+        return this;
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake;
+
+import com.azure.storage.file.datalake.models.DataLakeTransferOptions;
+import com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient;
+import com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder;
+
+public class DataLakeTransferAsyncClientJavaDocCodeSnippets {
+    private DataLakeFileSystemAsyncClient fileSystemAsyncClient = new DataLakeFileSystemClientBuilder()
+        .fileSystemName("fileSystemName")
+        .buildAsyncClient();
+
+    private DataLakeTransferAsyncClient client = new DataLakeTransferClientBuilder()
+        .fileSystemAsyncClient(fileSystemAsyncClient)
+        .buildAsyncClient();
+
+    /**
+     * Code snippets for {@link DataLakeTransferClientBuilder#buildAsyncClient()}.
+     */
+    public void asyncInstantiation() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildAsyncClient
+        DataLakeTransferAsyncClient transferAsyncClient = new DataLakeTransferClientBuilder()
+            .fileSystemAsyncClient(fileSystemAsyncClient)
+            .transferOptions(new DataLakeTransferOptions()
+                .setMaxConcurrency(64)
+                .setMaxBytesPerSecond(100L * 1024 * 1024)
+                .setProgressReceiver(bytesTransferred -> System.out.printf("Transferred %d bytes%n",
+                    bytesTransferred)))
+            .buildAsyncClient();
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildAsyncClient
+    }
+
+    /**
+     * Code snippets for {@link DataLakeTransferAsyncClient#uploadDirectory(String, String)}.
+     */
+    public void uploadDirectory() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.uploadDirectory#String-String
+        client.uploadDirectory("/data/logs", "logs")
+            .doOnSuccess(ignored -> System.out.println("Upload completed"))
+            .subscribe();
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.uploadDirectory#String-String
+    }
+
+    /**
+     * Code snippets for {@link DataLakeTransferAsyncClient#downloadDirectory(String, String)}.
+     */
+    public void downloadDirectory() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.downloadDirectory#String-String
+        client.downloadDirectory("logs", "/data/logs")
+            .doOnSuccess(ignored -> System.out.println("Download completed"))
+            .subscribe();
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferAsyncClient.downloadDirectory#String-String
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.file.datalake;
+
+import com.azure.storage.file.datalake.models.DataLakeTransferOptions;
+import com.azure.storage.file.datalake.specialized.DataLakeTransferClient;
+import com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder;
+
+import java.time.Duration;
+
+public class DataLakeTransferClientJavaDocCodeSnippets {
+    private DataLakeFileSystemAsyncClient fileSystemAsyncClient = new DataLakeFileSystemClientBuilder()
+        .fileSystemName("fileSystemName")
+        .buildAsyncClient();
+
+    private DataLakeTransferClient client = new DataLakeTransferClientBuilder()
+        .fileSystemAsyncClient(fileSystemAsyncClient)
+        .buildClient();
+
+    private Duration timeout = Duration.ofHours(1);
+
+    /**
+     * Code snippets for {@link DataLakeTransferClientBuilder#buildClient()}.
+     */
+    public void syncInstantiation() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildClient
+        DataLakeTransferClient transferClient = new DataLakeTransferClientBuilder()
+            .fileSystemAsyncClient(fileSystemAsyncClient)
+            .transferOptions(new DataLakeTransferOptions()
+                .setMaxConcurrency(64)
+                .setOverwrite(true))
+            .buildClient();
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferClientBuilder.buildClient
+    }
+
+    /**
+     * Code snippets for {@link DataLakeTransferClient#uploadDirectory(String, String, Duration)}.
+     */
+    public void uploadDirectory() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferClient.uploadDirectory#String-String-Duration
+        client.uploadDirectory("/data/logs", "logs", timeout);
+        System.out.println("Upload completed");
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferClient.uploadDirectory#String-String-Duration
+    }
+
+    /**
+     * Code snippets for {@link DataLakeTransferClient#downloadDirectory(String, String, Duration)}.
+     */
+    public void downloadDirectory() {
+        // BEGIN: com.azure.storage.file.datalake.specialized.DataLakeTransferClient.downloadDirectory#String-String-Duration
+        client.downloadDirectory("logs", "/data/logs", timeout);
+        System.out.println("Download completed");
+        // END: com.azure.storage.file.datalake.specialized.DataLakeTransferClient.downloadDirectory#String-String-Duration
+    }
+}